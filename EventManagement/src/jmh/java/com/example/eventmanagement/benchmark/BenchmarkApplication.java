@@ -0,0 +1,32 @@
+package com.example.eventmanagement.benchmark;
+
+import com.example.eventmanagement.EventManagementApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Контекст приложения на встроенной H2 (профиль test) без веб-сервера и без SQL-логов, чтобы не мерить вывод в консоль
+final class BenchmarkApplication {
+
+    private BenchmarkApplication() {
+    }
+
+    // overrides применяются поверх настроек по умолчанию (например, другая БД или размер пачки JDBC)
+    static ConfigurableApplicationContext start(String databaseName, String... overrides) {
+        List<String> properties = new ArrayList<>(List.of(
+                "spring.datasource.url=jdbc:h2:mem:" + databaseName + ";DB_CLOSE_DELAY=-1",
+                "spring.jpa.show-sql=false",
+                "logging.level.com.example.eventmanagement=WARN",
+                "logging.level.org.hibernate.SQL=WARN"
+        ));
+        properties.addAll(List.of(overrides));
+        return new SpringApplicationBuilder(EventManagementApplication.class)
+                .profiles("test")
+                .web(WebApplicationType.NONE)
+                .properties(properties.toArray(String[]::new))
+                .run();
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.eventmanagement.benchmark;
+
+import com.example.eventmanagement.dto.ClientCreateWithDependenciesDto;
+import com.example.eventmanagement.dto.EventCreateDto;
+import com.example.eventmanagement.dto.PassportCreateDto;
+import com.example.eventmanagement.entity.Client;
+import com.example.eventmanagement.entity.Event;
+import com.example.eventmanagement.entity.Passport;
+import com.example.eventmanagement.entity.TicketReservation;
+import com.example.eventmanagement.enums.BookingStatus;
+import com.example.eventmanagement.enums.EventStatus;
+import com.example.eventmanagement.service.ClientService;
+import com.example.eventmanagement.service.EventService;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Детерминированные данные для бенчмарков: одинаковый seed дает одинаковый набор между запусками
+final class BenchmarkDataGenerator {
+    private static final String[] LAST_NAMES = {"Иванов", "Петров", "Сидоров", "Смирнов", "Кузнецов", "Попов", "Волков", "Соколов"};
+    private static final String[] FIRST_NAMES = {"Иван", "Петр", "Алексей", "Сергей", "Дмитрий", "Андрей", "Михаил", "Николай"};
+
+    private final Random random = new Random(42);
+
+    String fullName(int i) {
+        return LAST_NAMES[i % LAST_NAMES.length] + " " + FIRST_NAMES[(i / LAST_NAMES.length) % FIRST_NAMES.length] + " " + i;
+    }
+
+    String phoneNumber(int i) {
+        return String.format("+79%09d", i);
+    }
+
+    List<Long> createClients(ClientService clientService, int count) {
+        List<Long> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(clientService.createClient(new ClientCreateWithDependenciesDto(
+                    fullName(i), phoneNumber(i), "client" + i + "@mail.ru",
+                    new PassportCreateDto(String.format("%04d", i / 1_000_000), String.format("%06d", i % 1_000_000))
+            )).id());
+        }
+        return ids;
+    }
+
+    Long createEvent(EventService eventService, int numberOfSeats) {
+        return eventService.createEvent(new EventCreateDto(
+                "Бенчмарк-фестиваль", LocalDate.now().plusYears(1), numberOfSeats,
+                BigDecimal.valueOf(1500), "Мероприятие для замеров"
+        )).id();
+    }
+
+    // отсоединенные сущности для замеров маппинга без БД
+    List<TicketReservation> reservations(int count) {
+        List<TicketReservation> reservations = new ArrayList<>(count);
+        LocalDateTime now = LocalDateTime.now();
+        Event event = Event.createForTesting("Бенчмарк-фестиваль", LocalDate.now().plusYears(1), 100_000,
+                BigDecimal.valueOf(1500), EventStatus.PLANNED, "Мероприятие для замеров", now, now);
+        event.setId(1L);
+        for (int i = 0; i < count; i++) {
+            TicketReservation reservation = TicketReservation.createForTestingAll(1 + random.nextInt(5),
+                    BookingStatus.values()[random.nextInt(BookingStatus.values().length)], client(i), event, now, now);
+            reservation.setId((long) i + 1);
+            reservations.add(reservation);
+        }
+        return reservations;
+    }
+
+    List<Client> clients(int count) {
+        List<Client> clients = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            clients.add(client(i));
+        }
+        return clients;
+    }
+
+    private Client client(int i) {
+        LocalDateTime now = LocalDateTime.now();
+        Passport passport = Passport.createForTesting(String.format("%04d", i / 1_000_000), String.format("%06d", i % 1_000_000), now);
+        passport.setId((long) i + 1);
+        Client client = Client.createForTesting(fullName(i), phoneNumber(i), "client" + i + "@mail.ru", passport, now, now);
+        client.setId((long) i + 1);
+        return client;
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.eventmanagement.benchmark;
+
+import com.example.eventmanagement.entity.Client;
+import com.example.eventmanagement.entity.Event;
+import com.example.eventmanagement.entity.TicketReservation;
+import com.example.eventmanagement.enums.BookingStatus;
+import com.example.eventmanagement.service.ClientService;
+import com.example.eventmanagement.service.EventService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntFunction;
+
+// Вставка 100 000 бронирований через JPA: batchSize=1 - каждый INSERT отдельным запросом, 50 - пачками, как в application.properties.
+// Пачки возможны только с id из последовательности: при IDENTITY Hibernate выполняет INSERT сразу при persist.
+// На встроенной H2 нет сетевых задержек, разница заметнее на PostgreSQL:
+// -Djmh.args="BulkInsert -p jdbcUrl=jdbc:postgresql://localhost:5432/event_management_db?user=new_user&password=new_password&reWriteBatchedInserts=true"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class BulkInsertBenchmark {
+    private static final int RESERVATIONS = 100_000;
+    private static final int CLIENTS = 1_000;
+    private static final int CHUNK = 1_000;
+
+    @Param({"1", "50"})
+    public int batchSize;
+
+    // h2 - встроенная база, иначе JDBC URL PostgreSQL
+    @Param("h2")
+    public String jdbcUrl;
+
+    private ConfigurableApplicationContext context;
+    private EntityManagerFactory entityManagerFactory;
+    private List<Long> clientIds;
+    private Long eventId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<String> overrides = new ArrayList<>();
+        overrides.add("spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize);
+        if (jdbcUrl.startsWith("jdbc:postgresql:")) {
+            overrides.add("spring.datasource.url=" + jdbcUrl);
+            overrides.add("spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect");
+            overrides.add("spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect");
+        }
+        context = BenchmarkApplication.start("bulkinsertbench" + batchSize, overrides.toArray(String[]::new));
+        entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        BenchmarkDataGenerator generator = new BenchmarkDataGenerator();
+        clientIds = generator.createClients(context.getBean(ClientService.class), CLIENTS);
+        eventId = generator.createEvent(context.getBean(EventService.class), Integer.MAX_VALUE);
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteReservations() {
+        inTransaction(entityManager -> entityManager.createQuery("DELETE FROM TicketReservation").executeUpdate());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int insertReservations() {
+        for (int from = 0; from < RESERVATIONS; from += CHUNK) {
+            int chunkStart = from;
+            inTransaction(entityManager -> {
+                Event event = entityManager.getReference(Event.class, eventId);
+                for (int i = chunkStart; i < chunkStart + CHUNK; i++) {
+                    Client client = entityManager.getReference(Client.class, clientIds.get(i % clientIds.size()));
+                    TicketReservation reservation = new TicketReservation(1, BookingStatus.PENDING_CONFIRMATION);
+                    reservation.bindTo(client, event);
+                    entityManager.persist(reservation);
+                }
+                return CHUNK;
+            });
+        }
+        return RESERVATIONS;
+    }
+
+    private void inTransaction(ToIntFunction<EntityManager> work) {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            entityManager.getTransaction().begin();
+            work.applyAsInt(entityManager);
+            entityManager.getTransaction().commit();
+        } finally {
+            entityManager.close();
+        }
+    }
+}
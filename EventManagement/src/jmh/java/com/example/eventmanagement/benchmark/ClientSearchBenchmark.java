@@ -0,0 +1,45 @@
+package com.example.eventmanagement.benchmark;
+
+import com.example.eventmanagement.dto.ClientDoneDto;
+import com.example.eventmanagement.service.ClientService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ClientSearchBenchmark {
+
+    @Param({"10000"})
+    public int clients;
+
+    // ФИО, email и префикс телефона идут разными ветками поиска
+    @Param({"Петров", "client42", "+7900000"})
+    public String searchTerm;
+
+    private ConfigurableApplicationContext context;
+    private ClientService clientService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("clientsearchbench");
+        clientService = context.getBean(ClientService.class);
+        new BenchmarkDataGenerator().createClients(clientService, clients);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ClientDoneDto> searchClients() {
+        return clientService.searchClients(searchTerm, 0, 20);
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.eventmanagement.benchmark;
+
+import com.example.eventmanagement.dto.TicketReservationDoneDto;
+import com.example.eventmanagement.entity.TicketReservation;
+import com.example.eventmanagement.mapper.TicketReservationMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    // ObjectMapper настраивается так же, как в приложении: модули java.time и формат дат из @JsonFormat
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private TicketReservationDoneDto reservation;
+    private List<TicketReservationDoneDto> reservations;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        TicketReservationMapper mapper = Mappers.getMapper(TicketReservationMapper.class);
+        List<TicketReservation> entities = new BenchmarkDataGenerator().reservations(20);
+        reservations = entities.stream().map(mapper::toTicketReservationDoneDto).toList();
+        reservation = reservations.get(0);
+    }
+
+    @Benchmark
+    public byte[] single() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(reservation);
+    }
+
+    @Benchmark
+    public byte[] page() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(reservations);
+    }
+}
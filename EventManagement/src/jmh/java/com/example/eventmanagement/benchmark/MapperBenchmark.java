@@ -0,0 +1,59 @@
+package com.example.eventmanagement.benchmark;
+
+import com.example.eventmanagement.dto.ClientDoneDto;
+import com.example.eventmanagement.dto.EventDto;
+import com.example.eventmanagement.dto.TicketReservationDto;
+import com.example.eventmanagement.entity.Client;
+import com.example.eventmanagement.entity.Event;
+import com.example.eventmanagement.entity.TicketReservation;
+import com.example.eventmanagement.mapper.ClientMapper;
+import com.example.eventmanagement.mapper.EventMapper;
+import com.example.eventmanagement.mapper.TicketReservationMapper;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"20", "100"})
+    public int size;
+
+    private final ClientMapper clientMapper = Mappers.getMapper(ClientMapper.class);
+    private final EventMapper eventMapper = Mappers.getMapper(EventMapper.class);
+    private final TicketReservationMapper ticketReservationMapper = Mappers.getMapper(TicketReservationMapper.class);
+
+    private List<Client> clients;
+    private List<Event> events;
+    private List<TicketReservation> reservations;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkDataGenerator generator = new BenchmarkDataGenerator();
+        clients = generator.clients(size);
+        reservations = generator.reservations(size);
+        events = reservations.stream().map(TicketReservation::getEvent).toList();
+    }
+
+    @Benchmark
+    public List<ClientDoneDto> clientList() {
+        return clientMapper.toClientDoneDtoList(clients);
+    }
+
+    @Benchmark
+    public List<EventDto> eventList() {
+        return eventMapper.toEventDtoList(events);
+    }
+
+    @Benchmark
+    public List<TicketReservationDto> ticketReservationList() {
+        return ticketReservationMapper.toTicketReservationDtoList(reservations);
+    }
+}
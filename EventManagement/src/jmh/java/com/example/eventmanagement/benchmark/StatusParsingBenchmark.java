@@ -0,0 +1,33 @@
+package com.example.eventmanagement.benchmark;
+
+import com.example.eventmanagement.enums.BookingStatus;
+import com.example.eventmanagement.enums.EventStatus;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatusParsingBenchmark {
+
+    // первый и последний элементы перечислений - лучший и худший случай линейного поиска
+    @Param({"запланировано", "завершено"})
+    public String eventStatus;
+
+    @Param({"подтверждено", "ожидает подтверждения"})
+    public String bookingStatus;
+
+    @Benchmark
+    public EventStatus eventStatusFromString() {
+        return EventStatus.fromString(eventStatus);
+    }
+
+    @Benchmark
+    public BookingStatus bookingStatusFromString() {
+        return BookingStatus.fromString(bookingStatus);
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.eventmanagement.benchmark;
+
+import com.example.eventmanagement.dto.TicketReservationCreateDto;
+import com.example.eventmanagement.dto.TicketReservationDoneDto;
+import com.example.eventmanagement.enums.BookingStatus;
+import com.example.eventmanagement.service.ClientService;
+import com.example.eventmanagement.service.EventService;
+import com.example.eventmanagement.service.TicketReservationService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TicketReservationServiceBenchmark {
+    private static final int CLIENTS = 1_000;
+
+    private ConfigurableApplicationContext context;
+    private TicketReservationService ticketReservationService;
+    private List<Long> clientIds;
+    private Long eventId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("reservationbench");
+        ticketReservationService = context.getBean(TicketReservationService.class);
+        BenchmarkDataGenerator generator = new BenchmarkDataGenerator();
+        clientIds = generator.createClients(context.getBean(ClientService.class), CLIENTS);
+        eventId = generator.createEvent(context.getBean(EventService.class), Integer.MAX_VALUE);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TicketReservationDoneDto createReservation() {
+        Long clientId = clientIds.get(ThreadLocalRandom.current().nextInt(clientIds.size()));
+        return ticketReservationService.createReservation(new TicketReservationCreateDto(
+                clientId, eventId, 1, BookingStatus.PENDING_CONFIRMATION
+        ));
+    }
+}
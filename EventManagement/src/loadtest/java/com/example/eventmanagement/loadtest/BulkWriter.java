@@ -0,0 +1,113 @@
+package com.example.eventmanagement.loadtest;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collections;
+
+// Потоковая запись строк в таблицу: COPY на PostgreSQL, пакетные INSERT на остальных БД
+abstract class BulkWriter implements AutoCloseable {
+
+    static BulkWriter open(Connection connection, String table, String... columns) throws SQLException {
+        String columnList = String.join(", ", columns);
+        if (connection.isWrapperFor(PGConnection.class)) {
+            CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+            return new CopyWriter(copyManager, "COPY " + table + " (" + columnList + ") FROM STDIN WITH (FORMAT csv)");
+        }
+        String placeholders = String.join(", ", Collections.nCopies(columns.length, "?"));
+        return new BatchWriter(connection.prepareStatement(
+                "INSERT INTO " + table + " (" + columnList + ") VALUES (" + placeholders + ")"));
+    }
+
+    abstract void row(Object... values) throws SQLException;
+
+    @Override
+    public abstract void close() throws SQLException;
+
+    private static final class CopyWriter extends BulkWriter {
+        private static final int ROWS_PER_COPY = 50_000;
+
+        private final CopyManager copyManager;
+        private final String sql;
+        private final StringBuilder buffer = new StringBuilder();
+        private int rows;
+
+        private CopyWriter(CopyManager copyManager, String sql) {
+            this.copyManager = copyManager;
+            this.sql = sql;
+        }
+
+        @Override
+        void row(Object... values) throws SQLException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    buffer.append(',');
+                }
+                if (values[i] != null) {
+                    buffer.append('"').append(values[i].toString().replace("\"", "\"\"")).append('"');
+                }
+            }
+            buffer.append('\n');
+            if (++rows == ROWS_PER_COPY) {
+                flush();
+            }
+        }
+
+        private void flush() throws SQLException {
+            if (rows == 0) {
+                return;
+            }
+            try {
+                copyManager.copyIn(sql, new StringReader(buffer.toString()));
+            } catch (IOException e) {
+                throw new SQLException("Ошибка COPY: " + e.getMessage(), e);
+            }
+            buffer.setLength(0);
+            rows = 0;
+        }
+
+        @Override
+        public void close() throws SQLException {
+            flush();
+        }
+    }
+
+    private static final class BatchWriter extends BulkWriter {
+        private static final int ROWS_PER_BATCH = 5_000;
+
+        private final PreparedStatement statement;
+        private int rows;
+
+        private BatchWriter(PreparedStatement statement) {
+            this.statement = statement;
+        }
+
+        @Override
+        void row(Object... values) throws SQLException {
+            for (int i = 0; i < values.length; i++) {
+                statement.setObject(i + 1, values[i]);
+            }
+            statement.addBatch();
+            if (++rows == ROWS_PER_BATCH) {
+                statement.executeBatch();
+                rows = 0;
+            }
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try {
+                if (rows > 0) {
+                    statement.executeBatch();
+                }
+            } finally {
+                statement.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.eventmanagement.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Замкнутая модель нагрузки: concurrency потоков шлют запросы подряд без пауз, операции выбираются по весам смеси.
+// Задержки за время прогрева не учитываются
+final class LoadDriver {
+    private static final String PLANNED = URLEncoder.encode("запланировано", StandardCharsets.UTF_8);
+
+    private final LoadTestSettings settings;
+    private final String baseUrl;
+    private final TargetIds targets;
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ConcurrentLinkedQueue<Long> pendingReservations;
+    private final ConcurrentLinkedQueue<Long> confirmedReservations = new ConcurrentLinkedQueue<>();
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+
+    LoadDriver(LoadTestSettings settings, String baseUrl, TargetIds targets) {
+        this.settings = settings;
+        this.baseUrl = baseUrl;
+        this.targets = targets;
+        this.pendingReservations = new ConcurrentLinkedQueue<>(targets.pendingReservationIds());
+        this.operations = settings.mix().keySet().toArray(new Operation[0]);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += settings.mix().get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    LoadReport run() throws Exception {
+        long measureFrom = System.nanoTime() + settings.warmup().toNanos();
+        long end = measureFrom + settings.duration().toNanos();
+        System.out.printf("Нагрузка: %d потоков, прогрев %d с, замер %d с, смесь %s%n", settings.concurrency(),
+                settings.warmup().toSeconds(), settings.duration().toSeconds(), settings.mix());
+        ExecutorService executor = Executors.newFixedThreadPool(settings.concurrency());
+        try {
+            List<Future<Map<Operation, LatencyRecorder>>> workers = new ArrayList<>();
+            for (int i = 0; i < settings.concurrency(); i++) {
+                workers.add(executor.submit(() -> work(measureFrom, end)));
+            }
+            Map<Operation, LatencyRecorder> merged = new EnumMap<>(Operation.class);
+            for (Future<Map<Operation, LatencyRecorder>> worker : workers) {
+                worker.get().forEach((operation, recorder) ->
+                        merged.computeIfAbsent(operation, key -> new LatencyRecorder()).merge(recorder));
+            }
+            return new LoadReport(merged, settings.duration());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Map<Operation, LatencyRecorder> work(long measureFrom, long end) {
+        Map<Operation, LatencyRecorder> recorders = new EnumMap<>(Operation.class);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < end) {
+            Operation operation = pick(random);
+            Long reservationId = switch (operation) {
+                case CONFIRM -> pendingReservations.poll();
+                case CANCEL -> {
+                    Long confirmed = confirmedReservations.poll();
+                    yield confirmed != null ? confirmed : pendingReservations.poll();
+                }
+                default -> null;
+            };
+            if ((operation == Operation.CONFIRM || operation == Operation.CANCEL) && reservationId == null) {
+                // подтверждать пока нечего - сначала бронируем
+                operation = Operation.BOOK;
+            }
+            long start = System.nanoTime();
+            boolean success;
+            try {
+                success = execute(operation, reservationId, random);
+            } catch (IOException e) {
+                success = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (start >= measureFrom) {
+                recorders.computeIfAbsent(operation, key -> new LatencyRecorder()).record(System.nanoTime() - start, success);
+            }
+        }
+        return recorders;
+    }
+
+    private boolean execute(Operation operation, Long reservationId, ThreadLocalRandom random) throws IOException, InterruptedException {
+        return switch (operation) {
+            case BOOK -> {
+                long clientId = random.nextLong(targets.minClientId(), targets.maxClientId() + 1);
+                Long eventId = randomEvent(random);
+                String body = String.format("{\"clientId\":%d,\"eventId\":%d,\"numberOfTickets\":%d,\"bookingStatus\":\"ожидает подтверждения\"}",
+                        clientId, eventId, 1 + random.nextInt(2));
+                HttpResponse<String> response = send(HttpRequest.newBuilder(uri("/api/ticketReservations"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body)));
+                if (isSuccess(response)) {
+                    pendingReservations.add(objectMapper.readTree(response.body()).get("id").asLong());
+                }
+                yield isSuccess(response);
+            }
+            case CONFIRM -> {
+                HttpResponse<String> response = send(HttpRequest.newBuilder(uri("/api/ticketReservations/" + reservationId + "/confirm"))
+                        .PUT(HttpRequest.BodyPublishers.noBody()));
+                if (isSuccess(response)) {
+                    confirmedReservations.add(reservationId);
+                }
+                yield isSuccess(response);
+            }
+            case CANCEL -> isSuccess(send(HttpRequest.newBuilder(uri("/api/ticketReservations/" + reservationId + "/cancel"))
+                    .PUT(HttpRequest.BodyPublishers.noBody())));
+            case SEARCH -> {
+                String term = random.nextInt(4) == 0
+                        ? String.format("+7900%02d", random.nextInt(100))
+                        : SyntheticDataGenerator.LAST_NAMES[random.nextInt(SyntheticDataGenerator.LAST_NAMES.length)];
+                yield isSuccess(send(HttpRequest.newBuilder(
+                        uri("/api/clients/search?size=20&searchTerm=" + URLEncoder.encode(term, StandardCharsets.UTF_8))).GET()));
+            }
+            case LIST -> {
+                String path = random.nextBoolean()
+                        ? "/api/events?size=20&status=" + PLANNED
+                        : "/api/ticketReservations?size=20&eventId=" + randomEvent(random);
+                yield isSuccess(send(HttpRequest.newBuilder(uri(path)).GET()));
+            }
+        };
+    }
+
+    private Operation pick(ThreadLocalRandom random) {
+        int roll = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (roll < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    private Long randomEvent(ThreadLocalRandom random) {
+        return targets.eventIds().get(random.nextInt(targets.eventIds().size()));
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        return httpClient.send(request.timeout(Duration.ofSeconds(30)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static boolean isSuccess(HttpResponse<?> response) {
+        return response.statusCode() / 100 == 2;
+    }
+}
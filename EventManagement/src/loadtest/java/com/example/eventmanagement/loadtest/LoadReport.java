@@ -0,0 +1,47 @@
+package com.example.eventmanagement.loadtest;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+final class LoadReport {
+    private final Map<Operation, LatencyRecorder> recorders;
+    private final Duration duration;
+
+    LoadReport(Map<Operation, LatencyRecorder> recorders, Duration duration) {
+        this.recorders = recorders;
+        this.duration = duration;
+    }
+
+    void print() {
+        System.out.printf("%n%-8s %-42s %10s %8s %10s %10s %10s %10s%n",
+                "Операция", "Эндпоинт", "Запросов", "Ошибок", "Запр./с", "p50, мс", "p99, мс", "max, мс");
+        recorders.forEach((operation, recorder) -> System.out.printf(Locale.ROOT, "%-8s %-42s %10d %8d %10.1f %10.2f %10.2f %10.2f%n",
+                operation, operation.endpoint(), recorder.count(), recorder.errors(), throughput(recorder),
+                recorder.percentileMillis(50), recorder.percentileMillis(99), recorder.percentileMillis(100)));
+    }
+
+    void write(Path path) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("operation,endpoint,requests,errors,throughput_rps,p50_ms,p99_ms,max_ms");
+        recorders.forEach((operation, recorder) -> lines.add(String.format(Locale.ROOT, "%s,\"%s\",%d,%d,%.1f,%.2f,%.2f,%.2f",
+                operation, operation.endpoint(), recorder.count(), recorder.errors(), throughput(recorder),
+                recorder.percentileMillis(50), recorder.percentileMillis(99), recorder.percentileMillis(100))));
+        Files.write(path, lines, StandardCharsets.UTF_8);
+        System.out.println("Отчет сохранен в " + path.toAbsolutePath());
+    }
+
+    Map<Operation, LatencyRecorder> recorders() {
+        return recorders;
+    }
+
+    double throughput(LatencyRecorder recorder) {
+        return recorder.count() / (duration.toMillis() / 1000.0);
+    }
+}
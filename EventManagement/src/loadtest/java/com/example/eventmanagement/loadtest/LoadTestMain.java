@@ -0,0 +1,124 @@
+package com.example.eventmanagement.loadtest;
+
+import com.example.eventmanagement.EventManagementApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Нагрузочный тест по HTTP.
+ *
+ * Встроенный режим (по умолчанию): приложение поднимается в этом же процессе на H2, данные генерируются и сразу
+ * идет нагрузка:
+ *   mvn -P loadtest test-compile exec:exec -Dloadtest.args="clients=1000000 reservations=3000000 duration=120"
+ *
+ * Внешний режим: приложение уже запущено на PostgreSQL, генератор пишет данные через COPY:
+ *   -Dloadtest.args="generate jdbc-url=jdbc:postgresql://localhost:5432/event_management_db clients=5000000"
+ *   -Dloadtest.args="run base-url=http://localhost:8080 concurrency=64 mix=book=40,search=40,list=20"
+ *
+ * Сравнение платформенных и виртуальных потоков на эндпоинтах бронирования: приложение поднимается дважды,
+ * на H2 или, если задан jdbc-url, на PostgreSQL (схема пересоздается):
+ *   -Dloadtest.args="compare jdbc-url=jdbc:postgresql://localhost:5432/loadtest_db concurrency=400"
+ */
+public final class LoadTestMain {
+
+    private LoadTestMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.parse(args);
+        if (settings.command().equals("compare")) {
+            compare(settings);
+            return;
+        }
+        ConfigurableApplicationContext context = null;
+        try {
+            DataSource dataSource;
+            String baseUrl;
+            if (settings.embedded()) {
+                context = startEmbedded(settings, "loadtest", null);
+                dataSource = context.getBean(DataSource.class);
+                baseUrl = baseUrl(context);
+            } else {
+                dataSource = new DriverManagerDataSource(settings.jdbcUrlOrDefault(), settings.jdbcUser(), settings.jdbcPassword());
+                baseUrl = settings.baseUrlOrDefault();
+            }
+            if (settings.generate()) {
+                new SyntheticDataGenerator(dataSource).generate(settings.clients(), settings.events(), settings.reservations());
+            }
+            if (settings.drive()) {
+                LoadReport report = new LoadDriver(settings, baseUrl, TargetIds.load(dataSource)).run();
+                report.print();
+                report.write(settings.report());
+            }
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private static void compare(LoadTestSettings settings) throws Exception {
+        List<LoadReport> reports = new ArrayList<>();
+        for (boolean virtualThreads : new boolean[]{false, true}) {
+            System.out.printf("%n=== %s потоки ===%n", virtualThreads ? "Виртуальные" : "Платформенные");
+            try (ConfigurableApplicationContext context = startEmbedded(settings, virtualThreads ? "loadtest_virtual" : "loadtest_platform", virtualThreads);
+                 PinnedThreadMonitor pinnedThreads = new PinnedThreadMonitor()) {
+                DataSource dataSource = context.getBean(DataSource.class);
+                new SyntheticDataGenerator(dataSource).generate(settings.clients(), settings.events(), settings.reservations());
+                LoadReport report = new LoadDriver(settings, baseUrl(context), TargetIds.load(dataSource)).run();
+                report.print();
+                report.write(withSuffix(settings.report(), virtualThreads ? "virtual" : "platform"));
+                if (virtualThreads) {
+                    pinnedThreads.print();
+                }
+                reports.add(report);
+            }
+        }
+        ThreadingComparison comparison = new ThreadingComparison(reports.get(0), reports.get(1));
+        comparison.print();
+        comparison.write(withSuffix(settings.report(), "comparison"));
+    }
+
+    // virtualThreads == null - режим потоков берется из application.properties
+    private static ConfigurableApplicationContext startEmbedded(LoadTestSettings settings, String databaseName, Boolean virtualThreads) {
+        List<String> properties = new ArrayList<>(List.of(
+                "server.port=0",
+                "spring.jpa.show-sql=false",
+                "logging.level.com.example.eventmanagement=WARN",
+                "logging.level.org.hibernate.SQL=WARN"
+        ));
+        if (settings.jdbcUrl() != null) {
+            properties.add("spring.datasource.url=" + settings.jdbcUrl());
+            properties.add("spring.datasource.username=" + settings.jdbcUser());
+            properties.add("spring.datasource.password=" + settings.jdbcPassword());
+            properties.add("spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect");
+            properties.add("spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect");
+        } else {
+            properties.add("spring.datasource.url=jdbc:h2:mem:" + databaseName + ";DB_CLOSE_DELAY=-1");
+        }
+        if (virtualThreads != null) {
+            properties.add("spring.threads.virtual.enabled=" + virtualThreads);
+        }
+        return new SpringApplicationBuilder(EventManagementApplication.class)
+                .profiles("test")
+                .properties(properties.toArray(new String[0]))
+                .run();
+    }
+
+    private static String baseUrl(ConfigurableApplicationContext context) {
+        return "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+    }
+
+    private static Path withSuffix(Path report, String suffix) {
+        String name = report.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        String renamed = dot < 0 ? name + "-" + suffix : name.substring(0, dot) + "-" + suffix + name.substring(dot);
+        return report.resolveSibling(renamed);
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.eventmanagement.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Параметры запуска в виде key=value; без base-url и jdbc-url приложение поднимается внутри процесса на H2
+record LoadTestSettings(
+        String command,
+        String baseUrl,
+        String jdbcUrl,
+        String jdbcUser,
+        String jdbcPassword,
+        int clients,
+        int events,
+        int reservations,
+        int concurrency,
+        Duration warmup,
+        Duration duration,
+        Map<Operation, Integer> mix,
+        Path report
+) {
+
+    static LoadTestSettings parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator < 0) {
+                values.put("command", arg);
+            } else {
+                values.put(arg.substring(0, separator), arg.substring(separator + 1));
+            }
+        }
+        String command = values.getOrDefault("command", "all");
+        if (!List.of("all", "generate", "run", "compare").contains(command)) {
+            throw new IllegalArgumentException("Неизвестная команда: " + command + " (ожидается all, generate, run или compare)");
+        }
+        // сравнение потоков по умолчанию нагружает только эндпоинты бронирования и с параллелизмом выше пула Tomcat
+        boolean compare = command.equals("compare");
+        return new LoadTestSettings(
+                command,
+                values.get("base-url"),
+                values.get("jdbc-url"),
+                values.getOrDefault("jdbc-user", "new_user"),
+                values.getOrDefault("jdbc-password", "new_password"),
+                Integer.parseInt(values.getOrDefault("clients", "100000")),
+                Integer.parseInt(values.getOrDefault("events", "1000")),
+                Integer.parseInt(values.getOrDefault("reservations", "500000")),
+                Integer.parseInt(values.getOrDefault("concurrency", compare ? "400" : "32")),
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("warmup", "15"))),
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("duration", "60"))),
+                Operation.parseMix(values.getOrDefault("mix", compare ? "book=50,confirm=25,cancel=25" : "book=30,confirm=15,cancel=10,search=25,list=20")),
+                Path.of(values.getOrDefault("report", "loadtest-report.csv"))
+        );
+    }
+
+    private static final String DEFAULT_BASE_URL = "http://localhost:8080";
+    private static final String DEFAULT_JDBC_URL = "jdbc:postgresql://localhost:5432/event_management_db";
+
+    boolean embedded() {
+        return command.equals("compare") || (baseUrl == null && jdbcUrl == null);
+    }
+
+    String baseUrlOrDefault() {
+        return baseUrl != null ? baseUrl : DEFAULT_BASE_URL;
+    }
+
+    String jdbcUrlOrDefault() {
+        return jdbcUrl != null ? jdbcUrl : DEFAULT_JDBC_URL;
+    }
+
+    boolean generate() {
+        return !command.equals("run");
+    }
+
+    boolean drive() {
+        return !command.equals("generate");
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.eventmanagement.loadtest;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+enum Operation {
+    BOOK("POST /api/ticketReservations"),
+    CONFIRM("PUT /api/ticketReservations/{id}/confirm"),
+    CANCEL("PUT /api/ticketReservations/{id}/cancel"),
+    SEARCH("GET /api/clients/search"),
+    LIST("GET /api/events, /api/ticketReservations");
+
+    private final String endpoint;
+
+    Operation(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    String endpoint() {
+        return endpoint;
+    }
+
+    // "book=30,confirm=15" -> веса операций; неупомянутые операции не выполняются
+    static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String part : mix.split(",")) {
+            String[] pair = part.trim().split("=");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Неверный формат смеси нагрузки: " + part);
+            }
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight > 0) {
+                weights.put(Operation.valueOf(pair[0].trim().toUpperCase(Locale.ROOT)), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("Смесь нагрузки не содержит ни одной операции");
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.eventmanagement.loadtest;
+
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Ловит JFR-события jdk.VirtualThreadPinned: виртуальный поток заблокировался внутри synchronized или native
+// и держит поток-носитель. Группирует их по первому кадру стека вне JDK - это и есть виновник
+final class PinnedThreadMonitor implements AutoCloseable {
+    private static final String EVENT = "jdk.VirtualThreadPinned";
+
+    private final RecordingStream stream = new RecordingStream();
+    private final LongAdder pinned = new LongAdder();
+    private final ConcurrentHashMap<String, LongAdder> culprits = new ConcurrentHashMap<>();
+
+    PinnedThreadMonitor() {
+        stream.enable(EVENT).withStackTrace().withThreshold(Duration.ofMillis(1));
+        stream.onEvent(EVENT, event -> {
+            pinned.increment();
+            String culprit = event.getStackTrace() == null ? "неизвестно" : event.getStackTrace().getFrames().stream()
+                    .map(RecordedFrame::getMethod)
+                    .map(method -> method.getType().getName() + "." + method.getName())
+                    .filter(name -> !name.startsWith("java.") && !name.startsWith("jdk.") && !name.startsWith("sun."))
+                    .findFirst()
+                    .orElse("JDK");
+            culprits.computeIfAbsent(culprit, key -> new LongAdder()).increment();
+        });
+        stream.startAsync();
+    }
+
+    long pinnedEvents() {
+        return pinned.sum();
+    }
+
+    void print() {
+        System.out.printf("Закреплений виртуальных потоков дольше 1 мс: %d%n", pinned.sum());
+        culprits.entrySet().stream()
+                .sorted(Comparator.comparingLong(entry -> -entry.getValue().sum()))
+                .limit(10)
+                .forEach(entry -> System.out.printf("  %6d  %s%n", entry.getValue().sum(), entry.getKey()));
+    }
+
+    @Override
+    public void close() {
+        stream.close();
+    }
+}
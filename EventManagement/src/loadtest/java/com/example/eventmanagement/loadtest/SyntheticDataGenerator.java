@@ -0,0 +1,154 @@
+package com.example.eventmanagement.loadtest;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Random;
+
+// Генерирует клиентов с паспортами, мероприятия и брони в обход приложения, затем достраивает
+// счетчики мест и статистику одним INSERT ... SELECT, как data.sql
+final class SyntheticDataGenerator {
+    static final String[] LAST_NAMES = {"Иванов", "Петров", "Сидоров", "Смирнов", "Кузнецов", "Попов", "Волков", "Соколов",
+            "Морозов", "Новиков", "Федоров", "Лебедев"};
+    private static final String[] FIRST_NAMES = {"Иван", "Петр", "Алексей", "Сергей", "Дмитрий", "Андрей", "Михаил", "Николай"};
+    private static final String[] PATRONYMICS = {"Иванович", "Петрович", "Алексеевич", "Сергеевич", "Дмитриевич", "Андреевич"};
+    private static final int MAX_TICKETS = 4;
+    private static final int ID_ALLOCATION_SIZE = 50;
+
+    private final DataSource dataSource;
+    private final Random random = new Random(42);
+
+    SyntheticDataGenerator(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    void generate(int clients, int events, int reservations) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            long started = System.nanoTime();
+            long firstClient = nextId(connection, "clients");
+            long firstPassport = nextId(connection, "passports");
+            long firstEvent = nextId(connection, "events");
+            long firstReservation = nextId(connection, "ticket_reservations");
+            LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+
+            try (BulkWriter passportWriter = BulkWriter.open(connection, "passports", "id", "series", "number", "created_at")) {
+                for (long i = 0; i < clients; i++) {
+                    long id = firstPassport + i;
+                    passportWriter.row(id, String.format("%04d", id / 1_000_000), String.format("%06d", id % 1_000_000), now);
+                }
+            }
+            try (BulkWriter clientWriter = BulkWriter.open(connection, "clients",
+                    "id", "full_name", "phone_number", "email", "passport_id", "created_at", "updated_at")) {
+                for (long i = 0; i < clients; i++) {
+                    long id = firstClient + i;
+                    LocalDateTime createdAt = now.minusMinutes(random.nextInt(525_600));
+                    clientWriter.row(id, fullName(id), String.format("+79%09d", id), "load" + id + "@mail.ru",
+                            firstPassport + i, createdAt, createdAt);
+                }
+            }
+            log("клиенты с паспортами", clients, started);
+
+            // запас мест втрое больше среднего, чтобы сгенерированные брони и нагрузка не упирались в лимит
+            int seatsPerEvent = Math.max(1_000, (int) Math.min(Integer.MAX_VALUE, 3L * MAX_TICKETS * reservations / Math.max(1, events)));
+            try (BulkWriter eventWriter = BulkWriter.open(connection, "events",
+                    "id", "name", "date", "number_of_seats", "ticket_price", "status", "description", "created_at", "updated_at")) {
+                for (long i = 0; i < events; i++) {
+                    long id = firstEvent + i;
+                    eventWriter.row(id, "Нагрузочное мероприятие " + id, LocalDate.now().plusDays(30 + i % 335), seatsPerEvent,
+                            BigDecimal.valueOf(500 + random.nextInt(46) * 100L), "запланировано", "Сгенерировано для нагрузочного теста",
+                            now, now);
+                }
+            }
+            log("мероприятия", events, started);
+
+            try (BulkWriter reservationWriter = BulkWriter.open(connection, "ticket_reservations",
+                    "id", "client_id", "event_id", "number_of_tickets", "booking_status", "created_at", "updated_at")) {
+                for (long i = 0; i < reservations; i++) {
+                    LocalDateTime createdAt = now.minusMinutes(random.nextInt(129_600));
+                    reservationWriter.row(firstReservation + i, firstClient + random.nextInt(clients), firstEvent + random.nextInt(events),
+                            1 + random.nextInt(MAX_TICKETS), bookingStatus(), createdAt, createdAt);
+                }
+            }
+            log("брони", reservations, started);
+
+            fillDerivedTables(connection, firstEvent);
+            for (String table : new String[]{"passports", "clients", "events", "ticket_reservations"}) {
+                restartSequence(connection, table);
+            }
+            connection.commit();
+            log("счетчики мест и статистика", events, started);
+        }
+    }
+
+    static String fullName(long id) {
+        return LAST_NAMES[(int) (id % LAST_NAMES.length)] + " " + FIRST_NAMES[(int) (id / LAST_NAMES.length % FIRST_NAMES.length)]
+               + " " + PATRONYMICS[(int) (id % PATRONYMICS.length)];
+    }
+
+    private String bookingStatus() {
+        int roll = random.nextInt(10);
+        if (roll < 6) {
+            return "подтверждено";
+        }
+        return roll < 9 ? "ожидает подтверждения" : "отменено";
+    }
+
+    private void fillDerivedTables(Connection connection, long firstEvent) throws SQLException {
+        try (PreparedStatement inventory = connection.prepareStatement(
+                "INSERT INTO event_seat_inventory (event_id, total_seats, reserved_seats) " +
+                "SELECT e.id, e.number_of_seats, " +
+                "COALESCE((SELECT SUM(tr.number_of_tickets) FROM ticket_reservations tr " +
+                "WHERE tr.event_id = e.id AND tr.booking_status IN ('подтверждено', 'ожидает подтверждения')), 0) " +
+                "FROM events e WHERE e.id >= ?");
+             PreparedStatement stats = connection.prepareStatement(
+                     "INSERT INTO event_stats (event_id, confirmed_tickets, pending_tickets, canceled_reservations, revenue) " +
+                     "SELECT e.id, " +
+                     "COALESCE(SUM(tr.number_of_tickets) FILTER (WHERE tr.booking_status = 'подтверждено'), 0), " +
+                     "COALESCE(SUM(tr.number_of_tickets) FILTER (WHERE tr.booking_status = 'ожидает подтверждения'), 0), " +
+                     "COUNT(tr.id) FILTER (WHERE tr.booking_status = 'отменено'), " +
+                     "COALESCE(SUM(tr.number_of_tickets * e.ticket_price) FILTER (WHERE tr.booking_status = 'подтверждено'), 0) " +
+                     "FROM events e LEFT JOIN ticket_reservations tr ON tr.event_id = e.id " +
+                     "WHERE e.id >= ? GROUP BY e.id")) {
+            inventory.setLong(1, firstEvent);
+            inventory.executeUpdate();
+            stats.setLong(1, firstEvent);
+            stats.executeUpdate();
+        }
+    }
+
+    private long nextId(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COALESCE(MAX(id), 0) + 1 FROM " + table)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    // id записаны явно, поэтому последовательность нужно передвинуть за них, иначе приложение получит дубликаты ключей.
+    // Hibernate берет из последовательности верхнюю границу блока в 50 id, следующий nextval должен быть не меньше max + 50
+    private void restartSequence(Connection connection, String table) throws SQLException {
+        long next = nextId(connection, table);
+        if (next == 1) {
+            return;
+        }
+        try (Statement statement = connection.createStatement()) {
+            if (connection.getMetaData().getDatabaseProductName().equals("PostgreSQL")) {
+                statement.execute("SELECT setval('" + table + "_seq', GREATEST(" + (next - 1) + ", last_value)) FROM " + table + "_seq");
+            } else {
+                statement.execute("ALTER SEQUENCE " + table + "_seq RESTART WITH " + (next - 1 + ID_ALLOCATION_SIZE));
+            }
+        }
+    }
+
+    private void log(String what, int rows, long started) {
+        System.out.printf("Сгенерировано: %s - %d строк (%.1f с от начала)%n", what, rows, (System.nanoTime() - started) / 1e9);
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.eventmanagement.loadtest;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+// Идентификаторы, по которым ходит нагрузка: читаются из БД один раз до старта
+record TargetIds(long minClientId, long maxClientId, List<Long> eventIds, List<Long> pendingReservationIds) {
+    private static final int MAX_IDS = 100_000;
+
+    static TargetIds load(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            long minClientId;
+            long maxClientId;
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery("SELECT MIN(id), MAX(id) FROM clients")) {
+                resultSet.next();
+                minClientId = resultSet.getLong(1);
+                maxClientId = resultSet.getLong(2);
+            }
+            List<Long> eventIds = ids(connection,
+                    "SELECT id FROM events WHERE status = 'запланировано' AND date >= ? ORDER BY id", LocalDate.now());
+            List<Long> pending = ids(connection,
+                    "SELECT id FROM ticket_reservations tr WHERE booking_status = 'ожидает подтверждения' " +
+                    "AND EXISTS (SELECT 1 FROM events e WHERE e.id = tr.event_id AND e.date >= ?) ORDER BY id", LocalDate.now());
+            if (maxClientId == 0 || eventIds.isEmpty()) {
+                throw new IllegalStateException("В БД нет клиентов или доступных для бронирования мероприятий - сначала запустите generate");
+            }
+            return new TargetIds(minClientId, maxClientId, eventIds, pending);
+        }
+    }
+
+    private static List<Long> ids(Connection connection, String sql, LocalDate today) throws SQLException {
+        List<Long> ids = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setObject(1, today);
+            statement.setMaxRows(MAX_IDS);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    ids.add(resultSet.getLong(1));
+                }
+            }
+        }
+        return ids;
+    }
+}
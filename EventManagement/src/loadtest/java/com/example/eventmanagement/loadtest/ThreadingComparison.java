@@ -0,0 +1,54 @@
+package com.example.eventmanagement.loadtest;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+// Сводная таблица прогона на платформенных и виртуальных потоках с одинаковыми данными и смесью
+final class ThreadingComparison {
+    private final LoadReport platform;
+    private final LoadReport virtual;
+
+    ThreadingComparison(LoadReport platform, LoadReport virtual) {
+        this.platform = platform;
+        this.virtual = virtual;
+    }
+
+    void print() {
+        System.out.printf("%n%-8s %14s %14s %14s %14s %14s %14s%n", "Операция",
+                "Запр./с плат.", "Запр./с вирт.", "p50 плат., мс", "p50 вирт., мс", "p99 плат., мс", "p99 вирт., мс");
+        for (String line : lines("%-8s %14.1f %14.1f %14.2f %14.2f %14.2f %14.2f")) {
+            System.out.println(line);
+        }
+    }
+
+    void write(Path path) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("operation,platform_rps,virtual_rps,platform_p50_ms,virtual_p50_ms,platform_p99_ms,virtual_p99_ms");
+        lines.addAll(lines("%s,%.1f,%.1f,%.2f,%.2f,%.2f,%.2f"));
+        Files.write(path, lines, StandardCharsets.UTF_8);
+        System.out.println("Сравнение сохранено в " + path.toAbsolutePath());
+    }
+
+    private List<String> lines(String format) {
+        Set<Operation> operations = EnumSet.noneOf(Operation.class);
+        operations.addAll(platform.recorders().keySet());
+        operations.addAll(virtual.recorders().keySet());
+        List<String> lines = new ArrayList<>();
+        for (Operation operation : operations) {
+            LatencyRecorder p = platform.recorders().getOrDefault(operation, new LatencyRecorder());
+            LatencyRecorder v = virtual.recorders().getOrDefault(operation, new LatencyRecorder());
+            lines.add(String.format(Locale.ROOT, format, operation,
+                    platform.throughput(p), virtual.throughput(v),
+                    p.percentileMillis(50), v.percentileMillis(50),
+                    p.percentileMillis(99), v.percentileMillis(99)));
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.eventmanagement.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+// кэш оборачивает транзакцию снаружи: запись и сброс происходят уже после коммита
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+public class CacheConfig {
+    public static final String EVENTS = "events";
+    public static final String EVENT_PAGES = "eventPages";
+}
@@ -0,0 +1,28 @@
+package com.example.eventmanagement.config;
+
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.TriggerContext;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Сдвигает каждый запуск на случайную задержку, чтобы экземпляры не штурмовали таблицу аренды одновременно
+class JitteredTrigger implements Trigger {
+    private final Trigger delegate;
+    private final long maxJitterMillis;
+
+    JitteredTrigger(Trigger delegate, Duration maxJitter) {
+        this.delegate = delegate;
+        this.maxJitterMillis = maxJitter.toMillis();
+    }
+
+    @Override
+    public Instant nextExecution(TriggerContext triggerContext) {
+        Instant next = delegate.nextExecution(triggerContext);
+        if (next == null || maxJitterMillis <= 0) {
+            return next;
+        }
+        return next.plusMillis(ThreadLocalRandom.current().nextLong(maxJitterMillis + 1));
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.eventmanagement.config;
+
+import com.example.eventmanagement.service.MaintenanceJob;
+import com.example.eventmanagement.service.MaintenanceRunner;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+import java.time.Duration;
+import java.util.List;
+
+@Configuration
+@Slf4j
+public class MaintenanceSchedulingConfig implements SchedulingConfigurer {
+    private final List<MaintenanceJob> jobs;
+    private final MaintenanceRunner maintenanceRunner;
+    private final Duration jitter;
+
+    public MaintenanceSchedulingConfig(List<MaintenanceJob> jobs, MaintenanceRunner maintenanceRunner,
+                                       @Value("${maintenance.jitter:PT30S}") Duration jitter) {
+        this.jobs = jobs;
+        this.maintenanceRunner = maintenanceRunner;
+        this.jitter = jitter;
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        for (MaintenanceJob job : jobs) {
+            Trigger trigger = job.trigger();
+            if (trigger == null) {
+                log.info("Задача обслуживания {} отключена", job.name());
+                continue;
+            }
+            taskRegistrar.addTriggerTask(() -> maintenanceRunner.run(job), new JitteredTrigger(trigger, jitter));
+        }
+    }
+}
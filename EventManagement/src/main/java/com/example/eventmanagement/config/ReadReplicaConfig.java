@@ -0,0 +1,80 @@
+package com.example.eventmanagement.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Включается свойством datasource.replica.urls. Основной DataSource приложения - ленивый прокси: соединение
+// берется при первом запросе, когда уже известно, readOnly ли транзакция, и readOnly-транзакции получают его
+// из ReplicaRoutingDataSource, а все остальные - из пула основной базы. Выбор делается для каждой транзакции,
+// пока соединение не удерживается на весь запрос (spring.jpa.open-in-view=false)
+@Configuration
+@ConditionalOnProperty("datasource.replica.urls")
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaDataSource(HikariDataSource primaryDataSource,
+                                                      @Value("${datasource.replica.urls}") List<String> urls,
+                                                      @Value("${datasource.replica.username:${spring.datasource.username}}") String username,
+                                                      @Value("${datasource.replica.password:${spring.datasource.password}}") String password,
+                                                      @Value("${datasource.replica.maximum-pool-size:${spring.datasource.hikari.maximum-pool-size:10}}") int maximumPoolSize,
+                                                      @Value("${datasource.replica.connection-timeout:PT1S}") Duration connectionTimeout,
+                                                      @Value("${datasource.replica.max-lag:PT2S}") Duration maxLag,
+                                                      MeterRegistry meterRegistry) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < urls.size(); i++) {
+            // пул создается без соединений и подключается при первом чтении: недоступная реплика не мешает запуску
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + i);
+            replica.setJdbcUrl(urls.get(i).trim());
+            replica.setUsername(username);
+            replica.setPassword(password);
+            if (primaryDataSource.getDriverClassName() != null) {
+                replica.setDriverClassName(primaryDataSource.getDriverClassName());
+            }
+            replica.setMaximumPoolSize(maximumPoolSize);
+            replica.setConnectionTimeout(connectionTimeout.toMillis());
+            replica.setReadOnly(true);
+            replica.setMetricRegistry(meterRegistry);
+            replicas.put(replica.getPoolName(), replica);
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, maxLag, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaRoutingDataSource replicaDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaDataSource);
+        return dataSource;
+    }
+
+    @Bean
+    public ReadYourWrites readYourWrites(@Value("${datasource.replica.read-your-writes-window:PT5S}") Duration window) {
+        return new ReadYourWrites(window);
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(@Value("${datasource.replica.read-your-writes-window:PT5S}") Duration window) {
+        return new ReadYourWritesFilter(window);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.eventmanagement.config;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+
+// После коммита пишущей транзакции ее автор в течение window читает с основной базы, а не с реплики,
+// которая могла еще не получить изменения. В том же потоке - через ThreadLocal, в следующих запросах
+// того же клиента - через cookie, которую разбирает ReadYourWritesFilter
+public class ReadYourWrites implements TransactionExecutionListener {
+    public static final String COOKIE = "primary-until";
+
+    private static final ThreadLocal<Long> PRIMARY_UNTIL = new ThreadLocal<>();
+
+    private final Duration window;
+
+    public ReadYourWrites(Duration window) {
+        this.window = window;
+    }
+
+    public static boolean isPinned() {
+        Long until = PRIMARY_UNTIL.get();
+        return until != null && System.currentTimeMillis() < until;
+    }
+
+    public static void pinUntil(long epochMillis) {
+        PRIMARY_UNTIL.set(epochMillis);
+    }
+
+    public static void clear() {
+        PRIMARY_UNTIL.remove();
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, @Nullable Throwable commitFailure) {
+        if (commitFailure != null || transaction.isReadOnly() || !transaction.isNewTransaction()) {
+            return;
+        }
+        long until = System.currentTimeMillis() + window.toMillis();
+        pinUntil(until);
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            HttpServletResponse response = attributes.getResponse();
+            if (response != null && !response.isCommitted()) {
+                Cookie cookie = new Cookie(COOKIE, Long.toString(until));
+                cookie.setPath("/");
+                cookie.setHttpOnly(true);
+                cookie.setMaxAge((int) Math.max(1, window.toSeconds()));
+                response.addCookie(cookie);
+            }
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.eventmanagement.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Соединения для readOnly-транзакций: реплики по кругу. Чтение уходит на основную базу, если вызывающий
+// только что писал (ReadYourWrites), а также пока все реплики отстают больше max-lag или недоступны
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements Closeable {
+    // на основной базе (и на любой не-реплике) отставание нулевое; на реплике без новых WAL-записей тоже
+    private static final String LAG_QUERY = "SELECT CASE WHEN NOT pg_is_in_recovery() " +
+            "OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) END";
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final double maxLagSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+    private final MeterRegistry meterRegistry;
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, Duration maxLag,
+                                    MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+        this.meterRegistry = meterRegistry;
+        replicas.forEach((name, dataSource) -> {
+            Replica replica = new Replica(name, dataSource);
+            this.replicas.add(replica);
+            meterRegistry.gauge("datasource.replica.lag", Tags.of("replica", name), replica, r -> r.lagSeconds);
+        });
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (ReadYourWrites.isPinned()) {
+            return route("primary-pinned", primary);
+        }
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (!replica.healthy) {
+                continue;
+            }
+            try {
+                return route(replica.name, replica.dataSource);
+            } catch (SQLException e) {
+                // вернется в работу после следующей успешной проверки отставания
+                replica.healthy = false;
+                log.warn("Реплика {} недоступна, чтение переключено: {}", replica.name, e.getMessage());
+            }
+        }
+        return route("primary-fallback", primary);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Соединения с репликами выдаются только с настроенными учетными данными");
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replica.lag-check-interval:PT5S}")
+    public void checkLag() {
+        for (Replica replica : replicas) {
+            boolean wasHealthy = replica.healthy;
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+                resultSet.next();
+                replica.lagSeconds = resultSet.getDouble(1);
+                replica.healthy = replica.lagSeconds <= maxLagSeconds;
+            } catch (SQLException e) {
+                replica.healthy = false;
+                log.debug("Не удалось проверить отставание реплики {}: {}", replica.name, e.getMessage());
+            }
+            if (wasHealthy && !replica.healthy) {
+                log.warn("Реплика {} выведена из чтения, отставание {} с", replica.name, replica.lagSeconds);
+            } else if (!wasHealthy && replica.healthy) {
+                log.info("Реплика {} возвращена в чтение, отставание {} с", replica.name, replica.lagSeconds);
+            }
+        }
+    }
+
+    boolean isHealthy(String name) {
+        return replicas.stream().anyMatch(replica -> replica.name.equals(name) && replica.healthy);
+    }
+
+    @Override
+    public void close() {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    log.warn("Ошибка при закрытии пула реплики {}", replica.name, e);
+                }
+            }
+        }
+    }
+
+    private Connection route(String target, DataSource dataSource) throws SQLException {
+        Connection connection = dataSource.getConnection();
+        meterRegistry.counter("datasource.read.routing", "target", target).increment();
+        return connection;
+    }
+
+    private static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+        private volatile double lagSeconds;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.eventmanagement.config;
+
+import com.example.eventmanagement.exception.GlobalExceptionHandler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// На виртуальных потоках Tomcat больше не ограничивает число одновременных запросов размером пула потоков,
+// и все они упираются в пул соединений HikariCP. Фильтр возвращает это ограничение: к API одновременно
+// допускается per-connection запросов на каждое соединение пула, остальные ждут не дольше max-wait и получают 503.
+// Асинхронные запросы (выгрузка и загрузка через StreamingResponseBody) держат разрешение до завершения обработки
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@Slf4j
+public class RequestConcurrencyLimitFilter extends OncePerRequestFilter {
+    private final Semaphore permits;
+    private final long maxWaitNanos;
+    private final ObjectMapper objectMapper;
+
+    public RequestConcurrencyLimitFilter(@Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+                                         @Value("${request-concurrency.per-connection:4}") int perConnection,
+                                         @Value("${request-concurrency.max-wait:PT2S}") Duration maxWait,
+                                         ObjectMapper objectMapper) {
+        this.permits = new Semaphore(poolSize * perConnection, true);
+        this.maxWaitNanos = maxWait.toNanos();
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            log.warn("Запрос {} {} отклонен: превышен лимит одновременных запросов", request.getMethod(), request.getRequestURI());
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader("Retry-After", "1");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setCharacterEncoding("UTF-8");
+            objectMapper.writeValue(response.getWriter(), new GlobalExceptionHandler.ErrorResponse(
+                    "SERVICE_OVERLOADED", "Сервер перегружен, повторите запрос позже"));
+            return;
+        }
+        boolean async = false;
+        try {
+            filterChain.doFilter(request, response);
+            async = request.isAsyncStarted();
+        } finally {
+            if (async) {
+                request.getAsyncContext().addListener(new PermitReleasingListener());
+            } else {
+                permits.release();
+            }
+        }
+    }
+
+    // завершение, ошибка и таймаут могут прийти вместе, разрешение возвращается один раз
+    private class PermitReleasingListener implements AsyncListener {
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        }
+    }
+}
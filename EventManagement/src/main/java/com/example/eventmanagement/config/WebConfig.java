@@ -0,0 +1,18 @@
+package com.example.eventmanagement.config;
+
+import com.example.eventmanagement.enums.BookingStatus;
+import com.example.eventmanagement.enums.EventStatus;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.format.FormatterRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    // статусы в параметрах запроса принимаются в том же виде, что и в JSON
+    @Override
+    public void addFormatters(FormatterRegistry registry) {
+        registry.addConverter(String.class, EventStatus.class, EventStatus::fromString);
+        registry.addConverter(String.class, BookingStatus.class, BookingStatus::fromString);
+    }
+}
@@ -1,57 +1,153 @@
 package com.example.eventmanagement.controller;
 
 import com.example.eventmanagement.dto.*;
+import com.example.eventmanagement.service.ClientImportReader;
+import com.example.eventmanagement.service.ClientImporter;
 import com.example.eventmanagement.service.ClientService;
+import com.example.eventmanagement.service.ExportFormat;
+import com.example.eventmanagement.service.ExportService;
+import com.example.eventmanagement.service.IdempotencyService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.UUID;
 
 @RestController
 @Slf4j
 @RequestMapping("/api/clients")
 public class ClientController {
     private final ClientService clientService;
+    private final ClientImporter clientImporter;
+    private final ExportService exportService;
+    private final IdempotencyService idempotencyService;
 
-    public ClientController(ClientService clientService) {
+    public ClientController(ClientService clientService, ClientImporter clientImporter, ExportService exportService,
+                            IdempotencyService idempotencyService) {
         this.clientService = clientService;
+        this.clientImporter = clientImporter;
+        this.exportService = exportService;
+        this.idempotencyService = idempotencyService;
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ClientDoneDto> getClientById(@PathVariable Long id) {
+    public ResponseEntity<ClientDoneDto> getClientById(@PathVariable Long id, WebRequest request) {
         log.info("GET /api/clients/{} - получение клиента по ID", id);
+        ResourceVersion version = clientService.getVersion(id);
+        if (request.checkNotModified(version.etag(), version.lastModifiedMillis())) {
+            log.debug("Клиент с id {} не изменился", id);
+            return null;
+        }
         ClientDoneDto client = clientService.getById(id);
         log.info("Клиент с id {} найден: {}", id, client.fullName());
         return ResponseEntity.ok(client);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<ClientDoneDto>> searchClient(@RequestParam String searchTerm) {
-        log.info("GET /api/clients/search?searchTerm={} - поиск клиентов", searchTerm);
-        List<ClientDoneDto> clients = clientService.searchClients(searchTerm);
+    public ResponseEntity<List<ClientDoneDto>> searchClient(
+            @RequestParam String searchTerm,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = CursorPage.DEFAULT_SIZE) int size) {
+        log.info("GET /api/clients/search?searchTerm={}&page={}&size={} - поиск клиентов", searchTerm, page, size);
+        List<ClientDoneDto> clients = clientService.searchClients(searchTerm, page, size);
         log.debug("По запросу '{}' найдено клиентов: {}", searchTerm, clients.size());
         return ResponseEntity.ok(clients);
     }
 
     @GetMapping
-    public ResponseEntity<List<ClientDoneDto>> getAllClients() {
-        log.info("GET /api/clients - получение списка всех клиентов");
-        List<ClientDoneDto> clients = clientService.getAll();
-        log.debug("Найдено клиентов: {}", clients.size());
+    public ResponseEntity<CursorPage<ClientDoneDto>> getAllClients(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = CursorPage.DEFAULT_SIZE) int size,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            WebRequest request) {
+        log.info("GET /api/clients?after={}&size={} - получение страницы клиентов", after, size);
+        ResourceVersion version = clientService.getPageVersion(after, size, createdFrom);
+        if (request.checkNotModified(version.etag(), version.lastModifiedMillis())) {
+            log.debug("Страница клиентов after={} не изменилась", after);
+            return null;
+        }
+        CursorPage<ClientDoneDto> clients = clientService.getPage(after, size, createdFrom);
+        log.debug("Найдено клиентов: {}, следующий курсор: {}", clients.items().size(), clients.nextCursor());
         return ResponseEntity.ok(clients);
     }
 
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportClients(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo) {
+        log.info("GET /api/clients/export?format={}&createdFrom={}&createdTo={} - выгрузка клиентов", format, createdFrom, createdTo);
+        ExportFormat exportFormat = ExportFormat.fromParameter(format);
+        ExportService.validateRange(createdFrom, createdTo);
+        StreamingResponseBody body = out -> exportService.exportClients(createdFrom, createdTo, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("clients." + exportFormat.getExtension()).build().toString())
+                .body(body);
+    }
+
     @PostMapping
-    public ResponseEntity<ClientDoneDto> createClient(@Valid @RequestBody ClientCreateWithDependenciesDto dto) {
+    public ResponseEntity<ClientDoneDto> createClient(@Valid @RequestBody ClientCreateWithDependenciesDto dto,
+                                                      @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
         log.info("POST /api/clients - создание клиента: {} ({})", dto.fullName(), dto.email());
-        ClientDoneDto createdClient = clientService.createClient(dto);
+        ClientDoneDto createdClient = idempotencyKey == null
+                ? clientService.createClient(dto)
+                : idempotencyService.execute("clients", idempotencyKey, dto, ClientDoneDto.class, () -> clientService.createClient(dto));
         log.info("Клиент создан с id {}: {}", createdClient.id(), createdClient.fullName());
         return ResponseEntity.status(HttpStatus.CREATED).body(createdClient);
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<List<ClientDoneDto>> createClients(@RequestBody List<@Valid ClientCreateWithDependenciesDto> dtos) {
+        log.info("POST /api/clients/bulk - пакетное создание клиентов: {}", dtos.size());
+        List<ClientDoneDto> createdClients = clientService.createClients(dtos);
+        log.info("Создано клиентов: {}", createdClients.size());
+        return ResponseEntity.status(HttpStatus.CREATED).body(createdClients);
+    }
+
+    // тело читается потоком и не разбирается конвертерами Spring, поэтому формат определяется по Content-Type вручную
+    @PostMapping("/import")
+    public ResponseEntity<ClientImportResponse> importClients(HttpServletRequest request) throws IOException {
+        log.info("POST /api/clients/import - импорт клиентов ({})", request.getContentType());
+        ClientImportReader.Format format = ClientImportReader.Format.fromContentType(request.getContentType());
+        ClientImportResponse response = clientImporter.start(request.getInputStream(), format);
+        return ResponseEntity.accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}").buildAndExpand(response.id()).toUri())
+                .body(response);
+    }
+
+    @GetMapping("/import/{id}")
+    public ResponseEntity<ClientImportResponse> getImportStatus(@PathVariable UUID id) {
+        return ResponseEntity.ok(clientImporter.status(id));
+    }
+
+    @GetMapping("/import/{id}/errors")
+    public ResponseEntity<Resource> getImportErrors(@PathVariable UUID id) {
+        log.info("GET /api/clients/import/{}/errors - отчет об ошибках импорта", id);
+        return ResponseEntity.ok()
+                .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("client-import-" + id + "-errors.csv").build().toString())
+                .body(new FileSystemResource(clientImporter.errorReport(id)));
+    }
+
     @PutMapping("/{id}/passport")
     public ResponseEntity<ClientDoneDto> updatePassport(@PathVariable Long id, @Valid @RequestBody PassportCreateDto dto) {
         log.info("PUT /api/clients/{}/passport - обновление паспорта", id);
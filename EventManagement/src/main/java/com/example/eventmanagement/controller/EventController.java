@@ -5,10 +5,13 @@ import com.example.eventmanagement.enums.EventStatus;
 import com.example.eventmanagement.service.EventService;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -30,18 +33,36 @@ public class EventController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<EventDoneDto> getEventById(@PathVariable Long id) {
+    public ResponseEntity<EventDoneDto> getEventById(@PathVariable Long id, WebRequest request) {
         log.info("GET /api/events/{} - получение мероприятия по ID", id);
         EventDoneDto event = eventService.getById(id);
+        // мероприятие отдается из кэша, поэтому ETag считается по той же копии, а не по строке в базе
+        ResourceVersion version = ResourceVersion.of(event.updatedAt());
+        if (request.checkNotModified(version.etag(), version.lastModifiedMillis())) {
+            log.debug("Мероприятие с id {} не изменилось", id);
+            return null;
+        }
         log.info("Мероприятие с id {} найдено: {}", id, event.name());
         return ResponseEntity.ok(event);
     }
 
     @GetMapping
-    public ResponseEntity<List<EventDto>> getAllEvents() {
-        log.info("GET /api/events - получение списка всех мероприятий");
-        List<EventDto> events = eventService.getAll();
-        log.debug("Найдено мероприятий: {}", events.size());
+    public ResponseEntity<CursorPage<EventDto>> getAllEvents(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = CursorPage.DEFAULT_SIZE) int size,
+            @RequestParam(required = false) EventStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateTo,
+            WebRequest request) {
+        log.info("GET /api/events?after={}&size={} - получение страницы мероприятий", after, size);
+        VersionedPage<EventDto> versionedPage = eventService.getVersionedPage(after, size, status, dateFrom, dateTo);
+        ResourceVersion version = versionedPage.version();
+        if (request.checkNotModified(version.etag(), version.lastModifiedMillis())) {
+            log.debug("Страница мероприятий after={} не изменилась", after);
+            return null;
+        }
+        CursorPage<EventDto> events = versionedPage.page();
+        log.debug("Найдено мероприятий: {}, следующий курсор: {}", events.items().size(), events.nextCursor());
         return ResponseEntity.ok(events);
     }
 
@@ -53,6 +74,14 @@ public class EventController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdEvent);
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<List<EventDoneDto>> createEvents(@RequestBody List<@Valid EventCreateDto> dtos) {
+        log.info("POST /api/events/bulk - пакетное создание мероприятий: {}", dtos.size());
+        List<EventDoneDto> createdEvents = eventService.createEvents(dtos);
+        log.info("Создано мероприятий: {}", createdEvents.size());
+        return ResponseEntity.status(HttpStatus.CREATED).body(createdEvents);
+    }
+
     @PutMapping("/{id}/status")
     public ResponseEntity<EventDoneDto> updateEventStatus(@PathVariable Long id, @RequestBody EventStatus status) {
         log.info("PUT /api/events/{}/status - обновление мероприятия на {}", id, status.getStr());
@@ -2,13 +2,23 @@ package com.example.eventmanagement.controller;
 
 import com.example.eventmanagement.dto.*;
 import com.example.eventmanagement.enums.BookingStatus;
+import com.example.eventmanagement.service.CanceledReservationCleanup;
+import com.example.eventmanagement.service.ExportFormat;
+import com.example.eventmanagement.service.ExportService;
+import com.example.eventmanagement.service.IdempotencyService;
 import com.example.eventmanagement.service.TicketReservationService;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -16,14 +26,26 @@ import java.util.List;
 @RequestMapping("/api/ticketReservations")
 public class TicketReservationController {
     private final TicketReservationService ticketReservationService;
+    private final CanceledReservationCleanup canceledReservationCleanup;
+    private final ExportService exportService;
+    private final IdempotencyService idempotencyService;
 
-    public TicketReservationController(TicketReservationService ticketReservationService) {
+    public TicketReservationController(TicketReservationService ticketReservationService, CanceledReservationCleanup canceledReservationCleanup,
+                                       ExportService exportService, IdempotencyService idempotencyService) {
         this.ticketReservationService = ticketReservationService;
+        this.canceledReservationCleanup = canceledReservationCleanup;
+        this.exportService = exportService;
+        this.idempotencyService = idempotencyService;
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<TicketReservationDoneDto> getTicketReservationById(@PathVariable Long id) {
+    public ResponseEntity<TicketReservationDoneDto> getTicketReservationById(@PathVariable Long id, WebRequest request) {
         log.info("GET /api/ticketReservations/{} - получение бронирования по ID", id);
+        ResourceVersion version = ticketReservationService.getVersion(id);
+        if (request.checkNotModified(version.etag(), version.lastModifiedMillis())) {
+            log.debug("Бронирование с id {} не изменилось", id);
+            return null;
+        }
         TicketReservationDoneDto ticketReservation = ticketReservationService.getById(id);
         log.info("Бронирование с id {} найдено. Клиент: {}, Мероприятие: {}",
                 id,
@@ -33,21 +55,64 @@ public class TicketReservationController {
     }
 
     @GetMapping
-    public ResponseEntity<List<TicketReservationDto>> getAllTicketReservations() {
-        log.info("GET /api/ticketReservations - получение списка всех бронирований");
-        List<TicketReservationDto> ticketReservations = ticketReservationService.getAll();
-        log.debug("Найдено бронирований: {}", ticketReservations.size());
+    public ResponseEntity<CursorPage<TicketReservationDto>> getAllTicketReservations(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = CursorPage.DEFAULT_SIZE) int size,
+            @RequestParam(required = false) Long eventId,
+            @RequestParam(required = false) Long clientId,
+            @RequestParam(required = false) BookingStatus status,
+            WebRequest request) {
+        log.info("GET /api/ticketReservations?after={}&size={} - получение страницы бронирований", after, size);
+        ResourceVersion version = ticketReservationService.getPageVersion(after, size, eventId, clientId, status);
+        if (request.checkNotModified(version.etag(), version.lastModifiedMillis())) {
+            log.debug("Страница бронирований after={} не изменилась", after);
+            return null;
+        }
+        CursorPage<TicketReservationDto> ticketReservations = ticketReservationService.getPage(after, size, eventId, clientId, status);
+        log.debug("Найдено бронирований: {}, следующий курсор: {}", ticketReservations.items().size(), ticketReservations.nextCursor());
         return ResponseEntity.ok(ticketReservations);
     }
 
+    // полная выгрузка для отчетов: строки пишутся в ответ по мере чтения курсором, без сборки массива в памяти
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTicketReservations(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) Long eventId,
+            @RequestParam(required = false) BookingStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo) {
+        log.info("GET /api/ticketReservations/export?format={}&eventId={}&status={} - выгрузка бронирований", format, eventId, status);
+        ExportFormat exportFormat = ExportFormat.fromParameter(format);
+        ExportService.validateRange(createdFrom, createdTo);
+        StreamingResponseBody body = out -> exportService.exportReservations(eventId, status, createdFrom, createdTo, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("ticket-reservations." + exportFormat.getExtension()).build().toString())
+                .body(body);
+    }
+
     @PostMapping
-    public ResponseEntity<TicketReservationDoneDto> createTicketReservation(@Valid @RequestBody TicketReservationCreateDto dto) {
+    public ResponseEntity<TicketReservationDoneDto> createTicketReservation(@Valid @RequestBody TicketReservationCreateDto dto,
+                                                                            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
         log.info("POST /api/ticketReservations - создание бронирования id клиента {} и id мероприятия {}", dto.clientId(), dto.eventId());
-        TicketReservationDoneDto createdTicketReservation = ticketReservationService.createReservation(dto);
+        TicketReservationDoneDto createdTicketReservation = idempotencyKey == null
+                ? ticketReservationService.createReservation(dto)
+                : idempotencyService.execute("ticket-reservations", idempotencyKey, dto, TicketReservationDoneDto.class,
+                        () -> ticketReservationService.createReservation(dto));
         log.info("Бронирование создано с id {}: id клиента {} и id мероприятия {}", createdTicketReservation.id(), dto.clientId(), dto.eventId());
         return ResponseEntity.status(HttpStatus.CREATED).body(createdTicketReservation);
     }
 
+    // частичный успех: отклоненные позиции не мешают созданию остальных, поэтому ответ 200 с результатом по каждой
+    @PostMapping("/batch")
+    public ResponseEntity<TicketReservationBatchResultDto> createTicketReservations(@RequestBody List<@Valid TicketReservationCreateDto> dtos) {
+        log.info("POST /api/ticketReservations/batch - пакетное создание бронирований: {}", dtos.size());
+        TicketReservationBatchResultDto result = ticketReservationService.createReservations(dtos);
+        log.info("Пакетное бронирование: создано {}, отклонено {}", result.created(), result.rejected());
+        return ResponseEntity.ok(result);
+    }
+
     @PutMapping("/{id}/cancel")
     public ResponseEntity<TicketReservationDoneDto> cancelTicketReservation(@PathVariable Long id) {
         log.info("PUT /api/ticketReservations/{}/cancel - отмена бронирования", id);
@@ -66,13 +131,14 @@ public class TicketReservationController {
 
     @PostMapping("/cleanup/canceled-reservations")
     public ResponseEntity<CleanupResponse> cleanupOldCanceledReservations() {
-        int deletedCount = ticketReservationService.cleanupOldCanceledReservations();
+        log.info("POST /api/ticketReservations/cleanup/canceled-reservations - запуск очистки");
+        CleanupResponse response = canceledReservationCleanup.start();
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
 
-        if (deletedCount > 0) {
-            return ResponseEntity.ok(new CleanupResponse(deletedCount, "Удалено " + deletedCount + " бронирований"));
-        } else {
-            return ResponseEntity.ok(new CleanupResponse(deletedCount,"Нет старых отмененных бронирований для очистки"));
-        }
+    @GetMapping("/cleanup/canceled-reservations")
+    public ResponseEntity<CleanupResponse> getCleanupStatus() {
+        return ResponseEntity.ok(canceledReservationCleanup.status());
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,45 @@
+package com.example.eventmanagement.controller;
+
+import com.example.eventmanagement.dto.WaitlistEntryCreateDto;
+import com.example.eventmanagement.dto.WaitlistEntryDto;
+import com.example.eventmanagement.service.WaitlistService;
+import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@Slf4j
+@RequestMapping("/api/events/{eventId}/waitlist")
+public class WaitlistController {
+    private final WaitlistService waitlistService;
+
+    public WaitlistController(WaitlistService waitlistService) {
+        this.waitlistService = waitlistService;
+    }
+
+    @PostMapping
+    public ResponseEntity<WaitlistEntryDto> joinWaitlist(@PathVariable Long eventId, @Valid @RequestBody WaitlistEntryCreateDto dto) {
+        log.info("POST /api/events/{}/waitlist - постановка клиента {} в очередь", eventId, dto.clientId());
+        WaitlistEntryDto entry = waitlistService.join(eventId, dto);
+        log.info("Клиент {} в очереди на мероприятие {}: запись {}, позиция {}", entry.clientId(), eventId, entry.id(), entry.position());
+        return ResponseEntity.status(HttpStatus.CREATED).body(entry);
+    }
+
+    @GetMapping("/{entryId}")
+    public ResponseEntity<WaitlistEntryDto> getWaitlistEntry(@PathVariable Long eventId, @PathVariable Long entryId) {
+        log.info("GET /api/events/{}/waitlist/{} - получение записи очереди", eventId, entryId);
+        WaitlistEntryDto entry = waitlistService.getEntry(eventId, entryId);
+        log.info("Запись {} очереди на мероприятие {} найдена: позиция {}", entryId, eventId, entry.position());
+        return ResponseEntity.ok(entry);
+    }
+
+    @DeleteMapping("/{entryId}")
+    public ResponseEntity<Void> leaveWaitlist(@PathVariable Long eventId, @PathVariable Long entryId) {
+        log.info("DELETE /api/events/{}/waitlist/{} - удаление записи из очереди", eventId, entryId);
+        waitlistService.leave(eventId, entryId);
+        log.info("Запись {} удалена из очереди на мероприятие {}", entryId, eventId);
+        return ResponseEntity.noContent().build();
+    }
+}
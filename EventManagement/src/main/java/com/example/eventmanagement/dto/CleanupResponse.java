@@ -1,3 +1,20 @@
 package com.example.eventmanagement.dto;
 
-public record CleanupResponse(int deletedCount, String message) {}
\ No newline at end of file
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDateTime;
+
+public record CleanupResponse(
+        int deletedCount,
+        String message,
+        boolean running,
+        int chunks,
+        @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+        LocalDateTime startedAt,
+        @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+        LocalDateTime finishedAt
+) {
+    public static CleanupResponse idle() {
+        return new CleanupResponse(0, "Очистка еще не запускалась", false, 0, null, null);
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.eventmanagement.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record ClientImportResponse(
+        UUID id,
+        boolean running,
+        long processed,
+        long imported,
+        long rejected,
+        String message,
+        @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+        LocalDateTime startedAt,
+        @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+        LocalDateTime finishedAt
+) {
+    public ClientImportResponse progress(long processed, long imported, long rejected, String message) {
+        return new ClientImportResponse(id, true, processed, imported, rejected, message, startedAt, null);
+    }
+
+    public ClientImportResponse finished(String message) {
+        return new ClientImportResponse(id, false, processed, imported, rejected, message, startedAt, LocalDateTime.now());
+    }
+}
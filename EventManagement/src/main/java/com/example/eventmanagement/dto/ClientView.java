@@ -0,0 +1,16 @@
+package com.example.eventmanagement.dto;
+
+import java.time.LocalDateTime;
+
+// плоская строка для чтения клиента без загрузки сущностей Client и Passport
+public record ClientView(
+        Long id,
+        String fullName,
+        String phoneNumber,
+        String email,
+        String passportSeries,
+        String passportNumber,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {
+}
@@ -0,0 +1,29 @@
+package com.example.eventmanagement.dto;
+
+import com.example.eventmanagement.exception.BusinessValidationException;
+
+import java.util.List;
+import java.util.function.Function;
+
+public record CursorPage<T>(
+        List<T> items,
+        Long nextCursor
+) {
+    public static final String DEFAULT_SIZE = "20";
+    public static final int MAX_SIZE = 100;
+
+    public static int validateSize(int size) {
+        if (size < 1 || size > MAX_SIZE) {
+            throw new BusinessValidationException(String.format("Размер страницы должен быть от 1 до %d", MAX_SIZE));
+        }
+        return size;
+    }
+
+    // rows выбираются с запасом в одну строку: по ней понятно, есть ли следующая страница
+    public static <E, T> CursorPage<T> of(List<E> rows, int size, Function<E, Long> idExtractor, Function<List<E>, List<T>> mapper) {
+        boolean hasNext = rows.size() > size;
+        List<E> page = hasNext ? rows.subList(0, size) : rows;
+        Long nextCursor = hasNext ? idExtractor.apply(page.get(page.size() - 1)) : null;
+        return new CursorPage<>(mapper.apply(page), nextCursor);
+    }
+}
@@ -13,8 +13,9 @@ public record EventStatisticsDto(
         EventStatus status,
         Integer confirmedTickets,
         BigDecimal ticketPrice,
-        BigDecimal totalRevenue
-
+        BigDecimal totalRevenue,
+        Integer pendingTickets,
+        Integer canceledReservations
 ) {
 }
 
@@ -0,0 +1,53 @@
+package com.example.eventmanagement.dto;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+// Валидаторы условного GET: ETag и Last-Modified ответа, посчитанные до его чтения и сериализации
+public record ResourceVersion(
+        String etag,
+        LocalDateTime lastModified
+) {
+    // версия растет при каждом изменении строки, поэтому ETag сильный
+    public static ResourceVersion of(long version, LocalDateTime updatedAt) {
+        return new ResourceVersion("\"" + version + "\"", updatedAt);
+    }
+
+    // для ответов из кэша, где версии строки нет. ETag слабый: два изменения в одну миллисекунду дадут
+    // одинаковый updated_at при разных ответах
+    public static ResourceVersion of(LocalDateTime updatedAt) {
+        return new ResourceVersion("W/\"" + toMillis(updatedAt) + "\"", updatedAt);
+    }
+
+    // Страница по тем же строкам, что и CursorPage.of (с запасом в одну): вставка или удаление внутри окна меняют
+    // число строк или последний id, изменение строки - сумму версий (версии только растут). ETag слабый:
+    // совпадение этих значений не гарантирует побайтно тот же ответ
+    public static <E> ResourceVersion ofPage(List<E> rows, Function<E, Long> idExtractor, Function<E, Long> versionExtractor,
+                                             Function<E, LocalDateTime> updatedAtExtractor) {
+        LocalDateTime lastModified = rows.stream()
+                .map(updatedAtExtractor)
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder())
+                .orElse(null);
+        long versionSum = rows.stream()
+                .map(versionExtractor)
+                .filter(Objects::nonNull)
+                .mapToLong(Long::longValue)
+                .sum();
+        Long lastId = rows.isEmpty() ? 0L : idExtractor.apply(rows.get(rows.size() - 1));
+        return new ResourceVersion("W/\"" + rows.size() + "-" + lastId + "-" + versionSum + "\"", lastModified);
+    }
+
+    // -1 - Last-Modified не задан (WebRequest.checkNotModified его не проверяет)
+    public long lastModifiedMillis() {
+        return toMillis(lastModified);
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime == null ? -1 : dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.eventmanagement.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// Результат одной позиции пакета: созданная бронь либо код и текст причины отказа
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TicketReservationBatchItemDto(
+        int index,
+        TicketReservationDoneDto reservation,
+        String error,
+        String message
+) {
+    public static TicketReservationBatchItemDto created(int index, TicketReservationDoneDto reservation) {
+        return new TicketReservationBatchItemDto(index, reservation, null, null);
+    }
+
+    public static TicketReservationBatchItemDto rejected(int index, String error, String message) {
+        return new TicketReservationBatchItemDto(index, null, error, message);
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.eventmanagement.dto;
+
+import java.util.List;
+
+public record TicketReservationBatchResultDto(
+        int created,
+        int rejected,
+        List<TicketReservationBatchItemDto> items
+) {
+}
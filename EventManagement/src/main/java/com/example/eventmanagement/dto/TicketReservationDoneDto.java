@@ -14,6 +14,9 @@ public record TicketReservationDoneDto(
         @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
         LocalDateTime createdAt,
         @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
-        LocalDateTime updatedAt
+        LocalDateTime updatedAt,
+        // срок удержания мест ожидающей брони, после него бронь отменяется
+        @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+        LocalDateTime expiresAt
 ) {
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.example.eventmanagement.dto;
+
+import com.example.eventmanagement.enums.BookingStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// плоская строка для чтения брони вместе с клиентом и мероприятием одним запросом
+public record TicketReservationView(
+        Long id,
+        String clientFullName,
+        String clientPhoneNumber,
+        String clientEmail,
+        String eventName,
+        LocalDate eventDate,
+        Integer eventNumberOfSeats,
+        BigDecimal eventTicketPrice,
+        String eventDescription,
+        Integer numberOfTickets,
+        BookingStatus bookingStatus,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        LocalDateTime expiresAt
+) {
+}
@@ -0,0 +1,8 @@
+package com.example.eventmanagement.dto;
+
+// страница и ее ETag, прочитанные вместе: в кэше они не расходятся
+public record VersionedPage<T>(
+        CursorPage<T> page,
+        ResourceVersion version
+) {
+}
@@ -0,0 +1,13 @@
+package com.example.eventmanagement.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+public record WaitlistEntryCreateDto(
+        @NotNull(message = "Id клиента обязательно для заполнения")
+        Long clientId,
+        @NotNull(message = "Количество билетов обязательно для заполнения")
+        @Min(value = 1, message = "Количество билетов должно быть больше или равно 1")
+        Integer numberOfTickets
+) {
+}
@@ -0,0 +1,17 @@
+package com.example.eventmanagement.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDateTime;
+
+// position - место в очереди мероприятия, начиная с 1
+public record WaitlistEntryDto(
+        Long id,
+        Long eventId,
+        Long clientId,
+        Integer numberOfTickets,
+        long position,
+        @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+        LocalDateTime createdAt
+) {
+}
@@ -4,6 +4,8 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.OptimisticLock;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -18,7 +20,8 @@ import java.util.Objects;
 })
 public class Client {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "clients_id_gen")
+    @SequenceGenerator(name = "clients_id_gen", sequenceName = "clients_seq", allocationSize = 50)
     private Long id;
     @Column(name = "full_name", nullable = false)
     @NotBlank(message = "ФИО не может быть пустым")
@@ -42,7 +45,13 @@ public class Client {
     private LocalDateTime createdAt;
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
 
+    // брони клиента версионируются отдельно и не поднимают версию клиента
+    @OptimisticLock(excluded = true)
     @OneToMany(mappedBy = "client", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JsonIgnoreProperties("client")
     private List<TicketReservation> ticketReservations = new ArrayList<>();
@@ -150,6 +159,10 @@ public class Client {
         this.updatedAt = updatedAt;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
     public List<TicketReservation> getTicketReservations() {
         return ticketReservations;
     }
@@ -4,6 +4,8 @@ import com.example.eventmanagement.enums.EventStatus;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.OptimisticLock;
 import org.hibernate.validator.constraints.Length;
 
 import java.math.BigDecimal;
@@ -19,7 +21,8 @@ import java.util.Objects;
 @Table(name = "events", uniqueConstraints = {@UniqueConstraint(columnNames = {"name", "date"})})
 public class Event {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "events_id_gen")
+    @SequenceGenerator(name = "events_id_gen", sequenceName = "events_seq", allocationSize = 50)
     private Long id;
     @Column(nullable = false)
     @NotBlank(message = "Название не может быть пустым")
@@ -42,6 +45,12 @@ public class Event {
     private LocalDateTime createdAt;
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+    // новая бронь не меняет само мероприятие, его версия от нее не растет
+    @OptimisticLock(excluded = true)
     @OneToMany(mappedBy = "event", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JsonIgnoreProperties({"event", "client"})
     private List<TicketReservation> ticketReservations = new ArrayList<>();
@@ -167,6 +176,10 @@ public class Event {
         this.updatedAt = updatedAt;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
     public List<TicketReservation> getTicketReservations() {
         return ticketReservations;
     }
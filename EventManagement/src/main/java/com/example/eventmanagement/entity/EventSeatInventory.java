@@ -0,0 +1,85 @@
+package com.example.eventmanagement.entity;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.util.Objects;
+
+@Entity
+@Table(name = "event_seat_inventory")
+public class EventSeatInventory implements Persistable<Long> {
+    @Id
+    @Column(name = "event_id")
+    private Long eventId;
+    // id назначается вручную - без флага save() делал бы merge с лишним SELECT перед каждым INSERT
+    @Transient
+    private boolean isNew = true;
+    @Column(name = "total_seats", nullable = false)
+    private Integer totalSeats;
+    @Column(name = "reserved_seats", nullable = false)
+    private Integer reservedSeats;
+
+    public EventSeatInventory() {
+
+    }
+
+    public EventSeatInventory(Long eventId, Integer totalSeats, Integer reservedSeats) {
+        this.eventId = eventId;
+        this.totalSeats = totalSeats;
+        this.reservedSeats = reservedSeats;
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    @Override
+    public Long getId() {
+        return eventId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        isNew = false;
+    }
+
+    public Integer getTotalSeats() {
+        return totalSeats;
+    }
+
+    public Integer getReservedSeats() {
+        return reservedSeats;
+    }
+
+    public Integer getAvailableSeats() {
+        return totalSeats - reservedSeats;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        EventSeatInventory that = (EventSeatInventory) o;
+        return Objects.equals(eventId, that.eventId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(eventId);
+    }
+
+    @Override
+    public String toString() {
+        return "EventSeatInventory{" +
+               "eventId=" + eventId +
+               ", totalSeats=" + totalSeats +
+               ", reservedSeats=" + reservedSeats +
+               '}';
+    }
+}
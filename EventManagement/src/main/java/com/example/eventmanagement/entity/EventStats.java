@@ -0,0 +1,98 @@
+package com.example.eventmanagement.entity;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+@Entity
+@Table(name = "event_stats")
+public class EventStats implements Persistable<Long> {
+    @Id
+    @Column(name = "event_id")
+    private Long eventId;
+    // id назначается вручную - без флага save() делал бы merge с лишним SELECT перед каждым INSERT
+    @Transient
+    private boolean isNew = true;
+    @Column(name = "confirmed_tickets", nullable = false)
+    private Integer confirmedTickets;
+    @Column(name = "pending_tickets", nullable = false)
+    private Integer pendingTickets;
+    @Column(name = "canceled_reservations", nullable = false)
+    private Integer canceledReservations;
+    @Column(nullable = false)
+    private BigDecimal revenue;
+
+    public EventStats() {
+
+    }
+
+    public EventStats(Long eventId) {
+        this.eventId = eventId;
+        this.confirmedTickets = 0;
+        this.pendingTickets = 0;
+        this.canceledReservations = 0;
+        this.revenue = BigDecimal.ZERO;
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    @Override
+    public Long getId() {
+        return eventId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        isNew = false;
+    }
+
+    public Integer getConfirmedTickets() {
+        return confirmedTickets;
+    }
+
+    public Integer getPendingTickets() {
+        return pendingTickets;
+    }
+
+    public Integer getCanceledReservations() {
+        return canceledReservations;
+    }
+
+    public BigDecimal getRevenue() {
+        return revenue;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        EventStats that = (EventStats) o;
+        return Objects.equals(eventId, that.eventId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(eventId);
+    }
+
+    @Override
+    public String toString() {
+        return "EventStats{" +
+               "eventId=" + eventId +
+               ", confirmedTickets=" + confirmedTickets +
+               ", pendingTickets=" + pendingTickets +
+               ", canceledReservations=" + canceledReservations +
+               ", revenue=" + revenue +
+               '}';
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.eventmanagement.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.Length;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+// Ответ на запрос с заголовком Idempotency-Key. Строка вставляется до выполнения запроса в той же транзакции,
+// поэтому повтор с тем же ключом на другом экземпляре ждет ее коммита на первичном ключе
+@Entity
+@Table(name = "idempotency_records", indexes = {
+        @Index(name = "idx_idempotency_records_expires_at", columnList = "expires_at")
+})
+public class IdempotencyRecord {
+    @Id
+    @Column(name = "idempotency_key", length = 320)
+    private String key;
+    // SHA-256 тела запроса: тот же ключ с другим телом - ошибка клиента, а не повтор
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+    @Column(name = "response_body", length = Length.LONG32)
+    private String responseBody;
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    public IdempotencyRecord() {
+
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getRequestHash() {
+        return requestHash;
+    }
+
+    public String getResponseBody() {
+        return responseBody;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        IdempotencyRecord that = (IdempotencyRecord) o;
+        return Objects.equals(key, that.key);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(key);
+    }
+
+    @Override
+    public String toString() {
+        return "IdempotencyRecord{" +
+               "key='" + key + '\'' +
+               ", createdAt=" + createdAt +
+               ", expiresAt=" + expiresAt +
+               '}';
+    }
+}
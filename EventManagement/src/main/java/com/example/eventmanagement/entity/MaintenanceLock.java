@@ -0,0 +1,57 @@
+package com.example.eventmanagement.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+// Аренда фоновой задачи: пока locked_until в будущем, задачу выполняет только экземпляр locked_by
+@Entity
+@Table(name = "maintenance_locks")
+public class MaintenanceLock {
+    @Id
+    @Column(length = 64)
+    private String name;
+    @Column(name = "locked_by", nullable = false)
+    private String lockedBy;
+    @Column(name = "locked_until", nullable = false)
+    private LocalDateTime lockedUntil;
+
+    public MaintenanceLock() {
+
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getLockedBy() {
+        return lockedBy;
+    }
+
+    public LocalDateTime getLockedUntil() {
+        return lockedUntil;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        MaintenanceLock that = (MaintenanceLock) o;
+        return Objects.equals(name, that.name);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name);
+    }
+
+    @Override
+    public String toString() {
+        return "MaintenanceLock{" +
+               "name='" + name + '\'' +
+               ", lockedBy='" + lockedBy + '\'' +
+               ", lockedUntil=" + lockedUntil +
+               '}';
+    }
+}
@@ -5,6 +5,7 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Pattern;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
 import java.sql.Timestamp;
@@ -16,7 +17,8 @@ import java.util.Objects;
 @Table(name = "passports", uniqueConstraints = {@UniqueConstraint(columnNames = {"series", "number"})})
 public class Passport {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "passports_id_gen")
+    @SequenceGenerator(name = "passports_id_gen", sequenceName = "passports_seq", allocationSize = 50)
     private Long id;
 
     @Pattern(regexp = "\\d{4}", message = "Серия должна содержать 4 цифры")
@@ -28,6 +30,10 @@ public class Passport {
 
     @Column(name ="created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
 
     @JsonIgnoreProperties("passport")
     @OneToOne(mappedBy = "passport")
@@ -88,6 +94,10 @@ public class Passport {
         createdAt = time;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
 
     public Client getClient() {
         return client;
@@ -5,16 +5,22 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Min;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.cglib.core.Local;
 
 import java.time.LocalDateTime;
 import java.util.Objects;
 
 @Entity
-@Table(name = "ticket_reservations")
+// индексы обслуживают выборку старых отмененных броней при очистке и истекших удержаний мест
+@Table(name = "ticket_reservations", indexes = {
+        @Index(name = "idx_ticket_reservations_status_updated_at", columnList = "booking_status, updated_at"),
+        @Index(name = "idx_ticket_reservations_status_expires_at", columnList = "booking_status, expires_at")
+})
 public class TicketReservation {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ticket_reservations_id_gen")
+    @SequenceGenerator(name = "ticket_reservations_id_gen", sequenceName = "ticket_reservations_seq", allocationSize = 50)
     private Long id;
     @ManyToOne
     @JsonIgnoreProperties({"ticketReservations", "passport"})
@@ -33,6 +39,15 @@ public class TicketReservation {
     private LocalDateTime createdAt;
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
+    // до какого момента за ожидающей бронью держатся места; задан только у ожидающих броней, при подтверждении
+    // и любой отмене (в том числе по истечении срока) сбрасывается в null
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+    // подтверждение и отмена идут через UPDATE ... WHERE version = ?, параллельное изменение статуса не затирается
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
 
     public TicketReservation() {
 
@@ -110,6 +125,12 @@ public class TicketReservation {
         this.event = event;
     }
 
+    // Выставляет только владеющую сторону связей: ленивые коллекции клиента и мероприятия не инициализируются
+    public void bindTo(Client client, Event event) {
+        this.client = client;
+        this.event = event;
+    }
+
     public Integer getNumberOfTickets() {
         return numberOfTickets;
     }
@@ -124,6 +145,9 @@ public class TicketReservation {
 
     public void setBookingStatus(BookingStatus bookingStatus) {
         this.bookingStatus = bookingStatus;
+        if (bookingStatus != BookingStatus.PENDING_CONFIRMATION) {
+            expiresAt = null;
+        }
     }
 
     public LocalDateTime getCreatedAt() {
@@ -142,6 +166,22 @@ public class TicketReservation {
         this.updatedAt = updatedAt;
     }
 
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public boolean isHoldExpired(LocalDateTime now) {
+        return expiresAt != null && !expiresAt.isAfter(now);
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,94 @@
+package com.example.eventmanagement.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+// Очередь ожидания мест на мероприятие. Порядок в очереди - id: последовательность выдает его по одному,
+// без блоков allocationSize, поэтому записи разных экземпляров приложения не перемешиваются
+@Entity
+@Table(name = "waitlist_entries", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_waitlist_entries_event_client", columnNames = {"event_id", "client_id"})
+}, indexes = {
+        @Index(name = "idx_waitlist_entries_event_id_id", columnList = "event_id, id")
+})
+public class WaitlistEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "waitlist_entries_id_gen")
+    @SequenceGenerator(name = "waitlist_entries_id_gen", sequenceName = "waitlist_entries_seq", allocationSize = 1)
+    private Long id;
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "event_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Event event;
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "client_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Client client;
+    @Column(name = "number_of_tickets", nullable = false)
+    private Integer numberOfTickets;
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public WaitlistEntry() {
+
+    }
+
+    public WaitlistEntry(Event event, Client client, Integer numberOfTickets) {
+        this.event = event;
+        this.client = client;
+        this.numberOfTickets = numberOfTickets;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Event getEvent() {
+        return event;
+    }
+
+    public Client getClient() {
+        return client;
+    }
+
+    public Integer getNumberOfTickets() {
+        return numberOfTickets;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        WaitlistEntry that = (WaitlistEntry) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public String toString() {
+        return "WaitlistEntry{" +
+               "id=" + id +
+               ", numberOfTickets=" + numberOfTickets +
+               ", createdAt=" + createdAt +
+               '}';
+    }
+}
@@ -1,13 +1,17 @@
 package com.example.eventmanagement.exception;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.validation.FieldError;
 import org.springframework.web.ErrorResponse;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -31,6 +35,23 @@ public class GlobalExceptionHandler {
         log.warn("Validation errors: {}", errors);
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
+    // элементы списка в теле запроса (List<@Valid ...>) проверяются валидацией метода, а не привязкой
+    @ExceptionHandler(HandlerMethodValidationException.class)
+    public ResponseEntity<ErrorResponse> handleMethodValidationErrors(HandlerMethodValidationException ex){
+        List<String> errors = ex.getParameterValidationResults()
+                .stream()
+                .flatMap(result -> result.getResolvableErrors().stream()
+                        .map(error -> (result.getContainerIndex() != null ? "[" + result.getContainerIndex() + "]." : "")
+                                + (error instanceof FieldError fieldError ? fieldError.getField() + ": " : "")
+                                + error.getDefaultMessage()))
+                .collect(Collectors.toList());
+        ErrorResponse errorResponse = new ErrorResponse(
+                "VALIDATION_ERROR",
+                String.join(";", errors)
+        );
+        log.warn("Validation errors: {}", errors);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
     @ExceptionHandler(HttpMessageNotReadableException.class)
     public ResponseEntity<ErrorResponse> handleHttpMessageNotReadable(HttpMessageNotReadableException ex){
         String errorMessage;
@@ -50,6 +71,17 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
 
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ErrorResponse> handleArgumentTypeMismatch(MethodArgumentTypeMismatchException ex){
+        String errorMessage = ex.getMostSpecificCause().getMessage();
+        ErrorResponse errorResponse = new ErrorResponse(
+                "INVALID_REQUEST",
+                ex.getName() + ": " + errorMessage
+        );
+        log.warn("Invalid request parameter: {}", errorMessage);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
     @ExceptionHandler(EntityNotFoundException.class)
     public ResponseEntity<ErrorResponse> handleEntityNotFound(EntityNotFoundException ex){
         ErrorResponse errorResponse = new ErrorResponse(
@@ -68,6 +100,16 @@ public class GlobalExceptionHandler {
         log.warn("Duplicate entity: {}", ex.getMessage());
         return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
     }
+    // запись проиграла параллельному изменению той же сущности и после повторов (@RetryOnConflict)
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailure(OptimisticLockingFailureException ex){
+        ErrorResponse errorResponse = new ErrorResponse(
+                "CONCURRENT_MODIFICATION",
+                "Данные были изменены параллельным запросом, повторите операцию"
+        );
+        log.warn("Concurrent modification: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
     @ExceptionHandler(OperationNotAllowedException.class)
     public ResponseEntity<ErrorResponse> handleOperationNotAllowed(OperationNotAllowedException ex){
         ErrorResponse errorResponse = new ErrorResponse(
@@ -77,6 +119,15 @@ public class GlobalExceptionHandler {
         log.warn("Operation not allowed: {}", ex.getMessage());
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleServiceUnavailable(ServiceUnavailableException ex){
+        ErrorResponse errorResponse = new ErrorResponse(
+                "SERVICE_UNAVAILABLE",
+                ex.getMessage()
+        );
+        log.warn("Service unavailable: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "1").body(errorResponse);
+    }
     @ExceptionHandler(BusinessValidationException.class)
     public ResponseEntity<ErrorResponse> handleBusinessValidation(BusinessValidationException ex){
         ErrorResponse errorResponse = new ErrorResponse(
@@ -0,0 +1,8 @@
+package com.example.eventmanagement.exception;
+
+// Запрос сейчас не может быть выполнен этим экземпляром, но его можно повторить (ответ 503 с Retry-After)
+public class ServiceUnavailableException extends RuntimeException {
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
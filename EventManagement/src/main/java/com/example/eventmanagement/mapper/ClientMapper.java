@@ -4,6 +4,8 @@ import com.example.eventmanagement.dto.ClientCreateWithDependenciesDto;
 import com.example.eventmanagement.dto.ClientDoneDto;
 import com.example.eventmanagement.dto.ClientDto;
 import com.example.eventmanagement.dto.ClientCreateDto;
+import com.example.eventmanagement.dto.ClientView;
+import com.example.eventmanagement.dto.PassportCreateDto;
 import com.example.eventmanagement.entity.Client;
 import com.example.eventmanagement.entity.Client;
 import org.mapstruct.Mapper;
@@ -21,6 +23,16 @@ public interface ClientMapper {
     ClientDoneDto toClientDoneDto(Client client);
     List<ClientDoneDto> toClientDoneDtoList(List<Client> clients);
 
+    default ClientDoneDto toClientDoneDto(ClientView view) {
+        return new ClientDoneDto(view.id(), view.fullName(), view.phoneNumber(), view.email(),
+                new PassportCreateDto(view.passportSeries(), view.passportNumber()),
+                view.createdAt(), view.updatedAt());
+    }
+
+    default List<ClientDoneDto> fromViews(List<ClientView> views) {
+        return views.stream().map(this::toClientDoneDto).toList();
+    }
+
     // ========== FROM DTO (CREATE) ==========
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
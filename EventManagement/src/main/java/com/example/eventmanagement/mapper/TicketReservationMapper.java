@@ -16,10 +16,34 @@ public interface TicketReservationMapper {
     TicketReservationDto toTicketReservationDto(TicketReservation ticketReservation);
     List<TicketReservationDto> toTicketReservationDtoList(List<TicketReservation> ticketReservations);
     TicketReservationDoneDto toTicketReservationDoneDto(TicketReservation ticketReservation);
+
+    default TicketReservationDto toTicketReservationDto(TicketReservationView view) {
+        return new TicketReservationDto(view.id(), toClientCreateDto(view), toEventCreateDto(view),
+                view.numberOfTickets(), view.bookingStatus());
+    }
+
+    default List<TicketReservationDto> fromViews(List<TicketReservationView> views) {
+        return views.stream().map(this::toTicketReservationDto).toList();
+    }
+
+    default TicketReservationDoneDto toTicketReservationDoneDto(TicketReservationView view) {
+        return new TicketReservationDoneDto(view.id(), toClientCreateDto(view), toEventCreateDto(view),
+                view.numberOfTickets(), view.bookingStatus(), view.createdAt(), view.updatedAt(), view.expiresAt());
+    }
+
+    default ClientCreateDto toClientCreateDto(TicketReservationView view) {
+        return new ClientCreateDto(view.clientFullName(), view.clientPhoneNumber(), view.clientEmail());
+    }
+
+    default EventCreateDto toEventCreateDto(TicketReservationView view) {
+        return new EventCreateDto(view.eventName(), view.eventDate(), view.eventNumberOfSeats(),
+                view.eventTicketPrice(), view.eventDescription());
+    }
     // ========== FROM DTO (CREATE) ==========
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "expiresAt", ignore = true)
     @Mapping(target = "client", ignore = true)
     @Mapping(target = "event", ignore = true)
     TicketReservation fromCreateWithoutDependenciesDto(TicketReservationCreateDto dto);
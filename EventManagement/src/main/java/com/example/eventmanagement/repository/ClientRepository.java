@@ -1,16 +1,23 @@
 package com.example.eventmanagement.repository;
+import com.example.eventmanagement.dto.ClientView;
 import com.example.eventmanagement.dto.PassportCreateDto;
 import com.example.eventmanagement.dto.PassportDto;
 import com.example.eventmanagement.entity.Client;
 import com.example.eventmanagement.entity.Passport;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import javax.security.auth.spi.LoginModule;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface ClientRepository extends JpaRepository<Client, Long> {
     List<Client> findByFullNameIgnoreCase(String fullName);
@@ -29,6 +36,9 @@ public interface ClientRepository extends JpaRepository<Client, Long> {
     @Query("SELECT c FROM Client c JOIN FETCH c.passport WHERE c.id = :id")
     Optional<Client> findByIdWithPassport(@Param("id") Long id);
 
+    @Query("SELECT c FROM Client c JOIN FETCH c.passport WHERE c.id IN :ids")
+    List<Client> findAllWithPassportByIdIn(@Param("ids") Collection<Long> ids);
+
     @Query("SELECT c FROM Client c LEFT JOIN FETCH c.ticketReservations WHERE c.id = :id")
     Optional<Client> findByIdWithTicketReservations(@Param("id") Long id);
 
@@ -38,13 +48,71 @@ public interface ClientRepository extends JpaRepository<Client, Long> {
            "LOWER(c.email) LIKE LOWER(CONCAT('%', :search, '%'))")
     List<Client> searchClients(@Param("search") String search);
 
+    @Query("SELECT new com.example.eventmanagement.dto.ClientView(c.id, c.fullName, c.phoneNumber, c.email, p.series, p.number, c.createdAt, c.updatedAt) " +
+           "FROM Client c JOIN c.passport p WHERE c.id > :afterId " +
+           "AND (:createdFrom IS NULL OR c.createdAt >= :createdFrom) " +
+           "ORDER BY c.id")
+    List<ClientView> findPage(@Param("afterId") Long afterId, @Param("createdFrom") LocalDateTime createdFrom, Pageable pageable);
+
+    // паспорт меняется только заменой, а она обновляет и строку клиента, поэтому его версии достаточно
+    @Query("SELECT c.id AS id, c.version AS version, c.updatedAt AS updatedAt " +
+           "FROM Client c WHERE c.id > :afterId " +
+           "AND (:createdFrom IS NULL OR c.createdAt >= :createdFrom) " +
+           "ORDER BY c.id")
+    List<UpdateStamp> findPageStamps(@Param("afterId") Long afterId, @Param("createdFrom") LocalDateTime createdFrom, Pageable pageable);
+
+    @Query("SELECT c.id AS id, c.version AS version, c.updatedAt AS updatedAt FROM Client c WHERE c.id = :id")
+    Optional<UpdateStamp> findStampById(@Param("id") Long id);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = ExportQueries.FETCH_SIZE))
+    @Query("SELECT new com.example.eventmanagement.dto.ClientView(c.id, c.fullName, c.phoneNumber, c.email, p.series, p.number, c.createdAt, c.updatedAt) " +
+           "FROM Client c JOIN c.passport p WHERE " +
+           "(:createdFrom IS NULL OR c.createdAt >= :createdFrom) " +
+           "AND (:createdTo IS NULL OR c.createdAt < :createdTo) " +
+           "ORDER BY c.id")
+    Stream<ClientView> streamForExport(@Param("createdFrom") LocalDateTime createdFrom, @Param("createdTo") LocalDateTime createdTo);
+
+    @Query("SELECT new com.example.eventmanagement.dto.ClientView(c.id, c.fullName, c.phoneNumber, c.email, p.series, p.number, c.createdAt, c.updatedAt) " +
+           "FROM Client c JOIN c.passport p WHERE c.id = :id")
+    Optional<ClientView> findViewById(@Param("id") Long id);
+
+    // pattern - запрос в нижнем регистре с экранированными через '!' символами % и _;
+    // без ранжирования: порядок по id не заставляет сортировать все совпадения ради одной страницы
+    @Query("SELECT new com.example.eventmanagement.dto.ClientView(c.id, c.fullName, c.phoneNumber, c.email, p.series, p.number, c.createdAt, c.updatedAt) " +
+           "FROM Client c JOIN c.passport p WHERE " +
+           "LOWER(c.fullName) LIKE CONCAT('%', :pattern, '%') ESCAPE '!' OR " +
+           "LOWER(c.email) LIKE CONCAT('%', :pattern, '%') ESCAPE '!' " +
+           "ORDER BY c.id")
+    List<ClientView> searchByNameOrEmail(@Param("pattern") String pattern, Pageable pageable);
+
+    // prefix - начало номера в формате +7...; порядок совпадает с индексом idx_clients_phone_prefix
+    @Query("SELECT new com.example.eventmanagement.dto.ClientView(c.id, c.fullName, c.phoneNumber, c.email, p.series, p.number, c.createdAt, c.updatedAt) " +
+           "FROM Client c JOIN c.passport p WHERE c.phoneNumber LIKE CONCAT(:prefix, '%') " +
+           "ORDER BY c.phoneNumber")
+    List<ClientView> searchByPhonePrefix(@Param("prefix") String prefix, Pageable pageable);
+
+    // digits - цифры запроса в любом месте номера (индекс idx_clients_phone_trgm), без номеров, начинающихся с prefix
+    @Query("SELECT new com.example.eventmanagement.dto.ClientView(c.id, c.fullName, c.phoneNumber, c.email, p.series, p.number, c.createdAt, c.updatedAt) " +
+           "FROM Client c JOIN c.passport p WHERE c.phoneNumber LIKE CONCAT('%', :digits, '%') " +
+           "AND c.phoneNumber NOT LIKE CONCAT(:prefix, '%') " +
+           "ORDER BY c.id")
+    List<ClientView> searchByPhoneSubstring(@Param("prefix") String prefix, @Param("digits") String digits, Pageable pageable);
+
 
 
 
 
 
     boolean existsByPhoneNumber(String phoneNumber);
+
+    @Query("SELECT c.phoneNumber FROM Client c WHERE c.phoneNumber IN :phoneNumbers")
+    List<String> findExistingPhoneNumbers(@Param("phoneNumbers") Collection<String> phoneNumbers);
+
     boolean existsByEmail(String email);
+
+    @Query("SELECT c.email FROM Client c WHERE c.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
     boolean existsByPhoneNumberAndIdNot(String phoneNumber, Long id);
     boolean existsByEmailAndIdNot(String email, Long id);
 
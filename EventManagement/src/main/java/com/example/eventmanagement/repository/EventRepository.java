@@ -1,9 +1,12 @@
 package com.example.eventmanagement.repository;
 
+import com.example.eventmanagement.dto.EventDoneDto;
+import com.example.eventmanagement.dto.EventDto;
 import com.example.eventmanagement.dto.EventStatisticsDto;
 import com.example.eventmanagement.dto.EventWithReservationCountDto;
 import com.example.eventmanagement.entity.Event;
 import com.example.eventmanagement.enums.EventStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -11,6 +14,7 @@ import org.springframework.data.repository.query.Param;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 public interface EventRepository extends JpaRepository<Event, Long> {
@@ -40,6 +44,33 @@ public interface EventRepository extends JpaRepository<Event, Long> {
     @Query("SELECT e FROM Event e LEFT JOIN FETCH e.ticketReservations WHERE e.id = :id")
     Optional<Event> findByIdWithTicketReservations(@Param("id") Long id);
     boolean existsByNameAndDate(String name, LocalDate date);
+    List<Event> findByNameInAndDateIn(Collection<String> names, Collection<LocalDate> dates);
+
+    @Query("SELECT new com.example.eventmanagement.dto.EventDto(e.id, e.name, e.date, e.numberOfSeats, e.ticketPrice, e.status, e.description) " +
+           "FROM Event e WHERE e.id > :afterId " +
+           "AND (:status IS NULL OR e.status = :status) " +
+           "AND (:dateFrom IS NULL OR e.date >= :dateFrom) " +
+           "AND (:dateTo IS NULL OR e.date <= :dateTo) " +
+           "ORDER BY e.id")
+    List<EventDto> findPage(@Param("afterId") Long afterId, @Param("status") EventStatus status,
+                            @Param("dateFrom") LocalDate dateFrom, @Param("dateTo") LocalDate dateTo, Pageable pageable);
+
+    // условия и порядок те же, что у findPage: ETag страницы считается по тем же строкам
+    @Query("SELECT e.id AS id, e.version AS version, e.updatedAt AS updatedAt " +
+           "FROM Event e WHERE e.id > :afterId " +
+           "AND (:status IS NULL OR e.status = :status) " +
+           "AND (:dateFrom IS NULL OR e.date >= :dateFrom) " +
+           "AND (:dateTo IS NULL OR e.date <= :dateTo) " +
+           "ORDER BY e.id")
+    List<UpdateStamp> findPageStamps(@Param("afterId") Long afterId, @Param("status") EventStatus status,
+                                     @Param("dateFrom") LocalDate dateFrom, @Param("dateTo") LocalDate dateTo, Pageable pageable);
+
+    @Query("SELECT new com.example.eventmanagement.dto.EventDoneDto(e.id, e.name, e.date, e.numberOfSeats, e.ticketPrice, e.status, e.description, e.createdAt, e.updatedAt) " +
+           "FROM Event e WHERE e.id = :id")
+    Optional<EventDoneDto> findDoneDtoById(@Param("id") Long id);
+
+    @Query("SELECT e.id FROM Event e WHERE e.id > :afterId ORDER BY e.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
 
     @Query("SELECT COALESCE(SUM(tr.numberOfTickets), 0L) " +
            "FROM TicketReservation tr " +
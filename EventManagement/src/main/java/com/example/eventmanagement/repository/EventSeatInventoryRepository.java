@@ -0,0 +1,29 @@
+package com.example.eventmanagement.repository;
+
+import com.example.eventmanagement.entity.EventSeatInventory;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface EventSeatInventoryRepository extends JpaRepository<EventSeatInventory, Long> {
+
+    // Условный UPDATE: строка меняется только если мест хватает, поэтому проверка и списание атомарны
+    @Modifying
+    @Query("UPDATE EventSeatInventory s SET s.reservedSeats = s.reservedSeats + :count " +
+           "WHERE s.eventId = :eventId AND s.reservedSeats + :count <= s.totalSeats")
+    int tryReserve(@Param("eventId") Long eventId, @Param("count") int count);
+
+    @Modifying
+    @Query("UPDATE EventSeatInventory s SET s.reservedSeats = s.reservedSeats - :count " +
+           "WHERE s.eventId = :eventId AND s.reservedSeats >= :count")
+    int release(@Param("eventId") Long eventId, @Param("count") int count);
+
+    @Modifying
+    @Query("UPDATE EventSeatInventory s SET s.reservedSeats = s.reservedSeats + :delta WHERE s.eventId = :eventId")
+    int adjustReserved(@Param("eventId") Long eventId, @Param("delta") int delta);
+
+    @Modifying
+    @Query("UPDATE EventSeatInventory s SET s.reservedSeats = :reserved WHERE s.eventId = :eventId")
+    int overwriteReserved(@Param("eventId") Long eventId, @Param("reserved") int reserved);
+}
@@ -0,0 +1,48 @@
+package com.example.eventmanagement.repository;
+
+import com.example.eventmanagement.dto.EventStatisticsDto;
+import com.example.eventmanagement.entity.EventStats;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+public interface EventStatsRepository extends JpaRepository<EventStats, Long> {
+
+    @Query("SELECT new com.example.eventmanagement.dto.EventStatisticsDto(e.id, e.name, e.date, e.numberOfSeats, e.status, " +
+           "s.confirmedTickets, e.ticketPrice, s.revenue, s.pendingTickets, s.canceledReservations) " +
+           "FROM Event e JOIN EventStats s ON s.eventId = e.id WHERE e.id = :eventId")
+    Optional<EventStatisticsDto> findStatisticsByEventId(@Param("eventId") Long eventId);
+
+    @Modifying
+    @Query("UPDATE EventStats s SET s.confirmedTickets = s.confirmedTickets + :confirmed, " +
+           "s.pendingTickets = s.pendingTickets + :pending, " +
+           "s.canceledReservations = s.canceledReservations + :canceled, " +
+           "s.revenue = s.revenue + :revenue " +
+           "WHERE s.eventId = :eventId")
+    int applyDelta(@Param("eventId") Long eventId, @Param("confirmed") int confirmed, @Param("pending") int pending,
+                   @Param("canceled") int canceled, @Param("revenue") BigDecimal revenue);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM EventStats s WHERE s.eventId = :eventId")
+    Optional<EventStats> findByIdForUpdate(@Param("eventId") Long eventId);
+
+    // Полный пересчет строки по ticket_reservations; несохраненные изменения текущей транзакции сбрасываются в БД заранее
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE EventStats s SET " +
+           "s.confirmedTickets = (SELECT COALESCE(SUM(tr.numberOfTickets), 0) FROM TicketReservation tr " +
+           "WHERE tr.event.id = :eventId AND tr.bookingStatus = com.example.eventmanagement.enums.BookingStatus.CONFIRMED), " +
+           "s.pendingTickets = (SELECT COALESCE(SUM(tr.numberOfTickets), 0) FROM TicketReservation tr " +
+           "WHERE tr.event.id = :eventId AND tr.bookingStatus = com.example.eventmanagement.enums.BookingStatus.PENDING_CONFIRMATION), " +
+           "s.canceledReservations = (SELECT COUNT(tr) FROM TicketReservation tr " +
+           "WHERE tr.event.id = :eventId AND tr.bookingStatus = com.example.eventmanagement.enums.BookingStatus.CANCELED), " +
+           "s.revenue = (SELECT COALESCE(SUM(tr.numberOfTickets * e.ticketPrice), 0) FROM TicketReservation tr JOIN tr.event e " +
+           "WHERE e.id = :eventId AND tr.bookingStatus = com.example.eventmanagement.enums.BookingStatus.CONFIRMED) " +
+           "WHERE s.eventId = :eventId")
+    int recalculate(@Param("eventId") Long eventId);
+}
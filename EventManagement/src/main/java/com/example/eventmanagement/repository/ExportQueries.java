@@ -0,0 +1,10 @@
+package com.example.eventmanagement.repository;
+
+// Общие настройки запросов выгрузки. Драйвер PostgreSQL отдает строки порциями FETCH_SIZE только внутри транзакции
+// (autocommit выключен), без нее весь результат читается в память
+final class ExportQueries {
+    static final String FETCH_SIZE = "1000";
+
+    private ExportQueries() {
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.eventmanagement.repository;
+
+import com.example.eventmanagement.entity.IdempotencyRecord;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    @Query("SELECT r FROM IdempotencyRecord r WHERE r.key = :key AND r.expiresAt > :now")
+    Optional<IdempotencyRecord> findActive(@Param("key") String key, @Param("now") LocalDateTime now);
+
+    // INSERT без предварительного SELECT: параллельный запрос с тем же ключом ждет коммита первого
+    // и получает нарушение первичного ключа
+    @Modifying
+    @Query(value = "INSERT INTO idempotency_records (idempotency_key, request_hash, created_at, expires_at) " +
+                   "VALUES (:key, :requestHash, :now, :expiresAt)", nativeQuery = true)
+    int insert(@Param("key") String key, @Param("requestHash") String requestHash,
+               @Param("now") LocalDateTime now, @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.responseBody = :responseBody WHERE r.key = :key")
+    int complete(@Param("key") String key, @Param("responseBody") String responseBody);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.key = :key AND r.expiresAt <= :now")
+    int deleteExpired(@Param("key") String key, @Param("now") LocalDateTime now);
+
+    @Query("SELECT r.key FROM IdempotencyRecord r WHERE r.expiresAt <= :now")
+    List<String> findExpiredKeys(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.key IN :keys AND r.expiresAt <= :now")
+    int deleteExpiredByKeyIn(@Param("keys") List<String> keys, @Param("now") LocalDateTime now);
+}
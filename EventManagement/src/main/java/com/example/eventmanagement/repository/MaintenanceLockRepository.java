@@ -0,0 +1,29 @@
+package com.example.eventmanagement.repository;
+
+import com.example.eventmanagement.entity.MaintenanceLock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+public interface MaintenanceLockRepository extends JpaRepository<MaintenanceLock, String> {
+
+    // Условный UPDATE: аренду получает тот, кто успел первым после ее истечения, либо текущий владелец продлевает ее
+    @Modifying
+    @Query("UPDATE MaintenanceLock l SET l.lockedBy = :owner, l.lockedUntil = :until " +
+           "WHERE l.name = :name AND (l.lockedUntil < :now OR l.lockedBy = :owner)")
+    int tryAcquire(@Param("name") String name, @Param("owner") String owner,
+                   @Param("now") LocalDateTime now, @Param("until") LocalDateTime until);
+
+    // INSERT без предварительного SELECT: при гонке двух экземпляров второй получит нарушение первичного ключа
+    @Modifying
+    @Query(value = "INSERT INTO maintenance_locks (name, locked_by, locked_until) VALUES (:name, :owner, :until)",
+           nativeQuery = true)
+    int insert(@Param("name") String name, @Param("owner") String owner, @Param("until") LocalDateTime until);
+
+    @Modifying
+    @Query("UPDATE MaintenanceLock l SET l.lockedUntil = :now WHERE l.name = :name AND l.lockedBy = :owner")
+    int release(@Param("name") String name, @Param("owner") String owner, @Param("now") LocalDateTime now);
+}
@@ -8,6 +8,7 @@ import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,6 +25,7 @@ public interface PassportRepository extends JpaRepository<Passport, Long> {
     @Query("SELECT p FROM Passport p LEFT JOIN FETCH p.client WHERE p.id = :id")
     Optional<Passport> findByIdWithClientForDiagnostics(@Param("id") Long id);
     boolean existsBySeriesAndNumber(String series, String number);
+    List<Passport> findBySeriesInAndNumberIn(Collection<String> series, Collection<String> numbers);
     boolean existsBySeriesAndNumberAndIdNot(String series, String number, Long id);
 
 
@@ -1,16 +1,23 @@
 package com.example.eventmanagement.repository;
+import com.example.eventmanagement.dto.TicketReservationView;
 import com.example.eventmanagement.entity.Client;
 import com.example.eventmanagement.entity.TicketReservation;
 import com.example.eventmanagement.entity.Passport;
 import com.example.eventmanagement.entity.TicketReservation;
 import com.example.eventmanagement.enums.BookingStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface TicketReservationRepository extends JpaRepository<TicketReservation, Long> {
     List<TicketReservation> findByNumberOfTickets(Integer numberOfTickets);
@@ -44,4 +51,91 @@ public interface TicketReservationRepository extends JpaRepository<TicketReserva
     @Query("SELECT tr FROM TicketReservation tr JOIN FETCH tr.client JOIN FETCH tr.event WHERE tr.id = :id")
     Optional<TicketReservation> findByIdWithClientAndEvent(@Param("id") Long id);
 
+    @Query("SELECT new com.example.eventmanagement.dto.TicketReservationView(tr.id, " +
+           "c.fullName, c.phoneNumber, c.email, e.name, e.date, e.numberOfSeats, e.ticketPrice, e.description, " +
+           "tr.numberOfTickets, tr.bookingStatus, tr.createdAt, tr.updatedAt, tr.expiresAt) " +
+           "FROM TicketReservation tr JOIN tr.client c JOIN tr.event e WHERE tr.id = :id")
+    Optional<TicketReservationView> findViewById(@Param("id") Long id);
+
+    @Query("SELECT new com.example.eventmanagement.dto.TicketReservationView(tr.id, " +
+           "c.fullName, c.phoneNumber, c.email, e.name, e.date, e.numberOfSeats, e.ticketPrice, e.description, " +
+           "tr.numberOfTickets, tr.bookingStatus, tr.createdAt, tr.updatedAt, tr.expiresAt) " +
+           "FROM TicketReservation tr JOIN tr.client c JOIN tr.event e WHERE tr.id > :afterId " +
+           "AND (:eventId IS NULL OR e.id = :eventId) " +
+           "AND (:clientId IS NULL OR c.id = :clientId) " +
+           "AND (:status IS NULL OR tr.bookingStatus = :status) " +
+           "ORDER BY tr.id")
+    List<TicketReservationView> findPage(@Param("afterId") Long afterId, @Param("eventId") Long eventId, @Param("clientId") Long clientId,
+                                         @Param("status") BookingStatus status, Pageable pageable);
+
+    // В ответе есть поля клиента и мероприятия. Бронь к ним не перепривязывается, поэтому сумма трех версий растет
+    // при любом изменении любой из строк, а время изменения ответа - самое позднее из трех
+    @Query("SELECT tr.id AS id, tr.version + c.version + e.version AS version, " +
+           "GREATEST(tr.updatedAt, c.updatedAt, e.updatedAt) AS updatedAt " +
+           "FROM TicketReservation tr JOIN tr.client c JOIN tr.event e WHERE tr.id > :afterId " +
+           "AND (:eventId IS NULL OR e.id = :eventId) " +
+           "AND (:clientId IS NULL OR c.id = :clientId) " +
+           "AND (:status IS NULL OR tr.bookingStatus = :status) " +
+           "ORDER BY tr.id")
+    List<UpdateStamp> findPageStamps(@Param("afterId") Long afterId, @Param("eventId") Long eventId, @Param("clientId") Long clientId,
+                                     @Param("status") BookingStatus status, Pageable pageable);
+
+    @Query("SELECT tr.id AS id, tr.version + c.version + e.version AS version, " +
+           "GREATEST(tr.updatedAt, c.updatedAt, e.updatedAt) AS updatedAt " +
+           "FROM TicketReservation tr JOIN tr.client c JOIN tr.event e WHERE tr.id = :id")
+    Optional<UpdateStamp> findStampById(@Param("id") Long id);
+
+    // выгрузка курсором: строки приходят с сервера по FETCH_SIZE, а проекция в record не попадает в контекст персистентности
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = ExportQueries.FETCH_SIZE))
+    @Query("SELECT new com.example.eventmanagement.dto.TicketReservationView(tr.id, " +
+           "c.fullName, c.phoneNumber, c.email, e.name, e.date, e.numberOfSeats, e.ticketPrice, e.description, " +
+           "tr.numberOfTickets, tr.bookingStatus, tr.createdAt, tr.updatedAt, tr.expiresAt) " +
+           "FROM TicketReservation tr JOIN tr.client c JOIN tr.event e WHERE " +
+           "(:eventId IS NULL OR e.id = :eventId) " +
+           "AND (:status IS NULL OR tr.bookingStatus = :status) " +
+           "AND (:createdFrom IS NULL OR tr.createdAt >= :createdFrom) " +
+           "AND (:createdTo IS NULL OR tr.createdAt < :createdTo) " +
+           "ORDER BY tr.id")
+    Stream<TicketReservationView> streamForExport(@Param("eventId") Long eventId, @Param("status") BookingStatus status,
+                                                  @Param("createdFrom") LocalDateTime createdFrom, @Param("createdTo") LocalDateTime createdTo);
+
+    @Query("SELECT tr.id AS id, tr.event.id AS eventId FROM TicketReservation tr " +
+           "WHERE tr.bookingStatus = :status AND tr.updatedAt < :before ORDER BY tr.updatedAt")
+    List<ReservationRef> findRefsByBookingStatusAndUpdatedAtBefore(@Param("status") BookingStatus status,
+                                                                   @Param("before") LocalDateTime before, Pageable pageable);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM TicketReservation tr WHERE tr.id IN :ids AND tr.bookingStatus = :status")
+    int deleteByIdInAndBookingStatus(@Param("ids") List<Long> ids, @Param("status") BookingStatus status);
+
+    // истекшие удержания: по индексу (booking_status, expires_at), самые старые первыми
+    @Query("SELECT tr.id AS id, tr.event.id AS eventId, tr.numberOfTickets AS numberOfTickets FROM TicketReservation tr " +
+           "WHERE tr.bookingStatus = :status AND tr.expiresAt <= :now ORDER BY tr.expiresAt")
+    List<HoldRef> findExpiredHolds(@Param("status") BookingStatus status, @Param("now") LocalDateTime now, Pageable pageable);
+
+    @Query("SELECT tr.id AS id, tr.event.id AS eventId, tr.numberOfTickets AS numberOfTickets FROM TicketReservation tr " +
+           "WHERE tr.id IN :ids AND tr.bookingStatus = :status AND tr.expiresAt <= :now")
+    List<HoldRef> findExpiredHoldsByIdIn(@Param("ids") List<Long> ids, @Param("status") BookingStatus status,
+                                         @Param("now") LocalDateTime now);
+
+    // условие на статус и срок повторяется в UPDATE: бронь, подтвержденная после выборки, не отменяется,
+    // а увеличенная версия не дает параллельному подтверждению перезаписать отмену. Срок сбрасывается,
+    // как и в TicketReservation.setBookingStatus: истекшая бронь выглядит так же, как отмененная
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE TicketReservation tr SET tr.bookingStatus = :canceled, tr.expiresAt = NULL, tr.updatedAt = :now, tr.version = tr.version + 1 " +
+           "WHERE tr.id IN :ids AND tr.bookingStatus = :pending AND tr.expiresAt <= :now")
+    int expireHolds(@Param("ids") List<Long> ids, @Param("pending") BookingStatus pending,
+                    @Param("canceled") BookingStatus canceled, @Param("now") LocalDateTime now);
+
+    interface ReservationRef {
+        Long getId();
+        Long getEventId();
+    }
+
+    interface HoldRef {
+        Long getId();
+        Long getEventId();
+        Integer getNumberOfTickets();
+    }
+
 }
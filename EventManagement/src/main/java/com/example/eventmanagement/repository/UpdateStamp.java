@@ -0,0 +1,12 @@
+package com.example.eventmanagement.repository;
+
+import java.time.LocalDateTime;
+
+// id, версия и время изменения строки - все, что нужно для ETag и Last-Modified, без загрузки сущности
+public interface UpdateStamp {
+    Long getId();
+
+    Long getVersion();
+
+    LocalDateTime getUpdatedAt();
+}
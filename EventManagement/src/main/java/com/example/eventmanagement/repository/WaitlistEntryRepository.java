@@ -0,0 +1,31 @@
+package com.example.eventmanagement.repository;
+
+import com.example.eventmanagement.entity.WaitlistEntry;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, Long> {
+
+    boolean existsByEventIdAndClientId(Long eventId, Long clientId);
+
+    Optional<WaitlistEntry> findByIdAndEventId(Long id, Long eventId);
+
+    // Голова очереди по индексу (event_id, id) с блокировкой строк: продвижение той же очереди на другом
+    // экземпляре ждет коммита и уже не видит переведенные в брони записи
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT w FROM WaitlistEntry w WHERE w.event.id = :eventId ORDER BY w.id")
+    List<WaitlistEntry> findHeadForUpdate(@Param("eventId") Long eventId, Pageable pageable);
+
+    @Query("SELECT COUNT(w) FROM WaitlistEntry w WHERE w.event.id = :eventId AND w.id <= :id")
+    long countUpTo(@Param("eventId") Long eventId, @Param("id") Long id);
+
+    @Query("SELECT DISTINCT w.event.id FROM WaitlistEntry w")
+    List<Long> findEventIdsWithEntries();
+}
@@ -0,0 +1,75 @@
+package com.example.eventmanagement.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+// Бизнес-счетчики бронирования; задержки методов снимает @Timed на сервисах
+@Component
+public class BookingMetrics {
+    public enum RejectionReason {
+        CLIENT_NOT_FOUND,
+        EVENT_NOT_FOUND,
+        EVENT_CLOSED,
+        EVENT_PAST,
+        SOLD_OUT
+    }
+
+    private final Counter attempts;
+    private final Counter created;
+    private final Counter oversellPrevented;
+    private final Counter confirmed;
+    private final Counter canceled;
+    private final Counter expired;
+    private final Counter promoted;
+    private final Map<RejectionReason, Counter> rejections = new EnumMap<>(RejectionReason.class);
+
+    public BookingMetrics(MeterRegistry meterRegistry) {
+        this.attempts = meterRegistry.counter("booking.attempts");
+        this.created = meterRegistry.counter("booking.created");
+        this.oversellPrevented = meterRegistry.counter("booking.oversell.prevented");
+        this.confirmed = meterRegistry.counter("booking.transitions", "to", "confirmed");
+        this.canceled = meterRegistry.counter("booking.transitions", "to", "canceled");
+        this.expired = meterRegistry.counter("booking.transitions", "to", "expired");
+        this.promoted = meterRegistry.counter("booking.waitlist.promoted");
+        // все причины регистрируются сразу, чтобы в Prometheus были нулевые ряды, а не пропуски
+        for (RejectionReason reason : RejectionReason.values()) {
+            rejections.put(reason, meterRegistry.counter("booking.rejected", "reason", reason.name().toLowerCase(Locale.ROOT)));
+        }
+    }
+
+    public void attempted() {
+        attempts.increment();
+    }
+
+    public void created() {
+        created.increment();
+    }
+
+    public void rejected(RejectionReason reason) {
+        rejections.get(reason).increment();
+        if (reason == RejectionReason.SOLD_OUT) {
+            oversellPrevented.increment();
+        }
+    }
+
+    public void confirmed() {
+        confirmed.increment();
+    }
+
+    public void canceled() {
+        canceled.increment();
+    }
+
+    public void expired(int count) {
+        expired.increment(count);
+    }
+
+    public void promoted(int count) {
+        promoted.increment(count);
+    }
+}
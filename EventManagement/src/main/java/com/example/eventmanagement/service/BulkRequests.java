@@ -0,0 +1,17 @@
+package com.example.eventmanagement.service;
+
+import com.example.eventmanagement.exception.BusinessValidationException;
+
+// Ограничение размера пакетных запросов: весь пакет вставляется в одной транзакции и держится в памяти
+final class BulkRequests {
+    static final int MAX_SIZE = 1000;
+
+    private BulkRequests() {
+    }
+
+    static void validateSize(int size) {
+        if (size < 1 || size > MAX_SIZE) {
+            throw new BusinessValidationException(String.format("В пакете должно быть от 1 до %d записей", MAX_SIZE));
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.eventmanagement.service;
+
+import com.example.eventmanagement.dto.CleanupResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Очистка старых отмененных броней порциями: каждая порция - отдельная транзакция TicketReservationService,
+// поэтому блокировки не копятся, а прерванный по лимиту времени запуск продолжается со следующего.
+// Запуск через API идет под той же арендой, что и CanceledReservationCleanupJob: на всех экземплярах очистка одна
+@Component
+@Slf4j
+public class CanceledReservationCleanup {
+    public static final String JOB_NAME = "canceled-reservations-cleanup";
+
+    private final TicketReservationService ticketReservationService;
+    private final MaintenanceRunner maintenanceRunner;
+    private final int chunkSize;
+    private final Duration timeBudget;
+    private final TaskExecutor taskExecutor;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicReference<CleanupResponse> progress = new AtomicReference<>(CleanupResponse.idle());
+
+    public CanceledReservationCleanup(TicketReservationService ticketReservationService, MaintenanceRunner maintenanceRunner,
+                                      @Value("${cleanup.canceled-reservations.chunk-size:1000}") int chunkSize,
+                                      @Value("${cleanup.canceled-reservations.time-budget:PT30S}") Duration timeBudget,
+                                      @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) TaskExecutor taskExecutor) {
+        this.ticketReservationService = ticketReservationService;
+        this.maintenanceRunner = maintenanceRunner;
+        this.chunkSize = chunkSize;
+        this.timeBudget = timeBudget;
+        this.taskExecutor = taskExecutor;
+    }
+
+    // ответ возвращается сразу после постановки в очередь, HTTP-поток не ждет аренду; досталась ли она этому
+    // экземпляру, видно по status()
+    public CleanupResponse start() {
+        if (!running.compareAndSet(false, true)) {
+            return progress.get();
+        }
+        CleanupResponse queued = new CleanupResponse(0, "Очистка поставлена в очередь", true, 0, LocalDateTime.now(), null);
+        progress.set(queued);
+        try {
+            taskExecutor.execute(this::runUnderLease);
+        } catch (RuntimeException e) {
+            running.set(false);
+            progress.set(new CleanupResponse(0, "Не удалось запустить очистку: " + e.getMessage(), false, 0, null, LocalDateTime.now()));
+            throw e;
+        }
+        return queued;
+    }
+
+    private void runUnderLease() {
+        try {
+            boolean ran = maintenanceRunner.run(JOB_NAME, () -> {
+                progress.set(new CleanupResponse(0, "Очистка запущена", true, 0, LocalDateTime.now(), null));
+                try {
+                    return runChunks().deletedCount();
+                } catch (RuntimeException e) {
+                    CleanupResponse current = progress.get();
+                    progress.set(new CleanupResponse(current.deletedCount(), "Очистка прервана ошибкой: " + e.getMessage(),
+                            false, current.chunks(), current.startedAt(), LocalDateTime.now()));
+                    throw e;
+                }
+            });
+            if (!ran) {
+                log.info("Очистка отмененных бронирований уже выполняется другим экземпляром");
+                progress.set(new CleanupResponse(0, "Очистка уже выполняется другим экземпляром", false, 0, null, LocalDateTime.now()));
+            }
+        } catch (RuntimeException e) {
+            log.error("Не удалось запустить очистку отмененных бронирований", e);
+            progress.set(new CleanupResponse(0, "Не удалось запустить очистку: " + e.getMessage(), false, 0, null, LocalDateTime.now()));
+        } finally {
+            running.set(false);
+        }
+    }
+
+    public CleanupResponse status() {
+        return progress.get();
+    }
+
+    // синхронный запуск в текущем потоке; если очистка уже идет, второй запуск ничего не делает
+    public int cleanupOldCanceledReservations() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Очистка отмененных бронирований уже выполняется");
+            return 0;
+        }
+        try {
+            progress.set(new CleanupResponse(0, "Очистка запущена", true, 0, LocalDateTime.now(), null));
+            return runChunks().deletedCount();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private CleanupResponse runChunks() {
+        LocalDateTime before = LocalDateTime.now().minusMonths(1);
+        LocalDateTime startedAt = progress.get().startedAt();
+        long deadline = System.nanoTime() + timeBudget.toNanos();
+        int deleted = 0;
+        int chunks = 0;
+        int lastChunk;
+        do {
+            lastChunk = ticketReservationService.deleteOldCanceledChunk(before, chunkSize);
+            deleted += lastChunk;
+            chunks++;
+            progress.set(new CleanupResponse(deleted, "Удалено " + deleted + " бронирований", true, chunks, startedAt, null));
+        } while (lastChunk == chunkSize && System.nanoTime() < deadline);
+
+        String message;
+        if (lastChunk == chunkSize) {
+            message = "Удалено " + deleted + " бронирований, остаток будет удален при следующем запуске: исчерпан лимит времени " + timeBudget;
+        } else if (deleted > 0) {
+            message = "Удалено " + deleted + " бронирований";
+        } else {
+            message = "Нет старых отмененных бронирований для очистки";
+        }
+        CleanupResponse result = new CleanupResponse(deleted, message, false, chunks, startedAt, LocalDateTime.now());
+        progress.set(result);
+        log.info("Очистка отмененных бронирований: удалено {} за {} порций", deleted, chunks);
+        return result;
+    }
+}
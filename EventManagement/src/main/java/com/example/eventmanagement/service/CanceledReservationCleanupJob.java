@@ -0,0 +1,41 @@
+package com.example.eventmanagement.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.support.PeriodicTrigger;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+public class CanceledReservationCleanupJob implements MaintenanceJob {
+    private final CanceledReservationCleanup canceledReservationCleanup;
+    private final Duration interval;
+
+    public CanceledReservationCleanupJob(CanceledReservationCleanup canceledReservationCleanup,
+                                         @Value("${cleanup.canceled-reservations.interval:}") Duration interval) {
+        this.canceledReservationCleanup = canceledReservationCleanup;
+        this.interval = interval;
+    }
+
+    @Override
+    public String name() {
+        return CanceledReservationCleanup.JOB_NAME;
+    }
+
+    @Override
+    public Trigger trigger() {
+        if (interval == null || interval.isZero()) {
+            return null;
+        }
+        // первый запуск через интервал, а не сразу при старте
+        PeriodicTrigger trigger = new PeriodicTrigger(interval);
+        trigger.setInitialDelay(interval);
+        return trigger;
+    }
+
+    @Override
+    public int run() {
+        return canceledReservationCleanup.cleanupOldCanceledReservations();
+    }
+}
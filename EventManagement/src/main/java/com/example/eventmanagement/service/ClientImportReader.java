@@ -0,0 +1,159 @@
+package com.example.eventmanagement.service;
+
+import com.example.eventmanagement.dto.ClientCreateWithDependenciesDto;
+import com.example.eventmanagement.dto.PassportCreateDto;
+import com.example.eventmanagement.exception.BusinessValidationException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Построчное чтение файла импорта клиентов: в памяти только текущая строка, ошибки разбора возвращаются вместе с номером строки.
+// CSV - первая строка с заголовками колонок, значения в кавычках могут содержать запятые, но не переводы строк
+public class ClientImportReader implements Closeable {
+    public static final List<String> CSV_COLUMNS = List.of("fullName", "phoneNumber", "email", "passportSeries", "passportNumber");
+    private static final List<String> REQUIRED_CSV_COLUMNS = List.of("fullName", "phoneNumber", "passportSeries", "passportNumber");
+
+    public enum Format {
+        CSV,
+        NDJSON;
+
+        public static Format fromContentType(String contentType) {
+            String type = contentType == null ? "" : contentType.toLowerCase(Locale.ROOT);
+            if (type.startsWith("text/csv")) {
+                return CSV;
+            }
+            if (type.startsWith("application/x-ndjson")) {
+                return NDJSON;
+            }
+            throw new BusinessValidationException("Импорт клиентов принимает text/csv или application/x-ndjson, получено: " + contentType);
+        }
+    }
+
+    public record Row(long line, ClientCreateWithDependenciesDto client, String error) {
+    }
+
+    private final BufferedReader reader;
+    private final Format format;
+    private final ObjectMapper objectMapper;
+    private Map<String, Integer> columns;
+    private long line;
+
+    public ClientImportReader(BufferedReader reader, Format format, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+
+    // null - файл закончился; пустые строки пропускаются
+    public Row next() throws IOException {
+        String text;
+        while ((text = reader.readLine()) != null) {
+            line++;
+            if (line == 1 && text.startsWith("\uFEFF")) {
+                text = text.substring(1);
+            }
+            if (text.isBlank()) {
+                continue;
+            }
+            if (format == Format.NDJSON) {
+                return parseJson(text);
+            }
+            if (columns == null) {
+                columns = readHeader(text);
+                continue;
+            }
+            return parseCsv(text);
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private Row parseJson(String text) {
+        try {
+            return new Row(line, objectMapper.readValue(text, ClientCreateWithDependenciesDto.class), null);
+        } catch (JsonProcessingException e) {
+            return new Row(line, null, "Некорректный JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private Map<String, Integer> readHeader(String text) {
+        List<String> names = parseCsvFields(text);
+        if (names == null) {
+            throw new BusinessValidationException("Некорректная строка заголовков CSV");
+        }
+        Map<String, Integer> header = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            header.put(names.get(i), i);
+        }
+        List<String> missing = REQUIRED_CSV_COLUMNS.stream().filter(column -> !header.containsKey(column)).toList();
+        if (!missing.isEmpty()) {
+            throw new BusinessValidationException("В заголовке CSV нет колонок: " + String.join(", ", missing));
+        }
+        return header;
+    }
+
+    private Row parseCsv(String text) {
+        List<String> fields = parseCsvFields(text);
+        if (fields == null) {
+            return new Row(line, null, "Некорректная строка CSV: незакрытые кавычки");
+        }
+        return new Row(line, new ClientCreateWithDependenciesDto(
+                field(fields, "fullName"),
+                field(fields, "phoneNumber"),
+                field(fields, "email"),
+                new PassportCreateDto(field(fields, "passportSeries"), field(fields, "passportNumber"))
+        ), null);
+    }
+
+    private String field(List<String> fields, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= fields.size() || fields.get(index).isEmpty()) {
+            return null;
+        }
+        return fields.get(index);
+    }
+
+    // null - в строке не закрыты кавычки
+    static List<String> parseCsvFields(String text) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            return null;
+        }
+        fields.add(field.toString().trim());
+        return fields;
+    }
+}
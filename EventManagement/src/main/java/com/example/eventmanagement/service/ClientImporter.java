@@ -0,0 +1,279 @@
+package com.example.eventmanagement.service;
+
+import com.example.eventmanagement.dto.ClientCreateWithDependenciesDto;
+import com.example.eventmanagement.dto.ClientImportResponse;
+import com.example.eventmanagement.exception.BusinessValidationException;
+import com.example.eventmanagement.exception.EntityNotFoundException;
+import com.example.eventmanagement.exception.ServiceUnavailableException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+// Импорт клиентов из файла: тело запроса сразу сливается во временный файл, затем фоновая задача читает его построчно
+// и передает в ClientService порциями по chunkSize строк - каждая порция отдельная транзакция с пачкой INSERT.
+// Задачи идут на общем TaskExecutor приложения (виртуальные потоки), но по одной: импорты не делят между собой пул
+// соединений. Отклоненные строки пишутся в CSV-отчет, который можно скачать по id импорта. Размер файла и число
+// незавершенных импортов ограничены, из завершенных хранятся последние KEPT_IMPORTS
+@Component
+@Slf4j
+public class ClientImporter {
+    private static final int KEPT_IMPORTS = 20;
+
+    private record Job(AtomicReference<ClientImportResponse> progress, Path source, Path errors) {
+    }
+
+    private final ClientService clientService;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+    private final Path workDir;
+    private final DataSize maxFileSize;
+    private final int maxQueued;
+    private final TaskExecutor taskExecutor;
+    // ReentrantLock вместо synchronized: ожидание не закрепляет виртуальный поток за носителем
+    private final ReentrantLock importLock = new ReentrantLock();
+    private final ReentrantLock jobsLock = new ReentrantLock();
+    private final Map<UUID, Job> jobs = new LinkedHashMap<>();
+
+    public ClientImporter(ClientService clientService, Validator validator, ObjectMapper objectMapper,
+                          @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) TaskExecutor taskExecutor,
+                          @Value("${client-import.chunk-size:1000}") int chunkSize,
+                          @Value("${client-import.work-dir:${java.io.tmpdir}/client-import}") Path workDir,
+                          @Value("${client-import.max-file-size:100MB}") DataSize maxFileSize,
+                          @Value("${client-import.max-queued:4}") int maxQueued) {
+        this.clientService = clientService;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+        this.workDir = workDir;
+        this.maxFileSize = maxFileSize;
+        this.maxQueued = maxQueued;
+        this.taskExecutor = taskExecutor;
+    }
+
+    public ClientImportResponse start(InputStream body, ClientImportReader.Format format) {
+        UUID id = UUID.randomUUID();
+        Job job = new Job(new AtomicReference<>(new ClientImportResponse(id, true, 0, 0, 0,
+                "Импорт поставлен в очередь", LocalDateTime.now(), null)), workDir.resolve(id + ".upload"), workDir.resolve(id + "-errors.csv"));
+        // место в очереди занимается до чтения тела: при переполненной очереди файл даже не сохраняется
+        register(id, job);
+        try {
+            Files.createDirectories(workDir);
+            save(body, job.source());
+        } catch (IOException e) {
+            discard(id, job);
+            throw new UncheckedIOException("Не удалось сохранить файл импорта", e);
+        } catch (RuntimeException e) {
+            discard(id, job);
+            throw e;
+        }
+        log.info("Импорт клиентов {} поставлен в очередь ({})", id, format);
+        taskExecutor.execute(() -> run(job, format));
+        return job.progress().get();
+    }
+
+    public ClientImportResponse status(UUID id) {
+        return job(id).progress().get();
+    }
+
+    public Path errorReport(UUID id) {
+        Path errors = job(id).errors();
+        if (!Files.exists(errors)) {
+            throw new EntityNotFoundException(String.format("Отчет об ошибках импорта %s еще не создан", id));
+        }
+        return errors;
+    }
+
+    // тело запроса может прийти без Content-Length, поэтому размер проверяется по мере записи
+    private void save(InputStream body, Path target) throws IOException {
+        long written = 0;
+        byte[] buffer = new byte[8192];
+        try (OutputStream out = Files.newOutputStream(target)) {
+            int read;
+            while ((read = body.read(buffer)) != -1) {
+                written += read;
+                if (written > maxFileSize.toBytes()) {
+                    throw new BusinessValidationException(String.format("Файл импорта больше допустимых %d МБ", maxFileSize.toMegabytes()));
+                }
+                out.write(buffer, 0, read);
+            }
+        }
+    }
+
+    private void run(Job job, ClientImportReader.Format format) {
+        importLock.lock();
+        try {
+            importFile(job, format);
+        } finally {
+            importLock.unlock();
+        }
+    }
+
+    private void importFile(Job job, ClientImportReader.Format format) {
+        AtomicReference<ClientImportResponse> progress = job.progress();
+        try (ClientImportReader reader = new ClientImportReader(Files.newBufferedReader(job.source(), StandardCharsets.UTF_8), format, objectMapper);
+             BufferedWriter errors = Files.newBufferedWriter(job.errors(), StandardCharsets.UTF_8)) {
+            errors.write("line,error");
+            errors.newLine();
+            long processed = 0;
+            long imported = 0;
+            long rejected = 0;
+            List<ClientImportReader.Row> chunk = new ArrayList<>(chunkSize);
+            ClientImportReader.Row row;
+            do {
+                row = reader.next();
+                if (row != null) {
+                    processed++;
+                    String error = row.error() != null ? row.error() : validate(row.client());
+                    if (error != null) {
+                        writeError(errors, row.line(), error);
+                        rejected++;
+                    } else {
+                        chunk.add(row);
+                    }
+                }
+                if (chunk.size() == chunkSize || (row == null && !chunk.isEmpty())) {
+                    Map<Long, String> chunkErrors = importChunk(chunk);
+                    for (Map.Entry<Long, String> entry : chunkErrors.entrySet()) {
+                        writeError(errors, entry.getKey(), entry.getValue());
+                    }
+                    imported += chunk.size() - chunkErrors.size();
+                    rejected += chunkErrors.size();
+                    chunk.clear();
+                    errors.flush();
+                    progress.set(progress.get().progress(processed, imported, rejected,
+                            "Обработано строк: " + processed));
+                }
+            } while (row != null);
+            progress.set(progress.get().progress(processed, imported, rejected, null)
+                    .finished("Импортировано клиентов: " + imported + ", отклонено строк: " + rejected));
+            log.info("Импорт клиентов {} завершен: строк {}, импортировано {}, отклонено {}",
+                    progress.get().id(), processed, imported, rejected);
+        } catch (IOException | RuntimeException e) {
+            log.error("Импорт клиентов {} прерван ошибкой", progress.get().id(), e);
+            progress.set(progress.get().finished("Импорт прерван ошибкой: " + e.getMessage()));
+        } finally {
+            deleteQuietly(job.source());
+        }
+    }
+
+    // Параллельная запись могла занять телефон, email или паспорт между проверкой и вставкой. Тогда порция
+    // повторяется построчно, каждая строка в своей транзакции, и отклоняются только строки с конфликтом
+    private Map<Long, String> importChunk(List<ClientImportReader.Row> chunk) {
+        try {
+            return clientService.importChunk(chunk);
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Порция импорта не сохранена из-за конфликта уникальности, повтор по одной строке: {}", e.getMessage());
+            Map<Long, String> rejected = new LinkedHashMap<>();
+            for (ClientImportReader.Row row : chunk) {
+                try {
+                    rejected.putAll(clientService.importChunk(List.of(row)));
+                } catch (DataIntegrityViolationException rowConflict) {
+                    rejected.put(row.line(), "Телефон, email или паспорт заняты параллельной записью");
+                }
+            }
+            return rejected;
+        }
+    }
+
+    private String validate(ClientCreateWithDependenciesDto client) {
+        String violations = validator.validate(client).stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+        if (!violations.isEmpty()) {
+            return violations;
+        }
+        // в PassportCreateDto проверяется только формат, а пустые серия и номер не пройдут NOT NULL в базе
+        if (client.passport().series() == null || client.passport().number() == null) {
+            return "passport: Серия и номер паспорта обязательны";
+        }
+        return null;
+    }
+
+    private static void writeError(BufferedWriter errors, long line, String error) throws IOException {
+        errors.write(line + ",\"" + error.replace("\"", "\"\"") + "\"");
+        errors.newLine();
+    }
+
+    private void register(UUID id, Job job) {
+        jobsLock.lock();
+        try {
+            int queued = (int) jobs.values().stream().filter(queuedJob -> queuedJob.progress().get().running()).count();
+            if (queued >= maxQueued) {
+                throw new ServiceUnavailableException(String.format("В очереди уже %d импортов клиентов, повторите запрос позже", queued));
+            }
+            jobs.put(id, job);
+            // незавершенные импорты остаются в реестре, завершенные вытесняются начиная со старых
+            int finished = jobs.size() - queued - 1;
+            Iterator<Job> oldest = jobs.values().iterator();
+            while (finished > KEPT_IMPORTS) {
+                Job evicted = oldest.next();
+                if (!evicted.progress().get().running()) {
+                    oldest.remove();
+                    deleteQuietly(evicted.errors());
+                    finished--;
+                }
+            }
+        } finally {
+            jobsLock.unlock();
+        }
+    }
+
+    private void discard(UUID id, Job job) {
+        jobsLock.lock();
+        try {
+            jobs.remove(id);
+        } finally {
+            jobsLock.unlock();
+        }
+        deleteQuietly(job.source());
+    }
+
+    private Job job(UUID id) {
+        jobsLock.lock();
+        try {
+            Job job = jobs.get(id);
+            if (job == null) {
+                throw new EntityNotFoundException(String.format("Импорт клиентов %s не найден", id));
+            }
+            return job;
+        } finally {
+            jobsLock.unlock();
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Не удалось удалить файл импорта {}", path, e);
+        }
+    }
+}
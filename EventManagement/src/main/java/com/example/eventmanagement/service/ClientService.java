@@ -11,17 +11,33 @@ import com.example.eventmanagement.mapper.ClientMapper;
 import com.example.eventmanagement.repository.ClientRepository;
 import com.example.eventmanagement.repository.PassportRepository;
 import com.example.eventmanagement.repository.TicketReservationRepository;
-import jakarta.transaction.Transactional;
+import com.example.eventmanagement.repository.UpdateStamp;
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
+@Timed(value = "eventmanagement.service", histogram = true)
 @Slf4j
 public class ClientService {
+    private static final int SEARCH_RESULT_LIMIT = 1000;
+    private static final Pattern PHONE_TERM = Pattern.compile("^\\+?\\d{1,11}$");
+
     private final ClientRepository clientRepository;
     private final PassportRepository passportRepository;
     private final TicketReservationRepository ticketReservationRepository;
@@ -34,14 +50,35 @@ public class ClientService {
         this.clientMapper = clientMapper;
     }
 
-    public List<ClientDoneDto> getAll() {
-        log.debug("Получение списка всех клиентов");
-        return clientMapper.toClientDoneDtoList(clientRepository.findAll());
+    @Transactional(readOnly = true)
+    public CursorPage<ClientDoneDto> getPage(Long after, int size, LocalDateTime createdFrom) {
+        log.debug("Получение страницы клиентов после ID {} (размер {})", after, size);
+        CursorPage.validateSize(size);
+        List<ClientView> clients = clientRepository.findPage(after == null ? 0L : after, createdFrom, PageRequest.of(0, size + 1));
+        return CursorPage.of(clients, size, ClientView::id, clientMapper::fromViews);
+    }
+
+    // версия считается до чтения страницы: при гонке с записью ETag окажется старше ответа, а не новее
+    @Transactional(readOnly = true)
+    public ResourceVersion getPageVersion(Long after, int size, LocalDateTime createdFrom) {
+        CursorPage.validateSize(size);
+        List<UpdateStamp> stamps = clientRepository.findPageStamps(after == null ? 0L : after, createdFrom, PageRequest.of(0, size + 1));
+        return ResourceVersion.ofPage(stamps, UpdateStamp::getId, UpdateStamp::getVersion, UpdateStamp::getUpdatedAt);
     }
 
+    @Transactional(readOnly = true)
+    public ResourceVersion getVersion(Long id) {
+        return clientRepository.findStampById(id)
+                .map(stamp -> ResourceVersion.of(stamp.getVersion(), stamp.getUpdatedAt()))
+                .orElseThrow(() -> new EntityNotFoundException(
+                        String.format("Клиент с id %d не найден", id)
+                ));
+    }
+
+    @Transactional(readOnly = true)
     public ClientDoneDto getById(Long id) {
         log.debug("Получение клиента по ID: {}", id);
-        Client client = clientRepository.findById(id)
+        ClientView client = clientRepository.findViewById(id)
                 .orElseThrow(() -> new EntityNotFoundException(
                         String.format("Клиент с id %d не найден", id)
                 ));
@@ -70,6 +107,113 @@ public class ClientService {
         return clientMapper.toClientDoneDto(savedClient);
     }
 
+    // Телефоны, email и паспорта всего пакета проверяются тремя запросами, клиенты с паспортами вставляются пачками JDBC.
+    // В сообщении об ошибке указывается номер элемента пакета (с нуля)
+    public List<ClientDoneDto> createClients(List<ClientCreateWithDependenciesDto> clientDtos) {
+        log.info("Пакетное создание клиентов: {}", clientDtos.size());
+        BulkRequests.validateSize(clientDtos.size());
+        Map<String, Integer> phoneIndexes = new HashMap<>();
+        Map<String, Integer> emailIndexes = new HashMap<>();
+        Map<String, Integer> passportIndexes = new HashMap<>();
+        for (int i = 0; i < clientDtos.size(); i++) {
+            ClientCreateWithDependenciesDto dto = clientDtos.get(i);
+            if (phoneIndexes.putIfAbsent(dto.phoneNumber(), i) != null) {
+                throw new DuplicateEntityException(String.format("Телефон %s повторяется в пакете (элемент %d)", dto.phoneNumber(), i));
+            }
+            if (dto.email() != null && emailIndexes.putIfAbsent(dto.email(), i) != null) {
+                throw new DuplicateEntityException(String.format("Email %s повторяется в пакете (элемент %d)", dto.email(), i));
+            }
+            if (passportIndexes.putIfAbsent(passportKey(dto.passport().series(), dto.passport().number()), i) != null) {
+                throw new DuplicateEntityException(String.format("Паспорт %s %s повторяется в пакете (элемент %d)",
+                        dto.passport().series(), dto.passport().number(), i));
+            }
+        }
+        List<String> existingPhones = clientRepository.findExistingPhoneNumbers(phoneIndexes.keySet());
+        if (!existingPhones.isEmpty()) {
+            throw new DuplicateEntityException(String.format("Клиент c таким телефоном %s уже существует (элемент %d)",
+                    existingPhones.get(0), phoneIndexes.get(existingPhones.get(0))));
+        }
+        if (!emailIndexes.isEmpty()) {
+            List<String> existingEmails = clientRepository.findExistingEmails(emailIndexes.keySet());
+            if (!existingEmails.isEmpty()) {
+                throw new DuplicateEntityException(String.format("Клиент c таким email %s уже существует (элемент %d)",
+                        existingEmails.get(0), emailIndexes.get(existingEmails.get(0))));
+            }
+        }
+        List<Passport> candidatePassports = passportRepository.findBySeriesInAndNumberIn(
+                clientDtos.stream().map(dto -> dto.passport().series()).collect(Collectors.toSet()),
+                clientDtos.stream().map(dto -> dto.passport().number()).collect(Collectors.toSet())
+        );
+        for (Passport passport : candidatePassports) {
+            Integer index = passportIndexes.get(passportKey(passport.getSeries(), passport.getNumber()));
+            if (index != null) {
+                throw new DuplicateEntityException(String.format("Паспорт %s %s уже существует (элемент %d)",
+                        passport.getSeries(), passport.getNumber(), index));
+            }
+        }
+
+        List<Client> clients = clientDtos.stream()
+                .map(dto -> new Client(dto.fullName(), dto.phoneNumber(), dto.email(),
+                        new Passport(dto.passport().series(), dto.passport().number())))
+                .toList();
+        List<Client> savedClients = clientRepository.saveAll(clients);
+        log.info("Создано клиентов: {}", savedClients.size());
+        return savedClients.stream().map(clientMapper::toClientDoneDto).toList();
+    }
+
+    // Порция импорта: дубликаты отклоняются построчно, остальные клиенты вставляются пачками JDBC в одной транзакции.
+    // Предыдущие порции файла уже закоммичены, поэтому повторы из них находятся запросом к базе, а в памяти
+    // держатся ключи только текущей порции. Возвращает причины отказа по номерам строк файла
+    public Map<Long, String> importChunk(List<ClientImportReader.Row> rows) {
+        Set<String> existingPhones = new HashSet<>(clientRepository.findExistingPhoneNumbers(
+                rows.stream().map(row -> row.client().phoneNumber()).collect(Collectors.toSet())));
+        Set<String> existingEmails = new HashSet<>(clientRepository.findExistingEmails(
+                rows.stream().map(row -> row.client().email()).filter(Objects::nonNull).collect(Collectors.toSet())));
+        Set<String> existingPassports = passportRepository.findBySeriesInAndNumberIn(
+                        rows.stream().map(row -> row.client().passport().series()).collect(Collectors.toSet()),
+                        rows.stream().map(row -> row.client().passport().number()).collect(Collectors.toSet())).stream()
+                .map(passport -> passportKey(passport.getSeries(), passport.getNumber()))
+                .collect(Collectors.toSet());
+
+        Set<String> phoneNumbers = new HashSet<>();
+        Set<String> passportKeys = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        Map<Long, String> rejected = new LinkedHashMap<>();
+        List<Client> clients = new ArrayList<>();
+        for (ClientImportReader.Row row : rows) {
+            ClientCreateWithDependenciesDto dto = row.client();
+            String passportKey = passportKey(dto.passport().series(), dto.passport().number());
+            String error = null;
+            if (existingPhones.contains(dto.phoneNumber())) {
+                error = "Клиент c таким телефоном " + dto.phoneNumber() + " уже существует";
+            } else if (existingPassports.contains(passportKey)) {
+                error = "Паспорт " + passportKey + " уже существует";
+            } else if (dto.email() != null && existingEmails.contains(dto.email())) {
+                error = "Клиент c таким email " + dto.email() + " уже существует";
+            } else if (phoneNumbers.contains(dto.phoneNumber())) {
+                error = "Телефон " + dto.phoneNumber() + " уже встречался в файле";
+            } else if (passportKeys.contains(passportKey)) {
+                error = "Паспорт " + passportKey + " уже встречался в файле";
+            } else if (dto.email() != null && emails.contains(dto.email())) {
+                error = "Email " + dto.email() + " уже встречался в файле";
+            }
+            if (error != null) {
+                rejected.put(row.line(), error);
+                continue;
+            }
+            phoneNumbers.add(dto.phoneNumber());
+            passportKeys.add(passportKey);
+            if (dto.email() != null) {
+                emails.add(dto.email());
+            }
+            clients.add(new Client(dto.fullName(), dto.phoneNumber(), dto.email(),
+                    new Passport(dto.passport().series(), dto.passport().number())));
+        }
+        clientRepository.saveAll(clients);
+        log.debug("Порция импорта: вставлено {}, отклонено {}", clients.size(), rejected.size());
+        return rejected;
+    }
+
     public void deleteClient(Long id) {
         log.info("Удаление клиента с ID: {}", id);
         Client client = clientRepository.findById(id)
@@ -83,12 +227,38 @@ public class ClientService {
         log.info("Клиент с ID {} удален", id);
     }
 
-    public List<ClientDoneDto> searchClients(String searchTerm) {
-        log.debug("Поиск клиентов по запросу: {}", searchTerm);
-        List<Client> foundedClients = clientRepository.searchClients(searchTerm);
-        return clientMapper.toClientDoneDtoList(foundedClients);
+    @Transactional(readOnly = true)
+    public List<ClientDoneDto> searchClients(String searchTerm, int page, int size) {
+        log.debug("Поиск клиентов по запросу: {} (страница {}, размер {})", searchTerm, page, size);
+        CursorPage.validateSize(size);
+        if (page < 0 || (long) (page + 1) * size > SEARCH_RESULT_LIMIT) {
+            throw new BusinessValidationException(String.format("Поиск возвращает не больше %d клиентов, уточните запрос", SEARCH_RESULT_LIMIT));
+        }
+        String term = searchTerm == null ? "" : searchTerm.trim().toLowerCase();
+        PageRequest pageRequest = PageRequest.of(page, size);
+        if (term.isEmpty()) {
+            return clientMapper.fromViews(clientRepository.findPage(0L, null, pageRequest));
+        }
+        List<ClientView> foundedClients = PHONE_TERM.matcher(term).matches()
+                ? searchByPhone(term, page, size)
+                : clientRepository.searchByNameOrEmail(escapeLike(term), pageRequest);
+        return clientMapper.fromViews(foundedClients);
+    }
+
+    // Сначала номера, начинающиеся с запроса (диапазон индекса без сортировки), остаток страницы добирается
+    // вхождениями в середину номера. Обе части читаются до конца страницы - окно ограничено SEARCH_RESULT_LIMIT
+    private List<ClientView> searchByPhone(String term, int page, int size) {
+        String prefix = toPhonePrefix(term);
+        String digits = term.startsWith("+") ? term.substring(1) : term;
+        int offset = page * size;
+        List<ClientView> found = new ArrayList<>(clientRepository.searchByPhonePrefix(prefix, PageRequest.of(0, offset + size)));
+        if (found.size() < offset + size) {
+            found.addAll(clientRepository.searchByPhoneSubstring(prefix, digits, PageRequest.of(0, offset + size - found.size())));
+        }
+        return found.subList(Math.min(offset, found.size()), found.size());
     }
 
+    @Transactional(readOnly = true)
     public boolean canDeleteClient(Long clientId) {
         log.debug("Проверка возможности удаления клиента с ID: {}", clientId);
         List<BookingStatus> bookingStatusList = new ArrayList<>();
@@ -97,6 +267,7 @@ public class ClientService {
         return ticketReservationRepository.findByClientIdAndBookingStatusIn(clientId, bookingStatusList).isEmpty();
     }
 
+    @RetryOnConflict
     public ClientDoneDto updateClientBasicInfo(Long id, ClientCreateDto dto) {
         log.info("Обновление базовой информации клиента с ID: {}", id);
         Client client = clientRepository.findById(id).orElseThrow(
@@ -114,6 +285,7 @@ public class ClientService {
         return clientMapper.toClientDoneDto(updatedClient);
     }
 
+    @RetryOnConflict
     public ClientDoneDto replacePassport(Long clientId, PassportCreateDto newPassportDto){
         log.info("Замена паспорта для клиента с ID: {}", clientId);
         Client client = clientRepository.findById(clientId).orElseThrow(
@@ -137,4 +309,23 @@ public class ClientService {
         log.info("Паспорт для клиента с ID {} заменен", clientId);
         return clientMapper.toClientDoneDto(updatedClient);
     }
-}
\ No newline at end of file
+
+    private static String passportKey(String series, String number) {
+        return series + ' ' + number;
+    }
+
+    // "+7912", "7912", "8912" и "912" ищутся как префикс номера +7912..., а также как вхождение в номер
+    private static String toPhonePrefix(String term) {
+        if (term.startsWith("+")) {
+            return term;
+        }
+        if (term.startsWith("8")) {
+            return "+7" + term.substring(1);
+        }
+        return term.startsWith("7") ? "+" + term : "+7" + term;
+    }
+
+    private static String escapeLike(String term) {
+        return term.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.eventmanagement.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Повтор методов @RetryOnConflict после конфликта версий. Аспект стоит снаружи @Transactional, поэтому каждая попытка -
+// новая транзакция со свежим чтением. Внутри чужой транзакции повтор бессмыслен (она уже помечена на откат),
+// и исключение уходит вызывающему. После max-attempts попыток конфликт отдается клиенту как 409
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+@Slf4j
+public class ConflictRetryAspect {
+    private final int maxAttempts;
+    private final long initialBackoffNanos;
+    private final Counter retries;
+    private final Counter exhausted;
+
+    public ConflictRetryAspect(@Value("${conflict-retry.max-attempts:3}") int maxAttempts,
+                               @Value("${conflict-retry.initial-backoff:PT0.02S}") Duration initialBackoff,
+                               MeterRegistry meterRegistry) {
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffNanos = initialBackoff.toNanos();
+        this.retries = meterRegistry.counter("conflict.retries");
+        this.exhausted = meterRegistry.counter("conflict.exhausted");
+    }
+
+    @Around("@annotation(com.example.eventmanagement.service.RetryOnConflict)")
+    public Object retry(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return joinPoint.proceed();
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    exhausted.increment();
+                    log.warn("{}: конфликт версий не разрешился за {} попыток", joinPoint.getSignature().toShortString(), attempt);
+                    throw e;
+                }
+                retries.increment();
+                // экспоненциальная пауза со случайным разбросом, чтобы столкнувшиеся запросы не повторялись синхронно
+                long backoff = initialBackoffNanos << (attempt - 1);
+                long pause = backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+                log.debug("{}: конфликт версий, попытка {} через {} мкс", joinPoint.getSignature().toShortString(), attempt + 1, pause / 1_000);
+                TimeUnit.NANOSECONDS.sleep(pause);
+            }
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.eventmanagement.service;
 
+import com.example.eventmanagement.config.CacheConfig;
 import com.example.eventmanagement.dto.*;
 import com.example.eventmanagement.entity.Event;
 import com.example.eventmanagement.exception.BusinessValidationException;
@@ -7,41 +8,71 @@ import com.example.eventmanagement.exception.DuplicateEntityException;
 import com.example.eventmanagement.exception.EntityNotFoundException;
 import com.example.eventmanagement.mapper.EventMapper;
 import com.example.eventmanagement.repository.EventRepository;
-import jakarta.transaction.Transactional;
+import com.example.eventmanagement.repository.UpdateStamp;
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 import com.example.eventmanagement.enums.EventStatus;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
+@Timed(value = "eventmanagement.service", histogram = true)
 @Slf4j
 public class EventService {
     private final EventRepository eventRepository;
     private final EventMapper eventMapper;
+    private final SeatInventoryService seatInventoryService;
+    private final EventStatsService eventStatsService;
 
-    EventService(EventRepository eventRepository, EventMapper eventMapper) {
+    EventService(EventRepository eventRepository, EventMapper eventMapper, SeatInventoryService seatInventoryService, EventStatsService eventStatsService) {
         this.eventRepository = eventRepository;
         this.eventMapper = eventMapper;
+        this.seatInventoryService = seatInventoryService;
+        this.eventStatsService = eventStatsService;
     }
 
-    public List<EventDto> getAll() {
-        log.debug("Получение списка всех мероприятий");
-        return eventMapper.toEventDtoList(eventRepository.findAll());
+    // Версия страницы кэшируется вместе с ней: версия из базы при странице из кэша могла бы оказаться новее
+    // ответа, и клиент получал бы 304 на устаревшие данные. Поэтому и считается версия до чтения страницы
+    @Cacheable(CacheConfig.EVENT_PAGES)
+    @Transactional(readOnly = true)
+    public VersionedPage<EventDto> getVersionedPage(Long after, int size, EventStatus status, LocalDate dateFrom, LocalDate dateTo) {
+        log.debug("Получение страницы мероприятий после ID {} (размер {})", after, size);
+        CursorPage.validateSize(size);
+        long afterId = after == null ? 0L : after;
+        ResourceVersion version = ResourceVersion.ofPage(eventRepository.findPageStamps(afterId, status, dateFrom, dateTo, PageRequest.of(0, size + 1)),
+                UpdateStamp::getId, UpdateStamp::getVersion, UpdateStamp::getUpdatedAt);
+        List<EventDto> events = eventRepository.findPage(afterId, status, dateFrom, dateTo, PageRequest.of(0, size + 1));
+        return new VersionedPage<>(CursorPage.of(events, size, EventDto::id, List::copyOf), version);
     }
 
+    @Cacheable(CacheConfig.EVENTS)
+    @Transactional(readOnly = true)
     public EventDoneDto getById(Long id) {
         log.debug("Получение мероприятия по ID: {}", id);
-        Event event = eventRepository.findById(id)
+        return eventRepository.findDoneDtoById(id)
                 .orElseThrow(() -> new EntityNotFoundException(
                         String.format("Мероприятие с id %d не найден", id)
                 ));
-        return eventMapper.toEventDoneDto(event);
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.EVENTS, key = "#eventId"),
+            @CacheEvict(cacheNames = CacheConfig.EVENT_PAGES, allEntries = true)
+    })
+    @RetryOnConflict
     public EventDoneDto updateEventStatus(Long eventId, EventStatus newStatus) {
         log.info("Обновление статуса мероприятия с ID: {} на {}", eventId, newStatus);
         Event foundedEvent = eventRepository.findById(eventId).orElseThrow(
@@ -62,19 +93,17 @@ public class EventService {
         return eventMapper.toEventDoneDto(savedEvent);
     }
 
+    // без своей транзакции: статистика читается readOnly-транзакцией (с реплики, если они настроены),
+    // и только для мероприятия без строки event_stats она создается отдельной пишущей транзакцией
+    @Transactional(propagation = Propagation.SUPPORTS)
     public EventStatisticsDto getEventStatistics(Long eventId) {
         log.debug("Получение статистики для мероприятия с ID: {}", eventId);
-        Event foundedEvent = eventRepository.findById(eventId).orElseThrow(
-                () -> new EntityNotFoundException(String.format("Мероприятие по id %d не найдено", eventId))
-        );
-        Integer countedConfirmedTickets = eventRepository.countConfirmedTicketsByEventId(eventId).intValue();
-        BigDecimal totalRevenue = foundedEvent.getTicketPrice().multiply(BigDecimal.valueOf(countedConfirmedTickets));
-        return new EventStatisticsDto(foundedEvent.getId(),
-                foundedEvent.getName(), foundedEvent.getDate(), foundedEvent.getNumberOfSeats(), foundedEvent.getStatus(),
-                countedConfirmedTickets, foundedEvent.getTicketPrice(), totalRevenue
-        );
+        return eventStatsService.findStatistics(eventId)
+                .orElseGet(() -> eventStatsService.createStatistics(eventId));
     }
 
+    // новое мероприятие может попасть на любую страницу с фильтрами, поэтому сбрасываются все страницы
+    @CacheEvict(cacheNames = CacheConfig.EVENT_PAGES, allEntries = true)
     public EventDoneDto createEvent(EventCreateDto eventDto) {
         log.info("Создание мероприятия: {}", eventDto.name());
         Event event = eventMapper.fromCreateWithoutDependenciesDto(eventDto);
@@ -85,10 +114,47 @@ public class EventService {
             throw new DuplicateEntityException(String.format("Такое мероприятие уже существует: %s %s", event.getName(), event.getDate().toString()));
         }
         Event savedEvent = eventRepository.save(event);
+        seatInventoryService.initialize(savedEvent);
+        eventStatsService.initialize(savedEvent);
         log.info("Мероприятие создано с ID: {}", savedEvent.getId());
         return eventMapper.toEventDoneDto(savedEvent);
     }
 
+    // Дубликаты проверяются одним запросом на весь пакет, мероприятия и их счетчики вставляются пачками JDBC
+    @CacheEvict(cacheNames = CacheConfig.EVENT_PAGES, allEntries = true)
+    public List<EventDoneDto> createEvents(List<EventCreateDto> eventDtos) {
+        log.info("Пакетное создание мероприятий: {}", eventDtos.size());
+        BulkRequests.validateSize(eventDtos.size());
+        LocalDate today = LocalDate.now();
+        Set<String> keys = new HashSet<>();
+        for (EventCreateDto eventDto : eventDtos) {
+            if (eventDto.date().isBefore(today)) {
+                throw new BusinessValidationException("Нельзя создать мероприятие с прошедшей датой: " + eventDto.name());
+            }
+            if (!keys.add(eventKey(eventDto.name(), eventDto.date()))) {
+                throw new DuplicateEntityException(String.format("Мероприятие повторяется в пакете: %s %s", eventDto.name(), eventDto.date()));
+            }
+        }
+        List<Event> existingEvents = eventRepository.findByNameInAndDateIn(
+                eventDtos.stream().map(EventCreateDto::name).collect(Collectors.toSet()),
+                eventDtos.stream().map(EventCreateDto::date).collect(Collectors.toSet())
+        );
+        for (Event existing : existingEvents) {
+            if (keys.contains(eventKey(existing.getName(), existing.getDate()))) {
+                throw new DuplicateEntityException(String.format("Такое мероприятие уже существует: %s %s", existing.getName(), existing.getDate().toString()));
+            }
+        }
+        List<Event> savedEvents = eventRepository.saveAll(eventDtos.stream().map(eventMapper::fromCreateWithoutDependenciesDto).toList());
+        seatInventoryService.initializeAll(savedEvents);
+        eventStatsService.initializeAll(savedEvents);
+        log.info("Создано мероприятий: {}", savedEvents.size());
+        return savedEvents.stream().map(eventMapper::toEventDoneDto).toList();
+    }
+
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.EVENTS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.EVENT_PAGES, allEntries = true)
+    })
     public void deleteEvent(Long id) {
         log.info("Удаление мероприятия с ID: {}", id);
         Event event = eventRepository.findById(id)
@@ -99,6 +165,12 @@ public class EventService {
             throw new BusinessValidationException(String.format("Это мерроприятие с id %d нельзя удалить, оно еще проходит или будет проходить", id));
         }
         eventRepository.delete(event);
+        seatInventoryService.remove(id);
+        eventStatsService.remove(id);
         log.info("Мероприятие с ID {} удалено", id);
     }
-}
\ No newline at end of file
+
+    private static String eventKey(String name, LocalDate date) {
+        return name + '|' + date;
+    }
+}
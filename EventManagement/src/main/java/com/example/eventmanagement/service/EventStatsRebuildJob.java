@@ -0,0 +1,68 @@
+package com.example.eventmanagement.service;
+
+import com.example.eventmanagement.repository.EventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.support.CronTrigger;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@Slf4j
+public class EventStatsRebuildJob implements MaintenanceJob {
+    private static final int BATCH_SIZE = 500;
+
+    private final EventRepository eventRepository;
+    private final EventStatsService eventStatsService;
+    private final String cron;
+
+    public EventStatsRebuildJob(EventRepository eventRepository, EventStatsService eventStatsService,
+                                @Value("${event-stats.rebuild-cron:" + Scheduled.CRON_DISABLED + "}") String cron) {
+        this.eventRepository = eventRepository;
+        this.eventStatsService = eventStatsService;
+        this.cron = cron;
+    }
+
+    @Override
+    public String name() {
+        return "event-stats-rebuild";
+    }
+
+    @Override
+    public Trigger trigger() {
+        return Scheduled.CRON_DISABLED.equals(cron) ? null : new CronTrigger(cron);
+    }
+
+    @Override
+    public int run() {
+        return rebuildAll();
+    }
+
+    // каждое мероприятие пересчитывается в своей транзакции, чтобы не держать блокировки всех строк event_stats сразу
+    public int rebuildAll() {
+        log.info("Пересчет статистики мероприятий");
+        int rebuilt = 0;
+        long after = 0L;
+        List<Long> ids;
+        do {
+            ids = eventRepository.findIdsAfter(after, PageRequest.of(0, BATCH_SIZE));
+            for (Long eventId : ids) {
+                try {
+                    eventStatsService.rebuild(eventId);
+                    rebuilt++;
+                } catch (RuntimeException e) {
+                    log.warn("Не удалось пересчитать статистику мероприятия {}: {}", eventId, e.getMessage());
+                }
+            }
+            if (!ids.isEmpty()) {
+                after = ids.get(ids.size() - 1);
+            }
+        } while (ids.size() == BATCH_SIZE);
+        log.info("Статистика пересчитана для {} мероприятий", rebuilt);
+        return rebuilt;
+    }
+}
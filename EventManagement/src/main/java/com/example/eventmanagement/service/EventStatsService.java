@@ -0,0 +1,108 @@
+package com.example.eventmanagement.service;
+
+import com.example.eventmanagement.dto.EventStatisticsDto;
+import com.example.eventmanagement.entity.Event;
+import com.example.eventmanagement.entity.EventStats;
+import com.example.eventmanagement.enums.BookingStatus;
+import com.example.eventmanagement.exception.EntityNotFoundException;
+import com.example.eventmanagement.repository.EventRepository;
+import com.example.eventmanagement.repository.EventStatsRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+@Transactional
+@Slf4j
+public class EventStatsService {
+    private final EventStatsRepository eventStatsRepository;
+    private final EventRepository eventRepository;
+
+    public EventStatsService(EventStatsRepository eventStatsRepository, EventRepository eventRepository) {
+        this.eventStatsRepository = eventStatsRepository;
+        this.eventRepository = eventRepository;
+    }
+
+    public void initialize(Event event) {
+        log.debug("Создание статистики для мероприятия {}", event.getId());
+        eventStatsRepository.save(new EventStats(event.getId()));
+    }
+
+    public void initializeAll(List<Event> events) {
+        log.debug("Создание статистики для {} мероприятий", events.size());
+        eventStatsRepository.saveAll(events.stream().map(event -> new EventStats(event.getId())).toList());
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<EventStatisticsDto> findStatistics(Long eventId) {
+        return eventStatsRepository.findStatisticsByEventId(eventId);
+    }
+
+    // строки нет - мероприятие создано в обход EventService или еще не дошло до реплики, с которой шло чтение;
+    // пересчет на основной базе в обоих случаях дает актуальные значения
+    public EventStatisticsDto createStatistics(Long eventId) {
+        if (!eventRepository.existsById(eventId)) {
+            throw new EntityNotFoundException(String.format("Мероприятие по id %d не найдено", eventId));
+        }
+        rebuild(eventId);
+        return eventStatsRepository.findStatisticsByEventId(eventId).orElseThrow();
+    }
+
+    // from == null - бронь создана, to == null - бронь удалена
+    public void recordTransition(Event event, int tickets, BookingStatus from, BookingStatus to) {
+        if (from == to) {
+            return;
+        }
+        int confirmed = ticketsIn(BookingStatus.CONFIRMED, to, tickets) - ticketsIn(BookingStatus.CONFIRMED, from, tickets);
+        int pending = ticketsIn(BookingStatus.PENDING_CONFIRMATION, to, tickets) - ticketsIn(BookingStatus.PENDING_CONFIRMATION, from, tickets);
+        int canceled = ticketsIn(BookingStatus.CANCELED, to, 1) - ticketsIn(BookingStatus.CANCELED, from, 1);
+        BigDecimal revenue = confirmed == 0 ? BigDecimal.ZERO : event.getTicketPrice().multiply(BigDecimal.valueOf(confirmed));
+        if (eventStatsRepository.applyDelta(event.getId(), confirmed, pending, canceled, revenue) == 0) {
+            // строки нет (мероприятие создано в обход EventService) - пересчет уже учтет текущее изменение
+            rebuild(event.getId());
+        }
+    }
+
+    // брони одного мероприятия, созданные пакетом, - одна дельта вместо recordTransition на каждую
+    public void recordCreated(Event event, int confirmedTickets, int pendingTickets, int canceledReservations) {
+        BigDecimal revenue = event.getTicketPrice().multiply(BigDecimal.valueOf(confirmedTickets));
+        if (eventStatsRepository.applyDelta(event.getId(), confirmedTickets, pendingTickets, canceledReservations, revenue) == 0) {
+            rebuild(event.getId());
+        }
+    }
+
+    // истекшие удержания мероприятия: ожидающие билеты уходят, отмененных броней становится больше
+    public void recordExpired(Long eventId, int tickets, int reservations) {
+        if (eventStatsRepository.applyDelta(eventId, 0, -tickets, reservations, BigDecimal.ZERO) == 0) {
+            rebuild(eventId);
+        }
+    }
+
+    public void recordCanceledRemoved(Long eventId, int count) {
+        if (eventStatsRepository.applyDelta(eventId, 0, 0, -count, BigDecimal.ZERO) == 0) {
+            rebuild(eventId);
+        }
+    }
+
+    // Блокировка строки до пересчета: параллельные изменения либо уже закоммичены и видны подзапросам,
+    // либо дождутся коммита пересчета и применят свою дельту поверх
+    public void rebuild(Long eventId) {
+        if (eventStatsRepository.findByIdForUpdate(eventId).isEmpty()) {
+            eventStatsRepository.saveAndFlush(new EventStats(eventId));
+        }
+        eventStatsRepository.recalculate(eventId);
+        log.debug("Статистика мероприятия {} пересчитана", eventId);
+    }
+
+    public void remove(Long eventId) {
+        eventStatsRepository.deleteById(eventId);
+    }
+
+    private static int ticketsIn(BookingStatus status, BookingStatus actual, int tickets) {
+        return status == actual ? tickets : 0;
+    }
+}
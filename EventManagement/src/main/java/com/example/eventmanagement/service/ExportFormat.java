@@ -0,0 +1,37 @@
+package com.example.eventmanagement.service;
+
+import com.example.eventmanagement.exception.BusinessValidationException;
+import org.springframework.http.MediaType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+public enum ExportFormat {
+    CSV(new MediaType("text", "csv", StandardCharsets.UTF_8), "csv"),
+    NDJSON(new MediaType("application", "x-ndjson", StandardCharsets.UTF_8), "ndjson");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    ExportFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public static ExportFormat fromParameter(String format) {
+        for (ExportFormat exportFormat : values()) {
+            if (exportFormat.extension.equals(format == null ? null : format.toLowerCase(Locale.ROOT))) {
+                return exportFormat;
+            }
+        }
+        throw new BusinessValidationException("Формат выгрузки должен быть csv или ndjson, получено: " + format);
+    }
+}
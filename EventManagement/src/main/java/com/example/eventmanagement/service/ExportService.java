@@ -0,0 +1,130 @@
+package com.example.eventmanagement.service;
+
+import com.example.eventmanagement.dto.ClientView;
+import com.example.eventmanagement.dto.TicketReservationView;
+import com.example.eventmanagement.enums.BookingStatus;
+import com.example.eventmanagement.exception.BusinessValidationException;
+import com.example.eventmanagement.repository.ClientRepository;
+import com.example.eventmanagement.repository.TicketReservationRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+// Выгрузка броней и клиентов потоком: строки читаются курсором и сразу пишутся в ответ, поэтому память
+// не зависит от размера таблицы. Вызывается из StreamingResponseBody, транзакция держится до конца выгрузки
+@Service
+@Transactional(readOnly = true)
+@Timed(value = "eventmanagement.service", histogram = true)
+@Slf4j
+public class ExportService {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final List<String> RESERVATION_COLUMNS = List.of("id", "clientFullName", "clientPhoneNumber", "clientEmail",
+            "eventName", "eventDate", "eventTicketPrice", "numberOfTickets", "bookingStatus", "createdAt", "updatedAt");
+    private static final List<String> CLIENT_COLUMNS = List.of("id", "fullName", "phoneNumber", "email",
+            "passportSeries", "passportNumber", "createdAt", "updatedAt");
+
+    private final TicketReservationRepository ticketReservationRepository;
+    private final ClientRepository clientRepository;
+    private final ObjectWriter jsonWriter;
+
+    public ExportService(TicketReservationRepository ticketReservationRepository, ClientRepository clientRepository, ObjectMapper objectMapper) {
+        this.ticketReservationRepository = ticketReservationRepository;
+        this.clientRepository = clientRepository;
+        this.jsonWriter = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    // проверяется до начала ответа: после первого байта статус ошибки клиенту уже не передать
+    public static void validateRange(LocalDateTime createdFrom, LocalDateTime createdTo) {
+        if (createdFrom != null && createdTo != null && !createdFrom.isBefore(createdTo)) {
+            throw new BusinessValidationException("Начало периода выгрузки должно быть раньше конца");
+        }
+    }
+
+    public long exportReservations(Long eventId, BookingStatus status, LocalDateTime createdFrom, LocalDateTime createdTo,
+                                   ExportFormat format, OutputStream out) throws IOException {
+        log.info("Выгрузка бронирований ({}): мероприятие {}, статус {}, период {} - {}", format, eventId, status, createdFrom, createdTo);
+        try (Stream<TicketReservationView> rows = ticketReservationRepository.streamForExport(eventId, status, createdFrom, createdTo)) {
+            long count = write(rows, format, out, RESERVATION_COLUMNS, reservation -> List.of(
+                    reservation.id(), reservation.clientFullName(), reservation.clientPhoneNumber(), nullable(reservation.clientEmail()),
+                    reservation.eventName(), reservation.eventDate(), reservation.eventTicketPrice(), reservation.numberOfTickets(),
+                    reservation.bookingStatus().getStr(), reservation.createdAt(), reservation.updatedAt()));
+            log.info("Выгружено бронирований: {}", count);
+            return count;
+        }
+    }
+
+    public long exportClients(LocalDateTime createdFrom, LocalDateTime createdTo, ExportFormat format, OutputStream out) throws IOException {
+        log.info("Выгрузка клиентов ({}): период {} - {}", format, createdFrom, createdTo);
+        try (Stream<ClientView> rows = clientRepository.streamForExport(createdFrom, createdTo)) {
+            long count = write(rows, format, out, CLIENT_COLUMNS, client -> List.of(
+                    client.id(), client.fullName(), client.phoneNumber(), nullable(client.email()),
+                    client.passportSeries(), client.passportNumber(), client.createdAt(), client.updatedAt()));
+            log.info("Выгружено клиентов: {}", count);
+            return count;
+        }
+    }
+
+    private <T> long write(Stream<T> rows, ExportFormat format, OutputStream out, List<String> columns,
+                           Function<T, List<Object>> csvFields) throws IOException {
+        OutputStream buffered = new BufferedOutputStream(out, BUFFER_SIZE);
+        long count = 0;
+        Iterator<T> iterator = rows.iterator();
+        if (format == ExportFormat.CSV) {
+            Writer csv = new OutputStreamWriter(buffered, StandardCharsets.UTF_8);
+            writeCsvLine(csv, columns);
+            while (iterator.hasNext()) {
+                writeCsvLine(csv, csvFields.apply(iterator.next()));
+                count++;
+            }
+            csv.flush();
+        } else {
+            while (iterator.hasNext()) {
+                jsonWriter.writeValue(buffered, iterator.next());
+                buffered.write('\n');
+                count++;
+            }
+            buffered.flush();
+        }
+        return count;
+    }
+
+    private static void writeCsvLine(Writer csv, List<?> fields) throws IOException {
+        for (int i = 0; i < fields.size(); i++) {
+            if (i > 0) {
+                csv.write(',');
+            }
+            String value = fields.get(i).toString();
+            if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+                csv.write('"');
+                csv.write(value.replace("\"", "\"\""));
+                csv.write('"');
+            } else {
+                csv.write(value);
+            }
+        }
+        csv.write('\n');
+    }
+
+    private static Object nullable(Object value) {
+        return value == null ? "" : value;
+    }
+}
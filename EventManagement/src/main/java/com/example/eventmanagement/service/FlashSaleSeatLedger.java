@@ -0,0 +1,207 @@
+package com.example.eventmanagement.service;
+
+import com.example.eventmanagement.entity.Event;
+import com.example.eventmanagement.exception.ServiceUnavailableException;
+import com.example.eventmanagement.repository.EventRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Счетчик мест горячих мероприятий в памяти экземпляра. Два экземпляра со своими счетчиками продали бы одни и те же
+// места, поэтому горячие мероприятия бронирует только владелец аренды flash-sale-ledger в maintenance_locks;
+// остальные экземпляры отвечают на такие брони 503 с Retry-After и забирают аренду, когда она истечет.
+// Аренда продлевается отдельной задачей раз в треть срока, независимо от записи счетчиков
+@Component
+@Slf4j
+public class FlashSaleSeatLedger implements SeatAllocationStrategy, SchedulingConfigurer {
+    private static final String LEASE = "flash-sale-ledger";
+
+    private final EventRepository eventRepository;
+    private final SeatInventoryService seatInventoryService;
+    private final MaintenanceLockService maintenanceLockService;
+    private final Set<Long> hotEventIds;
+    private final Duration lease;
+    private final long flushIntervalMillis;
+    private volatile boolean leaseHeld;
+    private final ConcurrentHashMap<Long, AtomicInteger> availableSeats = new ConcurrentHashMap<>();
+    // изменения счетчика, еще не записанные в event_seat_inventory
+    private final ConcurrentHashMap<Long, LongAdder> unflushedDeltas = new ConcurrentHashMap<>();
+
+    public FlashSaleSeatLedger(EventRepository eventRepository, SeatInventoryService seatInventoryService,
+                               MaintenanceLockService maintenanceLockService,
+                               @Value("${flash-sale.event-ids:}") Set<Long> hotEventIds,
+                               @Value("${flash-sale.lease:PT30S}") Duration lease,
+                               @Value("${flash-sale.flush-interval-ms:500}") long flushIntervalMillis) {
+        if (!hotEventIds.isEmpty() && flushIntervalMillis <= 0) {
+            throw new IllegalStateException("Для горячих мероприятий " + hotEventIds + " нужен flash-sale.flush-interval-ms больше 0");
+        }
+        this.eventRepository = eventRepository;
+        this.seatInventoryService = seatInventoryService;
+        this.maintenanceLockService = maintenanceLockService;
+        this.hotEventIds = Set.copyOf(hotEventIds);
+        this.lease = lease;
+        this.flushIntervalMillis = flushIntervalMillis;
+    }
+
+    public boolean isHot(Long eventId) {
+        return hotEventIds.contains(eventId);
+    }
+
+    @Override
+    public boolean reserve(Event event, int count) {
+        ensureLease();
+        AtomicInteger available = availableSeats.computeIfAbsent(event.getId(), id -> loadCounter(event));
+        int current;
+        do {
+            current = available.get();
+            if (current < count) {
+                return false;
+            }
+        } while (!available.compareAndSet(current, current - count));
+        afterTransaction(() -> record(event.getId(), count), () -> available.addAndGet(count));
+        return true;
+    }
+
+    @Override
+    public void release(Long eventId, int count) {
+        AtomicInteger available = availableSeats.get(eventId);
+        if (available == null) {
+            // счетчик еще не загружен или аренда у другого экземпляра: места возвращаются сразу в БД,
+            // а загрузка счетчика посчитает их по броням
+            seatInventoryService.release(eventId, count);
+            return;
+        }
+        afterTransaction(() -> {
+            available.addAndGet(count);
+            record(eventId, -count);
+        }, () -> { });
+    }
+
+    // flush-interval-ms=0 допустим только без горячих мероприятий (проверяется в конструкторе), например в тестах
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        if (!hotEventIds.isEmpty()) {
+            taskRegistrar.addFixedDelayTask(this::renewLease, lease.dividedBy(3));
+        }
+        if (flushIntervalMillis <= 0) {
+            log.info("Периодическая запись счетчиков горячих мероприятий отключена");
+            return;
+        }
+        taskRegistrar.addFixedDelayTask(this::flush, Duration.ofMillis(flushIntervalMillis));
+    }
+
+    public void flush() {
+        unflushedDeltas.forEach((eventId, delta) -> {
+            long value = delta.sumThenReset();
+            if (value == 0) {
+                return;
+            }
+            try {
+                seatInventoryService.adjustReserved(eventId, value);
+            } catch (RuntimeException e) {
+                delta.add(value);
+                log.warn("Не удалось записать изменение счетчика мест {} для мероприятия {}: {}", value, eventId, e.getMessage());
+            }
+        });
+    }
+
+    // счетчик, который бронь успела загрузить до готовности приложения, не заменяется: он уже учитывает эту бронь
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        if (hotEventIds.isEmpty()) {
+            return;
+        }
+        if (!tryAcquireLease()) {
+            log.warn("Счетчик мест flash-sale ведет другой экземпляр: горячие мероприятия {} на этом экземпляре не бронируются", hotEventIds);
+            return;
+        }
+        for (Long eventId : hotEventIds) {
+            eventRepository.findById(eventId).ifPresentOrElse(
+                    event -> availableSeats.computeIfAbsent(eventId, id -> loadCounter(event)),
+                    () -> log.warn("Мероприятие {} из flash-sale.event-ids не найдено", eventId));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+        if (leaseHeld) {
+            maintenanceLockService.release(LEASE);
+        }
+    }
+
+    // Счетчик строится по броням, а не по event_seat_inventory: изменения прежнего владельца, не записанные в БД,
+    // потеряны. Несброшенные дельты мероприятия уже учтены в бронях и отбрасываются, счетчик в БД выравнивается
+    private AtomicInteger loadCounter(Event event) {
+        int reserved = eventRepository.countConfirmedOrPendingTicketsByEventId(event.getId()).intValue();
+        unflushedDeltas.remove(event.getId());
+        seatInventoryService.overwriteReserved(event, reserved);
+        log.info("Счетчик мест flash-sale для мероприятия {} загружен: занято {} из {}", event.getId(), reserved, event.getNumberOfSeats());
+        return new AtomicInteger(event.getNumberOfSeats() - reserved);
+    }
+
+    private void ensureLease() {
+        if (!leaseHeld && !tryAcquireLease()) {
+            throw new ServiceUnavailableException("Счетчик мест горячего мероприятия ведет другой экземпляр приложения, повторите запрос");
+        }
+    }
+
+    public void renewLease() {
+        if (!leaseHeld) {
+            return;
+        }
+        if (!tryAcquireLease()) {
+            leaseHeld = false;
+            availableSeats.clear();
+            log.error("Аренда счетчика мест flash-sale перешла к другому экземпляру: бронирование горячих мероприятий здесь остановлено");
+        }
+    }
+
+    private boolean tryAcquireLease() {
+        try {
+            if (!maintenanceLockService.tryAcquire(LEASE, lease)) {
+                return false;
+            }
+        } catch (DataIntegrityViolationException e) {
+            // строку аренды одновременно создал другой экземпляр
+            return false;
+        }
+        leaseHeld = true;
+        return true;
+    }
+
+    private void record(Long eventId, int delta) {
+        unflushedDeltas.computeIfAbsent(eventId, id -> new LongAdder()).add(delta);
+    }
+
+    private void afterTransaction(Runnable onCommit, Runnable onRollback) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            onCommit.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    onRollback.run();
+                } else {
+                    onCommit.run();
+                }
+            }
+        });
+    }
+}
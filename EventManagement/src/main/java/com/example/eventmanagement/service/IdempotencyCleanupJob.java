@@ -0,0 +1,53 @@
+package com.example.eventmanagement.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.support.PeriodicTrigger;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+// Удаление ответов с истекшим сроком порциями по индексу expires_at; просроченный ключ, который клиент
+// прислал раньше очистки, освобождает сам IdempotencyStore
+@Component
+public class IdempotencyCleanupJob implements MaintenanceJob {
+    private final IdempotencyStore idempotencyStore;
+    private final int chunkSize;
+    private final Duration interval;
+
+    public IdempotencyCleanupJob(IdempotencyStore idempotencyStore,
+                                 @Value("${idempotency.cleanup-chunk-size:1000}") int chunkSize,
+                                 @Value("${idempotency.cleanup-interval:}") Duration interval) {
+        this.idempotencyStore = idempotencyStore;
+        this.chunkSize = chunkSize;
+        this.interval = interval;
+    }
+
+    @Override
+    public String name() {
+        return "idempotency-records-cleanup";
+    }
+
+    @Override
+    public Trigger trigger() {
+        if (interval == null || interval.isZero()) {
+            return null;
+        }
+        PeriodicTrigger trigger = new PeriodicTrigger(interval);
+        trigger.setInitialDelay(interval);
+        return trigger;
+    }
+
+    @Override
+    public int run() {
+        LocalDateTime now = LocalDateTime.now();
+        int total = 0;
+        int deleted;
+        do {
+            deleted = idempotencyStore.deleteExpiredChunk(now, chunkSize);
+            total += deleted;
+        } while (deleted == chunkSize);
+        return total;
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.eventmanagement.service;
+
+import com.example.eventmanagement.entity.IdempotencyRecord;
+import com.example.eventmanagement.exception.BusinessValidationException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+// Повтор запроса с тем же Idempotency-Key получает сохраненный ответ и не доходит до сервиса бронирования.
+// Ответы лежат в ограниченном кэше этого экземпляра и в таблице idempotency_records; повтор, пришедший
+// пока первый запрос еще выполняется, ждет его результата
+@Service
+@Slf4j
+public class IdempotencyService {
+    public static final String HEADER = "Idempotency-Key";
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore idempotencyStore;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, StoredResponse> responses;
+    private final ConcurrentHashMap<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+    private final Counter replays;
+
+    private record StoredResponse(String requestHash, Object body) {
+    }
+
+    public IdempotencyService(IdempotencyStore idempotencyStore, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                              @Value("${idempotency.ttl:PT24H}") Duration ttl,
+                              @Value("${idempotency.cache-size:10000}") long cacheSize) {
+        this.idempotencyStore = idempotencyStore;
+        this.objectMapper = objectMapper;
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, responses, "idempotency");
+        this.replays = meterRegistry.counter("idempotency.replays");
+    }
+
+    // scope разделяет ключи разных операций: один и тот же ключ для брони и для клиента - разные запросы
+    public <T> T execute(String scope, String idempotencyKey, Object request, Class<T> responseType, Supplier<T> action) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new BusinessValidationException(String.format(
+                    "Заголовок %s должен быть непустым и не длиннее %d символов", HEADER, MAX_KEY_LENGTH));
+        }
+        String key = scope + ":" + idempotencyKey;
+        String requestHash = hash(request);
+
+        StoredResponse cached = responses.getIfPresent(key);
+        if (cached != null) {
+            return replay(key, cached, requestHash, responseType);
+        }
+        CompletableFuture<StoredResponse> own = new CompletableFuture<>();
+        CompletableFuture<StoredResponse> running = inFlight.putIfAbsent(key, own);
+        if (running != null) {
+            log.debug("Запрос с ключом {} уже выполняется, ожидание его ответа", key);
+            return replay(key, await(running), requestHash, responseType);
+        }
+
+        StoredResponse stored;
+        try {
+            stored = idempotencyStore.find(key).map(record -> decode(record, responseType)).orElse(null);
+            if (stored == null) {
+                try {
+                    T response = idempotencyStore.execute(key, requestHash, action, this::encode);
+                    stored = new StoredResponse(requestHash, response);
+                    responses.put(key, stored);
+                    own.complete(stored);
+                    return response;
+                } catch (DataIntegrityViolationException e) {
+                    // ключ занял и закоммитил другой экземпляр; если записи нет, нарушение дал сам запрос
+                    stored = idempotencyStore.find(key).map(record -> decode(record, responseType)).orElseThrow(() -> e);
+                }
+            }
+            responses.put(key, stored);
+            own.complete(stored);
+        } catch (RuntimeException e) {
+            // ошибки не сохраняются: ожидающие повторы получают ту же ошибку, следующие выполнят запрос заново
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, own);
+        }
+        return replay(key, stored, requestHash, responseType);
+    }
+
+    private <T> T replay(String key, StoredResponse stored, String requestHash, Class<T> responseType) {
+        if (!stored.requestHash().equals(requestHash)) {
+            throw new BusinessValidationException(String.format(
+                    "Ключ идемпотентности %s уже использован для запроса с другим телом", key));
+        }
+        replays.increment();
+        log.info("Повтор запроса с ключом {}: возвращен сохраненный ответ", key);
+        return responseType.cast(stored.body());
+    }
+
+    private static StoredResponse await(CompletableFuture<StoredResponse> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private StoredResponse decode(IdempotencyRecord record, Class<?> responseType) {
+        try {
+            return new StoredResponse(record.getRequestHash(), objectMapper.readValue(record.getResponseBody(), responseType));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Не удалось прочитать сохраненный ответ по ключу " + record.getKey(), e);
+        }
+    }
+
+    private String encode(Object response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Не удалось сохранить ответ идемпотентного запроса", e);
+        }
+    }
+
+    private String hash(Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(objectMapper.writeValueAsBytes(request)));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Не удалось вычислить хэш запроса", e);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.eventmanagement.service;
+
+import com.example.eventmanagement.entity.IdempotencyRecord;
+import com.example.eventmanagement.repository.IdempotencyRecordRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// Сохраненные ответы идемпотентных запросов. Чтение не readOnly: запись, из-за которой только что сорвалась
+// вставка ключа, закоммичена на основной базе, а реплика может ее еще не видеть
+@Service
+@Transactional
+public class IdempotencyStore {
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final Duration ttl;
+
+    public IdempotencyStore(IdempotencyRecordRepository idempotencyRecordRepository,
+                            @Value("${idempotency.ttl:PT24H}") Duration ttl) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.ttl = ttl;
+    }
+
+    public Optional<IdempotencyRecord> find(String key) {
+        return idempotencyRecordRepository.findActive(key, LocalDateTime.now());
+    }
+
+    // Ключ занимается до выполнения запроса, ответ дописывается в той же транзакции: бронь и ответ на нее
+    // фиксируются вместе, а при ошибке запроса ключ освобождается откатом
+    public <T> T execute(String key, String requestHash, Supplier<T> action, Function<T, String> encoder) {
+        LocalDateTime now = LocalDateTime.now();
+        idempotencyRecordRepository.deleteExpired(key, now);
+        idempotencyRecordRepository.insert(key, requestHash, now, now.plus(ttl));
+        T response = action.get();
+        idempotencyRecordRepository.complete(key, encoder.apply(response));
+        return response;
+    }
+
+    public int deleteExpiredChunk(LocalDateTime now, int chunkSize) {
+        List<String> keys = idempotencyRecordRepository.findExpiredKeys(now, PageRequest.of(0, chunkSize));
+        if (keys.isEmpty()) {
+            return 0;
+        }
+        return idempotencyRecordRepository.deleteExpiredByKeyIn(keys, now);
+    }
+}
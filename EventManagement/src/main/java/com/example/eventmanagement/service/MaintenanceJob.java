@@ -0,0 +1,15 @@
+package com.example.eventmanagement.service;
+
+import org.springframework.scheduling.Trigger;
+
+// Фоновая задача обслуживания; расписание и запуск под арендой берет на себя MaintenanceRunner
+public interface MaintenanceJob {
+
+    String name();
+
+    // null - задача отключена в настройках
+    Trigger trigger();
+
+    // возвращает число затронутых строк
+    int run();
+}
@@ -0,0 +1,51 @@
+package com.example.eventmanagement.service;
+
+import com.example.eventmanagement.repository.MaintenanceLockRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+// Выбор ведущего экземпляра через таблицу maintenance_locks: работает на любой БД и переживает падение
+// владельца - его аренда просто истекает
+@Service
+@Transactional(propagation = Propagation.REQUIRES_NEW)
+@Slf4j
+public class MaintenanceLockService {
+    private final MaintenanceLockRepository maintenanceLockRepository;
+    private final String instanceId;
+
+    public MaintenanceLockService(MaintenanceLockRepository maintenanceLockRepository,
+                                  @Value("${maintenance.instance-id:}") String instanceId) {
+        this.maintenanceLockRepository = maintenanceLockRepository;
+        this.instanceId = instanceId.isBlank() ? ManagementFactory.getRuntimeMXBean().getName() : instanceId;
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    public boolean tryAcquire(String name, Duration lease) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime until = now.plus(lease);
+        if (maintenanceLockRepository.tryAcquire(name, instanceId, now, until) == 1) {
+            log.debug("Аренда задачи {} продлена экземпляром {} до {}", name, instanceId, until);
+            return true;
+        }
+        if (maintenanceLockRepository.existsById(name)) {
+            return false;
+        }
+        maintenanceLockRepository.insert(name, instanceId, until);
+        log.debug("Аренда задачи {} создана экземпляром {} до {}", name, instanceId, until);
+        return true;
+    }
+
+    public void release(String name) {
+        maintenanceLockRepository.release(name, instanceId, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.eventmanagement.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+
+// Запускает задачу обслуживания, только если этот экземпляр получил ее аренду, и пишет метрики:
+// maintenance.job.duration, maintenance.job.last.duration, maintenance.job.last.rows, maintenance.job.runs
+@Component
+@Slf4j
+public class MaintenanceRunner {
+    private final MaintenanceLockService maintenanceLockService;
+    private final MeterRegistry meterRegistry;
+    private final Duration lockLease;
+    private final ConcurrentHashMap<String, JobMetrics> metrics = new ConcurrentHashMap<>();
+
+    public MaintenanceRunner(MaintenanceLockService maintenanceLockService, MeterRegistry meterRegistry,
+                             @Value("${maintenance.lock-lease:PT10M}") Duration lockLease) {
+        this.maintenanceLockService = maintenanceLockService;
+        this.meterRegistry = meterRegistry;
+        this.lockLease = lockLease;
+    }
+
+    // false - аренда задачи у другого экземпляра, задача не запускалась
+    public boolean run(MaintenanceJob job) {
+        return run(job.name(), job::run);
+    }
+
+    // запуск вне расписания (например, по запросу API) под той же арендой, что и у задачи name
+    public boolean run(String name, IntSupplier task) {
+        JobMetrics jobMetrics = metrics.computeIfAbsent(name, this::register);
+        if (!acquire(name)) {
+            log.debug("Задача {} выполняется другим экземпляром, пропуск", name);
+            count(name, "skipped");
+            return false;
+        }
+        long start = System.nanoTime();
+        try {
+            int rows = task.getAsInt();
+            jobMetrics.lastRows.set(rows);
+            count(name, "success");
+            log.info("Задача {} выполнена: затронуто {} строк", name, rows);
+        } catch (RuntimeException e) {
+            count(name, "failure");
+            log.error("Задача {} завершилась ошибкой", name, e);
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            jobMetrics.lastDurationNanos.set(elapsed);
+            jobMetrics.duration.record(elapsed, TimeUnit.NANOSECONDS);
+            maintenanceLockService.release(name);
+        }
+        return true;
+    }
+
+    private boolean acquire(String name) {
+        try {
+            return maintenanceLockService.tryAcquire(name, lockLease);
+        } catch (DataIntegrityViolationException e) {
+            // другой экземпляр одновременно создал строку аренды
+            return false;
+        }
+    }
+
+    private void count(String name, String outcome) {
+        meterRegistry.counter("maintenance.job.runs", "job", name, "outcome", outcome).increment();
+    }
+
+    private JobMetrics register(String name) {
+        JobMetrics jobMetrics = new JobMetrics(Timer.builder("maintenance.job.duration")
+                .tag("job", name)
+                .register(meterRegistry));
+        Gauge.builder("maintenance.job.last.duration", jobMetrics.lastDurationNanos, nanos -> nanos.get() / 1e9)
+                .tag("job", name)
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("maintenance.job.last.rows", jobMetrics.lastRows, AtomicLong::get)
+                .tag("job", name)
+                .register(meterRegistry);
+        return jobMetrics;
+    }
+
+    private static final class JobMetrics {
+        private final Timer duration;
+        private final AtomicLong lastDurationNanos = new AtomicLong();
+        private final AtomicLong lastRows = new AtomicLong();
+
+        private JobMetrics(Timer duration) {
+            this.duration = duration;
+        }
+    }
+}
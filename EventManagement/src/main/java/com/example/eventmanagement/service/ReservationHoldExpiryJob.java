@@ -0,0 +1,90 @@
+package com.example.eventmanagement.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.scheduling.support.PeriodicTrigger;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Отмена ожидающих броней с истекшим сроком удержания. Каждый тик снимаются сроки с колеса этого экземпляра,
+// а раз в sweep-interval один из экземпляров (под арендой MaintenanceRunner) добирает остальные по индексу
+@Component
+@Slf4j
+public class ReservationHoldExpiryJob implements MaintenanceJob, SchedulingConfigurer {
+    private final TicketReservationService ticketReservationService;
+    private final ReservationHoldWheel reservationHoldWheel;
+    private final int batchSize;
+    private final Duration sweepInterval;
+    private final Duration tick;
+    private final boolean tickEnabled;
+
+    public ReservationHoldExpiryJob(TicketReservationService ticketReservationService, ReservationHoldWheel reservationHoldWheel,
+                                    @Value("${reservation-hold.batch-size:500}") int batchSize,
+                                    @Value("${reservation-hold.sweep-interval:}") Duration sweepInterval,
+                                    @Value("${reservation-hold.tick:PT1S}") Duration tick,
+                                    @Value("${reservation-hold.tick-enabled:true}") boolean tickEnabled) {
+        this.ticketReservationService = ticketReservationService;
+        this.reservationHoldWheel = reservationHoldWheel;
+        this.batchSize = batchSize;
+        this.sweepInterval = sweepInterval;
+        this.tick = tick;
+        this.tickEnabled = tickEnabled;
+    }
+
+    @Override
+    public String name() {
+        return "reservation-hold-expiry";
+    }
+
+    @Override
+    public Trigger trigger() {
+        if (sweepInterval == null || sweepInterval.isZero()) {
+            return null;
+        }
+        PeriodicTrigger trigger = new PeriodicTrigger(sweepInterval);
+        trigger.setInitialDelay(sweepInterval);
+        return trigger;
+    }
+
+    @Override
+    public int run() {
+        LocalDateTime now = LocalDateTime.now();
+        int total = 0;
+        int expired;
+        do {
+            expired = ticketReservationService.expireDueHolds(now, batchSize);
+            total += expired;
+        } while (expired == batchSize);
+        return total;
+    }
+
+    // tick задает и размер ячейки колеса, поэтому выключается отдельным флагом, а не пустым интервалом
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        if (!tickEnabled) {
+            log.info("Истечение удержаний по колесу таймеров отключено");
+            return;
+        }
+        taskRegistrar.addFixedDelayTask(this::expireFromWheel, tick);
+    }
+
+    public void expireFromWheel() {
+        List<Long> due = reservationHoldWheel.pollExpired(System.currentTimeMillis());
+        LocalDateTime now = LocalDateTime.now();
+        for (int from = 0; from < due.size(); from += batchSize) {
+            List<Long> batch = due.subList(from, Math.min(from + batchSize, due.size()));
+            try {
+                ticketReservationService.expireHolds(batch, now);
+            } catch (RuntimeException e) {
+                // брони остаются ожидающими, их отменит следующий проход по индексу
+                log.warn("Не удалось отменить {} истекших броней: {}", batch.size(), e.getMessage());
+            }
+        }
+    }
+}
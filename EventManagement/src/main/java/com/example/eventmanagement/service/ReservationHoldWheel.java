@@ -0,0 +1,123 @@
+package com.example.eventmanagement.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Колесо таймеров удержаний мест, созданных этим экземпляром: ячейка на каждый тик, удержание кладется в ячейку
+// своего срока и снимается, когда до нее доходит pollExpired. Добавление и снятие не зависят от числа удержаний.
+// Колесо только ускоряет истечение - удержания сверх capacity, других экземпляров и пережившие перезапуск
+// отменяет выборка по индексу (booking_status, expires_at) в ReservationHoldExpiryJob
+@Component
+public class ReservationHoldWheel {
+    private static final int MAX_SLOTS = 3600;
+
+    private final Duration ttl;
+    private final long tickMillis;
+    private final int capacity;
+    private final List<Queue<Hold>> slots;
+    private final AtomicInteger size = new AtomicInteger();
+    private final Counter overflow;
+    // ReentrantLock вместо synchronized: поток, ждущий блокировку, не закрепляет виртуальный поток за носителем
+    private final ReentrantLock pollLock = new ReentrantLock();
+    // последний обработанный тик; удержание со сроком не позже него кладется в следующую ячейку
+    private volatile long processedTick;
+
+    public ReservationHoldWheel(@Value("${reservation-hold.ttl:PT15M}") Duration ttl,
+                                @Value("${reservation-hold.tick:PT1S}") Duration tick,
+                                @Value("${reservation-hold.wheel-capacity:100000}") int capacity,
+                                MeterRegistry meterRegistry) {
+        this.ttl = ttl;
+        this.tickMillis = tick.toMillis();
+        this.capacity = capacity;
+        // удержания со сроком дальше одного оборота лежат в ячейке до нужного оборота
+        int slotCount = (int) Math.min(MAX_SLOTS, ttl.toMillis() / tickMillis + 1);
+        this.slots = new ArrayList<>(slotCount);
+        for (int i = 0; i < slotCount; i++) {
+            slots.add(new ConcurrentLinkedQueue<>());
+        }
+        this.processedTick = Math.floorDiv(System.currentTimeMillis(), tickMillis);
+        this.overflow = meterRegistry.counter("reservation.hold.wheel.overflow");
+        meterRegistry.gauge("reservation.hold.wheel.size", size);
+    }
+
+    // null - удержания отключены (reservation-hold.ttl=0), ожидающая бронь держит места до подтверждения или отмены
+    public LocalDateTime newExpiry() {
+        return ttl.isZero() ? null : LocalDateTime.now().plus(ttl);
+    }
+
+    // в колесо попадают только закоммиченные брони, иначе откат создания оставил бы в нем чужие id
+    public void track(Long reservationId, LocalDateTime expiresAt) {
+        if (expiresAt == null) {
+            return;
+        }
+        long deadline = expiresAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            add(reservationId, deadline);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                add(reservationId, deadline);
+            }
+        });
+    }
+
+    void add(long reservationId, long deadlineMillis) {
+        if (size.incrementAndGet() > capacity) {
+            size.decrementAndGet();
+            overflow.increment();
+            return;
+        }
+        long tick = Math.max(Math.ceilDiv(deadlineMillis, tickMillis), processedTick + 1);
+        slots.get((int) Math.floorMod(tick, (long) slots.size())).add(new Hold(reservationId, tick));
+    }
+
+    // Снимает удержания со сроком не позже nowMillis. Среди них бывают уже подтвержденные и отмененные брони -
+    // их отсеивает условие на статус при истечении, а не поиск в колесе при каждом подтверждении
+    public List<Long> pollExpired(long nowMillis) {
+        pollLock.lock();
+        try {
+            long nowTick = Math.floorDiv(nowMillis, tickMillis);
+            List<Long> expired = new ArrayList<>();
+            long from = Math.max(processedTick + 1, nowTick - slots.size() + 1);
+            for (long tick = from; tick <= nowTick; tick++) {
+                Iterator<Hold> iterator = slots.get((int) Math.floorMod(tick, (long) slots.size())).iterator();
+                while (iterator.hasNext()) {
+                    Hold hold = iterator.next();
+                    if (hold.tick() <= nowTick) {
+                        iterator.remove();
+                        size.decrementAndGet();
+                        expired.add(hold.reservationId());
+                    }
+                }
+            }
+            processedTick = Math.max(processedTick, nowTick);
+            return expired;
+        } finally {
+            pollLock.unlock();
+        }
+    }
+
+    int size() {
+        return size.get();
+    }
+
+    private record Hold(long reservationId, long tick) {
+    }
+}
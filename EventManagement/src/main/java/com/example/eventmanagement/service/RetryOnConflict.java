@@ -0,0 +1,13 @@
+package com.example.eventmanagement.service;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Метод целиком повторяется в новой транзакции, если при сохранении версия сущности уже изменена параллельно
+// (см. ConflictRetryAspect). Подходит для операций "прочитать - проверить - записать" без внешних побочных эффектов
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RetryOnConflict {
+}
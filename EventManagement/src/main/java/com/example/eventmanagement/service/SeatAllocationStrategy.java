@@ -0,0 +1,9 @@
+package com.example.eventmanagement.service;
+
+import com.example.eventmanagement.entity.Event;
+
+public interface SeatAllocationStrategy {
+    boolean reserve(Event event, int count);
+
+    void release(Long eventId, int count);
+}
@@ -0,0 +1,18 @@
+package com.example.eventmanagement.service;
+
+import org.springframework.stereotype.Component;
+
+@Component
+public class SeatAllocator {
+    private final SeatInventoryService seatInventoryService;
+    private final FlashSaleSeatLedger flashSaleSeatLedger;
+
+    public SeatAllocator(SeatInventoryService seatInventoryService, FlashSaleSeatLedger flashSaleSeatLedger) {
+        this.seatInventoryService = seatInventoryService;
+        this.flashSaleSeatLedger = flashSaleSeatLedger;
+    }
+
+    public SeatAllocationStrategy forEvent(Long eventId) {
+        return flashSaleSeatLedger.isHot(eventId) ? flashSaleSeatLedger : seatInventoryService;
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.eventmanagement.service;
+
+import com.example.eventmanagement.entity.Event;
+import com.example.eventmanagement.entity.EventSeatInventory;
+import com.example.eventmanagement.repository.EventRepository;
+import com.example.eventmanagement.repository.EventSeatInventoryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+// Счетчик мест для мероприятия, созданного в обход EventService.createEvent, восстанавливается по бронированиям
+// в отдельной транзакции: если параллельное бронирование успело вставить его первым, нарушение первичного ключа
+// откатывает только эту транзакцию, а не бронирование, которое ее вызвало
+@Service
+@Transactional(propagation = Propagation.REQUIRES_NEW)
+@Slf4j
+public class SeatInventoryRebuilder {
+    private final EventSeatInventoryRepository seatInventoryRepository;
+    private final EventRepository eventRepository;
+
+    public SeatInventoryRebuilder(EventSeatInventoryRepository seatInventoryRepository, EventRepository eventRepository) {
+        this.seatInventoryRepository = seatInventoryRepository;
+        this.eventRepository = eventRepository;
+    }
+
+    public void rebuild(Event event) {
+        int reserved = eventRepository.countConfirmedOrPendingTicketsByEventId(event.getId()).intValue();
+        log.info("Восстановление счетчика мест для мероприятия {}: занято {}", event.getId(), reserved);
+        seatInventoryRepository.saveAndFlush(new EventSeatInventory(event.getId(), event.getNumberOfSeats(), reserved));
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.eventmanagement.service;
+
+import com.example.eventmanagement.entity.Event;
+import com.example.eventmanagement.entity.EventSeatInventory;
+import com.example.eventmanagement.repository.EventSeatInventoryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+@Transactional
+@Slf4j
+public class SeatInventoryService implements SeatAllocationStrategy {
+    private final EventSeatInventoryRepository seatInventoryRepository;
+    private final SeatInventoryRebuilder seatInventoryRebuilder;
+
+    public SeatInventoryService(EventSeatInventoryRepository seatInventoryRepository, SeatInventoryRebuilder seatInventoryRebuilder) {
+        this.seatInventoryRepository = seatInventoryRepository;
+        this.seatInventoryRebuilder = seatInventoryRebuilder;
+    }
+
+    public void initialize(Event event) {
+        log.debug("Создание счетчика мест для мероприятия {}", event.getId());
+        seatInventoryRepository.save(new EventSeatInventory(event.getId(), event.getNumberOfSeats(), 0));
+    }
+
+    public void initializeAll(List<Event> events) {
+        log.debug("Создание счетчиков мест для {} мероприятий", events.size());
+        seatInventoryRepository.saveAll(events.stream()
+                .map(event -> new EventSeatInventory(event.getId(), event.getNumberOfSeats(), 0))
+                .toList());
+    }
+
+    @Override
+    public boolean reserve(Event event, int count) {
+        int updated = seatInventoryRepository.tryReserve(event.getId(), count);
+        if (updated == 0 && !seatInventoryRepository.existsById(event.getId())) {
+            // мероприятие создано в обход EventService.createEvent - однократно восстанавливаем счетчик по бронированиям
+            try {
+                seatInventoryRebuilder.rebuild(event);
+            } catch (DataIntegrityViolationException e) {
+                log.debug("Счетчик мест для мероприятия {} уже создан параллельным бронированием", event.getId());
+            }
+            updated = seatInventoryRepository.tryReserve(event.getId(), count);
+        }
+        log.debug("Резервирование {} мест на мероприятие {}: {}", count, event.getId(), updated == 1 ? "успешно" : "мест нет");
+        return updated == 1;
+    }
+
+    @Override
+    public void release(Long eventId, int count) {
+        int updated = seatInventoryRepository.release(eventId, count);
+        if (updated == 0) {
+            log.warn("Не удалось вернуть {} мест мероприятию {}: счетчик отсутствует или меньше возвращаемого", count, eventId);
+        }
+    }
+
+    public void overwriteReserved(Event event, int reserved) {
+        if (seatInventoryRepository.overwriteReserved(event.getId(), reserved) == 0) {
+            seatInventoryRepository.save(new EventSeatInventory(event.getId(), event.getNumberOfSeats(), reserved));
+        }
+    }
+
+    public void adjustReserved(Long eventId, long delta) {
+        seatInventoryRepository.adjustReserved(eventId, (int) delta);
+    }
+
+    public void remove(Long eventId) {
+        seatInventoryRepository.deleteById(eventId);
+    }
+}
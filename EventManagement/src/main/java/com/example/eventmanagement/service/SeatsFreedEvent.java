@@ -0,0 +1,6 @@
+package com.example.eventmanagement.service;
+
+// Места мероприятия вернулись в продажу (отмена, истечение удержания);
+// WaitlistPromoter получает событие после коммита транзакции, в которой оно опубликовано
+public record SeatsFreedEvent(Long eventId) {
+}
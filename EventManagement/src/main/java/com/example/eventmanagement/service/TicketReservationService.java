@@ -12,39 +12,80 @@ import com.example.eventmanagement.mapper.TicketReservationMapper;
 import com.example.eventmanagement.repository.ClientRepository;
 import com.example.eventmanagement.repository.EventRepository;
 import com.example.eventmanagement.repository.TicketReservationRepository;
-import jakarta.transaction.Transactional;
+import com.example.eventmanagement.repository.UpdateStamp;
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
+@Timed(value = "eventmanagement.service", histogram = true)
 @Slf4j
 public class TicketReservationService {
     private final TicketReservationRepository ticketReservationRepository;
     private final ClientRepository clientRepository;
     private final EventRepository eventRepository;
     private final TicketReservationMapper ticketReservationMapper;
+    private final SeatAllocator seatAllocator;
+    private final EventStatsService eventStatsService;
+    private final BookingMetrics bookingMetrics;
+    private final ReservationHoldWheel reservationHoldWheel;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public TicketReservationService(TicketReservationRepository ticketReservationRepository, ClientRepository clientRepository, EventRepository eventRepository, TicketReservationMapper ticketReservationMapper) {
+    public TicketReservationService(TicketReservationRepository ticketReservationRepository, ClientRepository clientRepository, EventRepository eventRepository, TicketReservationMapper ticketReservationMapper, SeatAllocator seatAllocator, EventStatsService eventStatsService, BookingMetrics bookingMetrics, ReservationHoldWheel reservationHoldWheel, ApplicationEventPublisher eventPublisher) {
         this.ticketReservationRepository = ticketReservationRepository;
         this.clientRepository = clientRepository;
         this.eventRepository = eventRepository;
         this.ticketReservationMapper = ticketReservationMapper;
+        this.seatAllocator = seatAllocator;
+        this.eventStatsService = eventStatsService;
+        this.bookingMetrics = bookingMetrics;
+        this.reservationHoldWheel = reservationHoldWheel;
+        this.eventPublisher = eventPublisher;
     }
 
-    public List<TicketReservationDto> getAll() {
-        log.debug("Получение списка всех бронирований");
-        return ticketReservationMapper.toTicketReservationDtoList(ticketReservationRepository.findAll());
+    @Transactional(readOnly = true)
+    public CursorPage<TicketReservationDto> getPage(Long after, int size, Long eventId, Long clientId, BookingStatus status) {
+        log.debug("Получение страницы бронирований после ID {} (размер {})", after, size);
+        CursorPage.validateSize(size);
+        List<TicketReservationView> reservations = ticketReservationRepository.findPage(after == null ? 0L : after, eventId, clientId, status, PageRequest.of(0, size + 1));
+        return CursorPage.of(reservations, size, TicketReservationView::id, ticketReservationMapper::fromViews);
     }
 
+    @Transactional(readOnly = true)
+    public ResourceVersion getPageVersion(Long after, int size, Long eventId, Long clientId, BookingStatus status) {
+        CursorPage.validateSize(size);
+        List<UpdateStamp> stamps = ticketReservationRepository.findPageStamps(after == null ? 0L : after, eventId, clientId, status, PageRequest.of(0, size + 1));
+        return ResourceVersion.ofPage(stamps, UpdateStamp::getId, UpdateStamp::getVersion, UpdateStamp::getUpdatedAt);
+    }
+
+    @Transactional(readOnly = true)
+    public ResourceVersion getVersion(Long id) {
+        return ticketReservationRepository.findStampById(id)
+                .map(stamp -> ResourceVersion.of(stamp.getVersion(), stamp.getUpdatedAt()))
+                .orElseThrow(() -> new EntityNotFoundException(
+                        String.format("Бронь с id %d не найдена", id)
+                ));
+    }
+
+    @Transactional(readOnly = true)
     public TicketReservationDoneDto getById(Long id) {
         log.debug("Получение бронирования по ID: {}", id);
-        TicketReservation ticketReservation = ticketReservationRepository.findById(id)
+        TicketReservationView ticketReservation = ticketReservationRepository.findViewById(id)
                 .orElseThrow(() -> new EntityNotFoundException(
                         String.format("Бронь с id %d не найдена", id)
                 ));
@@ -53,51 +94,130 @@ public class TicketReservationService {
 
     public TicketReservationDoneDto createReservation(TicketReservationCreateDto dto) {
         log.info("Создание бронирования для клиента {} на мероприятие {}", dto.clientId(), dto.eventId());
+        bookingMetrics.attempted();
         TicketReservation reservation = ticketReservationMapper.fromCreateWithoutDependenciesDto(dto);
 
-        Client client = clientRepository.findById(dto.clientId())
-                .orElseThrow(() -> new EntityNotFoundException("Клиент c id" + dto.clientId() + " не найден"));
-        Event event = eventRepository.findById(dto.eventId())
-                .orElseThrow(() -> new EntityNotFoundException("Мероприятие c id" + dto.eventId() + " не найден"));
-        Integer availableSeats = event.getNumberOfSeats() - eventRepository.countConfirmedOrPendingTicketsByEventId(event.getId()).intValue();
-        if (availableSeats < dto.numberOfTickets()) {
-            throw new BusinessValidationException(String.format("Билеты на мероприятие %s %s закончились", event.getName(), event.getDate().toString()));
-        }
+        Client client = clientRepository.findById(dto.clientId()).orElseThrow(() -> {
+            bookingMetrics.rejected(BookingMetrics.RejectionReason.CLIENT_NOT_FOUND);
+            return new EntityNotFoundException("Клиент c id" + dto.clientId() + " не найден");
+        });
+        Event event = eventRepository.findById(dto.eventId()).orElseThrow(() -> {
+            bookingMetrics.rejected(BookingMetrics.RejectionReason.EVENT_NOT_FOUND);
+            return new EntityNotFoundException("Мероприятие c id" + dto.eventId() + " не найден");
+        });
         if (!event.getStatus().isBookable()) {
+            bookingMetrics.rejected(BookingMetrics.RejectionReason.EVENT_CLOSED);
             throw new BusinessValidationException(String.format("Бронирование билетов для мероприятия %s %s закрылось", event.getName(), event.getDate().toString()));
         }
         if (event.getDate().isBefore(LocalDate.now())) {
+            bookingMetrics.rejected(BookingMetrics.RejectionReason.EVENT_PAST);
             throw new BusinessValidationException(String.format("Мероприятие %s %s уже прошло", event.getName(), event.getDate().toString()));
         }
-        client.addTicketReservation(reservation);
-        event.addTicketReservation(reservation);
+        if (reservation.getBookingStatus() != BookingStatus.CANCELED && !seatAllocator.forEvent(event.getId()).reserve(event, dto.numberOfTickets())) {
+            bookingMetrics.rejected(BookingMetrics.RejectionReason.SOLD_OUT);
+            throw new BusinessValidationException(String.format("Билеты на мероприятие %s %s закончились", event.getName(), event.getDate().toString()));
+        }
+        reservation.bindTo(client, event);
+        holdSeats(reservation);
 
         TicketReservation savedTicketReservation = ticketReservationRepository.save(reservation);
+        reservationHoldWheel.track(savedTicketReservation.getId(), savedTicketReservation.getExpiresAt());
+        eventStatsService.recordTransition(event, savedTicketReservation.getNumberOfTickets(), null, savedTicketReservation.getBookingStatus());
+        bookingMetrics.created();
         log.info("Бронирование создано с ID: {}", savedTicketReservation.getId());
         return ticketReservationMapper.toTicketReservationDoneDto(savedTicketReservation);
     }
 
+    // Групповое бронирование: клиенты и мероприятия загружаются запросами IN на весь пакет, места списываются одним
+    // условным UPDATE на мероприятие - сразу для всех броней этого мероприятия из пакета либо ни для одной
+    public TicketReservationBatchResultDto createReservations(List<TicketReservationCreateDto> dtos) {
+        log.info("Пакетное создание бронирований: {}", dtos.size());
+        BulkRequests.validateSize(dtos.size());
+        Map<Long, Client> clients = clientRepository.findAllWithPassportByIdIn(
+                dtos.stream().map(TicketReservationCreateDto::clientId).collect(Collectors.toSet())
+        ).stream().collect(Collectors.toMap(Client::getId, Function.identity()));
+        Map<Long, Event> events = eventRepository.findAllById(
+                dtos.stream().map(TicketReservationCreateDto::eventId).collect(Collectors.toSet())
+        ).stream().collect(Collectors.toMap(Event::getId, Function.identity()));
+
+        TicketReservationBatchItemDto[] results = new TicketReservationBatchItemDto[dtos.size()];
+        TicketReservation[] drafts = new TicketReservation[dtos.size()];
+        // мероприятия обходятся по возрастанию id: параллельные пакеты блокируют строки счетчиков в одном порядке
+        Map<Long, List<Integer>> indexesByEvent = new TreeMap<>();
+        for (int i = 0; i < dtos.size(); i++) {
+            TicketReservationCreateDto dto = dtos.get(i);
+            bookingMetrics.attempted();
+            results[i] = rejectIfInvalid(i, dto, clients.get(dto.clientId()), events.get(dto.eventId()));
+            if (results[i] == null) {
+                drafts[i] = ticketReservationMapper.fromCreateWithoutDependenciesDto(dto);
+                indexesByEvent.computeIfAbsent(dto.eventId(), id -> new ArrayList<>()).add(i);
+            }
+        }
+
+        List<TicketReservation> reservations = new ArrayList<>();
+        List<Integer> reservationIndexes = new ArrayList<>();
+        for (Map.Entry<Long, List<Integer>> entry : indexesByEvent.entrySet()) {
+            Event event = events.get(entry.getKey());
+            List<Integer> indexes = entry.getValue();
+            int seats = indexes.stream()
+                    .filter(index -> drafts[index].getBookingStatus() != BookingStatus.CANCELED)
+                    .mapToInt(index -> drafts[index].getNumberOfTickets())
+                    .sum();
+            if (seats > 0 && !seatAllocator.forEvent(event.getId()).reserve(event, seats)) {
+                String message = String.format("Билеты на мероприятие %s %s закончились: в пакете запрошено %d", event.getName(), event.getDate().toString(), seats);
+                indexes.forEach(index -> results[index] = reject(index, BookingMetrics.RejectionReason.SOLD_OUT, message));
+                continue;
+            }
+            for (int index : indexes) {
+                drafts[index].bindTo(clients.get(dtos.get(index).clientId()), event);
+                holdSeats(drafts[index]);
+                reservations.add(drafts[index]);
+                reservationIndexes.add(index);
+            }
+        }
+
+        List<TicketReservation> savedReservations = ticketReservationRepository.saveAll(reservations);
+        savedReservations.forEach(reservation -> reservationHoldWheel.track(reservation.getId(), reservation.getExpiresAt()));
+        recordCreatedStats(savedReservations);
+        for (int i = 0; i < savedReservations.size(); i++) {
+            int index = reservationIndexes.get(i);
+            results[index] = TicketReservationBatchItemDto.created(index, ticketReservationMapper.toTicketReservationDoneDto(savedReservations.get(i)));
+            bookingMetrics.created();
+        }
+        log.info("Пакетное бронирование: создано {}, отклонено {}", savedReservations.size(), dtos.size() - savedReservations.size());
+        return new TicketReservationBatchResultDto(savedReservations.size(), dtos.size() - savedReservations.size(), List.of(results));
+    }
+
+    // без блокировки строки: параллельная отмена или подтверждение обнаруживается по версии брони при записи,
+    // и операция повторяется уже с новым статусом
+    @RetryOnConflict
     public TicketReservationDoneDto confirmReservation(Long reservationId) {
         log.info("Подтверждение бронирования с ID: {}", reservationId);
         TicketReservation ticketReservation = ticketReservationRepository.findById(reservationId).orElseThrow(
                 () -> new EntityNotFoundException(String.format("Резервация по id %d не найдено", reservationId))
         );
+        // срок проверяется и до того, как бронь отменит ReservationHoldExpiryJob: места за ней держатся уже только до него
+        if (ticketReservation.isHoldExpired(LocalDateTime.now())) {
+            throw new BusinessValidationException(String.format("Подтверждение резервации по id %d невозможно: срок удержания мест истек", reservationId));
+        }
         if (ticketReservation.getBookingStatus() == BookingStatus.CANCELED) {
             throw new BusinessValidationException(String.format("Подтверждение резервации по id %d невозможно после отмены бронирования", reservationId));
         }
         if (ticketReservation.getEvent().getDate().isBefore(LocalDate.now())) {
             throw new BusinessValidationException(String.format("Подтверждение резервации по id %d невозможно после того как мероприятие уже прошло", reservationId));
         }
-        Integer confirmedTickets = eventRepository.countConfirmedTicketsByEventId(ticketReservation.getEvent().getId()).intValue();
-        if (confirmedTickets + ticketReservation.getNumberOfTickets() > ticketReservation.getEvent().getNumberOfSeats()) {
-            throw new BusinessValidationException(String.format("Недостаточно мест для подтверждения брони по id %d", reservationId));
-        }
+        // места под ожидающую бронь уже списаны из счетчика при создании, повторная проверка вместимости не нужна
+        BookingStatus oldStatus = ticketReservation.getBookingStatus();
         ticketReservation.setBookingStatus(BookingStatus.CONFIRMED);
         TicketReservation canceledTicketReservation = ticketReservationRepository.save(ticketReservation);
+        eventStatsService.recordTransition(canceledTicketReservation.getEvent(), canceledTicketReservation.getNumberOfTickets(), oldStatus, BookingStatus.CONFIRMED);
+        bookingMetrics.confirmed();
         log.info("Бронирование с ID {} подтверждено", reservationId);
         return ticketReservationMapper.toTicketReservationDoneDto(canceledTicketReservation);
     }
 
+    // при конфликте версий транзакция откатывается вместе с возвратом мест, а повтор видит бронь уже отмененной
+    @RetryOnConflict
     public TicketReservationDoneDto cancelReservation(Long reservationId) {
         log.info("Отмена бронирования с ID: {}", reservationId);
         TicketReservation ticketReservation = ticketReservationRepository.findById(reservationId).orElseThrow(
@@ -106,8 +226,16 @@ public class TicketReservationService {
         if (ticketReservation.getEvent().getDate().isBefore(LocalDate.now().plusDays(1))) {
             throw new BusinessValidationException(String.format("Отмена резервации по id %d невозможна позже чем за день до начала мероприятия", reservationId));
         }
+        BookingStatus oldStatus = ticketReservation.getBookingStatus();
         ticketReservation.setBookingStatus(BookingStatus.CANCELED);
         TicketReservation reservation = ticketReservationRepository.save(ticketReservation);
+        // порядок блокировок как при создании брони: сначала счетчик мест, потом статистика, иначе взаимоблокировка
+        if (oldStatus != BookingStatus.CANCELED) {
+            seatAllocator.forEvent(reservation.getEvent().getId()).release(reservation.getEvent().getId(), reservation.getNumberOfTickets());
+            eventPublisher.publishEvent(new SeatsFreedEvent(reservation.getEvent().getId()));
+        }
+        eventStatsService.recordTransition(reservation.getEvent(), reservation.getNumberOfTickets(), oldStatus, BookingStatus.CANCELED);
+        bookingMetrics.canceled();
         log.info("Бронирование с ID {} отменено", reservationId);
         return ticketReservationMapper.toTicketReservationDoneDto(reservation);
     }
@@ -122,19 +250,110 @@ public class TicketReservationService {
         }
 
         ticketReservationRepository.delete(reservation);
+        eventStatsService.recordTransition(reservation.getEvent(), reservation.getNumberOfTickets(), BookingStatus.CANCELED, null);
         log.info("Отмененное бронирование {} удалено", reservationId);
     }
 
-    public int cleanupOldCanceledReservations() {
-        LocalDateTime monthAgo = LocalDateTime.now().minusMonths(1);
-        List<TicketReservation> oldCanceled = ticketReservationRepository
-                .findByBookingStatusAndUpdatedAtBefore(BookingStatus.CANCELED, monthAgo);
+    // одна порция очистки: выборка id по индексу (booking_status, updated_at) и один DELETE на всю порцию
+    public int deleteOldCanceledChunk(LocalDateTime before, int chunkSize) {
+        List<TicketReservationRepository.ReservationRef> refs = ticketReservationRepository
+                .findRefsByBookingStatusAndUpdatedAtBefore(BookingStatus.CANCELED, before, PageRequest.of(0, chunkSize));
+        if (refs.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = refs.stream().map(TicketReservationRepository.ReservationRef::getId).toList();
+        int deleted = ticketReservationRepository.deleteByIdInAndBookingStatus(ids, BookingStatus.CANCELED);
+        Map<Long, Long> deletedPerEvent = refs.stream()
+                .collect(Collectors.groupingBy(TicketReservationRepository.ReservationRef::getEventId, Collectors.counting()));
+        if (deleted == refs.size()) {
+            deletedPerEvent.forEach((eventId, count) -> eventStatsService.recordCanceledRemoved(eventId, count.intValue()));
+        } else {
+            // часть броней удалили параллельно - точные дельты неизвестны, статистику пересчитываем
+            deletedPerEvent.keySet().forEach(eventStatsService::rebuild);
+        }
+        log.debug("Удалена порция из {} старых отмененных бронирований", deleted);
+        return deleted;
+    }
+
+    // истечение удержаний, снятых с колеса таймеров; брони, которые уже подтвердили или отменили, пропускаются
+    @RetryOnConflict
+    public int expireHolds(List<Long> reservationIds, LocalDateTime now) {
+        return expire(ticketReservationRepository.findExpiredHoldsByIdIn(reservationIds, BookingStatus.PENDING_CONFIRMATION, now), now);
+    }
+
+    // одна порция выборки истекших удержаний по индексу (booking_status, expires_at)
+    @RetryOnConflict
+    public int expireDueHolds(LocalDateTime now, int limit) {
+        return expire(ticketReservationRepository.findExpiredHolds(BookingStatus.PENDING_CONFIRMATION, now, PageRequest.of(0, limit)), now);
+    }
+
+    // Если часть броней подтвердили между выборкой и UPDATE, неизвестно, какие именно: порция откатывается
+    // и повторяется уже без них. Места и статистика меняются одним запросом на мероприятие, по возрастанию id и в том же
+    // порядке, что при создании брони: сначала счетчик мест, потом статистика
+    private int expire(List<TicketReservationRepository.HoldRef> holds, LocalDateTime now) {
+        if (holds.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = holds.stream().map(TicketReservationRepository.HoldRef::getId).toList();
+        int expired = ticketReservationRepository.expireHolds(ids, BookingStatus.PENDING_CONFIRMATION, BookingStatus.CANCELED, now);
+        if (expired != holds.size()) {
+            throw new OptimisticLockingFailureException(String.format(
+                    "Статус %d из %d истекающих броней изменился параллельно", holds.size() - expired, holds.size()));
+        }
+        Map<Long, List<TicketReservationRepository.HoldRef>> holdsByEvent = holds.stream()
+                .collect(Collectors.groupingBy(TicketReservationRepository.HoldRef::getEventId, TreeMap::new, Collectors.toList()));
+        holdsByEvent.forEach((eventId, eventHolds) -> {
+            int tickets = eventHolds.stream().mapToInt(TicketReservationRepository.HoldRef::getNumberOfTickets).sum();
+            seatAllocator.forEvent(eventId).release(eventId, tickets);
+            eventStatsService.recordExpired(eventId, tickets, eventHolds.size());
+            eventPublisher.publishEvent(new SeatsFreedEvent(eventId));
+        });
+        bookingMetrics.expired(expired);
+        log.debug("Истекло удержаний мест: {}", expired);
+        return expired;
+    }
 
-        if (!oldCanceled.isEmpty()) {
-            log.info("Очистка {} старых отмененных бронирований", oldCanceled.size());
-            ticketReservationRepository.deleteAll(oldCanceled);
+    // бронь без статуса при сохранении становится ожидающей (TicketReservation.onCreate)
+    private void holdSeats(TicketReservation reservation) {
+        if (reservation.getBookingStatus() == null || reservation.getBookingStatus() == BookingStatus.PENDING_CONFIRMATION) {
+            reservation.setExpiresAt(reservationHoldWheel.newExpiry());
         }
-        return oldCanceled.size();
     }
 
-}
\ No newline at end of file
+    private TicketReservationBatchItemDto rejectIfInvalid(int index, TicketReservationCreateDto dto, Client client, Event event) {
+        if (client == null) {
+            return reject(index, BookingMetrics.RejectionReason.CLIENT_NOT_FOUND, "Клиент c id" + dto.clientId() + " не найден");
+        }
+        if (event == null) {
+            return reject(index, BookingMetrics.RejectionReason.EVENT_NOT_FOUND, "Мероприятие c id" + dto.eventId() + " не найден");
+        }
+        if (!event.getStatus().isBookable()) {
+            return reject(index, BookingMetrics.RejectionReason.EVENT_CLOSED, String.format("Бронирование билетов для мероприятия %s %s закрылось", event.getName(), event.getDate().toString()));
+        }
+        if (event.getDate().isBefore(LocalDate.now())) {
+            return reject(index, BookingMetrics.RejectionReason.EVENT_PAST, String.format("Мероприятие %s %s уже прошло", event.getName(), event.getDate().toString()));
+        }
+        return null;
+    }
+
+    private TicketReservationBatchItemDto reject(int index, BookingMetrics.RejectionReason reason, String message) {
+        bookingMetrics.rejected(reason);
+        return TicketReservationBatchItemDto.rejected(index, reason.name(), message);
+    }
+
+    private void recordCreatedStats(List<TicketReservation> reservations) {
+        Map<Event, List<TicketReservation>> byEvent = reservations.stream()
+                .collect(Collectors.groupingBy(TicketReservation::getEvent));
+        byEvent.forEach((event, eventReservations) -> eventStatsService.recordCreated(event,
+                ticketsWithStatus(eventReservations, BookingStatus.CONFIRMED),
+                ticketsWithStatus(eventReservations, BookingStatus.PENDING_CONFIRMATION),
+                (int) eventReservations.stream().filter(reservation -> reservation.getBookingStatus() == BookingStatus.CANCELED).count()));
+    }
+
+    private static int ticketsWithStatus(List<TicketReservation> reservations, BookingStatus status) {
+        return reservations.stream()
+                .filter(reservation -> reservation.getBookingStatus() == status)
+                .mapToInt(TicketReservation::getNumberOfTickets)
+                .sum();
+    }
+}
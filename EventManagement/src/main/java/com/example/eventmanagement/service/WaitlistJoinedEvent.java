@@ -0,0 +1,6 @@
+package com.example.eventmanagement.service;
+
+// В очереди мероприятия появилась новая запись: места могли освободиться между отказом в брони и постановкой
+// в очередь. WaitlistPromoter получает событие после коммита транзакции, в которой оно опубликовано
+public record WaitlistJoinedEvent(Long eventId) {
+}
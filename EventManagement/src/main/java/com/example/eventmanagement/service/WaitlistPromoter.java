@@ -0,0 +1,72 @@
+package com.example.eventmanagement.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+
+// Фоновое продвижение очередей на общем TaskExecutor приложения: освобождение мест не ждет перевода очереди в брони.
+// Повторные сигналы по мероприятию, которое уже ждет обработки, схлопываются в одну задачу
+@Component
+@Slf4j
+public class WaitlistPromoter {
+    private final WaitlistService waitlistService;
+    private final int batchSize;
+    private final Set<Long> pendingEvents = ConcurrentHashMap.newKeySet();
+    private final TaskExecutor taskExecutor;
+
+    public WaitlistPromoter(WaitlistService waitlistService, @Value("${waitlist.batch-size:100}") int batchSize,
+                            @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) TaskExecutor taskExecutor) {
+        this.waitlistService = waitlistService;
+        this.batchSize = batchSize;
+        this.taskExecutor = taskExecutor;
+    }
+
+    // после коммита: промоутер должен видеть возвращенные места и новую запись очереди
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSeatsFreed(SeatsFreedEvent event) {
+        schedule(event.eventId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWaitlistJoined(WaitlistJoinedEvent event) {
+        schedule(event.eventId());
+    }
+
+    public void schedule(Long eventId) {
+        if (!pendingEvents.add(eventId)) {
+            return;
+        }
+        try {
+            taskExecutor.execute(() -> promoteAll(eventId));
+        } catch (RejectedExecutionException e) {
+            pendingEvents.remove(eventId);
+            log.debug("Продвижение очереди мероприятия {} не запущено: приложение останавливается", eventId);
+        }
+    }
+
+    // пачки обрабатываются отдельными транзакциями, пока очередь не кончится или не кончатся места
+    public int promoteAll(Long eventId) {
+        // сигнал, пришедший во время обработки, поставит мероприятие в очередь заново
+        pendingEvents.remove(eventId);
+        int total = 0;
+        try {
+            int promoted;
+            do {
+                promoted = waitlistService.promote(eventId, batchSize);
+                total += promoted;
+            } while (promoted == batchSize);
+        } catch (RuntimeException e) {
+            // записи остаются в очереди, их подберет WaitlistPromotionJob
+            log.warn("Не удалось продвинуть очередь мероприятия {}: {}", eventId, e.getMessage());
+        }
+        return total;
+    }
+}
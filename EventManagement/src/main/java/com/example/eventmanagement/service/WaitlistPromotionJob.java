@@ -0,0 +1,48 @@
+package com.example.eventmanagement.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.support.PeriodicTrigger;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+// Страховочный проход по всем непустым очередям: сигнал об освобождении мест теряется при рестарте
+// или ошибке промоутера, а места могут вернуться и в обход сервиса (смена вместимости мероприятия)
+@Component
+public class WaitlistPromotionJob implements MaintenanceJob {
+    private final WaitlistService waitlistService;
+    private final WaitlistPromoter waitlistPromoter;
+    private final Duration interval;
+
+    public WaitlistPromotionJob(WaitlistService waitlistService, WaitlistPromoter waitlistPromoter,
+                                @Value("${waitlist.promotion-interval:}") Duration interval) {
+        this.waitlistService = waitlistService;
+        this.waitlistPromoter = waitlistPromoter;
+        this.interval = interval;
+    }
+
+    @Override
+    public String name() {
+        return "waitlist-promotion";
+    }
+
+    @Override
+    public Trigger trigger() {
+        if (interval == null || interval.isZero()) {
+            return null;
+        }
+        PeriodicTrigger trigger = new PeriodicTrigger(interval);
+        trigger.setInitialDelay(interval);
+        return trigger;
+    }
+
+    @Override
+    public int run() {
+        int total = 0;
+        for (Long eventId : waitlistService.findEventIdsWithEntries()) {
+            total += waitlistPromoter.promoteAll(eventId);
+        }
+        return total;
+    }
+}
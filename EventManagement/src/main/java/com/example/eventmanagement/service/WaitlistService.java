@@ -0,0 +1,142 @@
+package com.example.eventmanagement.service;
+
+import com.example.eventmanagement.dto.WaitlistEntryCreateDto;
+import com.example.eventmanagement.dto.WaitlistEntryDto;
+import com.example.eventmanagement.entity.Client;
+import com.example.eventmanagement.entity.Event;
+import com.example.eventmanagement.entity.TicketReservation;
+import com.example.eventmanagement.entity.WaitlistEntry;
+import com.example.eventmanagement.enums.BookingStatus;
+import com.example.eventmanagement.exception.BusinessValidationException;
+import com.example.eventmanagement.exception.DuplicateEntityException;
+import com.example.eventmanagement.exception.EntityNotFoundException;
+import com.example.eventmanagement.repository.ClientRepository;
+import com.example.eventmanagement.repository.EventRepository;
+import com.example.eventmanagement.repository.TicketReservationRepository;
+import com.example.eventmanagement.repository.WaitlistEntryRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@Transactional
+@Timed(value = "eventmanagement.service", histogram = true)
+@Slf4j
+public class WaitlistService {
+    private final WaitlistEntryRepository waitlistEntryRepository;
+    private final ClientRepository clientRepository;
+    private final EventRepository eventRepository;
+    private final TicketReservationRepository ticketReservationRepository;
+    private final SeatAllocator seatAllocator;
+    private final EventStatsService eventStatsService;
+    private final ReservationHoldWheel reservationHoldWheel;
+    private final BookingMetrics bookingMetrics;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public WaitlistService(WaitlistEntryRepository waitlistEntryRepository, ClientRepository clientRepository, EventRepository eventRepository,
+                           TicketReservationRepository ticketReservationRepository, SeatAllocator seatAllocator, EventStatsService eventStatsService,
+                           ReservationHoldWheel reservationHoldWheel, BookingMetrics bookingMetrics, ApplicationEventPublisher eventPublisher) {
+        this.waitlistEntryRepository = waitlistEntryRepository;
+        this.clientRepository = clientRepository;
+        this.eventRepository = eventRepository;
+        this.ticketReservationRepository = ticketReservationRepository;
+        this.seatAllocator = seatAllocator;
+        this.eventStatsService = eventStatsService;
+        this.reservationHoldWheel = reservationHoldWheel;
+        this.bookingMetrics = bookingMetrics;
+        this.eventPublisher = eventPublisher;
+    }
+
+    public WaitlistEntryDto join(Long eventId, WaitlistEntryCreateDto dto) {
+        log.info("Постановка клиента {} в очередь на мероприятие {}", dto.clientId(), eventId);
+        Event event = eventRepository.findById(eventId).orElseThrow(
+                () -> new EntityNotFoundException(String.format("Мероприятие по id %d не найдено", eventId))
+        );
+        if (!isOpen(event)) {
+            throw new BusinessValidationException(String.format("Бронирование билетов для мероприятия %s %s закрылось", event.getName(), event.getDate().toString()));
+        }
+        Client client = clientRepository.findById(dto.clientId()).orElseThrow(
+                () -> new EntityNotFoundException(String.format("Клиент с id %d не найден", dto.clientId()))
+        );
+        if (waitlistEntryRepository.existsByEventIdAndClientId(eventId, client.getId())) {
+            throw new DuplicateEntityException(String.format("Клиент %d уже стоит в очереди на мероприятие %d", client.getId(), eventId));
+        }
+        WaitlistEntry entry = waitlistEntryRepository.save(new WaitlistEntry(event, client, dto.numberOfTickets()));
+        eventPublisher.publishEvent(new WaitlistJoinedEvent(eventId));
+        log.info("Клиент {} поставлен в очередь на мероприятие {}, запись {}", client.getId(), eventId, entry.getId());
+        return toDto(entry, eventId, client.getId());
+    }
+
+    @Transactional(readOnly = true)
+    public WaitlistEntryDto getEntry(Long eventId, Long entryId) {
+        WaitlistEntry entry = findEntry(eventId, entryId);
+        return toDto(entry, eventId, entry.getClient().getId());
+    }
+
+    public void leave(Long eventId, Long entryId) {
+        waitlistEntryRepository.delete(findEntry(eventId, entryId));
+        log.info("Запись {} удалена из очереди на мероприятие {}", entryId, eventId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Long> findEventIdsWithEntries() {
+        return waitlistEntryRepository.findEventIdsWithEntries();
+    }
+
+    // Голова очереди становится ожидающими бронями, пока хватает мест. Очередь строго FIFO: если первой записи
+    // мест не хватает, следующие ее не обгоняют. Брони сохраняются пачкой, статистика меняется одной дельтой
+    public int promote(Long eventId, int limit) {
+        Event event = eventRepository.findById(eventId).orElse(null);
+        if (event == null || !isOpen(event)) {
+            return 0;
+        }
+        List<WaitlistEntry> head = waitlistEntryRepository.findHeadForUpdate(eventId, PageRequest.of(0, limit));
+        SeatAllocationStrategy seats = seatAllocator.forEvent(eventId);
+        List<WaitlistEntry> promoted = new ArrayList<>();
+        List<TicketReservation> reservations = new ArrayList<>();
+        int tickets = 0;
+        for (WaitlistEntry entry : head) {
+            if (!seats.reserve(event, entry.getNumberOfTickets())) {
+                break;
+            }
+            TicketReservation reservation = new TicketReservation(entry.getNumberOfTickets(), BookingStatus.PENDING_CONFIRMATION);
+            reservation.bindTo(entry.getClient(), event);
+            reservation.setExpiresAt(reservationHoldWheel.newExpiry());
+            reservations.add(reservation);
+            promoted.add(entry);
+            tickets += entry.getNumberOfTickets();
+        }
+        if (promoted.isEmpty()) {
+            return 0;
+        }
+        ticketReservationRepository.saveAll(reservations)
+                .forEach(reservation -> reservationHoldWheel.track(reservation.getId(), reservation.getExpiresAt()));
+        waitlistEntryRepository.deleteAllInBatch(promoted);
+        eventStatsService.recordCreated(event, 0, tickets, 0);
+        bookingMetrics.promoted(promoted.size());
+        log.info("Из очереди на мероприятие {} в брони переведено записей: {}", eventId, promoted.size());
+        return promoted.size();
+    }
+
+    private WaitlistEntry findEntry(Long eventId, Long entryId) {
+        return waitlistEntryRepository.findByIdAndEventId(entryId, eventId).orElseThrow(
+                () -> new EntityNotFoundException(String.format("Запись %d в очереди на мероприятие %d не найдена", entryId, eventId))
+        );
+    }
+
+    private WaitlistEntryDto toDto(WaitlistEntry entry, Long eventId, Long clientId) {
+        return new WaitlistEntryDto(entry.getId(), eventId, clientId, entry.getNumberOfTickets(),
+                waitlistEntryRepository.countUpTo(eventId, entry.getId()), entry.getCreatedAt());
+    }
+
+    private static boolean isOpen(Event event) {
+        return event.getStatus().isBookable() && !event.getDate().isBefore(LocalDate.now());
+    }
+}
@@ -1,45 +1,72 @@
 
 -- 1. Паспорта (7 записей)
-INSERT INTO passports (series, number, created_at)
-VALUES ('8454', '123456', '2023-10-21 14:17:00'),
-       ('3547', '654321', '2023-02-20 14:15:00'),
-       ('4388', '235724', '2023-03-10 09:45:00'),
-       ('3571', '734677', '2023-04-05 16:20:00'),
-       ('2341', '634234', '2023-03-10 09:45:00'),
-       ('2345', '521134', '2023-04-05 16:20:00'),
-       ('7453', '555666', '2023-05-12 11:10:00');
+INSERT INTO passports (id, series, number, created_at)
+VALUES (1, '8454', '123456', '2023-10-21 14:17:00'),
+       (2, '3547', '654321', '2023-02-20 14:15:00'),
+       (3, '4388', '235724', '2023-03-10 09:45:00'),
+       (4, '3571', '734677', '2023-04-05 16:20:00'),
+       (5, '2341', '634234', '2023-03-10 09:45:00'),
+       (6, '2345', '521134', '2023-04-05 16:20:00'),
+       (7, '7453', '555666', '2023-05-12 11:10:00');
 
 -- 2. Клиенты (7 записей) — паспортные данные теперь уже существуют
-INSERT INTO clients (full_name, phone_number, email, passport_id, created_at, updated_at)
-VALUES ('Иванов Иван Иванович', '+79161234567', 'ivanov@mail.ru', 1, '2023-01-16 12:00:00', '2023-01-16 12:00:00'),
-       ('Петров Петр Петрович', '+79157654321', 'petrov@yandex.ru', 2, '2023-02-21 15:30:00', '2023-02-21 15:30:00'),
-       ('Сидорова Анна Михайловна', '+79159876543', 'sidorova@gmail.com', 3, '2023-03-11 10:20:00', '2023-06-01 14:25:00'),
-       ('Кузнецов Алексей Владимирович', '+79151112233', 'alexey.kuz@example.com', 4, '2023-04-06 17:45:00', '2023-04-06 17:45:00'),
-       ('Смирнова Екатерина Павловна', '+79153334455', 'smirnova@yandex.ru', 5, '2023-05-13 13:15:00', '2023-08-20 11:30:00'),
-       ('Васильев Дмитрий Сергеевич', '+79155556677', 'dmitriy.vas@example.com', 6, '2023-06-01 08:40:00', '2023-06-01 08:40:00'),
-       ('Новикова Ольга Игоревна', '+79157778899', 'novikova@mail.ru', 7, '2023-07-10 19:20:00', '2023-09-15 16:50:00');
+INSERT INTO clients (id, full_name, phone_number, email, passport_id, created_at, updated_at)
+VALUES (1, 'Иванов Иван Иванович', '+79161234567', 'ivanov@mail.ru', 1, '2023-01-16 12:00:00', '2023-01-16 12:00:00'),
+       (2, 'Петров Петр Петрович', '+79157654321', 'petrov@yandex.ru', 2, '2023-02-21 15:30:00', '2023-02-21 15:30:00'),
+       (3, 'Сидорова Анна Михайловна', '+79159876543', 'sidorova@gmail.com', 3, '2023-03-11 10:20:00', '2023-06-01 14:25:00'),
+       (4, 'Кузнецов Алексей Владимирович', '+79151112233', 'alexey.kuz@example.com', 4, '2023-04-06 17:45:00', '2023-04-06 17:45:00'),
+       (5, 'Смирнова Екатерина Павловна', '+79153334455', 'smirnova@yandex.ru', 5, '2023-05-13 13:15:00', '2023-08-20 11:30:00'),
+       (6, 'Васильев Дмитрий Сергеевич', '+79155556677', 'dmitriy.vas@example.com', 6, '2023-06-01 08:40:00', '2023-06-01 08:40:00'),
+       (7, 'Новикова Ольга Игоревна', '+79157778899', 'novikova@mail.ru', 7, '2023-07-10 19:20:00', '2023-09-15 16:50:00');
 
 -- 3. Мероприятия (6 записей)
-INSERT INTO events (name, date, number_of_seats, ticket_price, status, description, created_at, updated_at)
-VALUES ('Канцерт Rock Fest', '2026-06-15', 100, 2500.00, 'запланировано', 'Международный рок-фестиваль с участием мировых звезд',
+INSERT INTO events (id, name, date, number_of_seats, ticket_price, status, description, created_at, updated_at)
+VALUES (1, 'Канцерт Rock Fest', '2026-06-15', 100, 2500.00, 'запланировано', 'Международный рок-фестиваль с участием мировых звезд',
         '2023-11-01 10:00:00', '2024-01-15 14:20:00'),
-       ('Выставка Современное Искусство', '2025-05-20',1200, 500.00, 'проходит', 'Экспозиция современных художников',
+       (2, 'Выставка Современное Искусство', '2025-05-20',1200, 500.00, 'проходит', 'Экспозиция современных художников',
         '2023-10-15 09:30:00', '2024-03-10 11:45:00'),
-       ('Балет Лебединое озеро', '2026-07-01', 50, 1800.00, 'запланировано', 'Классический балет в постановке Большого театра',
+       (3, 'Балет Лебединое озеро', '2026-07-01', 50, 1800.00, 'запланировано', 'Классический балет в постановке Большого театра',
         '2023-12-05 16:10:00', '2024-02-20 13:30:00'),
-       ('Конференция TechFuture', '2026-09-10', 500, 0.00, 'запланировано', 'Бесплатная конференция о технологиях будущего',
+       (4, 'Конференция TechFuture', '2026-09-10', 500, 0.00, 'запланировано', 'Бесплатная конференция о технологиях будущего',
         '2024-01-20 12:15:00', '2024-01-20 12:15:00'),
-       ('Спектакль Ревизор', '2024-04-25',150, 1200.00, 'завершено', null, '2023-09-10 14:50:00',
+       (5, 'Спектакль Ревизор', '2024-04-25',150, 1200.00, 'завершено', null, '2023-09-10 14:50:00',
         '2024-04-26 10:00:00'),
-       ('Мастер-класс по кулинарии', '2024-08-05',200, 3000.00, 'отменено',
+       (6, 'Мастер-класс по кулинарии', '2024-08-05',200, 3000.00, 'отменено',
         'Приготовление итальянской пасты от шеф-повара', '2024-02-10 11:20:00', '2024-03-01 15:40:00');
 
 -- 4. Бронирования билетов (7 записей)
-INSERT INTO ticket_reservations (client_id, event_id, number_of_tickets, booking_status, created_at, updated_at)
-VALUES (1, 1, 2, 'подтверждено', '2024-03-01 12:30:00', '2024-03-01 12:30:00'),
-       (2, 1, 1, 'подтверждено', '2024-03-02 14:45:00', '2024-03-02 14:45:00'),
-       (3, 2, 4, 'подтверждено', '2024-03-03 10:15:00', '2024-03-04 09:20:00'),
-       (4, 3, 2, 'отменено', '2024-03-05 16:30:00', '2024-03-06 11:10:00'),
-       (5, 4, 1, 'подтверждено', '2024-03-07 13:25:00', '2024-03-07 13:25:00'),
-       (6, 5, 3, 'ожидает подтверждения', '2024-03-08 15:40:00', '2024-03-08 15:40:00'),
-       (7, 6, 2, 'отменено', '2024-03-09 17:55:00', '2024-03-10 10:05:00');
+INSERT INTO ticket_reservations (id, client_id, event_id, number_of_tickets, booking_status, created_at, updated_at)
+VALUES (1, 1, 1, 2, 'подтверждено', '2024-03-01 12:30:00', '2024-03-01 12:30:00'),
+       (2, 2, 1, 1, 'подтверждено', '2024-03-02 14:45:00', '2024-03-02 14:45:00'),
+       (3, 3, 2, 4, 'подтверждено', '2024-03-03 10:15:00', '2024-03-04 09:20:00'),
+       (4, 4, 3, 2, 'отменено', '2024-03-05 16:30:00', '2024-03-06 11:10:00'),
+       (5, 5, 4, 1, 'подтверждено', '2024-03-07 13:25:00', '2024-03-07 13:25:00'),
+       (6, 6, 5, 3, 'ожидает подтверждения', '2024-03-08 15:40:00', '2024-03-08 15:40:00'),
+       (7, 7, 6, 2, 'отменено', '2024-03-09 17:55:00', '2024-03-10 10:05:00');
+
+-- 5. Счетчики свободных мест по мероприятиям
+INSERT INTO event_seat_inventory (event_id, total_seats, reserved_seats)
+SELECT e.id,
+       e.number_of_seats,
+       COALESCE((SELECT SUM(tr.number_of_tickets)
+                 FROM ticket_reservations tr
+                 WHERE tr.event_id = e.id
+                   AND tr.booking_status IN ('подтверждено', 'ожидает подтверждения')), 0)
+FROM events e;
+
+-- 6. Статистика по мероприятиям
+INSERT INTO event_stats (event_id, confirmed_tickets, pending_tickets, canceled_reservations, revenue)
+SELECT e.id,
+       COALESCE(SUM(tr.number_of_tickets) FILTER (WHERE tr.booking_status = 'подтверждено'), 0),
+       COALESCE(SUM(tr.number_of_tickets) FILTER (WHERE tr.booking_status = 'ожидает подтверждения'), 0),
+       COUNT(tr.id) FILTER (WHERE tr.booking_status = 'отменено'),
+       COALESCE(SUM(tr.number_of_tickets * e.ticket_price) FILTER (WHERE tr.booking_status = 'подтверждено'), 0)
+FROM events e
+         LEFT JOIN ticket_reservations tr ON tr.event_id = e.id
+GROUP BY e.id;
+
+-- 7. Последовательности id продолжают после заданных вручную значений (Hibernate выдает id блоками по 50)
+SELECT setval('passports_seq', (SELECT MAX(id) FROM passports));
+SELECT setval('clients_seq', (SELECT MAX(id) FROM clients));
+SELECT setval('events_seq', (SELECT MAX(id) FROM events));
+SELECT setval('ticket_reservations_seq', (SELECT MAX(id) FROM ticket_reservations));
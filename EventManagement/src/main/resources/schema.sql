@@ -0,0 +1,11 @@
+-- Индексы поиска клиентов (/api/clients/search).
+-- Таблицы создает Hibernate, этот скрипт выполняется после него (spring.jpa.defer-datasource-initialization=true).
+
+-- Триграммные GIN-индексы обслуживают LOWER(...) LIKE '%x%' без последовательного сканирования clients
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX IF NOT EXISTS idx_clients_full_name_trgm ON clients USING gin (lower(full_name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_clients_email_trgm ON clients USING gin (lower(email) gin_trgm_ops);
+
+-- Поиск по началу номера телефона (phone_number LIKE '+7912%') и по цифрам из середины номера (LIKE '%4567%')
+CREATE INDEX IF NOT EXISTS idx_clients_phone_prefix ON clients (phone_number text_pattern_ops);
+CREATE INDEX IF NOT EXISTS idx_clients_phone_trgm ON clients USING gin (phone_number gin_trgm_ops);
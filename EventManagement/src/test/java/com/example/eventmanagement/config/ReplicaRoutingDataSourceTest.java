@@ -0,0 +1,100 @@
+package com.example.eventmanagement.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class ReplicaRoutingDataSourceTest {
+    private final DataSource primary = mock(DataSource.class);
+    private final DataSource first = mock(DataSource.class);
+    private final DataSource second = mock(DataSource.class);
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection firstConnection = mock(Connection.class);
+    private final Connection secondConnection = mock(Connection.class);
+
+    private ReplicaRoutingDataSource routing() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(first.getConnection()).thenReturn(firstConnection);
+        when(second.getConnection()).thenReturn(secondConnection);
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-0", first);
+        replicas.put("replica-1", second);
+        return new ReplicaRoutingDataSource(primary, replicas, Duration.ofSeconds(2), new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReadYourWrites.clear();
+    }
+
+    @Test
+    void getConnection_AlternatesBetweenReplicas() throws SQLException {
+        ReplicaRoutingDataSource routing = routing();
+
+        assertSame(firstConnection, routing.getConnection());
+        assertSame(secondConnection, routing.getConnection());
+        assertSame(firstConnection, routing.getConnection());
+        verify(primary, never()).getConnection();
+    }
+
+    @Test
+    void getConnection_AfterOwnWrite_UsesPrimary() throws SQLException {
+        ReplicaRoutingDataSource routing = routing();
+        ReadYourWrites.pinUntil(System.currentTimeMillis() + 60_000);
+
+        assertSame(primaryConnection, routing.getConnection());
+
+        ReadYourWrites.pinUntil(System.currentTimeMillis() - 1);
+        assertSame(firstConnection, routing.getConnection());
+    }
+
+    @Test
+    void getConnection_ReplicaUnavailable_SkipsItUntilNextCheck() throws SQLException {
+        ReplicaRoutingDataSource routing = routing();
+        when(first.getConnection()).thenThrow(new SQLTransientConnectionException("Connection is not available"));
+
+        assertSame(secondConnection, routing.getConnection());
+        assertFalse(routing.isHealthy("replica-0"));
+        assertSame(secondConnection, routing.getConnection());
+        verify(first, times(1)).getConnection();
+    }
+
+    @Test
+    void checkLag_AllReplicasBehind_FallsBackToPrimary() throws SQLException {
+        ReplicaRoutingDataSource routing = routing();
+        lagSeconds(firstConnection, 10);
+        lagSeconds(secondConnection, 0.5);
+
+        routing.checkLag();
+        assertFalse(routing.isHealthy("replica-0"));
+        assertTrue(routing.isHealthy("replica-1"));
+
+        lagSeconds(secondConnection, 5);
+        routing.checkLag();
+
+        assertSame(primaryConnection, routing.getConnection());
+    }
+
+    private static void lagSeconds(Connection connection, double lag) throws SQLException {
+        Statement statement = mock(Statement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(anyString())).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getDouble(1)).thenReturn(lag);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.eventmanagement.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestConcurrencyLimitFilterTest {
+    private final RequestConcurrencyLimitFilter filter =
+            new RequestConcurrencyLimitFilter(1, 1, Duration.ZERO, new ObjectMapper());
+
+    @Test
+    void doFilter_WhenLimitExceeded_Returns503() throws Exception {
+        MockHttpServletResponse nestedResponse = new MockHttpServletResponse();
+        MockHttpServletResponse outerResponse = new MockHttpServletResponse();
+
+        // пока внешний запрос держит единственное разрешение, вложенный не должен пройти
+        filter.doFilter(apiRequest(), outerResponse, (request, response) ->
+                filter.doFilter(apiRequest(), nestedResponse, new MockFilterChain()));
+
+        assertEquals(200, outerResponse.getStatus());
+        assertEquals(503, nestedResponse.getStatus());
+        assertEquals("1", nestedResponse.getHeader("Retry-After"));
+        assertTrue(nestedResponse.getContentAsString().contains("SERVICE_OVERLOADED"));
+    }
+
+    @Test
+    void doFilter_ReleasesPermitAfterRequest() throws Exception {
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        MockHttpServletResponse second = new MockHttpServletResponse();
+
+        filter.doFilter(apiRequest(), first, new MockFilterChain());
+        filter.doFilter(apiRequest(), second, new MockFilterChain());
+
+        assertEquals(200, first.getStatus());
+        assertEquals(200, second.getStatus());
+    }
+
+    @Test
+    void doFilter_AsyncRequest_HoldsPermitUntilAsyncCompletes() throws Exception {
+        MockHttpServletRequest streaming = apiRequest();
+        streaming.setAsyncSupported(true);
+        MockHttpServletResponse whileStreaming = new MockHttpServletResponse();
+        MockHttpServletResponse afterStreaming = new MockHttpServletResponse();
+
+        filter.doFilter(streaming, new MockHttpServletResponse(), (request, response) -> request.startAsync());
+        filter.doFilter(apiRequest(), whileStreaming, new MockFilterChain());
+        streaming.getAsyncContext().complete();
+        filter.doFilter(apiRequest(), afterStreaming, new MockFilterChain());
+
+        assertEquals(503, whileStreaming.getStatus());
+        assertEquals(200, afterStreaming.getStatus());
+    }
+
+    @Test
+    void doFilter_DoesNotLimitActuator() throws Exception {
+        MockHttpServletResponse nestedResponse = new MockHttpServletResponse();
+
+        filter.doFilter(apiRequest(), new MockHttpServletResponse(), (request, response) ->
+                filter.doFilter(new MockHttpServletRequest("GET", "/actuator/health"), nestedResponse, new MockFilterChain()));
+
+        assertEquals(200, nestedResponse.getStatus());
+    }
+
+    private static MockHttpServletRequest apiRequest() {
+        return new MockHttpServletRequest("GET", "/api/events");
+    }
+}
@@ -1,8 +1,14 @@
 package com.example.eventmanagement.controller;
 
 import com.example.eventmanagement.dto.*;
+import com.example.eventmanagement.exception.EntityNotFoundException;
+import com.example.eventmanagement.service.ClientImportReader;
+import com.example.eventmanagement.service.ClientImporter;
 import com.example.eventmanagement.service.ClientService;
+import com.example.eventmanagement.service.ExportService;
+import com.example.eventmanagement.service.IdempotencyService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hamcrest.Matchers;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,12 +17,15 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.UUID;
 
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -34,6 +43,15 @@ class ClientControllerTest {
     @MockitoBean
     private ClientService clientService;
 
+    @MockitoBean
+    private ClientImporter clientImporter;
+
+    @MockitoBean
+    private ExportService exportService;
+
+    @MockitoBean
+    private IdempotencyService idempotencyService;
+
     private ClientDoneDto clientDto1;
     private ClientDoneDto clientDto2;
     private ClientDoneDto clientDoneDto;
@@ -93,24 +111,27 @@ class ClientControllerTest {
                 "+79123456799",
                 "ivan.new@mail.ru"
         );
+
+        when(clientService.getVersion(anyLong())).thenReturn(ResourceVersion.of(1L, LocalDateTime.now()));
+        when(clientService.getPageVersion(any(), anyInt(), any())).thenReturn(ResourceVersion.of(1L, LocalDateTime.now()));
     }
 
     @Test
     void getAllClients_ShouldReturnListOfClients() throws Exception {
         List<ClientDoneDto> clients = Arrays.asList(clientDto1, clientDto2);
-        when(clientService.getAll()).thenReturn(clients);
+        when(clientService.getPage(isNull(), eq(20), isNull())).thenReturn(new CursorPage<>(clients, null));
 
         mockMvc.perform(get("/api/clients")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(2)))
-                .andExpect(jsonPath("$[0].id", is(1)))
-                .andExpect(jsonPath("$[0].fullName", is("Иван Иванов")))
-                .andExpect(jsonPath("$[0].email", is("ivan@mail.ru")))
-                .andExpect(jsonPath("$[1].id", is(2)))
-                .andExpect(jsonPath("$[1].fullName", is("Петр Петров")));
-
-        verify(clientService, times(1)).getAll();
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].id", is(1)))
+                .andExpect(jsonPath("$.items[0].fullName", is("Иван Иванов")))
+                .andExpect(jsonPath("$.items[0].email", is("ivan@mail.ru")))
+                .andExpect(jsonPath("$.items[1].id", is(2)))
+                .andExpect(jsonPath("$.items[1].fullName", is("Петр Петров")));
+
+        verify(clientService, times(1)).getPage(isNull(), eq(20), isNull());
     }
 
     @Test
@@ -132,6 +153,46 @@ class ClientControllerTest {
         verify(clientService, times(1)).getById(1L);
     }
 
+    @Test
+    void getClientById_WithMatchingETag_ShouldReturn304WithoutLoadingClient() throws Exception {
+        LocalDateTime updatedAt = LocalDateTime.of(2025, 1, 1, 12, 0);
+        when(clientService.getVersion(1L)).thenReturn(ResourceVersion.of(3L, updatedAt));
+
+        mockMvc.perform(get("/api/clients/{id}", 1L)
+                        .header("If-None-Match", "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(content().string(""));
+
+        verify(clientService, never()).getById(anyLong());
+    }
+
+    @Test
+    void getClientById_ShouldReturnValidators() throws Exception {
+        LocalDateTime updatedAt = LocalDateTime.of(2025, 1, 1, 12, 0);
+        when(clientService.getVersion(1L)).thenReturn(ResourceVersion.of(3L, updatedAt));
+        when(clientService.getById(1L)).thenReturn(clientDoneDto);
+
+        mockMvc.perform(get("/api/clients/{id}", 1L)
+                        .header("If-None-Match", "\"2\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(header().exists("Last-Modified"))
+                .andExpect(jsonPath("$.id", is(1)));
+    }
+
+    @Test
+    void getAllClients_WithMatchingETag_ShouldReturn304WithoutLoadingPage() throws Exception {
+        when(clientService.getPageVersion(isNull(), eq(20), isNull()))
+                .thenReturn(new ResourceVersion("W/\"2-2-5\"", LocalDateTime.of(2025, 1, 1, 12, 0)));
+
+        mockMvc.perform(get("/api/clients")
+                        .header("If-None-Match", "W/\"2-2-5\""))
+                .andExpect(status().isNotModified());
+
+        verify(clientService, never()).getPage(any(), anyInt(), any());
+    }
+
     @Test
     void getClientById_WithNonExistentId_ShouldReturn404() throws Exception {
         when(clientService.getById(999L))
@@ -149,7 +210,7 @@ class ClientControllerTest {
     @Test
     void searchClients_WithSearchTerm_ShouldReturnMatchingClients() throws Exception {
         List<ClientDoneDto> searchResults = Arrays.asList(clientDto1);
-        when(clientService.searchClients("Иван")).thenReturn(searchResults);
+        when(clientService.searchClients("Иван", 0, 20)).thenReturn(searchResults);
 
         mockMvc.perform(get("/api/clients/search")
                         .param("searchTerm", "Иван")
@@ -158,13 +219,13 @@ class ClientControllerTest {
                 .andExpect(jsonPath("$", hasSize(1)))
                 .andExpect(jsonPath("$[0].fullName", is("Иван Иванов")));
 
-        verify(clientService, times(1)).searchClients("Иван");
+        verify(clientService, times(1)).searchClients("Иван", 0, 20);
     }
 
     @Test
     void searchClients_WithEmptySearchTerm_ShouldReturnAllClients() throws Exception {
         List<ClientDoneDto> allClients = Arrays.asList(clientDto1, clientDto2);
-        when(clientService.searchClients("")).thenReturn(allClients);
+        when(clientService.searchClients("", 0, 20)).thenReturn(allClients);
 
         mockMvc.perform(get("/api/clients/search")
                         .param("searchTerm", "")
@@ -172,7 +233,7 @@ class ClientControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(2)));
 
-        verify(clientService, times(1)).searchClients("");
+        verify(clientService, times(1)).searchClients("", 0, 20);
     }
 
     @Test
@@ -240,6 +301,82 @@ class ClientControllerTest {
         verify(clientService, times(1)).createClient(any(ClientCreateWithDependenciesDto.class));
     }
 
+    @Test
+    void createClients_WithValidData_ShouldReturnCreatedClients() throws Exception {
+        when(clientService.createClients(anyList())).thenReturn(List.of(clientDto1, clientDto2));
+
+        mockMvc.perform(post("/api/clients/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(clientCreateDto))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[1].phoneNumber", is("+79123456780")));
+
+        verify(clientService, times(1)).createClients(List.of(clientCreateDto));
+    }
+
+    @Test
+    void createClients_WithInvalidItem_ShouldReturn400() throws Exception {
+        ClientCreateWithDependenciesDto invalidDto = new ClientCreateWithDependenciesDto(
+                "Петр Петров",
+                "invalid-phone",
+                "petr@mail.ru",
+                passportDto2
+        );
+
+        mockMvc.perform(post("/api/clients/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(clientCreateDto, invalidDto))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error", is("VALIDATION_ERROR")))
+                .andExpect(jsonPath("$.message", containsString("[1].phoneNumber")));
+
+        verify(clientService, never()).createClients(any());
+    }
+
+    @Test
+    void importClients_WithCsv_ShouldReturn202WithStatusLocation() throws Exception {
+        UUID id = UUID.randomUUID();
+        when(clientImporter.start(any(InputStream.class), eq(ClientImportReader.Format.CSV)))
+                .thenReturn(new ClientImportResponse(id, true, 0, 0, 0, "Импорт поставлен в очередь", LocalDateTime.now(), null));
+
+        mockMvc.perform(post("/api/clients/import")
+                        .contentType("text/csv")
+                        .content("fullName,phoneNumber,passportSeries,passportNumber\nИван Иванов,+79123456789,1234,567890\n"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", Matchers.endsWith("/api/clients/import/" + id)))
+                .andExpect(jsonPath("$.running", is(true)));
+    }
+
+    @Test
+    void importClients_WithJson_ShouldReturn400() throws Exception {
+        mockMvc.perform(post("/api/clients/import")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error", is("BUSINESS_RULE_ERROR")));
+
+        verifyNoInteractions(clientImporter);
+    }
+
+    @Test
+    void getImportStatus_UnknownId_ShouldReturn404() throws Exception {
+        UUID id = UUID.randomUUID();
+        when(clientImporter.status(id)).thenThrow(new EntityNotFoundException("Импорт клиентов " + id + " не найден"));
+
+        mockMvc.perform(get("/api/clients/import/{id}", id))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void exportClients_WithUnknownFormat_ShouldReturn400() throws Exception {
+        mockMvc.perform(get("/api/clients/export").param("format", "xlsx"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("csv или ndjson")));
+
+        verifyNoInteractions(exportService);
+    }
+
     @Test
     void updateClient_WithValidData_ShouldReturnUpdatedClient() throws Exception {
         ClientDoneDto updatedClient = new ClientDoneDto(
@@ -432,14 +569,14 @@ class ClientControllerTest {
 
     @Test
     void getAllClients_WithEmptyDatabase_ShouldReturnEmptyList() throws Exception {
-        when(clientService.getAll()).thenReturn(List.of());
+        when(clientService.getPage(isNull(), eq(20), isNull())).thenReturn(new CursorPage<>(List.of(), null));
 
         mockMvc.perform(get("/api/clients")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(0)));
+                .andExpect(jsonPath("$.items", hasSize(0)));
 
-        verify(clientService, times(1)).getAll();
+        verify(clientService, times(1)).getPage(isNull(), eq(20), isNull());
     }
 
     @Test
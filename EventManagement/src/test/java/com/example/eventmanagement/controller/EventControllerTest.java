@@ -4,6 +4,7 @@ import com.example.eventmanagement.dto.*;
 import com.example.eventmanagement.enums.EventStatus;
 import com.example.eventmanagement.service.EventService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hamcrest.Matchers;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -20,6 +21,7 @@ import java.util.List;
 
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -94,26 +96,29 @@ class EventControllerTest {
                 EventStatus.PLANNED,
                 85,
                 new BigDecimal("1500.00"),
-                new BigDecimal("127500.00")
+                new BigDecimal("127500.00"),
+                5,
+                2
         );
     }
 
     @Test
     void getAllEvents_ShouldReturnListOfEvents() throws Exception {
         List<EventDto> events = Arrays.asList(eventDto1, eventDto2);
-        when(eventService.getAll()).thenReturn(events);
+        when(eventService.getVersionedPage(isNull(), eq(20), isNull(), isNull(), isNull()))
+                .thenReturn(new VersionedPage<>(new CursorPage<>(events, null), ResourceVersion.of(1L, LocalDateTime.now())));
 
         mockMvc.perform(get("/api/events")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(2)))
-                .andExpect(jsonPath("$[0].id", is(1)))
-                .andExpect(jsonPath("$[0].name", is("Концерт классической музыки")))
-                .andExpect(jsonPath("$[0].ticketPrice", is(1500.00)))
-                .andExpect(jsonPath("$[1].id", is(2)))
-                .andExpect(jsonPath("$[1].name", is("Выставка современного искусства")));
-
-        verify(eventService, times(1)).getAll();
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].id", is(1)))
+                .andExpect(jsonPath("$.items[0].name", is("Концерт классической музыки")))
+                .andExpect(jsonPath("$.items[0].ticketPrice", is(1500.00)))
+                .andExpect(jsonPath("$.items[1].id", is(2)))
+                .andExpect(jsonPath("$.items[1].name", is("Выставка современного искусства")));
+
+        verify(eventService, times(1)).getVersionedPage(isNull(), eq(20), isNull(), isNull(), isNull());
     }
 
     @Test
@@ -134,6 +139,31 @@ class EventControllerTest {
         verify(eventService, times(1)).getById(1L);
     }
 
+    @Test
+    void getEventById_WithMatchingETag_ShouldReturn304() throws Exception {
+        when(eventService.getById(1L)).thenReturn(eventDoneDto);
+        String etag = ResourceVersion.of(eventDoneDto.updatedAt()).etag();
+
+        mockMvc.perform(get("/api/events/{id}", 1L)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(header().string("ETag", Matchers.startsWith("W/")))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void getAllEvents_WithMatchingETag_ShouldReturn304() throws Exception {
+        ResourceVersion version = new ResourceVersion("W/\"2-2-5\"", LocalDateTime.of(2025, 1, 1, 12, 0));
+        when(eventService.getVersionedPage(isNull(), eq(20), isNull(), isNull(), isNull()))
+                .thenReturn(new VersionedPage<>(new CursorPage<>(List.of(eventDto1, eventDto2), null), version));
+
+        mockMvc.perform(get("/api/events")
+                        .header("If-None-Match", version.etag()))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
     @Test
     void getEventById_WithNonExistentId_ShouldReturn404() throws Exception {
         when(eventService.getById(999L))
@@ -234,6 +264,50 @@ class EventControllerTest {
         verify(eventService, never()).createEvent(any());
     }
 
+    @Test
+    void createEvents_WithValidData_ShouldReturnCreatedEvents() throws Exception {
+        when(eventService.createEvents(anyList())).thenReturn(List.of(eventDoneDto));
+
+        mockMvc.perform(post("/api/events/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(eventCreateDto))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", is(1)));
+
+        verify(eventService).createEvents(List.of(eventCreateDto));
+    }
+
+    @Test
+    void createEvents_WithInvalidItem_ShouldReturn400() throws Exception {
+        String invalidJson = """
+        [
+            {
+                "name": "Концерт",
+                "date": "%s",
+                "numberOfSeats": 10,
+                "ticketPrice": 100.00
+            },
+            {
+                "name": "",
+                "date": "%s",
+                "numberOfSeats": -1,
+                "ticketPrice": 100.00
+            }
+        ]
+        """.formatted(LocalDate.now().plusDays(10), LocalDate.now().plusDays(10));
+
+        mockMvc.perform(post("/api/events/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(invalidJson))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error", is("VALIDATION_ERROR")))
+                .andExpect(jsonPath("$.message", containsString("[1].name")))
+                .andExpect(jsonPath("$.message", containsString("[1].numberOfSeats")));
+
+        verify(eventService, never()).createEvents(any());
+    }
+
     @Test
     void createEvent_WithDuplicateEvent_ShouldReturn409() throws Exception {
         when(eventService.createEvent(any(EventCreateDto.class)))
@@ -382,14 +456,15 @@ class EventControllerTest {
 
     @Test
     void getAllEvents_WithEmptyDatabase_ShouldReturnEmptyList() throws Exception {
-        when(eventService.getAll()).thenReturn(List.of());
+        when(eventService.getVersionedPage(isNull(), eq(20), isNull(), isNull(), isNull()))
+                .thenReturn(new VersionedPage<>(new CursorPage<>(List.of(), null), ResourceVersion.of(1L, LocalDateTime.now())));
 
         mockMvc.perform(get("/api/events")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(0)));
+                .andExpect(jsonPath("$.items", hasSize(0)));
 
-        verify(eventService, times(1)).getAll();
+        verify(eventService, times(1)).getVersionedPage(isNull(), eq(20), isNull(), isNull(), isNull());
     }
 
     @Test
@@ -2,8 +2,13 @@ package com.example.eventmanagement.controller;
 
 import com.example.eventmanagement.dto.*;
 import com.example.eventmanagement.enums.BookingStatus;
+import com.example.eventmanagement.service.CanceledReservationCleanup;
+import com.example.eventmanagement.service.ExportFormat;
+import com.example.eventmanagement.service.ExportService;
+import com.example.eventmanagement.service.IdempotencyService;
 import com.example.eventmanagement.service.TicketReservationService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hamcrest.Matchers;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,6 +16,10 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -18,7 +27,9 @@ import java.util.List;
 
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -35,6 +46,15 @@ class TicketReservationControllerTest {
     @MockitoBean
     private TicketReservationService ticketReservationService;
 
+    @MockitoBean
+    private CanceledReservationCleanup canceledReservationCleanup;
+
+    @MockitoBean
+    private ExportService exportService;
+
+    @MockitoBean
+    private IdempotencyService idempotencyService;
+
     private TicketReservationDto reservationDto1;
     private TicketReservationDto reservationDto2;
     private TicketReservationDoneDto reservationDoneDto;
@@ -81,7 +101,8 @@ class TicketReservationControllerTest {
                 2,
                 BookingStatus.PENDING_CONFIRMATION,
                 LocalDateTime.now().minusDays(1),
-                LocalDateTime.now()
+                LocalDateTime.now(),
+                LocalDateTime.now().plusMinutes(15)
         );
 
         reservationCreateDto = new TicketReservationCreateDto(
@@ -90,25 +111,28 @@ class TicketReservationControllerTest {
                 2,
                 BookingStatus.PENDING_CONFIRMATION
         );
+
+        when(ticketReservationService.getVersion(anyLong())).thenReturn(ResourceVersion.of(1L, LocalDateTime.now()));
+        when(ticketReservationService.getPageVersion(any(), anyInt(), any(), any(), any())).thenReturn(ResourceVersion.of(1L, LocalDateTime.now()));
     }
 
     @Test
     void getAllTicketReservations_ShouldReturnListOfReservations() throws Exception {
         List<TicketReservationDto> reservations = Arrays.asList(reservationDto1, reservationDto2);
-        when(ticketReservationService.getAll()).thenReturn(reservations);
+        when(ticketReservationService.getPage(isNull(), eq(20), isNull(), isNull(), isNull())).thenReturn(new CursorPage<>(reservations, null));
 
         mockMvc.perform(get("/api/ticketReservations")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(2)))
-                .andExpect(jsonPath("$[0].id", is(1)))
-                .andExpect(jsonPath("$[0].numberOfTickets", is(2)))
-                .andExpect(jsonPath("$[0].bookingStatus", is("ожидает подтверждения")))
-                .andExpect(jsonPath("$[1].id", is(2)))
-                .andExpect(jsonPath("$[1].numberOfTickets", is(1)))
-                .andExpect(jsonPath("$[1].bookingStatus", is("подтверждено")));
-
-        verify(ticketReservationService, times(1)).getAll();
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].id", is(1)))
+                .andExpect(jsonPath("$.items[0].numberOfTickets", is(2)))
+                .andExpect(jsonPath("$.items[0].bookingStatus", is("ожидает подтверждения")))
+                .andExpect(jsonPath("$.items[1].id", is(2)))
+                .andExpect(jsonPath("$.items[1].numberOfTickets", is(1)))
+                .andExpect(jsonPath("$.items[1].bookingStatus", is("подтверждено")));
+
+        verify(ticketReservationService, times(1)).getPage(isNull(), eq(20), isNull(), isNull(), isNull());
     }
 
     @Test
@@ -153,7 +177,8 @@ class TicketReservationControllerTest {
                 3,
                 BookingStatus.PENDING_CONFIRMATION,
                 LocalDateTime.now(),
-                LocalDateTime.now()
+                LocalDateTime.now(),
+                LocalDateTime.now().plusMinutes(15)
         );
 
         when(ticketReservationService.createReservation(any(TicketReservationCreateDto.class)))
@@ -172,6 +197,22 @@ class TicketReservationControllerTest {
         verify(ticketReservationService, times(1)).createReservation(any(TicketReservationCreateDto.class));
     }
 
+    @Test
+    void createTicketReservation_WithIdempotencyKey_GoesThroughIdempotencyService() throws Exception {
+        when(idempotencyService.execute(eq("ticket-reservations"), eq("retry-42"), eq(reservationCreateDto),
+                eq(TicketReservationDoneDto.class), any())).thenReturn(reservationDoneDto);
+
+        mockMvc.perform(post("/api/ticketReservations")
+                        .header(IdempotencyService.HEADER, "retry-42")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(reservationCreateDto)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id", is(1)));
+
+        // сервис бронирования вызывает только переданное действие, и то лишь для нового ключа
+        verify(ticketReservationService, never()).createReservation(any());
+    }
+
     @Test
     void createTicketReservation_WithInvalidData_ShouldReturn400() throws Exception {
         TicketReservationCreateDto invalidDto = new TicketReservationCreateDto(
@@ -191,6 +232,43 @@ class TicketReservationControllerTest {
         verify(ticketReservationService, never()).createReservation(any());
     }
 
+    @Test
+    void createTicketReservations_ShouldReturnResultPerItem() throws Exception {
+        TicketReservationBatchResultDto result = new TicketReservationBatchResultDto(1, 1, List.of(
+                TicketReservationBatchItemDto.created(0, reservationDoneDto),
+                TicketReservationBatchItemDto.rejected(1, "SOLD_OUT", "Билеты на мероприятие закончились")
+        ));
+        when(ticketReservationService.createReservations(anyList())).thenReturn(result);
+
+        mockMvc.perform(post("/api/ticketReservations/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(reservationCreateDto, reservationCreateDto))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created", is(1)))
+                .andExpect(jsonPath("$.rejected", is(1)))
+                .andExpect(jsonPath("$.items[0].reservation.id", is(1)))
+                .andExpect(jsonPath("$.items[0].error").doesNotExist())
+                .andExpect(jsonPath("$.items[1].index", is(1)))
+                .andExpect(jsonPath("$.items[1].error", is("SOLD_OUT")));
+
+        verify(ticketReservationService).createReservations(List.of(reservationCreateDto, reservationCreateDto));
+    }
+
+    @Test
+    void createTicketReservations_WithInvalidItem_ShouldReturn400() throws Exception {
+        TicketReservationCreateDto invalidDto = new TicketReservationCreateDto(1L, null, 0, null);
+
+        mockMvc.perform(post("/api/ticketReservations/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(reservationCreateDto, invalidDto))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error", is("VALIDATION_ERROR")))
+                .andExpect(jsonPath("$.message", containsString("[1].eventId")))
+                .andExpect(jsonPath("$.message", containsString("[1].numberOfTickets")));
+
+        verify(ticketReservationService, never()).createReservations(any());
+    }
+
     @Test
     void createTicketReservation_WithNoSeatsAvailable_ShouldReturn400() throws Exception {
         when(ticketReservationService.createReservation(any(TicketReservationCreateDto.class)))
@@ -207,6 +285,22 @@ class TicketReservationControllerTest {
         verify(ticketReservationService, times(1)).createReservation(any(TicketReservationCreateDto.class));
     }
 
+    @Test
+    void createTicketReservation_WhenHotEventLedgerOnAnotherInstance_ShouldReturn503() throws Exception {
+        when(ticketReservationService.createReservation(any(TicketReservationCreateDto.class)))
+                .thenThrow(new com.example.eventmanagement.exception.ServiceUnavailableException(
+                        "Счетчик мест горячего мероприятия ведет другой экземпляр приложения, повторите запрос"));
+
+        mockMvc.perform(post("/api/ticketReservations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(reservationCreateDto)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.error", is("SERVICE_UNAVAILABLE")));
+
+        verify(ticketReservationService, times(1)).createReservation(any(TicketReservationCreateDto.class));
+    }
+
     @Test
     void createTicketReservation_WithNonExistentClient_ShouldReturn404() throws Exception {
         when(ticketReservationService.createReservation(any(TicketReservationCreateDto.class)))
@@ -232,7 +326,8 @@ class TicketReservationControllerTest {
                 2,
                 BookingStatus.CANCELED,
                 LocalDateTime.now().minusDays(1),
-                LocalDateTime.now()
+                LocalDateTime.now(),
+                null
         );
 
         when(ticketReservationService.cancelReservation(1L))
@@ -273,6 +368,17 @@ class TicketReservationControllerTest {
         verify(ticketReservationService, times(1)).cancelReservation(1L);
     }
 
+    @Test
+    void cancelTicketReservation_WithUnresolvedConflict_ShouldReturn409() throws Exception {
+        when(ticketReservationService.cancelReservation(1L))
+                .thenThrow(new org.springframework.orm.ObjectOptimisticLockingFailureException(
+                        com.example.eventmanagement.entity.TicketReservation.class, 1L));
+
+        mockMvc.perform(put("/api/ticketReservations/{id}/cancel", 1L))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error", is("CONCURRENT_MODIFICATION")));
+    }
+
     @Test
     void confirmTicketReservation_WithValidId_ShouldReturnConfirmedReservation() throws Exception {
         TicketReservationDoneDto confirmedReservation = new TicketReservationDoneDto(
@@ -282,7 +388,8 @@ class TicketReservationControllerTest {
                 2,
                 BookingStatus.CONFIRMED,
                 LocalDateTime.now().minusDays(1),
-                LocalDateTime.now()
+                LocalDateTime.now(),
+                null
         );
 
         when(ticketReservationService.confirmReservation(1L))
@@ -324,41 +431,97 @@ class TicketReservationControllerTest {
     }
 
     @Test
-    void cleanupOldCanceledReservations_WithReservationsToClean_ShouldReturnCount() throws Exception {
-        when(ticketReservationService.cleanupOldCanceledReservations())
-                .thenReturn(5);
+    void cleanupOldCanceledReservations_StartsBackgroundCleanup() throws Exception {
+        when(canceledReservationCleanup.start())
+                .thenReturn(new CleanupResponse(0, "Очистка поставлена в очередь", true, 0, LocalDateTime.now(), null));
 
         mockMvc.perform(post("/api/ticketReservations/cleanup/canceled-reservations"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.running", is(true)))
+                .andExpect(jsonPath("$.message", containsString("поставлена в очередь")));
+
+        verify(canceledReservationCleanup, times(1)).start();
+    }
+
+    @Test
+    void getCleanupStatus_ShouldReturnProgress() throws Exception {
+        when(canceledReservationCleanup.status())
+                .thenReturn(new CleanupResponse(5, "Удалено 5 бронирований", false, 1,
+                        LocalDateTime.now().minusSeconds(1), LocalDateTime.now()));
+
+        mockMvc.perform(get("/api/ticketReservations/cleanup/canceled-reservations"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.deletedCount", is(5)))
+                .andExpect(jsonPath("$.chunks", is(1)))
+                .andExpect(jsonPath("$.running", is(false)))
                 .andExpect(jsonPath("$.message", containsString("Удалено 5 бронирований")));
-
-        verify(ticketReservationService, times(1)).cleanupOldCanceledReservations();
     }
 
     @Test
-    void cleanupOldCanceledReservations_WithNoReservations_ShouldReturnZero() throws Exception {
-        when(ticketReservationService.cleanupOldCanceledReservations())
-                .thenReturn(0);
+    void getAllTicketReservations_WithCursorAndFilters_ShouldPassThemToService() throws Exception {
+        when(ticketReservationService.getPage(eq(10L), eq(2), eq(5L), isNull(), eq(BookingStatus.CONFIRMED)))
+                .thenReturn(new CursorPage<>(List.of(reservationDto2), 2L));
 
-        mockMvc.perform(post("/api/ticketReservations/cleanup/canceled-reservations"))
+        mockMvc.perform(get("/api/ticketReservations")
+                        .param("after", "10")
+                        .param("size", "2")
+                        .param("eventId", "5")
+                        .param("status", "подтверждено")
+                        .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.deletedCount", is(0)))
-                .andExpect(jsonPath("$.message", containsString("Нет старых отмененных бронирований")));
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].id", is(2)))
+                .andExpect(jsonPath("$.nextCursor", is(2)));
 
-        verify(ticketReservationService, times(1)).cleanupOldCanceledReservations();
+        verify(ticketReservationService, times(1)).getPage(eq(10L), eq(2), eq(5L), isNull(), eq(BookingStatus.CONFIRMED));
+    }
+
+    @Test
+    void getAllTicketReservations_WithUnknownStatus_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/ticketReservations")
+                        .param("status", "неизвестно")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error", is("INVALID_REQUEST")));
+
+        verify(ticketReservationService, never()).getPage(any(), anyInt(), any(), any(), any());
+    }
+
+    @Test
+    void getTicketReservationById_WithMatchingETag_ShouldReturn304WithoutLoadingReservation() throws Exception {
+        when(ticketReservationService.getVersion(1L)).thenReturn(ResourceVersion.of(7L, LocalDateTime.of(2025, 1, 1, 12, 0)));
+
+        mockMvc.perform(get("/api/ticketReservations/{id}", 1L)
+                        .header("If-None-Match", "\"7\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"7\""));
+
+        verify(ticketReservationService, never()).getById(anyLong());
+    }
+
+    @Test
+    void getAllTicketReservations_WithMatchingETag_ShouldReturn304WithoutLoadingPage() throws Exception {
+        when(ticketReservationService.getPageVersion(isNull(), eq(20), eq(5L), isNull(), isNull()))
+                .thenReturn(new ResourceVersion("W/\"1-4-3\"", LocalDateTime.of(2025, 1, 1, 12, 0)));
+
+        mockMvc.perform(get("/api/ticketReservations")
+                        .param("eventId", "5")
+                        .header("If-None-Match", "W/\"1-4-3\""))
+                .andExpect(status().isNotModified());
+
+        verify(ticketReservationService, never()).getPage(any(), anyInt(), any(), any(), any());
     }
 
     @Test
     void getAllTicketReservations_WithEmptyDatabase_ShouldReturnEmptyList() throws Exception {
-        when(ticketReservationService.getAll()).thenReturn(List.of());
+        when(ticketReservationService.getPage(isNull(), eq(20), isNull(), isNull(), isNull())).thenReturn(new CursorPage<>(List.of(), null));
 
         mockMvc.perform(get("/api/ticketReservations")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(0)));
+                .andExpect(jsonPath("$.items", hasSize(0)));
 
-        verify(ticketReservationService, times(1)).getAll();
+        verify(ticketReservationService, times(1)).getPage(isNull(), eq(20), isNull(), isNull(), isNull());
     }
 
     @Test
@@ -426,4 +589,38 @@ class TicketReservationControllerTest {
 
         verify(ticketReservationService, times(1)).createReservation(any(TicketReservationCreateDto.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void exportTicketReservations_Csv_ShouldStreamServiceOutput() throws Exception {
+        when(exportService.exportReservations(eq(1L), eq(BookingStatus.CONFIRMED), isNull(), isNull(), eq(ExportFormat.CSV), any(OutputStream.class)))
+                .thenAnswer(invocation -> {
+                    OutputStream out = invocation.getArgument(5);
+                    out.write("id,clientFullName\n1,Иван Иванов\n".getBytes(StandardCharsets.UTF_8));
+                    return 1L;
+                });
+
+        MvcResult result = mockMvc.perform(get("/api/ticketReservations/export")
+                        .param("format", "csv")
+                        .param("eventId", "1")
+                        .param("status", "подтверждено"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", Matchers.startsWith("text/csv")))
+                .andExpect(header().string("Content-Disposition", containsString("ticket-reservations.csv")))
+                .andExpect(content().string(containsString("1,Иван Иванов")));
+    }
+
+    @Test
+    void exportTicketReservations_WithInvertedRange_ShouldReturn400() throws Exception {
+        mockMvc.perform(get("/api/ticketReservations/export")
+                        .param("createdFrom", "2024-03-02T00:00:00")
+                        .param("createdTo", "2024-03-01T00:00:00"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error", is("BUSINESS_RULE_ERROR")));
+
+        verifyNoInteractions(exportService);
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.eventmanagement.controller;
+
+import com.example.eventmanagement.dto.WaitlistEntryCreateDto;
+import com.example.eventmanagement.dto.WaitlistEntryDto;
+import com.example.eventmanagement.exception.DuplicateEntityException;
+import com.example.eventmanagement.exception.EntityNotFoundException;
+import com.example.eventmanagement.service.WaitlistService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(WaitlistController.class)
+class WaitlistControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockitoBean
+    private WaitlistService waitlistService;
+
+    @Test
+    void joinWaitlist_WithValidData_ShouldReturnCreatedEntry() throws Exception {
+        WaitlistEntryCreateDto dto = new WaitlistEntryCreateDto(5L, 2);
+        when(waitlistService.join(eq(1L), any(WaitlistEntryCreateDto.class)))
+                .thenReturn(new WaitlistEntryDto(10L, 1L, 5L, 2, 3, LocalDateTime.now()));
+
+        mockMvc.perform(post("/api/events/{eventId}/waitlist", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id", is(10)))
+                .andExpect(jsonPath("$.eventId", is(1)))
+                .andExpect(jsonPath("$.clientId", is(5)))
+                .andExpect(jsonPath("$.position", is(3)))
+                .andExpect(jsonPath("$.createdAt", notNullValue()));
+
+        verify(waitlistService, times(1)).join(eq(1L), any(WaitlistEntryCreateDto.class));
+    }
+
+    @Test
+    void joinWaitlist_WithInvalidData_ShouldReturn400() throws Exception {
+        mockMvc.perform(post("/api/events/{eventId}/waitlist", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"numberOfTickets\": 0}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error", is("VALIDATION_ERROR")))
+                .andExpect(jsonPath("$.message", containsString("clientId")))
+                .andExpect(jsonPath("$.message", containsString("numberOfTickets")));
+
+        verify(waitlistService, never()).join(any(), any());
+    }
+
+    @Test
+    void joinWaitlist_WhenClientAlreadyWaiting_ShouldReturn409() throws Exception {
+        when(waitlistService.join(eq(1L), any(WaitlistEntryCreateDto.class)))
+                .thenThrow(new DuplicateEntityException("Клиент 5 уже стоит в очереди на мероприятие 1"));
+
+        mockMvc.perform(post("/api/events/{eventId}/waitlist", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new WaitlistEntryCreateDto(5L, 2))))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error", is("DUPLICATE_ENTITY")));
+    }
+
+    @Test
+    void getWaitlistEntry_WithNonExistentId_ShouldReturn404() throws Exception {
+        when(waitlistService.getEntry(1L, 999L))
+                .thenThrow(new EntityNotFoundException("Запись 999 в очереди на мероприятие 1 не найдена"));
+
+        mockMvc.perform(get("/api/events/{eventId}/waitlist/{entryId}", 1L, 999L))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error", is("NOT_FOUND")));
+    }
+
+    @Test
+    void leaveWaitlist_ShouldReturnNoContent() throws Exception {
+        mockMvc.perform(delete("/api/events/{eventId}/waitlist/{entryId}", 1L, 10L))
+                .andExpect(status().isNoContent());
+
+        verify(waitlistService, times(1)).leave(1L, 10L);
+    }
+}
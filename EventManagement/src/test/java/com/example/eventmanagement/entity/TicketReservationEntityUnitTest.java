@@ -67,6 +67,18 @@ class TicketReservationEntityUnitTest {
         assertThat(reservation.getEvent()).isEqualTo(event);
     }
 
+    @Test
+    void shouldBindToClientAndEventWithoutTouchingCollections() {
+        TicketReservation reservation = new TicketReservation(2, BookingStatus.CONFIRMED);
+
+        reservation.bindTo(client, event);
+
+        assertThat(reservation.getClient()).isEqualTo(client);
+        assertThat(reservation.getEvent()).isEqualTo(event);
+        assertThat(client.getTicketReservations()).isEmpty();
+        assertThat(event.getTicketReservations()).isEmpty();
+    }
+
     @Test
     void shouldCreateReservationWithNumberOfTicketsAndStatus() {
         TicketReservation reservation = new TicketReservation(3, BookingStatus.CONFIRMED);
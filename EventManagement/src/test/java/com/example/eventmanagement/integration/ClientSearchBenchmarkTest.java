@@ -0,0 +1,77 @@
+package com.example.eventmanagement.integration;
+
+import com.example.eventmanagement.repository.ClientRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import javax.sql.DataSource;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Запуск: mvn test -Dtest=ClientSearchBenchmarkTest -Dbenchmark=true
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ClientSearchBenchmarkTest extends BaseTestcontainersTest {
+    private static final int CLIENTS = 1_000_000;
+    private static final int RUNS = 20;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void searchLatency_BeforeAndAfterSearchIndexes() {
+        generateClients();
+
+        long nameBefore = medianMicros(() -> clientRepository.searchByNameOrEmail("иванов 00424", PageRequest.of(0, 20)));
+        long phoneBefore = medianMicros(() -> clientRepository.searchByPhonePrefix("+7900042", PageRequest.of(0, 20)));
+
+        ScriptUtils.executeSqlScript(DataSourceUtils.getConnection(dataSource), new ClassPathResource("schema.sql"));
+        jdbcTemplate.execute("ANALYZE clients");
+
+        long nameAfter = medianMicros(() -> clientRepository.searchByNameOrEmail("иванов 00424", PageRequest.of(0, 20)));
+        long phoneAfter = medianMicros(() -> clientRepository.searchByPhonePrefix("+7900042", PageRequest.of(0, 20)));
+
+        System.out.printf("Поиск по ФИО/email на %d клиентах: %d мкс без индексов, %d мкс с индексами%n", CLIENTS, nameBefore, nameAfter);
+        System.out.printf("Поиск по префиксу телефона на %d клиентах: %d мкс без индексов, %d мкс с индексами%n", CLIENTS, phoneBefore, phoneAfter);
+        assertThat(nameAfter).isLessThan(nameBefore);
+        assertThat(phoneAfter).isLessThan(phoneBefore);
+    }
+
+    private void generateClients() {
+        jdbcTemplate.execute("INSERT INTO passports (id, series, number, created_at) " +
+                "SELECT nextval('passports_seq'), lpad((i / 1000000)::text, 4, '0'), lpad((i % 1000000)::text, 6, '0'), now() " +
+                "FROM generate_series(1, " + CLIENTS + ") AS i");
+        jdbcTemplate.execute("INSERT INTO clients (id, full_name, phone_number, email, passport_id, created_at, updated_at) " +
+                "SELECT nextval('clients_seq'), 'Иванов ' || p.number || ' Петрович', '+79' || lpad(p.number, 9, '0'), 'client' || p.number || '@mail.ru', " +
+                "p.id, now(), now() FROM passports p");
+        jdbcTemplate.execute("ANALYZE clients");
+    }
+
+    private long medianMicros(Runnable query) {
+        query.run();
+        long[] timings = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            query.run();
+            timings[i] = (System.nanoTime() - start) / 1_000;
+        }
+        Arrays.sort(timings);
+        return timings[RUNS / 2];
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.eventmanagement.integration;
+
+import com.example.eventmanagement.config.ReadYourWrites;
+import com.example.eventmanagement.dto.ClientCreateWithDependenciesDto;
+import com.example.eventmanagement.dto.ClientDoneDto;
+import com.example.eventmanagement.dto.EventCreateDto;
+import com.example.eventmanagement.dto.EventDoneDto;
+import com.example.eventmanagement.dto.PassportCreateDto;
+import com.example.eventmanagement.exception.EntityNotFoundException;
+import com.example.eventmanagement.service.ClientService;
+import com.example.eventmanagement.service.EventService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Вместо настоящей реплики - отдельная база без репликации: клиент, записанный только в нее, виден лишь
+// при чтении с реплики, а клиент, созданный через приложение, - лишь при чтении с основной базы
+@SpringBootTest(properties = {
+        "datasource.replica.read-your-writes-window=PT30S",
+        "spring.autoconfigure.exclude=org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration," +
+                "org.springframework.boot.actuate.autoconfigure.security.servlet.ManagementWebSecurityAutoConfiguration"
+})
+@AutoConfigureMockMvc
+class ReadReplicaRoutingTestContainersTest extends BaseTestcontainersTest {
+    private static final long REPLICA_ONLY_CLIENT_ID = 1000L;
+
+    @Container
+    static PostgreSQLContainer<?> replica = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("replicadb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void replicaProperties(DynamicPropertyRegistry registry) {
+        registry.add("datasource.replica.urls", replica::getJdbcUrl);
+    }
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeAll
+    static void fillReplica() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(replica.getJdbcUrl(), replica.getUsername(), replica.getPassword());
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS passports (id BIGINT PRIMARY KEY, series VARCHAR(255) NOT NULL, " +
+                    "number VARCHAR(255) NOT NULL, created_at TIMESTAMP NOT NULL, version BIGINT NOT NULL DEFAULT 0)");
+            statement.execute("CREATE TABLE IF NOT EXISTS clients (id BIGINT PRIMARY KEY, full_name VARCHAR(255) NOT NULL, " +
+                    "phone_number VARCHAR(255) NOT NULL, email VARCHAR(255), passport_id BIGINT NOT NULL REFERENCES passports(id), " +
+                    "created_at TIMESTAMP NOT NULL, updated_at TIMESTAMP NOT NULL, version BIGINT NOT NULL DEFAULT 0)");
+            statement.execute("INSERT INTO passports (id, series, number, created_at) VALUES (1000, '9999', '999999', now()) " +
+                    "ON CONFLICT DO NOTHING");
+            statement.execute("INSERT INTO clients (id, full_name, phone_number, email, passport_id, created_at, updated_at) " +
+                    "VALUES (1000, 'Клиент С Реплики', '+79990000000', 'replica@mail.ru', 1000, now(), now()) ON CONFLICT DO NOTHING");
+            // пустые таблицы статистики: мероприятие, созданное через приложение, до реплики не доходит
+            statement.execute("CREATE TABLE IF NOT EXISTS events (id BIGINT PRIMARY KEY, name VARCHAR(255) NOT NULL, date DATE NOT NULL, " +
+                    "number_of_seats INTEGER NOT NULL, ticket_price NUMERIC(38, 2) NOT NULL, status VARCHAR(255))");
+            statement.execute("CREATE TABLE IF NOT EXISTS event_stats (event_id BIGINT PRIMARY KEY, confirmed_tickets INTEGER NOT NULL, " +
+                    "pending_tickets INTEGER NOT NULL, canceled_reservations INTEGER NOT NULL, revenue NUMERIC(38, 2) NOT NULL)");
+        }
+    }
+
+    @AfterEach
+    void unpin() {
+        ReadYourWrites.clear();
+    }
+
+    @Test
+    void readOnlyTransaction_ReadsFromReplica() {
+        double before = routedTo("replica-0");
+
+        ClientDoneDto client = clientService.getById(REPLICA_ONLY_CLIENT_ID);
+
+        assertThat(client.fullName()).isEqualTo("Клиент С Реплики");
+        assertThat(routedTo("replica-0")).isGreaterThan(before);
+    }
+
+    @Test
+    void readAfterOwnWrite_GoesToPrimaryUntilWindowEnds() {
+        ClientDoneDto created = clientService.createClient(new ClientCreateWithDependenciesDto(
+                "Новый Клиент", "+79161110000", "new@mail.ru", new PassportCreateDto("1111", "111111")
+        ));
+
+        // поток, только что закоммитивший запись, читает ее с основной базы
+        assertThat(clientService.getById(created.id()).fullName()).isEqualTo("Новый Клиент");
+
+        // без привязки чтение уходит на реплику, куда запись не попала
+        ReadYourWrites.clear();
+        assertThatThrownBy(() -> clientService.getById(created.id())).isInstanceOf(EntityNotFoundException.class);
+    }
+
+    @Test
+    void readYourWritesCookie_RoutesNextRequestToPrimary() throws Exception {
+        String body = objectMapper.writeValueAsString(new ClientCreateWithDependenciesDto(
+                "Клиент По Http", "+79162220000", "http@mail.ru", new PassportCreateDto("2222", "222222")
+        ));
+        MvcResult created = mockMvc.perform(post("/api/clients").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated())
+                .andExpect(cookie().exists(ReadYourWrites.COOKIE))
+                .andReturn();
+        Cookie cookie = created.getResponse().getCookie(ReadYourWrites.COOKIE);
+        long id = objectMapper.readTree(created.getResponse().getContentAsString()).get("id").asLong();
+
+        mockMvc.perform(get("/api/clients/{id}", id).cookie(cookie))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.fullName").value("Клиент По Http"));
+        mockMvc.perform(get("/api/clients/{id}", id))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void statisticsWithoutStatsRow_AreCreatedOnPrimaryInSameRequest() throws Exception {
+        EventDoneDto event = eventService.createEvent(new EventCreateDto(
+                "Концерт Без Статистики", LocalDate.now().plusDays(30), 50, BigDecimal.valueOf(700), "Описание"
+        ));
+        executeOnPrimary("DELETE FROM event_stats WHERE event_id = ?", event.id());
+        ReadYourWrites.clear();
+
+        // чтение статистики идет на реплику и строки не находит; создание строки в том же запросе - на основную базу
+        mockMvc.perform(get("/api/events/{id}/statistics", event.id()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.confirmedTickets").value(0));
+
+        try (Connection connection = DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+             PreparedStatement statement = connection.prepareStatement("SELECT count(*) FROM event_stats WHERE event_id = ?")) {
+            statement.setLong(1, event.id());
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                assertThat(resultSet.getInt(1)).isEqualTo(1);
+            }
+        }
+    }
+
+    private static void executeOnPrimary(String sql, long id) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setLong(1, id);
+            statement.executeUpdate();
+        }
+    }
+
+    private double routedTo(String target) {
+        return meterRegistry.counter("datasource.read.routing", "target", target).count();
+    }
+}
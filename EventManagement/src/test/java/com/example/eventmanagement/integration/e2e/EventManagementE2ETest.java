@@ -1,5 +1,6 @@
 package com.example.eventmanagement.integration.e2e;
 
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 
@@ -197,13 +198,15 @@ class EventManagementE2ETest {
         assertThat(stats.totalRevenue()).isEqualByComparingTo(new BigDecimal("3000.00"));
 
         // 6. Получаем список бронирований
-        ResponseEntity<TicketReservationDto[]> listResp = restTemplate.getForEntity(
+        ResponseEntity<CursorPage<TicketReservationDto>> listResp = restTemplate.exchange(
                 "/api/ticketReservations",
-                TicketReservationDto[].class
+                HttpMethod.GET,
+                null,
+                new ParameterizedTypeReference<>() {}
         );
         assertThat(listResp.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(listResp.getBody()).isNotNull();
-        assertThat(listResp.getBody().length).isGreaterThanOrEqualTo(1);
+        assertThat(listResp.getBody().items().size()).isGreaterThanOrEqualTo(1);
 
         // 7. Проверяем, что клиента с активной бронью удалить нельзя
         ResponseEntity<GlobalError> deleteClientResp = restTemplate.exchange(
@@ -273,13 +276,15 @@ class EventManagementE2ETest {
         );
 
         // GET /api/clients
-        ResponseEntity<ClientDoneDto[]> allResp = restTemplate.getForEntity(
+        ResponseEntity<CursorPage<ClientDoneDto>> allResp = restTemplate.exchange(
                 "/api/clients",
-                ClientDoneDto[].class
+                HttpMethod.GET,
+                null,
+                new ParameterizedTypeReference<>() {}
         );
         assertThat(allResp.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(allResp.getBody()).isNotNull();
-        assertThat(allResp.getBody().length).isGreaterThanOrEqualTo(2);
+        assertThat(allResp.getBody().items().size()).isGreaterThanOrEqualTo(2);
 
         // GET /api/clients/{id}
         ResponseEntity<ClientDoneDto> byIdResp = restTemplate.getForEntity(
@@ -426,13 +431,15 @@ class EventManagementE2ETest {
         assertThat(completedResp.getBody().status()).isEqualTo(EventStatus.COMPLETED);
 
         // GET /api/events
-        ResponseEntity<EventDto[]> allResp = restTemplate.getForEntity(
+        ResponseEntity<CursorPage<EventDto>> allResp = restTemplate.exchange(
                 "/api/events",
-                EventDto[].class
+                HttpMethod.GET,
+                null,
+                new ParameterizedTypeReference<>() {}
         );
         assertThat(allResp.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(allResp.getBody()).isNotNull();
-        assertThat(allResp.getBody().length).isGreaterThanOrEqualTo(1);
+        assertThat(allResp.getBody().items().size()).isGreaterThanOrEqualTo(1);
 
         // DELETE /api/events/{id} (COMPLETED уже можно удалить)
         ResponseEntity<Void> deleteResp = restTemplate.exchange(
@@ -513,13 +520,15 @@ class EventManagementE2ETest {
         assertThat(cancelResp.getBody().bookingStatus()).isEqualTo(BookingStatus.CANCELED);
 
         // GET /api/ticketReservations (список)
-        ResponseEntity<TicketReservationDto[]> listResp = restTemplate.getForEntity(
+        ResponseEntity<CursorPage<TicketReservationDto>> listResp = restTemplate.exchange(
                 "/api/ticketReservations",
-                TicketReservationDto[].class
+                HttpMethod.GET,
+                null,
+                new ParameterizedTypeReference<>() {}
         );
         assertThat(listResp.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(listResp.getBody()).isNotNull();
-        assertThat(listResp.getBody().length).isGreaterThanOrEqualTo(1);
+        assertThat(listResp.getBody().items().size()).isGreaterThanOrEqualTo(1);
 
         // POST /api/ticketReservations/cleanup/canceled-reservations
         ResponseEntity<CleanupResponse> cleanupResp = restTemplate.postForEntity(
@@ -528,11 +537,20 @@ class EventManagementE2ETest {
                 CleanupResponse.class
         );
 
-        // Так как отмена свежая, скорее всего deletedCount будет 0 — это тоже валидный путь
-        assertThat(cleanupResp.getStatusCode()).isEqualTo(HttpStatus.OK);
+        // Очистка идет в фоне, ответ - текущее состояние; так как отмена свежая, deletedCount скорее всего будет 0
+        assertThat(cleanupResp.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
         assertThat(cleanupResp.getBody()).isNotNull();
         assertThat(cleanupResp.getBody().deletedCount()).isGreaterThanOrEqualTo(0);
         assertThat(cleanupResp.getBody().message()).isNotBlank();
+
+        // GET /api/ticketReservations/cleanup/canceled-reservations
+        ResponseEntity<CleanupResponse> statusResp = restTemplate.getForEntity(
+                "/api/ticketReservations/cleanup/canceled-reservations",
+                CleanupResponse.class
+        );
+        assertThat(statusResp.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(statusResp.getBody()).isNotNull();
+        assertThat(statusResp.getBody().startedAt()).isNotNull();
     }
 
     // ==========================
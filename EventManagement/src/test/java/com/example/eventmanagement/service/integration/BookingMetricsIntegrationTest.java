@@ -0,0 +1,76 @@
+package com.example.eventmanagement.service.integration;
+
+import com.example.eventmanagement.dto.*;
+import com.example.eventmanagement.enums.BookingStatus;
+import com.example.eventmanagement.exception.BusinessValidationException;
+import com.example.eventmanagement.service.ClientService;
+import com.example.eventmanagement.service.EventService;
+import com.example.eventmanagement.service.TicketReservationService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class BookingMetricsIntegrationTest {
+
+    @Autowired
+    private TicketReservationService ticketReservationService;
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void createReservation_RecordsCountersAndServiceTimer() {
+        ClientDoneDto client = clientService.createClient(new ClientCreateWithDependenciesDto(
+                "Метрикин Клиент", "+79130000001", "metrics@mail.ru",
+                new PassportCreateDto("6161", "616161")
+        ));
+        EventDoneDto event = eventService.createEvent(new EventCreateDto(
+                "Камерный вечер", LocalDate.now().plusDays(20), 2,
+                BigDecimal.valueOf(800), "Описание"
+        ));
+        double attemptsBefore = counter("booking.attempts");
+        double createdBefore = counter("booking.created");
+        double soldOutBefore = meterRegistry.get("booking.rejected").tag("reason", "sold_out").counter().count();
+        long timedBefore = createReservationTimerCount();
+
+        ticketReservationService.createReservation(new TicketReservationCreateDto(
+                client.id(), event.id(), 2, BookingStatus.PENDING_CONFIRMATION
+        ));
+        assertThrows(BusinessValidationException.class, () -> ticketReservationService.createReservation(
+                new TicketReservationCreateDto(client.id(), event.id(), 1, BookingStatus.PENDING_CONFIRMATION)
+        ));
+
+        assertEquals(attemptsBefore + 2, counter("booking.attempts"));
+        assertEquals(createdBefore + 1, counter("booking.created"));
+        assertEquals(soldOutBefore + 1, meterRegistry.get("booking.rejected").tag("reason", "sold_out").counter().count());
+        assertEquals(timedBefore + 2, createReservationTimerCount());
+    }
+
+    private double counter(String name) {
+        return meterRegistry.get(name).counter().count();
+    }
+
+    private long createReservationTimerCount() {
+        return meterRegistry.find("eventmanagement.service")
+                .tag("class", "com.example.eventmanagement.service.TicketReservationService")
+                .tag("method", "createReservation")
+                .timers().stream().mapToLong(timer -> timer.count()).sum();
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.eventmanagement.service.integration;
+
+import com.example.eventmanagement.dto.ClientCreateWithDependenciesDto;
+import com.example.eventmanagement.dto.ClientDoneDto;
+import com.example.eventmanagement.dto.EventCreateDto;
+import com.example.eventmanagement.dto.EventDoneDto;
+import com.example.eventmanagement.dto.PassportCreateDto;
+import com.example.eventmanagement.repository.ClientRepository;
+import com.example.eventmanagement.repository.EventSeatInventoryRepository;
+import com.example.eventmanagement.repository.EventStatsRepository;
+import com.example.eventmanagement.service.ClientService;
+import com.example.eventmanagement.service.EventService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class BulkInsertIntegrationTest {
+    private static final int BATCH = 200;
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private EventSeatInventoryRepository seatInventoryRepository;
+
+    @Autowired
+    private EventStatsRepository eventStatsRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void createClients_InsertsInJdbcBatches() {
+        List<ClientCreateWithDependenciesDto> dtos = new ArrayList<>();
+        for (int i = 0; i < BATCH; i++) {
+            dtos.add(new ClientCreateWithDependenciesDto("Клиент Пакетный " + i, String.format("+7900%07d", i),
+                    "bulk" + i + "@mail.ru", new PassportCreateDto("7777", String.format("%06d", i))));
+        }
+
+        List<ClientDoneDto> created = clientService.createClients(dtos);
+        entityManager.flush();
+
+        assertEquals(BATCH, created.size());
+        assertTrue(created.stream().allMatch(client -> client.id() != null));
+        assertEquals(2L * BATCH, statistics.getEntityInsertCount());
+        // 400 строк: проверка дубликатов, по INSERT на каждую пачку из 50 строк и редкие обращения к последовательностям
+        assertTrue(statistics.getPrepareStatementCount() < 40,
+                () -> "Выполнено SQL-запросов: " + statistics.getPrepareStatementCount());
+        assertTrue(clientRepository.existsByPhoneNumber("+79000000199"));
+    }
+
+    @Test
+    void createEvents_CreatesSeatInventoryAndStatsWithoutSelects() {
+        List<EventCreateDto> dtos = new ArrayList<>();
+        for (int i = 0; i < BATCH; i++) {
+            dtos.add(new EventCreateDto("Пакетное мероприятие " + i, LocalDate.now().plusDays(10 + i % 30), 100 + i,
+                    BigDecimal.valueOf(500), "Описание"));
+        }
+
+        List<EventDoneDto> created = eventService.createEvents(dtos);
+        entityManager.flush();
+
+        assertEquals(BATCH, created.size());
+        assertEquals(3L * BATCH, statistics.getEntityInsertCount());
+        // счетчики мест и статистика с заданным id не проверяются SELECT-ом перед вставкой
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertTrue(statistics.getPrepareStatementCount() < 40,
+                () -> "Выполнено SQL-запросов: " + statistics.getPrepareStatementCount());
+
+        EventDoneDto last = created.get(BATCH - 1);
+        assertEquals(last.numberOfSeats(), seatInventoryRepository.findById(last.id()).orElseThrow().getTotalSeats());
+        assertTrue(eventStatsRepository.existsById(last.id()));
+    }
+}
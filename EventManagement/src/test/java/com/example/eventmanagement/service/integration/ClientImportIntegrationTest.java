@@ -0,0 +1,83 @@
+package com.example.eventmanagement.service.integration;
+
+import com.example.eventmanagement.dto.ClientCreateWithDependenciesDto;
+import com.example.eventmanagement.dto.ClientImportResponse;
+import com.example.eventmanagement.dto.PassportCreateDto;
+import com.example.eventmanagement.repository.ClientRepository;
+import com.example.eventmanagement.service.ClientImportReader;
+import com.example.eventmanagement.service.ClientImporter;
+import com.example.eventmanagement.service.ClientService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:clientimportdb;DB_CLOSE_DELAY=-1",
+        "client-import.chunk-size=2"
+})
+class ClientImportIntegrationTest {
+
+    @Autowired
+    private ClientImporter clientImporter;
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Test
+    void importCsv_InsertsValidRowsAndReportsRejectedOnes() throws Exception {
+        clientService.createClient(new ClientCreateWithDependenciesDto(
+                "Существующий Клиент", "+79300000000", "exists@mail.ru",
+                new PassportCreateDto("7000", "000000")
+        ));
+        String csv = "fullName,phoneNumber,email,passportSeries,passportNumber\n" +
+                "Импортов Первый,+79300000001,first@mail.ru,7000,000001\n" +
+                "Импортов Второй,+79300000000,,7000,000002\n" +
+                "Импортов Третий,неверный,,7000,000003\n" +
+                "Импортов Четвертый,+79300000004,,7000,000001\n" +
+                "Импортов Пятый,+79300000005,,7000,000005\n";
+
+        ClientImportResponse started = clientImporter.start(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), ClientImportReader.Format.CSV);
+        ClientImportResponse finished = awaitFinished(started);
+
+        assertEquals(5, finished.processed());
+        assertEquals(2, finished.imported());
+        assertEquals(3, finished.rejected());
+        assertTrue(clientRepository.findByPhoneNumber("+79300000001").isPresent());
+        assertTrue(clientRepository.findByPhoneNumber("+79300000005").isPresent());
+        assertTrue(clientRepository.findByPhoneNumber("+79300000004").isEmpty());
+
+        List<String> report = Files.readAllLines(clientImporter.errorReport(started.id()), StandardCharsets.UTF_8);
+        assertEquals("line,error", report.get(0));
+        assertEquals(4, report.size());
+        assertTrue(report.stream().anyMatch(line -> line.startsWith("3,") && line.contains("+79300000000")));
+        assertTrue(report.stream().anyMatch(line -> line.startsWith("4,") && line.contains("phoneNumber")));
+        assertTrue(report.stream().anyMatch(line -> line.startsWith("5,") && line.contains("7000 000001")));
+    }
+
+    private ClientImportResponse awaitFinished(ClientImportResponse started) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            ClientImportResponse status = clientImporter.status(started.id());
+            if (!status.running()) {
+                return status;
+            }
+            Thread.sleep(100);
+        }
+        fail("Импорт не завершился за 10 секунд");
+        return null;
+    }
+}
@@ -15,6 +15,8 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest
@@ -70,6 +72,20 @@ class ClientServiceIntegrationTest {
         });
     }
 
+    @Test
+    void searchClients_ByDigitsFromMiddleOfPhone_FindsClient() {
+        ClientDoneDto created = clientService.createClient(new ClientCreateWithDependenciesDto(
+                "Иван Иванов", "+79161234567", "ivan@mail.ru",
+                new PassportCreateDto("1234", "567890")
+        ));
+
+        List<ClientDoneDto> found = clientService.searchClients("4567", 0, 20);
+
+        assertEquals(1, found.size());
+        assertEquals(created.id(), found.get(0).id());
+        assertEquals(List.of(created.id()), clientService.searchClients("+7916", 0, 20).stream().map(ClientDoneDto::id).toList());
+    }
+
     @Test
     void deleteClient_WithNoReservations_RemovesFromDatabase() {
         ClientCreateWithDependenciesDto createDto = new ClientCreateWithDependenciesDto(
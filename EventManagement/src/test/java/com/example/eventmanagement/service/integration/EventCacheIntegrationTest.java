@@ -0,0 +1,104 @@
+package com.example.eventmanagement.service.integration;
+
+import com.example.eventmanagement.config.CacheConfig;
+import com.example.eventmanagement.dto.CursorPage;
+import com.example.eventmanagement.dto.EventCreateDto;
+import com.example.eventmanagement.dto.EventDoneDto;
+import com.example.eventmanagement.dto.EventDto;
+import com.example.eventmanagement.enums.EventStatus;
+import com.example.eventmanagement.service.EventService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:eventcachedb;DB_CLOSE_DELAY=-1",
+        "spring.cache.type=caffeine",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+class EventCacheIntegrationTest {
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+    private EventDoneDto event;
+
+    @BeforeEach
+    void setUp() {
+        event = eventService.createEvent(new EventCreateDto(
+                "Кэшируемый концерт", LocalDate.now().plusDays(15), 100,
+                BigDecimal.valueOf(1500), "Описание"
+        ));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void getById_SecondCallServedFromCache() {
+        eventService.getById(event.id());
+        eventService.getById(event.id());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(1.0, cacheGets(CacheConfig.EVENTS, "hit"));
+        assertEquals(1.0, cacheGets(CacheConfig.EVENTS, "miss"));
+    }
+
+    @Test
+    void updateEventStatus_EvictsOnlyChangedEvent() {
+        EventDoneDto other = eventService.createEvent(new EventCreateDto(
+                "Соседний концерт", LocalDate.now().plusDays(16), 100,
+                BigDecimal.valueOf(1500), "Описание"
+        ));
+        eventService.getById(event.id());
+        eventService.getById(other.id());
+
+        eventService.updateEventStatus(event.id(), EventStatus.CANCELED);
+        statistics.clear();
+
+        assertEquals(EventStatus.CANCELED, eventService.getById(event.id()).status());
+        eventService.getById(other.id());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void createEvent_EvictsCachedPages() {
+        CursorPage<EventDto> before = eventService.getVersionedPage(null, 20, null, null, null).page();
+        eventService.getVersionedPage(null, 20, null, null, null);
+        assertEquals(2, statistics.getPrepareStatementCount());
+
+        eventService.createEvent(new EventCreateDto(
+                "Новый концерт", LocalDate.now().plusDays(17), 100,
+                BigDecimal.valueOf(1500), "Описание"
+        ));
+        CursorPage<EventDto> after = eventService.getVersionedPage(null, 20, null, null, null).page();
+
+        assertEquals(before.items().size() + 1, after.items().size());
+    }
+
+    private double cacheGets(String cacheName, String result) {
+        return meterRegistry.get("cache.gets").tag("cache", cacheName).tag("result", result).functionCounter().count();
+    }
+}
@@ -1,9 +1,12 @@
 package com.example.eventmanagement.service.integration;
 
+import com.example.eventmanagement.dto.CursorPage;
 import com.example.eventmanagement.dto.EventCreateDto;
 import com.example.eventmanagement.dto.EventDoneDto;
+import com.example.eventmanagement.dto.EventDto;
 import com.example.eventmanagement.entity.Event;
 import com.example.eventmanagement.enums.EventStatus;
+import com.example.eventmanagement.exception.BusinessValidationException;
 import com.example.eventmanagement.repository.EventRepository;
 import com.example.eventmanagement.service.EventService;
 import org.junit.jupiter.api.Test;
@@ -76,6 +79,33 @@ class EventServiceIntegrationTest {
         assertEquals(created.id(), statistics.id());
         assertEquals("Концерт", statistics.name());
         assertEquals(0, statistics.confirmedTickets());
-        assertEquals(BigDecimal.ZERO, statistics.totalRevenue());
+        assertEquals(new BigDecimal("0.00"), statistics.totalRevenue());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getVersionedPage_WalksAllEventsByCursor() {
+        LocalDate baseDate = LocalDate.now().plusYears(5);
+        for (int i = 0; i < 5; i++) {
+            eventService.createEvent(new EventCreateDto(
+                    "Мероприятие " + i, baseDate.plusDays(i), 100,
+                    BigDecimal.valueOf(1000), "Описание"
+            ));
+        }
+
+        CursorPage<EventDto> first = eventService.getVersionedPage(null, 2, EventStatus.PLANNED, baseDate, baseDate.plusDays(4)).page();
+        CursorPage<EventDto> second = eventService.getVersionedPage(first.nextCursor(), 2, EventStatus.PLANNED, baseDate, baseDate.plusDays(4)).page();
+        CursorPage<EventDto> third = eventService.getVersionedPage(second.nextCursor(), 2, EventStatus.PLANNED, baseDate, baseDate.plusDays(4)).page();
+
+        assertEquals(2, first.items().size());
+        assertEquals(2, second.items().size());
+        assertEquals(1, third.items().size());
+        assertNull(third.nextCursor());
+        assertEquals("Мероприятие 0", first.items().get(0).name());
+        assertEquals("Мероприятие 4", third.items().get(0).name());
+    }
+
+    @Test
+    void getVersionedPage_WithTooLargeSize_ThrowsException() {
+        assertThrows(BusinessValidationException.class, () -> eventService.getVersionedPage(null, CursorPage.MAX_SIZE + 1, null, null, null));
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.eventmanagement.service.integration;
+
+import com.example.eventmanagement.dto.*;
+import com.example.eventmanagement.enums.BookingStatus;
+import com.example.eventmanagement.repository.EventStatsRepository;
+import com.example.eventmanagement.service.ClientService;
+import com.example.eventmanagement.service.EventService;
+import com.example.eventmanagement.service.EventStatsService;
+import com.example.eventmanagement.service.TicketReservationService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class EventStatsIntegrationTest {
+
+    @Autowired
+    private TicketReservationService ticketReservationService;
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventStatsService eventStatsService;
+
+    @Autowired
+    private EventStatsRepository eventStatsRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Long clientId;
+    private Long eventId;
+
+    @BeforeEach
+    void setUp() {
+        clientId = clientService.createClient(new ClientCreateWithDependenciesDto(
+                "Статистический Клиент", "+79333333333", "stats@mail.ru",
+                new PassportCreateDto("3333", "333333")
+        )).id();
+        eventId = eventService.createEvent(new EventCreateDto(
+                "Концерт со статистикой", LocalDate.now().plusDays(20), 100,
+                BigDecimal.valueOf(500), "Описание"
+        )).id();
+    }
+
+    @Test
+    void reservationLifecycle_KeepsStatsInSyncWithRebuild() {
+        Long toConfirm = reserve(3);
+        Long toCancel = reserve(2);
+        reserve(4);
+        Long confirmedThenCanceled = reserve(1);
+        ticketReservationService.confirmReservation(toConfirm);
+        ticketReservationService.confirmReservation(confirmedThenCanceled);
+        ticketReservationService.cancelReservation(toCancel);
+        ticketReservationService.cancelReservation(confirmedThenCanceled);
+
+        EventStatisticsDto maintained = eventService.getEventStatistics(eventId);
+        assertEquals(3, maintained.confirmedTickets());
+        assertEquals(4, maintained.pendingTickets());
+        assertEquals(2, maintained.canceledReservations());
+        assertEquals(0, new BigDecimal("1500").compareTo(maintained.totalRevenue()));
+
+        eventStatsService.rebuild(eventId);
+        entityManager.clear();
+        assertEquals(maintained, eventService.getEventStatistics(eventId));
+    }
+
+    @Test
+    void getEventStatistics_WithoutStatsRow_RebuildsIt() {
+        reserve(2);
+        eventStatsRepository.deleteById(eventId);
+        eventStatsRepository.flush();
+
+        EventStatisticsDto statistics = eventService.getEventStatistics(eventId);
+
+        assertEquals(2, statistics.pendingTickets());
+        assertTrue(eventStatsRepository.existsById(eventId));
+    }
+
+    private Long reserve(int tickets) {
+        return ticketReservationService.createReservation(new TicketReservationCreateDto(
+                clientId, eventId, tickets, BookingStatus.PENDING_CONFIRMATION
+        )).id();
+    }
+}
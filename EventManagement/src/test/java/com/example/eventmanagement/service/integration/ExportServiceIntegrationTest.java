@@ -0,0 +1,106 @@
+package com.example.eventmanagement.service.integration;
+
+import com.example.eventmanagement.dto.*;
+import com.example.eventmanagement.enums.BookingStatus;
+import com.example.eventmanagement.service.ClientService;
+import com.example.eventmanagement.service.EventService;
+import com.example.eventmanagement.service.ExportFormat;
+import com.example.eventmanagement.service.ExportService;
+import com.example.eventmanagement.service.TicketReservationService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class ExportServiceIntegrationTest {
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private TicketReservationService ticketReservationService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private ClientDoneDto client;
+    private EventDoneDto event;
+
+    @BeforeEach
+    void setUp() {
+        client = clientService.createClient(new ClientCreateWithDependenciesDto(
+                "Выгрузкин, Иван \"Финансы\"", "+79400000001", "export@mail.ru",
+                new PassportCreateDto("8100", "000001")
+        ));
+        event = eventService.createEvent(new EventCreateDto(
+                "Выгружаемый концерт", LocalDate.now().plusDays(30), 100, BigDecimal.valueOf(1000), "Описание"
+        ));
+        EventDoneDto otherEvent = eventService.createEvent(new EventCreateDto(
+                "Другой концерт", LocalDate.now().plusDays(31), 100, BigDecimal.valueOf(1000), "Описание"
+        ));
+        ticketReservationService.createReservation(new TicketReservationCreateDto(client.id(), event.id(), 2, BookingStatus.CONFIRMED));
+        ticketReservationService.createReservation(new TicketReservationCreateDto(client.id(), event.id(), 1, BookingStatus.PENDING_CONFIRMATION));
+        ticketReservationService.createReservation(new TicketReservationCreateDto(client.id(), otherEvent.id(), 1, BookingStatus.CONFIRMED));
+    }
+
+    @Test
+    void exportReservations_Ndjson_WritesOneObjectPerLineMatchingFilters() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = exportService.exportReservations(event.id(), BookingStatus.CONFIRMED, null, null, ExportFormat.NDJSON, out);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(1, count);
+        assertEquals(1, lines.size());
+        JsonNode reservation = objectMapper.readTree(lines.get(0));
+        assertEquals("Выгружаемый концерт", reservation.get("eventName").asText());
+        assertEquals(2, reservation.get("numberOfTickets").asInt());
+        assertEquals("подтверждено", reservation.get("bookingStatus").asText());
+    }
+
+    @Test
+    void exportReservations_CsvWithDateRange_WritesHeaderAndQuotedFields() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.exportReservations(event.id(), null, LocalDateTime.now().minusHours(1), LocalDateTime.now().plusHours(1),
+                ExportFormat.CSV, out);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(0).startsWith("id,clientFullName,"));
+        assertTrue(lines.get(1).contains(",\"Выгрузкин, Иван \"\"Финансы\"\"\",+79400000001,"));
+    }
+
+    @Test
+    void exportClients_OutsideDateRange_WritesOnlyHeader() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = exportService.exportClients(LocalDateTime.now().plusDays(1), null, ExportFormat.CSV, out);
+
+        assertEquals(0, count);
+        assertEquals("id,fullName,phoneNumber,email,passportSeries,passportNumber,createdAt,updatedAt\n",
+                out.toString(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.eventmanagement.service.integration;
+
+import com.example.eventmanagement.dto.*;
+import com.example.eventmanagement.enums.BookingStatus;
+import com.example.eventmanagement.exception.BusinessValidationException;
+import com.example.eventmanagement.exception.EntityNotFoundException;
+import com.example.eventmanagement.repository.EventSeatInventoryRepository;
+import com.example.eventmanagement.repository.IdempotencyRecordRepository;
+import com.example.eventmanagement.repository.TicketReservationRepository;
+import com.example.eventmanagement.service.ClientService;
+import com.example.eventmanagement.service.EventService;
+import com.example.eventmanagement.service.IdempotencyService;
+import com.example.eventmanagement.service.IdempotencyStore;
+import com.example.eventmanagement.service.TicketReservationService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:idempotencydb;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+class IdempotencyIntegrationTest {
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TicketReservationService ticketReservationService;
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private TicketReservationRepository ticketReservationRepository;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private EventSeatInventoryRepository seatInventoryRepository;
+
+    private ClientDoneDto client;
+    private EventDoneDto event;
+
+    @BeforeEach
+    void setUp() {
+        client = clientService.createClient(new ClientCreateWithDependenciesDto(
+                "Нетерпеливый Клиент", "+79000000091", "retry@mail.ru",
+                new PassportCreateDto("9009", "900900")
+        ));
+        event = eventService.createEvent(new EventCreateDto(
+                "Рок-фестиваль", LocalDate.now().plusDays(20), 100,
+                BigDecimal.valueOf(1000), "Описание"
+        ));
+    }
+
+    @Test
+    void repeatedKey_ReturnsStoredResponseWithoutBookingAgain() {
+        TicketReservationCreateDto dto = new TicketReservationCreateDto(client.id(), event.id(), 2, BookingStatus.PENDING_CONFIRMATION);
+
+        TicketReservationDoneDto first = book("key-1", dto);
+        TicketReservationDoneDto second = book("key-1", dto);
+
+        assertEquals(first.id(), second.id());
+        assertEquals(1, ticketReservationRepository.count());
+        assertEquals(2, seatInventoryRepository.findById(event.id()).orElseThrow().getReservedSeats());
+        assertEquals(1, idempotencyRecordRepository.count());
+    }
+
+    @Test
+    void repeatedKey_OnAnotherInstance_ReturnsPersistedResponse() {
+        TicketReservationCreateDto dto = new TicketReservationCreateDto(client.id(), event.id(), 2, BookingStatus.PENDING_CONFIRMATION);
+        TicketReservationDoneDto first = book("key-2", dto);
+        // второй экземпляр приложения: пустой кэш в памяти, общая таблица
+        IdempotencyService otherInstance = new IdempotencyService(idempotencyStore, objectMapper, new SimpleMeterRegistry(), Duration.ofHours(1), 100);
+
+        TicketReservationDoneDto replayed = otherInstance.execute("ticket-reservations", "key-2", dto, TicketReservationDoneDto.class,
+                () -> fail("Повтор не должен доходить до сервиса бронирования"));
+
+        assertEquals(first.id(), replayed.id());
+        assertEquals(first.bookingStatus(), replayed.bookingStatus());
+        assertEquals(first.client(), replayed.client());
+        assertEquals(1, ticketReservationRepository.count());
+    }
+
+    @Test
+    void repeatedKey_WithDifferentBody_IsRejected() {
+        book("key-3", new TicketReservationCreateDto(client.id(), event.id(), 2, BookingStatus.PENDING_CONFIRMATION));
+
+        assertThrows(BusinessValidationException.class,
+                () -> book("key-3", new TicketReservationCreateDto(client.id(), event.id(), 5, BookingStatus.PENDING_CONFIRMATION)));
+        assertEquals(1, ticketReservationRepository.count());
+    }
+
+    @Test
+    void failedRequest_IsNotStored() {
+        TicketReservationCreateDto dto = new TicketReservationCreateDto(999L, event.id(), 2, BookingStatus.PENDING_CONFIRMATION);
+
+        assertThrows(EntityNotFoundException.class, () -> book("key-4", dto));
+
+        assertEquals(0, idempotencyRecordRepository.count());
+    }
+
+    @Test
+    void concurrentDuplicates_WaitForFirstRequest() throws Exception {
+        TicketReservationCreateDto dto = new TicketReservationCreateDto(client.id(), event.id(), 1, BookingStatus.PENDING_CONFIRMATION);
+        int threads = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<TicketReservationDoneDto>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return idempotencyService.execute("ticket-reservations", "key-5", dto, TicketReservationDoneDto.class, () -> {
+                    executions.incrementAndGet();
+                    return ticketReservationService.createReservation(dto);
+                });
+            }));
+        }
+        start.countDown();
+        Set<Long> ids = new HashSet<>();
+        for (Future<TicketReservationDoneDto> future : futures) {
+            ids.add(future.get().id());
+        }
+        executor.shutdown();
+
+        assertEquals(1, executions.get());
+        assertEquals(1, ids.size());
+        assertEquals(1, ticketReservationRepository.count());
+    }
+
+    private TicketReservationDoneDto book(String key, TicketReservationCreateDto dto) {
+        return idempotencyService.execute("ticket-reservations", key, dto, TicketReservationDoneDto.class,
+                () -> ticketReservationService.createReservation(dto));
+    }
+}
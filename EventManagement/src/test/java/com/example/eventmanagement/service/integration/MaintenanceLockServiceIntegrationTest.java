@@ -0,0 +1,67 @@
+package com.example.eventmanagement.service.integration;
+
+import com.example.eventmanagement.repository.MaintenanceLockRepository;
+import com.example.eventmanagement.service.MaintenanceLockService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:maintenancelockdb;DB_CLOSE_DELAY=-1",
+        "maintenance.instance-id=instance-a"
+})
+class MaintenanceLockServiceIntegrationTest {
+    private static final Duration LEASE = Duration.ofMinutes(10);
+
+    @Autowired
+    private MaintenanceLockService maintenanceLockService;
+
+    @Autowired
+    private MaintenanceLockRepository maintenanceLockRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void tryAcquire_OnlyOneInstanceHoldsLease() {
+        assertTrue(maintenanceLockService.tryAcquire("single-leader", LEASE));
+        assertTrue(maintenanceLockService.tryAcquire("single-leader", LEASE));
+
+        assertFalse(acquireAsOtherInstance("single-leader"));
+        assertEquals("instance-a", maintenanceLockRepository.findById("single-leader").orElseThrow().getLockedBy());
+    }
+
+    @Test
+    void release_LetsAnotherInstanceTakeOver() {
+        assertTrue(maintenanceLockService.tryAcquire("handover", LEASE));
+        maintenanceLockService.release("handover");
+
+        assertTrue(acquireAsOtherInstance("handover"));
+        assertFalse(maintenanceLockService.tryAcquire("handover", LEASE));
+    }
+
+    @Test
+    void tryAcquire_WhenLeaseExpired_TakesOverFromCrashedInstance() {
+        assertTrue(maintenanceLockService.tryAcquire("expired", Duration.ofMillis(-1)));
+
+        assertTrue(acquireAsOtherInstance("expired"));
+        assertEquals("instance-b", maintenanceLockRepository.findById("expired").orElseThrow().getLockedBy());
+    }
+
+    private boolean acquireAsOtherInstance(String name) {
+        LocalDateTime now = LocalDateTime.now();
+        Integer updated = transactionTemplate.execute(status ->
+                maintenanceLockRepository.tryAcquire(name, "instance-b", now, now.plus(LEASE)));
+        return updated != null && updated == 1;
+    }
+}
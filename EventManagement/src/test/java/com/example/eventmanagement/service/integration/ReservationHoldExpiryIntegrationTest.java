@@ -0,0 +1,125 @@
+package com.example.eventmanagement.service.integration;
+
+import com.example.eventmanagement.dto.*;
+import com.example.eventmanagement.enums.BookingStatus;
+import com.example.eventmanagement.exception.BusinessValidationException;
+import com.example.eventmanagement.repository.EventSeatInventoryRepository;
+import com.example.eventmanagement.service.ClientService;
+import com.example.eventmanagement.service.EventService;
+import com.example.eventmanagement.service.TicketReservationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:holddb;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+        "reservation-hold.ttl=PT1S",
+        "reservation-hold.tick=PT0.1S",
+        "reservation-hold.tick-enabled=true",
+        "reservation-hold.sweep-interval=0"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+class ReservationHoldExpiryIntegrationTest {
+
+    @Autowired
+    private TicketReservationService ticketReservationService;
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventSeatInventoryRepository seatInventoryRepository;
+
+    private ClientDoneDto client;
+    private EventDoneDto event;
+
+    @BeforeEach
+    void setUp() {
+        client = clientService.createClient(new ClientCreateWithDependenciesDto(
+                "Забывчивый Клиент", "+79000000077", "hold@mail.ru",
+                new PassportCreateDto("7007", "700700")
+        ));
+        event = eventService.createEvent(new EventCreateDto(
+                "Популярный концерт", LocalDate.now().plusDays(20), 10,
+                BigDecimal.valueOf(1000), "Описание"
+        ));
+    }
+
+    @Test
+    void pendingReservation_AfterTtl_IsCanceledAndSeatsReleased() throws Exception {
+        TicketReservationDoneDto reservation = ticketReservationService.createReservation(new TicketReservationCreateDto(
+                client.id(), event.id(), 3, BookingStatus.PENDING_CONFIRMATION
+        ));
+        assertNotNull(reservation.expiresAt());
+        assertEquals(3, seatInventoryRepository.findById(event.id()).orElseThrow().getReservedSeats());
+
+        awaitStatus(reservation.id(), BookingStatus.CANCELED);
+
+        assertNull(ticketReservationService.getById(reservation.id()).expiresAt());
+        assertEquals(0, seatInventoryRepository.findById(event.id()).orElseThrow().getReservedSeats());
+        EventStatisticsDto stats = eventService.getEventStatistics(event.id());
+        assertEquals(0, stats.pendingTickets());
+        assertEquals(1, stats.canceledReservations());
+        BusinessValidationException exception = assertThrows(BusinessValidationException.class,
+                () -> ticketReservationService.confirmReservation(reservation.id()));
+        assertTrue(exception.getMessage().contains("после отмены бронирования"));
+    }
+
+    @Test
+    void confirmedBeforeExpiry_KeepsSeats() throws Exception {
+        TicketReservationDoneDto reservation = ticketReservationService.createReservation(new TicketReservationCreateDto(
+                client.id(), event.id(), 2, BookingStatus.PENDING_CONFIRMATION
+        ));
+        TicketReservationDoneDto confirmed = ticketReservationService.confirmReservation(reservation.id());
+        assertNull(confirmed.expiresAt());
+
+        Thread.sleep(1500);
+
+        assertEquals(BookingStatus.CONFIRMED, ticketReservationService.getById(reservation.id()).bookingStatus());
+        assertEquals(2, seatInventoryRepository.findById(event.id()).orElseThrow().getReservedSeats());
+        assertEquals(0, ticketReservationService.expireHolds(List.of(reservation.id()), LocalDateTime.now()));
+    }
+
+    @Test
+    void expireDueHolds_ExpiresOnlyPendingHoldsPastDeadline() {
+        TicketReservationDoneDto pending = ticketReservationService.createReservation(new TicketReservationCreateDto(
+                client.id(), event.id(), 1, BookingStatus.PENDING_CONFIRMATION
+        ));
+        TicketReservationDoneDto confirmed = ticketReservationService.createReservation(new TicketReservationCreateDto(
+                client.id(), event.id(), 4, BookingStatus.CONFIRMED
+        ));
+
+        // проход по индексу с моментом позже срока: колесо таймеров до этой брони дойти еще не успело
+        int expired = ticketReservationService.expireDueHolds(LocalDateTime.now().plusMinutes(1), 100);
+
+        assertEquals(1, expired);
+        assertEquals(BookingStatus.CANCELED, ticketReservationService.getById(pending.id()).bookingStatus());
+        assertNull(ticketReservationService.getById(pending.id()).expiresAt());
+        assertEquals(BookingStatus.CONFIRMED, ticketReservationService.getById(confirmed.id()).bookingStatus());
+        assertEquals(4, seatInventoryRepository.findById(event.id()).orElseThrow().getReservedSeats());
+    }
+
+    private void awaitStatus(Long reservationId, BookingStatus status) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (ticketReservationService.getById(reservationId).bookingStatus() != status) {
+            assertTrue(System.currentTimeMillis() < deadline, "Бронь не перешла в статус " + status);
+            Thread.sleep(100);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.eventmanagement.service.integration;
+
+import com.example.eventmanagement.dto.*;
+import com.example.eventmanagement.enums.BookingStatus;
+import com.example.eventmanagement.enums.EventStatus;
+import com.example.eventmanagement.exception.EntityNotFoundException;
+import com.example.eventmanagement.service.ClientService;
+import com.example.eventmanagement.service.EventService;
+import com.example.eventmanagement.service.TicketReservationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:resourceversiondb;DB_CLOSE_DELAY=-1")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+class ResourceVersionIntegrationTest {
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private TicketReservationService ticketReservationService;
+
+    private ClientDoneDto client;
+    private EventDoneDto event;
+
+    @BeforeEach
+    void setUp() {
+        client = clientService.createClient(new ClientCreateWithDependenciesDto(
+                "Постоянный Клиент", "+79000000071", "poll@mail.ru",
+                new PassportCreateDto("7007", "700700")
+        ));
+        event = eventService.createEvent(new EventCreateDto(
+                "Джазовый вечер", LocalDate.now().plusDays(10), 100,
+                BigDecimal.valueOf(800), "Описание"
+        ));
+    }
+
+    @Test
+    void clientVersion_ChangesOnUpdateAndPassportReplacement() {
+        ResourceVersion initial = clientService.getVersion(client.id());
+        assertEquals(initial, clientService.getVersion(client.id()));
+
+        clientService.updateClientBasicInfo(client.id(), new ClientCreateDto("Постоянный Клиент", "+79000000072", "poll@mail.ru"));
+        ResourceVersion updated = clientService.getVersion(client.id());
+        assertNotEquals(initial.etag(), updated.etag());
+
+        clientService.replacePassport(client.id(), new PassportCreateDto("7008", "700800"));
+        assertNotEquals(updated.etag(), clientService.getVersion(client.id()).etag());
+    }
+
+    @Test
+    void reservationVersion_ChangesWhenReservationOrItsEventChanges() {
+        TicketReservationDoneDto reservation = ticketReservationService.createReservation(
+                new TicketReservationCreateDto(client.id(), event.id(), 2, BookingStatus.PENDING_CONFIRMATION));
+        ResourceVersion initial = ticketReservationService.getVersion(reservation.id());
+
+        ticketReservationService.confirmReservation(reservation.id());
+        ResourceVersion confirmed = ticketReservationService.getVersion(reservation.id());
+        assertNotEquals(initial.etag(), confirmed.etag());
+
+        eventService.updateEventStatus(event.id(), EventStatus.ONGOING);
+        assertNotEquals(confirmed.etag(), ticketReservationService.getVersion(reservation.id()).etag());
+    }
+
+    @Test
+    void pageVersion_ChangesOnInsertAndOnRowUpdate() {
+        ResourceVersion initial = clientService.getPageVersion(null, 20, null);
+        assertTrue(initial.etag().startsWith("W/"));
+        assertEquals(initial, clientService.getPageVersion(null, 20, null));
+
+        ClientDoneDto other = clientService.createClient(new ClientCreateWithDependenciesDto(
+                "Новый Клиент", "+79000000073", "new@mail.ru",
+                new PassportCreateDto("7009", "700900")
+        ));
+        ResourceVersion inserted = clientService.getPageVersion(null, 20, null);
+        assertNotEquals(initial.etag(), inserted.etag());
+
+        clientService.updateClientBasicInfo(other.id(), new ClientCreateDto("Новый Клиент", "+79000000074", "new@mail.ru"));
+        assertNotEquals(inserted.etag(), clientService.getPageVersion(null, 20, null).etag());
+    }
+
+    @Test
+    void versionedEventPage_IsInvalidatedTogetherWithPage() {
+        VersionedPage<EventDto> initial = eventService.getVersionedPage(null, 20, null, null, null);
+
+        eventService.updateEventStatus(event.id(), EventStatus.ONGOING);
+        VersionedPage<EventDto> updated = eventService.getVersionedPage(null, 20, null, null, null);
+
+        assertNotEquals(initial.version().etag(), updated.version().etag());
+        assertEquals(EventStatus.ONGOING, updated.page().items().get(0).status());
+    }
+
+    @Test
+    void getVersion_WithNonExistentId_ThrowsNotFound() {
+        assertThrows(EntityNotFoundException.class, () -> clientService.getVersion(999L));
+        assertThrows(EntityNotFoundException.class, () -> ticketReservationService.getVersion(999L));
+    }
+}
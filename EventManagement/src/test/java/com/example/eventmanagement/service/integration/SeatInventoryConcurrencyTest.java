@@ -0,0 +1,209 @@
+package com.example.eventmanagement.service.integration;
+
+import com.example.eventmanagement.dto.*;
+import com.example.eventmanagement.enums.BookingStatus;
+import com.example.eventmanagement.exception.BusinessValidationException;
+import com.example.eventmanagement.repository.EventRepository;
+import com.example.eventmanagement.repository.EventSeatInventoryRepository;
+import com.example.eventmanagement.service.ClientService;
+import com.example.eventmanagement.service.EventService;
+import com.example.eventmanagement.service.TicketReservationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:seatdb;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+class SeatInventoryConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS = 200;
+
+    @Autowired
+    private TicketReservationService ticketReservationService;
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EventSeatInventoryRepository seatInventoryRepository;
+
+    @Test
+    void createReservation_UnderConcurrentLoad_NeverOversells() throws Exception {
+        ClientDoneDto client = clientService.createClient(new ClientCreateWithDependenciesDto(
+                "Нагрузочный Клиент", "+79000000001", "load@mail.ru",
+                new PassportCreateDto("9001", "900001")
+        ));
+        EventDoneDto event = eventService.createEvent(new EventCreateDto(
+                "Горячий концерт", LocalDate.now().plusDays(20), 50,
+                BigDecimal.valueOf(1000), "Описание"
+        ));
+
+        AtomicInteger booked = new AtomicInteger();
+        AtomicInteger soldOut = new AtomicInteger();
+        List<Throwable> unexpected = runConcurrently(() -> {
+            try {
+                ticketReservationService.createReservation(new TicketReservationCreateDto(
+                        client.id(), event.id(), 1, BookingStatus.PENDING_CONFIRMATION
+                ));
+                booked.incrementAndGet();
+            } catch (BusinessValidationException e) {
+                soldOut.incrementAndGet();
+            }
+        });
+
+        assertTrue(unexpected.isEmpty(), () -> "Неожиданные ошибки: " + unexpected);
+        assertEquals(50, booked.get());
+        assertEquals(ATTEMPTS - 50, soldOut.get());
+        assertEquals(50, seatInventoryRepository.findById(event.id()).orElseThrow().getReservedSeats());
+        assertEquals(50L, eventRepository.countConfirmedOrPendingTicketsByEventId(event.id()));
+    }
+
+    @Test
+    void createReservation_ConcurrentFirstBookingsWithoutCounter_RebuildCounterOnce() throws Exception {
+        ClientDoneDto client = clientService.createClient(new ClientCreateWithDependenciesDto(
+                "Нагрузочный Клиент", "+79000000004", "load4@mail.ru",
+                new PassportCreateDto("9004", "900004")
+        ));
+        EventDoneDto event = eventService.createEvent(new EventCreateDto(
+                "Концерт без счетчика", LocalDate.now().plusDays(20), 50,
+                BigDecimal.valueOf(1000), "Описание"
+        ));
+        // как у мероприятия, созданного в обход EventService.createEvent
+        seatInventoryRepository.deleteById(event.id());
+
+        AtomicInteger booked = new AtomicInteger();
+        List<Throwable> unexpected = runConcurrently(() -> {
+            try {
+                ticketReservationService.createReservation(new TicketReservationCreateDto(
+                        client.id(), event.id(), 1, BookingStatus.PENDING_CONFIRMATION
+                ));
+                booked.incrementAndGet();
+            } catch (BusinessValidationException e) {
+                // мест нет - ожидаемый исход под нагрузкой
+            }
+        });
+
+        assertTrue(unexpected.isEmpty(), () -> "Неожиданные ошибки: " + unexpected);
+        assertEquals(50, booked.get());
+        assertEquals(50, seatInventoryRepository.findById(event.id()).orElseThrow().getReservedSeats());
+    }
+
+    @Test
+    void createAndCancelReservation_UnderConcurrentLoad_CounterMatchesReservations() throws Exception {
+        ClientDoneDto client = clientService.createClient(new ClientCreateWithDependenciesDto(
+                "Нагрузочный Клиент", "+79000000002", "load2@mail.ru",
+                new PassportCreateDto("9002", "900002")
+        ));
+        EventDoneDto event = eventService.createEvent(new EventCreateDto(
+                "Горячий спектакль", LocalDate.now().plusDays(20), 30,
+                BigDecimal.valueOf(500), "Описание"
+        ));
+
+        List<Throwable> unexpected = runConcurrently(() -> {
+            try {
+                TicketReservationDoneDto reservation = ticketReservationService.createReservation(new TicketReservationCreateDto(
+                        client.id(), event.id(), 2, BookingStatus.PENDING_CONFIRMATION
+                ));
+                if (reservation.id() % 2 == 0) {
+                    ticketReservationService.cancelReservation(reservation.id());
+                }
+            } catch (BusinessValidationException e) {
+                // мест нет - ожидаемый исход под нагрузкой
+            }
+        });
+
+        assertTrue(unexpected.isEmpty(), () -> "Неожиданные ошибки: " + unexpected);
+        int reserved = seatInventoryRepository.findById(event.id()).orElseThrow().getReservedSeats();
+        assertTrue(reserved <= 30);
+        assertEquals(reserved, eventRepository.countConfirmedOrPendingTicketsByEventId(event.id()).intValue());
+    }
+
+    @Test
+    void confirmAndCancelSameReservation_Concurrently_CancelAlwaysWinsOnce() throws Exception {
+        ClientDoneDto client = clientService.createClient(new ClientCreateWithDependenciesDto(
+                "Нагрузочный Клиент", "+79000000003", "load3@mail.ru",
+                new PassportCreateDto("9003", "900003")
+        ));
+        EventDoneDto event = eventService.createEvent(new EventCreateDto(
+                "Спорный концерт", LocalDate.now().plusDays(20), ATTEMPTS / 2,
+                BigDecimal.valueOf(500), "Описание"
+        ));
+        List<Long> reservationIds = new ArrayList<>();
+        for (int i = 0; i < ATTEMPTS / 2; i++) {
+            reservationIds.add(ticketReservationService.createReservation(new TicketReservationCreateDto(
+                    client.id(), event.id(), 1, BookingStatus.PENDING_CONFIRMATION
+            )).id());
+        }
+
+        // на каждую бронь одновременно приходят подтверждение и отмена: отмена проходит всегда (до или после
+        // подтверждения), подтверждение после отмены отклоняется, а места возвращаются ровно один раз
+        AtomicInteger next = new AtomicInteger();
+        List<Throwable> unexpected = runConcurrently(() -> {
+            int task = next.getAndIncrement();
+            Long reservationId = reservationIds.get(task / 2);
+            try {
+                if (task % 2 == 0) {
+                    ticketReservationService.confirmReservation(reservationId);
+                } else {
+                    ticketReservationService.cancelReservation(reservationId);
+                }
+            } catch (BusinessValidationException e) {
+                // подтверждение уже отмененной брони
+            }
+        });
+
+        assertTrue(unexpected.isEmpty(), () -> "Неожиданные ошибки: " + unexpected);
+        assertEquals(0, seatInventoryRepository.findById(event.id()).orElseThrow().getReservedSeats());
+        assertEquals(0L, eventRepository.countConfirmedOrPendingTicketsByEventId(event.id()));
+        EventStatisticsDto statistics = eventService.getEventStatistics(event.id());
+        assertEquals(0, statistics.confirmedTickets());
+        assertEquals(0, statistics.pendingTickets());
+    }
+
+    private List<Throwable> runConcurrently(Runnable task) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < ATTEMPTS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                task.run();
+                return null;
+            }));
+        }
+        start.countDown();
+        List<Throwable> errors = new ArrayList<>();
+        for (Future<?> future : futures) {
+            try {
+                future.get(60, TimeUnit.SECONDS);
+            } catch (ExecutionException e) {
+                errors.add(e.getCause());
+            } catch (TimeoutException e) {
+                errors.add(e);
+            }
+        }
+        executor.shutdownNow();
+        return errors;
+    }
+}
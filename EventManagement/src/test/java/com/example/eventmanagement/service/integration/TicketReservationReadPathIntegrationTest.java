@@ -0,0 +1,119 @@
+package com.example.eventmanagement.service.integration;
+
+import com.example.eventmanagement.dto.*;
+import com.example.eventmanagement.enums.BookingStatus;
+import com.example.eventmanagement.service.ClientService;
+import com.example.eventmanagement.service.EventService;
+import com.example.eventmanagement.service.TicketReservationService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class TicketReservationReadPathIntegrationTest {
+
+    @Autowired
+    private TicketReservationService ticketReservationService;
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Long eventId;
+    private final List<Long> reservationIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        EventDoneDto event = eventService.createEvent(new EventCreateDto(
+                "Концерт для чтения", LocalDate.now().plusDays(40), 500,
+                BigDecimal.valueOf(1000), "Описание"
+        ));
+        eventId = event.id();
+        for (int i = 0; i < 30; i++) {
+            ClientDoneDto client = clientService.createClient(new ClientCreateWithDependenciesDto(
+                    "Клиент Чтения " + i, String.format("+7922000%04d", i), "reader" + i + "@mail.ru",
+                    new PassportCreateDto("77" + String.format("%02d", i), String.format("77%04d", i))
+            ));
+            reservationIds.add(ticketReservationService.createReservation(new TicketReservationCreateDto(
+                    client.id(), eventId, 1, BookingStatus.PENDING_CONFIRMATION
+            )).id());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void getPage_CostsOneQueryRegardlessOfPageSize() {
+        CursorPage<TicketReservationDto> smallPage = ticketReservationService.getPage(null, 5, eventId, null, null);
+        long smallPageStatements = statistics.getPrepareStatementCount();
+
+        entityManager.clear();
+        statistics.clear();
+        CursorPage<TicketReservationDto> bigPage = ticketReservationService.getPage(null, 30, eventId, null, null);
+        long bigPageStatements = statistics.getPrepareStatementCount();
+
+        assertEquals(5, smallPage.items().size());
+        assertEquals(30, bigPage.items().size());
+        assertEquals(1, smallPageStatements);
+        assertEquals(1, bigPageStatements);
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertNotNull(bigPage.items().get(29).client().fullName());
+        assertNotNull(bigPage.items().get(29).event().name());
+    }
+
+    @Test
+    void getById_CostsOneQuery() {
+        TicketReservationDoneDto reservation = ticketReservationService.getById(reservationIds.get(0));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals("Клиент Чтения 0", reservation.client().fullName());
+        assertEquals("Концерт для чтения", reservation.event().name());
+    }
+
+    @Test
+    void clientAndEventReads_DoNotHydrateEntities() {
+        CursorPage<ClientDoneDto> clients = clientService.getPage(null, 30, null);
+        ClientDoneDto client = clientService.getById(clients.items().get(0).id());
+        List<ClientDoneDto> found = clientService.searchClients("Клиент Чтения", 0, 30);
+        CursorPage<EventDto> events = eventService.getVersionedPage(null, 20, null, null, null).page();
+        EventDoneDto event = eventService.getById(eventId);
+
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(6, statistics.getPrepareStatementCount());
+        assertNotNull(client.passport().series());
+        assertEquals(30, found.size());
+        assertFalse(events.items().isEmpty());
+        assertEquals("Концерт для чтения", event.name());
+    }
+}
@@ -7,8 +7,10 @@ import com.example.eventmanagement.enums.EventStatus;
 import com.example.eventmanagement.repository.ClientRepository;
 import com.example.eventmanagement.repository.EventRepository;
 import com.example.eventmanagement.repository.TicketReservationRepository;
+import com.example.eventmanagement.service.CanceledReservationCleanup;
 import com.example.eventmanagement.service.ClientService;
 import com.example.eventmanagement.service.EventService;
+import com.example.eventmanagement.service.EventStatsService;
 import com.example.eventmanagement.service.TicketReservationService;
 import com.example.eventmanagement.util.testutils.TestDataHelper;
 import org.junit.jupiter.api.Test;
@@ -33,12 +35,18 @@ class TicketReservationServiceIntegrationTest {
     @Autowired
     private TicketReservationService ticketReservationService;
 
+    @Autowired
+    private CanceledReservationCleanup canceledReservationCleanup;
+
     @Autowired
     private ClientService clientService;
 
     @Autowired
     private EventService eventService;
 
+    @Autowired
+    private EventStatsService eventStatsService;
+
     @Autowired
     private TicketReservationRepository ticketReservationRepository;
 
@@ -74,7 +82,7 @@ class TicketReservationServiceIntegrationTest {
 
         assertTrue(savedReservation.getUpdatedAt().isBefore(LocalDateTime.now().minusMonths(1)));
 
-        int deletedCount = ticketReservationService.cleanupOldCanceledReservations();
+        int deletedCount = canceledReservationCleanup.cleanupOldCanceledReservations();
 
         assertEquals(1, deletedCount);
         assertFalse(ticketReservationRepository.findById(savedReservation.getId()).isPresent());
@@ -101,7 +109,7 @@ class TicketReservationServiceIntegrationTest {
 
         ticketReservationService.cancelReservation(reservation.id());
 
-        int deletedCount = ticketReservationService.cleanupOldCanceledReservations();
+        int deletedCount = canceledReservationCleanup.cleanupOldCanceledReservations();
 
         assertEquals(0, deletedCount);
         assertTrue(ticketReservationRepository.findById(reservation.id()).isPresent());
@@ -142,7 +150,7 @@ class TicketReservationServiceIntegrationTest {
         TicketReservationDoneDto confirmedReservation = ticketReservationService.createReservation(reservation3Dto);
         ticketReservationService.confirmReservation(confirmedReservation.id());
 
-        int deletedCount = ticketReservationService.cleanupOldCanceledReservations();
+        int deletedCount = canceledReservationCleanup.cleanupOldCanceledReservations();
 
         assertEquals(1, deletedCount);
         assertFalse(ticketReservationRepository.findById(savedOldCanceled.getId()).isPresent());
@@ -173,7 +181,7 @@ class TicketReservationServiceIntegrationTest {
         );
         TicketReservation savedPending = ticketReservationRepository.save(pendingReservation);
 
-        int deletedCount = ticketReservationService.cleanupOldCanceledReservations();
+        int deletedCount = canceledReservationCleanup.cleanupOldCanceledReservations();
 
         assertEquals(0, deletedCount);
         assertTrue(ticketReservationRepository.findById(savedPending.getId()).isPresent());
@@ -202,7 +210,7 @@ class TicketReservationServiceIntegrationTest {
         );
         TicketReservation savedConfirmed = ticketReservationRepository.save(confirmedReservation);
 
-        int deletedCount = ticketReservationService.cleanupOldCanceledReservations();
+        int deletedCount = canceledReservationCleanup.cleanupOldCanceledReservations();
 
         assertEquals(0, deletedCount);
         assertTrue(ticketReservationRepository.findById(savedConfirmed.getId()).isPresent());
@@ -231,7 +239,7 @@ class TicketReservationServiceIntegrationTest {
         );
         TicketReservation savedBoundary = ticketReservationRepository.save(boundaryReservation);
 
-        int deletedCount = ticketReservationService.cleanupOldCanceledReservations();
+        int deletedCount = canceledReservationCleanup.cleanupOldCanceledReservations();
 
         assertEquals(0, deletedCount);
         assertTrue(ticketReservationRepository.findById(savedBoundary.getId()).isPresent());
@@ -260,7 +268,7 @@ class TicketReservationServiceIntegrationTest {
         );
         TicketReservation savedOld = ticketReservationRepository.save(oldReservation);
 
-        int deletedCount = ticketReservationService.cleanupOldCanceledReservations();
+        int deletedCount = canceledReservationCleanup.cleanupOldCanceledReservations();
 
         assertEquals(1, deletedCount);
         assertFalse(ticketReservationRepository.findById(savedOld.getId()).isPresent());
@@ -316,4 +324,33 @@ class TicketReservationServiceIntegrationTest {
 
         assertTrue(ticketReservationRepository.findById(reservation.id()).isPresent());
     }
-}
\ No newline at end of file
+
+    @Test
+    void deleteOldCanceledChunk_DeletesAtMostChunkSizeAndUpdatesStats() {
+        ClientDoneDto clientDone = clientService.createClient(new ClientCreateWithDependenciesDto(
+                "Порционный Клиент", "+79123456790", "chunk@mail.ru",
+                new PassportCreateDto("1250", "567900")
+        ));
+        EventDoneDto eventDone = eventService.createEvent(new EventCreateDto(
+                "Порционная выставка", LocalDate.now().plusDays(40), 100,
+                BigDecimal.valueOf(500), "Описание"
+        ));
+        var client = clientRepository.findById(clientDone.id()).orElseThrow();
+        var event = eventRepository.findById(eventDone.id()).orElseThrow();
+        for (int i = 0; i < 5; i++) {
+            ticketReservationRepository.save(TestDataHelper.createOldCanceledReservation(
+                    client, event, LocalDateTime.now().minusMonths(2).plusMinutes(i)
+            ));
+        }
+        eventStatsService.rebuild(eventDone.id());
+        LocalDateTime monthAgo = LocalDateTime.now().minusMonths(1);
+
+        assertEquals(2, ticketReservationService.deleteOldCanceledChunk(monthAgo, 2));
+        assertEquals(2, ticketReservationService.deleteOldCanceledChunk(monthAgo, 2));
+        assertEquals(1, ticketReservationService.deleteOldCanceledChunk(monthAgo, 2));
+        assertEquals(0, ticketReservationService.deleteOldCanceledChunk(monthAgo, 2));
+
+        assertTrue(ticketReservationRepository.findByEventId(eventDone.id()).isEmpty());
+        assertEquals(0, eventService.getEventStatistics(eventDone.id()).canceledReservations());
+    }
+}
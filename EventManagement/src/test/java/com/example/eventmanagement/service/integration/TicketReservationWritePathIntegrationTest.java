@@ -0,0 +1,130 @@
+package com.example.eventmanagement.service.integration;
+
+import com.example.eventmanagement.dto.*;
+import com.example.eventmanagement.enums.BookingStatus;
+import com.example.eventmanagement.service.ClientService;
+import com.example.eventmanagement.service.EventService;
+import com.example.eventmanagement.service.TicketReservationService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class TicketReservationWritePathIntegrationTest {
+
+    @Autowired
+    private TicketReservationService ticketReservationService;
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void createReservation_DoesNotLoadExistingReservations() {
+        ClientDoneDto client = clientService.createClient(new ClientCreateWithDependenciesDto(
+                "Постоянный Клиент", "+79111111111", "regular@mail.ru",
+                new PassportCreateDto("5555", "555555")
+        ));
+        EventDoneDto event = eventService.createEvent(new EventCreateDto(
+                "Большой фестиваль", LocalDate.now().plusDays(30), 1000,
+                BigDecimal.valueOf(1000), "Описание"
+        ));
+        for (int i = 0; i < 100; i++) {
+            ticketReservationService.createReservation(new TicketReservationCreateDto(
+                    client.id(), event.id(), 1, BookingStatus.PENDING_CONFIRMATION
+            ));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        ticketReservationService.createReservation(new TicketReservationCreateDto(
+                client.id(), event.id(), 1, BookingStatus.PENDING_CONFIRMATION
+        ));
+        entityManager.flush();
+
+        // клиент (с паспортом), мероприятие, условный UPDATE счетчика мест, INSERT брони и UPDATE event_stats;
+        // плюс изредка обращение к ticket_reservations_seq, когда заканчивается выданный блок из 50 id
+        assertEquals(0, statistics.getCollectionFetchCount());
+        assertEquals(0, statistics.getCollectionLoadCount());
+        assertTrue(statistics.getEntityLoadCount() <= 3,
+                () -> "Загружено сущностей: " + statistics.getEntityLoadCount());
+        assertTrue(statistics.getPrepareStatementCount() <= 7,
+                () -> "Выполнено SQL-запросов: " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void createReservations_UsesHandfulOfStatementsForWholeBatch() {
+        List<Long> clientIds = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            clientIds.add(clientService.createClient(new ClientCreateWithDependenciesDto(
+                    "Участник Группы " + i, String.format("+7922%07d", i), "group" + i + "@mail.ru",
+                    new PassportCreateDto("6666", String.format("%06d", i))
+            )).id());
+        }
+        EventDoneDto roomy = eventService.createEvent(new EventCreateDto(
+                "Корпоратив", LocalDate.now().plusDays(30), 1000, BigDecimal.valueOf(1000), "Описание"
+        ));
+        EventDoneDto small = eventService.createEvent(new EventCreateDto(
+                "Камерный вечер", LocalDate.now().plusDays(30), 5, BigDecimal.valueOf(1000), "Описание"
+        ));
+        List<TicketReservationCreateDto> dtos = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            dtos.add(new TicketReservationCreateDto(clientIds.get(i % clientIds.size()), roomy.id(), 1,
+                    i % 2 == 0 ? BookingStatus.CONFIRMED : BookingStatus.PENDING_CONFIRMATION));
+        }
+        // на камерный вечер пакет просит 6 мест из 5 - отклоняются все его позиции, а не только последняя
+        for (int i = 0; i < 3; i++) {
+            dtos.add(new TicketReservationCreateDto(clientIds.get(i), small.id(), 2, BookingStatus.PENDING_CONFIRMATION));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        TicketReservationBatchResultDto result = ticketReservationService.createReservations(dtos);
+        entityManager.flush();
+
+        assertEquals(100, result.created());
+        assertEquals(3, result.rejected());
+        assertEquals("SOLD_OUT", result.items().get(102).error());
+        // клиенты и мероприятия по IN, по UPDATE счетчика мест на мероприятие, UPDATE event_stats,
+        // две пачки INSERT и обращения к последовательности - вместо сотен запросов по одной брони
+        assertTrue(statistics.getPrepareStatementCount() <= 15,
+                () -> "Выполнено SQL-запросов: " + statistics.getPrepareStatementCount());
+        assertEquals(100, statistics.getEntityInsertCount());
+
+        EventStatisticsDto roomyStats = eventService.getEventStatistics(roomy.id());
+        assertEquals(50, roomyStats.confirmedTickets());
+        assertEquals(50, roomyStats.pendingTickets());
+        assertEquals(0, eventService.getEventStatistics(small.id()).pendingTickets());
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.eventmanagement.service.integration;
+
+import com.example.eventmanagement.dto.*;
+import com.example.eventmanagement.enums.BookingStatus;
+import com.example.eventmanagement.exception.DuplicateEntityException;
+import com.example.eventmanagement.exception.EntityNotFoundException;
+import com.example.eventmanagement.repository.EventSeatInventoryRepository;
+import com.example.eventmanagement.repository.WaitlistEntryRepository;
+import com.example.eventmanagement.service.ClientService;
+import com.example.eventmanagement.service.EventService;
+import com.example.eventmanagement.service.TicketReservationService;
+import com.example.eventmanagement.service.WaitlistService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:waitlistdb;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+        "waitlist.promotion-interval=0"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+class WaitlistIntegrationTest {
+
+    @Autowired
+    private WaitlistService waitlistService;
+
+    @Autowired
+    private TicketReservationService ticketReservationService;
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private WaitlistEntryRepository waitlistEntryRepository;
+
+    @Autowired
+    private EventSeatInventoryRepository seatInventoryRepository;
+
+    private ClientDoneDto first;
+    private ClientDoneDto second;
+    private ClientDoneDto third;
+    private EventDoneDto event;
+
+    @BeforeEach
+    void setUp() {
+        first = createClient("Первый Клиент", "+79000000081", "first@mail.ru", "8001");
+        second = createClient("Второй Клиент", "+79000000082", "second@mail.ru", "8002");
+        third = createClient("Третий Клиент", "+79000000083", "third@mail.ru", "8003");
+        event = eventService.createEvent(new EventCreateDto(
+                "Камерный концерт", LocalDate.now().plusDays(20), 3,
+                BigDecimal.valueOf(1000), "Описание"
+        ));
+    }
+
+    @Test
+    void cancelReservation_PromotesWaitlistInOrder() throws Exception {
+        TicketReservationDoneDto reservation = ticketReservationService.createReservation(new TicketReservationCreateDto(
+                first.id(), event.id(), 3, BookingStatus.CONFIRMED
+        ));
+        WaitlistEntryDto secondEntry = waitlistService.join(event.id(), new WaitlistEntryCreateDto(second.id(), 2));
+        WaitlistEntryDto thirdEntry = waitlistService.join(event.id(), new WaitlistEntryCreateDto(third.id(), 2));
+        assertEquals(1, secondEntry.position());
+        assertEquals(2, thirdEntry.position());
+        assertThrows(DuplicateEntityException.class,
+                () -> waitlistService.join(event.id(), new WaitlistEntryCreateDto(second.id(), 1)));
+
+        ticketReservationService.cancelReservation(reservation.id());
+
+        awaitWaitlistSize(1);
+        List<TicketReservationDto> promoted = reservationsOf(second.id());
+        assertEquals(1, promoted.size());
+        assertEquals(BookingStatus.PENDING_CONFIRMATION, promoted.get(0).bookingStatus());
+        assertEquals(2, promoted.get(0).numberOfTickets());
+        // третьему клиенту остался один билет из двух - он ждет дальше, теперь первым
+        assertTrue(reservationsOf(third.id()).isEmpty());
+        assertEquals(1, waitlistService.getEntry(event.id(), thirdEntry.id()).position());
+        assertThrows(EntityNotFoundException.class, () -> waitlistService.getEntry(event.id(), secondEntry.id()));
+        assertEquals(2, seatInventoryRepository.findById(event.id()).orElseThrow().getReservedSeats());
+        assertEquals(2, eventService.getEventStatistics(event.id()).pendingTickets());
+    }
+
+    @Test
+    void join_WhenSeatsAvailable_IsPromotedRightAway() throws Exception {
+        waitlistService.join(event.id(), new WaitlistEntryCreateDto(second.id(), 2));
+
+        awaitWaitlistSize(0);
+        assertEquals(1, reservationsOf(second.id()).size());
+    }
+
+    @Test
+    void leave_RemovesEntry() {
+        ticketReservationService.createReservation(new TicketReservationCreateDto(
+                first.id(), event.id(), 3, BookingStatus.CONFIRMED
+        ));
+        WaitlistEntryDto entry = waitlistService.join(event.id(), new WaitlistEntryCreateDto(second.id(), 1));
+
+        waitlistService.leave(event.id(), entry.id());
+
+        assertEquals(0, waitlistEntryRepository.count());
+        assertThrows(EntityNotFoundException.class, () -> waitlistService.leave(event.id(), entry.id()));
+    }
+
+    private ClientDoneDto createClient(String name, String phone, String email, String passportSeries) {
+        return clientService.createClient(new ClientCreateWithDependenciesDto(
+                name, phone, email, new PassportCreateDto(passportSeries, "800800")
+        ));
+    }
+
+    private List<TicketReservationDto> reservationsOf(Long clientId) {
+        return ticketReservationService.getPage(null, 100, event.id(), clientId, null).items();
+    }
+
+    private void awaitWaitlistSize(long size) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (waitlistEntryRepository.count() != size) {
+            assertTrue(System.currentTimeMillis() < deadline, "Очередь не продвинулась до размера " + size);
+            Thread.sleep(100);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.eventmanagement.service.unit;
+
+import com.example.eventmanagement.dto.CleanupResponse;
+import com.example.eventmanagement.service.CanceledReservationCleanup;
+import com.example.eventmanagement.service.MaintenanceRunner;
+import com.example.eventmanagement.service.TicketReservationService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.SyncTaskExecutor;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.function.IntSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CanceledReservationCleanupUnitTest {
+
+    @Mock
+    private TicketReservationService ticketReservationService;
+
+    @Mock
+    private MaintenanceRunner maintenanceRunner;
+
+    @Test
+    void cleanupOldCanceledReservations_DeletesChunksUntilPartialChunk() {
+        CanceledReservationCleanup cleanup = new CanceledReservationCleanup(ticketReservationService, maintenanceRunner, 2, Duration.ofSeconds(30), new SimpleAsyncTaskExecutor());
+        when(ticketReservationService.deleteOldCanceledChunk(any(LocalDateTime.class), eq(2))).thenReturn(2, 2, 1);
+
+        int deletedCount = cleanup.cleanupOldCanceledReservations();
+
+        assertEquals(5, deletedCount);
+        verify(ticketReservationService, times(3)).deleteOldCanceledChunk(any(LocalDateTime.class), eq(2));
+        CleanupResponse status = cleanup.status();
+        assertFalse(status.running());
+        assertEquals(3, status.chunks());
+        assertNotNull(status.finishedAt());
+    }
+
+    @Test
+    void cleanupOldCanceledReservations_WhenTimeBudgetExhausted_StopsAfterCurrentChunk() {
+        CanceledReservationCleanup cleanup = new CanceledReservationCleanup(ticketReservationService, maintenanceRunner, 2, Duration.ZERO, new SimpleAsyncTaskExecutor());
+        when(ticketReservationService.deleteOldCanceledChunk(any(LocalDateTime.class), eq(2))).thenReturn(2);
+
+        int deletedCount = cleanup.cleanupOldCanceledReservations();
+
+        assertEquals(2, deletedCount);
+        verify(ticketReservationService, times(1)).deleteOldCanceledChunk(any(LocalDateTime.class), eq(2));
+        assertTrue(cleanup.status().message().contains("следующем запуске"));
+    }
+
+    @Test
+    void cleanupOldCanceledReservations_WhenNothingToDelete_ReturnsZero() {
+        CanceledReservationCleanup cleanup = new CanceledReservationCleanup(ticketReservationService, maintenanceRunner, 2, Duration.ofSeconds(30), new SimpleAsyncTaskExecutor());
+        when(ticketReservationService.deleteOldCanceledChunk(any(LocalDateTime.class), eq(2))).thenReturn(0);
+
+        assertEquals(0, cleanup.cleanupOldCanceledReservations());
+        assertEquals("Нет старых отмененных бронирований для очистки", cleanup.status().message());
+    }
+
+    @Test
+    void start_ReturnsBeforeLeaseIsAcquired() {
+        CanceledReservationCleanup cleanup = new CanceledReservationCleanup(ticketReservationService, maintenanceRunner, 2, Duration.ofSeconds(30), task -> {
+        });
+
+        CleanupResponse response = cleanup.start();
+
+        assertTrue(response.running());
+        assertEquals("Очистка поставлена в очередь", response.message());
+        assertSame(response, cleanup.start());
+        verifyNoInteractions(maintenanceRunner, ticketReservationService);
+    }
+
+    @Test
+    void start_WhenLeaseHeldByAnotherInstance_ReportsItInStatus() {
+        CanceledReservationCleanup cleanup = new CanceledReservationCleanup(ticketReservationService, maintenanceRunner, 2, Duration.ofSeconds(30), new SyncTaskExecutor());
+        when(maintenanceRunner.run(eq(CanceledReservationCleanup.JOB_NAME), any())).thenReturn(false);
+
+        CleanupResponse response = cleanup.start();
+
+        assertEquals("Очистка поставлена в очередь", response.message());
+        CleanupResponse status = cleanup.status();
+        assertFalse(status.running());
+        assertEquals("Очистка уже выполняется другим экземпляром", status.message());
+        assertNotNull(status.finishedAt());
+        verifyNoInteractions(ticketReservationService);
+    }
+
+    @Test
+    void start_WhenLeaseAcquired_RunsCleanupUnderLease() {
+        CanceledReservationCleanup cleanup = new CanceledReservationCleanup(ticketReservationService, maintenanceRunner, 2, Duration.ofSeconds(30), new SyncTaskExecutor());
+        when(maintenanceRunner.run(eq(CanceledReservationCleanup.JOB_NAME), any())).thenAnswer(invocation -> {
+            IntSupplier task = invocation.getArgument(1);
+            task.getAsInt();
+            return true;
+        });
+        when(ticketReservationService.deleteOldCanceledChunk(any(LocalDateTime.class), eq(2))).thenReturn(1);
+
+        cleanup.start();
+
+        verify(ticketReservationService).deleteOldCanceledChunk(any(LocalDateTime.class), eq(2));
+        assertFalse(cleanup.status().running());
+        assertEquals(1, cleanup.status().deletedCount());
+    }
+}
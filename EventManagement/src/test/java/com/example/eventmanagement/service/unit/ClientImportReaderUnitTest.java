@@ -0,0 +1,87 @@
+package com.example.eventmanagement.service.unit;
+
+import com.example.eventmanagement.exception.BusinessValidationException;
+import com.example.eventmanagement.service.ClientImportReader;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClientImportReaderUnitTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void next_Csv_MapsColumnsByHeaderAndHandlesQuotes() throws IOException {
+        ClientImportReader reader = reader(ClientImportReader.Format.CSV,
+                "\uFEFFpassportSeries,passportNumber,fullName,phoneNumber,email\n" +
+                "1234,567890,\"Иванов, Иван \"\"Младший\"\"\",+79123456789,\n" +
+                "\n" +
+                "4321,098765,Петров Петр,+79123456780,petr@mail.ru\n");
+
+        ClientImportReader.Row first = reader.next();
+        assertEquals(2, first.line());
+        assertNull(first.error());
+        assertEquals("Иванов, Иван \"Младший\"", first.client().fullName());
+        assertEquals("+79123456789", first.client().phoneNumber());
+        assertNull(first.client().email());
+        assertEquals("1234", first.client().passport().series());
+
+        ClientImportReader.Row second = reader.next();
+        assertEquals(4, second.line());
+        assertEquals("petr@mail.ru", second.client().email());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void next_CsvWithUnclosedQuote_ReturnsRowError() throws IOException {
+        ClientImportReader reader = reader(ClientImportReader.Format.CSV,
+                "fullName,phoneNumber,passportSeries,passportNumber\n" +
+                "\"Иванов Иван,+79123456789,1234,567890\n");
+
+        ClientImportReader.Row row = reader.next();
+
+        assertNull(row.client());
+        assertTrue(row.error().contains("CSV"));
+    }
+
+    @Test
+    void next_CsvWithoutRequiredColumn_ThrowsException() {
+        ClientImportReader reader = reader(ClientImportReader.Format.CSV,
+                "fullName,phoneNumber,passportSeries\nИванов Иван,+79123456789,1234\n");
+
+        BusinessValidationException exception = assertThrows(BusinessValidationException.class, reader::next);
+        assertTrue(exception.getMessage().contains("passportNumber"));
+    }
+
+    @Test
+    void next_Ndjson_ParsesEachLineAndReportsBrokenJson() throws IOException {
+        ClientImportReader reader = reader(ClientImportReader.Format.NDJSON,
+                "{\"fullName\":\"Иванов Иван\",\"phoneNumber\":\"+79123456789\",\"passport\":{\"series\":\"1234\",\"number\":\"567890\"}}\n" +
+                "{\"fullName\":\n");
+
+        ClientImportReader.Row first = reader.next();
+        assertEquals("567890", first.client().passport().number());
+
+        ClientImportReader.Row second = reader.next();
+        assertEquals(2, second.line());
+        assertNull(second.client());
+        assertTrue(second.error().startsWith("Некорректный JSON"));
+        assertNull(reader.next());
+    }
+
+    @Test
+    void fromContentType_WithUnsupportedType_ThrowsException() {
+        assertEquals(ClientImportReader.Format.CSV, ClientImportReader.Format.fromContentType("text/csv; charset=UTF-8"));
+        assertEquals(ClientImportReader.Format.NDJSON, ClientImportReader.Format.fromContentType("application/x-ndjson"));
+        assertThrows(BusinessValidationException.class, () -> ClientImportReader.Format.fromContentType("application/json"));
+    }
+
+    private ClientImportReader reader(ClientImportReader.Format format, String content) {
+        return new ClientImportReader(new BufferedReader(new StringReader(content)), format, objectMapper);
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.eventmanagement.service.unit;
+
+import com.example.eventmanagement.dto.ClientImportResponse;
+import com.example.eventmanagement.exception.BusinessValidationException;
+import com.example.eventmanagement.exception.EntityNotFoundException;
+import com.example.eventmanagement.exception.ServiceUnavailableException;
+import com.example.eventmanagement.service.ClientImportReader;
+import com.example.eventmanagement.service.ClientImporter;
+import com.example.eventmanagement.service.ClientService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ClientImporterUnitTest {
+
+    private static final String HEADER = "fullName,phoneNumber,email,passportSeries,passportNumber\n";
+
+    @Mock
+    private ClientService clientService;
+
+    @Mock
+    private Validator validator;
+
+    @TempDir
+    private Path workDir;
+
+    @Test
+    void start_WhenChunkHitsConcurrentDuplicate_RetriesRowByRow() throws Exception {
+        ClientImporter importer = importer(new SyncTaskExecutor(), DataSize.ofMegabytes(1), 4);
+        when(clientService.importChunk(anyList())).thenAnswer(invocation -> {
+            List<ClientImportReader.Row> rows = invocation.getArgument(0);
+            if (rows.size() > 1 || rows.get(0).line() == 3) {
+                throw new DataIntegrityViolationException("uk_clients_phone");
+            }
+            return Map.of();
+        });
+
+        ClientImportResponse started = importer.start(csv(
+                "Импортов Первый,+79300000001,,7000,000001\n" +
+                "Импортов Второй,+79300000002,,7000,000002\n"), ClientImportReader.Format.CSV);
+
+        ClientImportResponse finished = importer.status(started.id());
+        assertEquals(1, finished.imported());
+        assertEquals(1, finished.rejected());
+        verify(clientService, times(3)).importChunk(anyList());
+        List<String> report = Files.readAllLines(importer.errorReport(started.id()), StandardCharsets.UTF_8);
+        assertEquals(2, report.size());
+        assertTrue(report.get(1).startsWith("3,"));
+    }
+
+    @Test
+    void start_WhenFileTooLarge_RejectsAndDeletesUpload() throws Exception {
+        ClientImporter importer = importer(new SyncTaskExecutor(), DataSize.ofBytes(100), 4);
+
+        assertThrows(BusinessValidationException.class,
+                () -> importer.start(csv("Импортов Первый,+79300000001,,7000,000001\n".repeat(5)), ClientImportReader.Format.CSV));
+
+        verifyNoInteractions(clientService);
+        try (Stream<Path> files = Files.list(workDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void start_WhenQueueFull_ThrowsServiceUnavailable() {
+        ClientImporter importer = importer(task -> {
+        }, DataSize.ofMegabytes(1), 1);
+        ClientImportResponse queued = importer.start(csv(""), ClientImportReader.Format.CSV);
+
+        assertThrows(ServiceUnavailableException.class, () -> importer.start(csv(""), ClientImportReader.Format.CSV));
+
+        assertTrue(importer.status(queued.id()).running());
+    }
+
+    @Test
+    void start_EvictsOldestFinishedImports() {
+        ClientImporter importer = importer(new SyncTaskExecutor(), DataSize.ofMegabytes(1), 1);
+        ClientImportResponse first = importer.start(csv(""), ClientImportReader.Format.CSV);
+        ClientImportResponse second = importer.start(csv(""), ClientImportReader.Format.CSV);
+        for (int i = 0; i < 21; i++) {
+            importer.start(csv(""), ClientImportReader.Format.CSV);
+        }
+
+        assertThrows(EntityNotFoundException.class, () -> importer.status(first.id()));
+        assertThrows(EntityNotFoundException.class, () -> importer.status(second.id()));
+    }
+
+    private ClientImporter importer(TaskExecutor taskExecutor, DataSize maxFileSize, int maxQueued) {
+        return new ClientImporter(clientService, validator, new ObjectMapper(), taskExecutor, 2, workDir, maxFileSize, maxQueued);
+    }
+
+    private static InputStream csv(String rows) {
+        return new ByteArrayInputStream((HEADER + rows).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -12,19 +12,25 @@ import com.example.eventmanagement.mapper.ClientMapper;
 import com.example.eventmanagement.repository.ClientRepository;
 import com.example.eventmanagement.repository.PassportRepository;
 import com.example.eventmanagement.repository.TicketReservationRepository;
+import com.example.eventmanagement.service.ClientImportReader;
 import com.example.eventmanagement.service.ClientService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -37,6 +43,9 @@ class ClientServiceUnitTest {
     @Mock
     private PassportRepository passportRepository;
 
+    @Captor
+    private ArgumentCaptor<List<Client>> clientsCaptor;
+
     @Mock
     private TicketReservationRepository ticketReservationRepository;
 
@@ -97,6 +106,95 @@ class ClientServiceUnitTest {
         verify(clientRepository, never()).save(any(Client.class));
     }
 
+    @Test
+    void createClients_ChecksWholeBatchWithInQueries() {
+        List<ClientCreateWithDependenciesDto> dtos = List.of(
+                new ClientCreateWithDependenciesDto("Иван Иванов", "+79123456789", "ivan@mail.ru", new PassportCreateDto("1234", "567890")),
+                new ClientCreateWithDependenciesDto("Петр Петров", "+79123456780", "petr@mail.ru", new PassportCreateDto("4321", "098765"))
+        );
+        when(clientRepository.findExistingPhoneNumbers(any())).thenReturn(List.of());
+        // серия и номер совпадают с разными паспортами пакета, но не с одним и тем же
+        when(passportRepository.findBySeriesInAndNumberIn(any(), any())).thenReturn(List.of(new Passport("1234", "098765")));
+        when(clientRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<ClientDoneDto> result = clientService.createClients(dtos);
+
+        assertEquals(2, result.size());
+        verify(clientRepository).saveAll(anyList());
+        verify(clientRepository, never()).existsByPhoneNumber(anyString());
+        verify(passportRepository, never()).existsBySeriesAndNumber(anyString(), anyString());
+    }
+
+    @Test
+    void createClients_ExistingPassport_ThrowsException() {
+        List<ClientCreateWithDependenciesDto> dtos = List.of(
+                new ClientCreateWithDependenciesDto("Иван Иванов", "+79123456789", "ivan@mail.ru", new PassportCreateDto("1234", "567890"))
+        );
+        when(clientRepository.findExistingPhoneNumbers(any())).thenReturn(List.of());
+        when(passportRepository.findBySeriesInAndNumberIn(any(), any())).thenReturn(List.of(new Passport("1234", "567890")));
+
+        assertThrows(DuplicateEntityException.class, () -> clientService.createClients(dtos));
+        verify(clientRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void createClients_DuplicatePhoneInsideBatch_ThrowsException() {
+        List<ClientCreateWithDependenciesDto> dtos = List.of(
+                new ClientCreateWithDependenciesDto("Иван Иванов", "+79123456789", "ivan@mail.ru", new PassportCreateDto("1234", "567890")),
+                new ClientCreateWithDependenciesDto("Петр Петров", "+79123456789", "petr@mail.ru", new PassportCreateDto("4321", "098765"))
+        );
+
+        assertThrows(DuplicateEntityException.class, () -> clientService.createClients(dtos));
+        verifyNoInteractions(clientRepository, passportRepository);
+    }
+
+    @Test
+    void createClients_DuplicateEmailInsideBatch_ReportsIndex() {
+        List<ClientCreateWithDependenciesDto> dtos = List.of(
+                new ClientCreateWithDependenciesDto("Иван Иванов", "+79123456789", "ivan@mail.ru", new PassportCreateDto("1234", "567890")),
+                new ClientCreateWithDependenciesDto("Петр Петров", "+79123456780", "ivan@mail.ru", new PassportCreateDto("4321", "098765"))
+        );
+
+        DuplicateEntityException exception = assertThrows(DuplicateEntityException.class, () -> clientService.createClients(dtos));
+        assertTrue(exception.getMessage().contains("элемент 1"));
+        verifyNoInteractions(clientRepository, passportRepository);
+    }
+
+    @Test
+    void createClients_ExistingEmail_ReportsIndex() {
+        List<ClientCreateWithDependenciesDto> dtos = List.of(
+                new ClientCreateWithDependenciesDto("Иван Иванов", "+79123456789", "ivan@mail.ru", new PassportCreateDto("1234", "567890")),
+                new ClientCreateWithDependenciesDto("Петр Петров", "+79123456780", "petr@mail.ru", new PassportCreateDto("4321", "098765"))
+        );
+        when(clientRepository.findExistingPhoneNumbers(any())).thenReturn(List.of());
+        when(clientRepository.findExistingEmails(any())).thenReturn(List.of("petr@mail.ru"));
+
+        DuplicateEntityException exception = assertThrows(DuplicateEntityException.class, () -> clientService.createClients(dtos));
+        assertEquals("Клиент c таким email petr@mail.ru уже существует (элемент 1)", exception.getMessage());
+        verify(clientRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void importChunk_RejectsDuplicateRowsAndSavesOthers() {
+        List<ClientImportReader.Row> rows = List.of(
+                new ClientImportReader.Row(2, new ClientCreateWithDependenciesDto("Иван Иванов", "+79123456789", "ivan@mail.ru", new PassportCreateDto("1234", "567890")), null),
+                new ClientImportReader.Row(3, new ClientCreateWithDependenciesDto("Петр Петров", "+79123456780", null, new PassportCreateDto("4321", "098765")), null),
+                new ClientImportReader.Row(4, new ClientCreateWithDependenciesDto("Анна Сидорова", "+79123456781", "ivan@mail.ru", new PassportCreateDto("5555", "555555")), null),
+                new ClientImportReader.Row(5, new ClientCreateWithDependenciesDto("Олег Смирнов", "+79123456782", null, new PassportCreateDto("4321", "098765")), null)
+        );
+        when(clientRepository.findExistingPhoneNumbers(any())).thenReturn(List.of());
+        when(clientRepository.findExistingEmails(any())).thenReturn(List.of());
+        when(passportRepository.findBySeriesInAndNumberIn(any(), any())).thenReturn(List.of(new Passport("4321", "098765")));
+
+        Map<Long, String> rejected = clientService.importChunk(rows);
+
+        assertEquals(List.of(3L, 4L, 5L), List.copyOf(rejected.keySet()));
+        assertTrue(rejected.get(4L).contains("ivan@mail.ru"));
+        verify(clientRepository).saveAll(clientsCaptor.capture());
+        assertEquals("+79123456789", clientsCaptor.getValue().get(0).getPhoneNumber());
+        assertEquals(1, clientsCaptor.getValue().size());
+    }
+
     @Test
     void deleteClient_Success() {
         Client client = new Client("Иван Иванов", "+79123456789", "ivan@mail.ru",
@@ -200,20 +298,63 @@ class ClientServiceUnitTest {
 
     @Test
     void searchClients_Success() {
-        List<Client> clients = List.of(new Client("Иван Иванов", "+79123456789", "ivan@mail.ru",
-                new Passport("1234", "567890")));
+        List<ClientView> clients = List.of(new ClientView(1L, "Иван Иванов", "+79123456789", "ivan@mail.ru",
+                "1234", "567890", LocalDateTime.now().minusDays(1), LocalDateTime.now()));
         PassportCreateDto passportDto1 = new PassportCreateDto("1234", "567890");
         List<ClientDoneDto> expectedDtos = List.of(new ClientDoneDto(1L, "Иван Иванов", "+79123456789", "ivan@mail.ru", passportDto1,
                 LocalDateTime.now().minusDays(1),
                 LocalDateTime.now()));
 
-        when(clientRepository.searchClients("Иван")).thenReturn(clients);
-        when(clientMapper.toClientDoneDtoList(clients)).thenReturn(expectedDtos);
+        when(clientRepository.searchByNameOrEmail("иван", PageRequest.of(0, 20))).thenReturn(clients);
+        when(clientMapper.fromViews(clients)).thenReturn(expectedDtos);
 
-        List<ClientDoneDto> result = clientService.searchClients("Иван");
+        List<ClientDoneDto> result = clientService.searchClients(" Иван ", 0, 20);
 
         assertNotNull(result);
         assertEquals(1, result.size());
-        verify(clientRepository).searchClients("Иван");
+        verify(clientRepository).searchByNameOrEmail("иван", PageRequest.of(0, 20));
+        verify(clientRepository, never()).searchClients(any());
+    }
+
+    @Test
+    void searchClients_EscapesLikeWildcards() {
+        clientService.searchClients("50%_off!", 1, 10);
+
+        verify(clientRepository).searchByNameOrEmail("50!%!_off!!", PageRequest.of(1, 10));
+    }
+
+    @Test
+    void searchClients_DigitsUsePhoneSearch() {
+        clientService.searchClients("8912", 0, 20);
+        clientService.searchClients("912", 0, 20);
+        clientService.searchClients("+7912", 0, 20);
+
+        verify(clientRepository, times(3)).searchByPhonePrefix("+7912", PageRequest.of(0, 20));
+        verify(clientRepository).searchByPhoneSubstring("+7912", "8912", PageRequest.of(0, 20));
+        verify(clientRepository).searchByPhoneSubstring("+7912", "912", PageRequest.of(0, 20));
+        verify(clientRepository).searchByPhoneSubstring("+7912", "7912", PageRequest.of(0, 20));
+        verify(clientRepository, never()).searchByNameOrEmail(anyString(), any());
+    }
+
+    @Test
+    void searchClients_PhonePageStartsWithPrefixMatchesAndIsFilledBySubstringMatches() {
+        ClientView prefixMatch = new ClientView(1L, "Иван Иванов", "+79121234567", "ivan@mail.ru",
+                "1234", "567890", LocalDateTime.now(), LocalDateTime.now());
+        ClientView substringMatch = new ClientView(2L, "Петр Петров", "+79001912000", "petr@mail.ru",
+                "4321", "098765", LocalDateTime.now(), LocalDateTime.now());
+        when(clientRepository.searchByPhonePrefix("+7912", PageRequest.of(0, 3))).thenReturn(List.of(prefixMatch));
+        when(clientRepository.searchByPhoneSubstring("+7912", "912", PageRequest.of(0, 2))).thenReturn(List.of(substringMatch));
+
+        clientService.searchClients("912", 0, 3);
+
+        verify(clientMapper).fromViews(List.of(prefixMatch, substringMatch));
+    }
+
+    @Test
+    void searchClients_BeyondResultLimit_ThrowsException() {
+        assertThrows(BusinessValidationException.class, () -> clientService.searchClients("Иван", 10, 100));
+        assertThrows(BusinessValidationException.class, () -> clientService.searchClients("Иван", -1, 20));
+
+        verifyNoInteractions(clientRepository);
     }
 }
\ No newline at end of file
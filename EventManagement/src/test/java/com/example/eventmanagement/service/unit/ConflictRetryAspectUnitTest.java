@@ -0,0 +1,73 @@
+package com.example.eventmanagement.service.unit;
+
+import com.example.eventmanagement.service.ConflictRetryAspect;
+import com.example.eventmanagement.service.RetryOnConflict;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConflictRetryAspectUnitTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ConflictingOperation target;
+    private ConflictingOperation proxy;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        target = new ConflictingOperation();
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addAspect(new ConflictRetryAspect(3, Duration.ofMillis(1), meterRegistry));
+        proxy = factory.getProxy();
+    }
+
+    @Test
+    void retry_ConflictThenSuccess_ReturnsResultOfLaterAttempt() {
+        target.conflicts = 2;
+
+        assertEquals("готово", proxy.update());
+        assertEquals(3, target.calls);
+        assertEquals(2.0, meterRegistry.counter("conflict.retries").count());
+    }
+
+    @Test
+    void retry_PersistentConflict_RethrowsAfterMaxAttempts() {
+        target.conflicts = 10;
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, proxy::update);
+        assertEquals(3, target.calls);
+        assertEquals(1.0, meterRegistry.counter("conflict.exhausted").count());
+    }
+
+    @Test
+    void retry_OtherException_IsNotRetried() {
+        assertThrows(IllegalStateException.class, proxy::fail);
+        assertEquals(1, target.calls);
+    }
+
+    static class ConflictingOperation {
+        int conflicts;
+        int calls;
+
+        @RetryOnConflict
+        public String update() {
+            calls++;
+            if (calls <= conflicts) {
+                throw new ObjectOptimisticLockingFailureException(Object.class, 1L);
+            }
+            return "готово";
+        }
+
+        @RetryOnConflict
+        public String fail() {
+            calls++;
+            throw new IllegalStateException("ошибка");
+        }
+    }
+}
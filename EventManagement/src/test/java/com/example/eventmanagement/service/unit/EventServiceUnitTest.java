@@ -12,6 +12,8 @@ import com.example.eventmanagement.exception.OperationNotAllowedException;
 import com.example.eventmanagement.mapper.EventMapper;
 import com.example.eventmanagement.repository.EventRepository;
 import com.example.eventmanagement.service.EventService;
+import com.example.eventmanagement.service.EventStatsService;
+import com.example.eventmanagement.service.SeatInventoryService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -21,6 +23,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -36,6 +39,12 @@ class EventServiceUnitTest {
     @Mock
     private EventMapper eventMapper;
 
+    @Mock
+    private SeatInventoryService seatInventoryService;
+
+    @Mock
+    private EventStatsService eventStatsService;
+
     @InjectMocks
     private EventService eventService;
 
@@ -94,6 +103,55 @@ class EventServiceUnitTest {
         verify(eventRepository, never()).save(any());
     }
 
+    @Test
+    void createEvents_SavesWholeBatchWithSingleDuplicateQuery() {
+        LocalDate date = LocalDate.now().plusDays(10);
+        EventCreateDto first = new EventCreateDto("Концерт", date, 100, BigDecimal.valueOf(1000), "Описание");
+        EventCreateDto second = new EventCreateDto("Спектакль", date, 50, BigDecimal.valueOf(500), "Описание");
+        Event firstEvent = new Event("Концерт", date, 100, BigDecimal.valueOf(1000), EventStatus.PLANNED, "Описание");
+        Event secondEvent = new Event("Спектакль", date, 50, BigDecimal.valueOf(500), EventStatus.PLANNED, "Описание");
+        // мероприятие с тем же названием, но на другую дату дубликатом не считается
+        Event sameNameOtherDate = new Event("Концерт", date.plusDays(1), 100, BigDecimal.valueOf(1000), EventStatus.PLANNED, "Описание");
+
+        when(eventMapper.fromCreateWithoutDependenciesDto(first)).thenReturn(firstEvent);
+        when(eventMapper.fromCreateWithoutDependenciesDto(second)).thenReturn(secondEvent);
+        when(eventRepository.findByNameInAndDateIn(any(), any())).thenReturn(List.of(sameNameOtherDate));
+        when(eventRepository.saveAll(List.of(firstEvent, secondEvent))).thenReturn(List.of(firstEvent, secondEvent));
+
+        List<EventDoneDto> result = eventService.createEvents(List.of(first, second));
+
+        assertEquals(2, result.size());
+        verify(seatInventoryService).initializeAll(List.of(firstEvent, secondEvent));
+        verify(eventStatsService).initializeAll(List.of(firstEvent, secondEvent));
+        verify(eventRepository, never()).existsByNameAndDate(any(), any());
+        verify(eventRepository, never()).save(any());
+    }
+
+    @Test
+    void createEvents_DuplicateInDatabase_ThrowsException() {
+        LocalDate date = LocalDate.now().plusDays(10);
+        EventCreateDto createDto = new EventCreateDto("Концерт", date, 100, BigDecimal.valueOf(1000), "Описание");
+        when(eventRepository.findByNameInAndDateIn(any(), any())).thenReturn(List.of(
+                new Event("Концерт", date, 100, BigDecimal.valueOf(1000), EventStatus.PLANNED, "Описание")));
+
+        assertThrows(DuplicateEntityException.class, () -> eventService.createEvents(List.of(createDto)));
+        verify(eventRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void createEvents_DuplicateInsideBatch_ThrowsException() {
+        EventCreateDto createDto = new EventCreateDto("Концерт", LocalDate.now().plusDays(10), 100, BigDecimal.valueOf(1000), "Описание");
+
+        assertThrows(DuplicateEntityException.class, () -> eventService.createEvents(List.of(createDto, createDto)));
+        verifyNoInteractions(eventRepository);
+    }
+
+    @Test
+    void createEvents_EmptyBatch_ThrowsException() {
+        assertThrows(BusinessValidationException.class, () -> eventService.createEvents(List.of()));
+        verifyNoInteractions(eventRepository);
+    }
+
     @Test
     void updateEventStatus_Success() {
         Event event = new Event("Концерт", LocalDate.now().plusDays(10), 100,
@@ -130,13 +188,10 @@ class EventServiceUnitTest {
     }
 
     @Test
-    void getEventStatistics_Success() {
-        Event event = new Event("Концерт", LocalDate.now().plusDays(10), 100,
-                BigDecimal.valueOf(1000), EventStatus.PLANNED, "Описание");
-        event.setId(1L);
-
-        when(eventRepository.findById(1L)).thenReturn(Optional.of(event));
-        when(eventRepository.countConfirmedTicketsByEventId(1L)).thenReturn(50L);
+    void getEventStatistics_ReadsMaterializedStats() {
+        EventStatisticsDto stats = new EventStatisticsDto(1L, "Концерт", LocalDate.now().plusDays(10), 100,
+                EventStatus.PLANNED, 50, BigDecimal.valueOf(1000), BigDecimal.valueOf(50000), 10, 3);
+        when(eventStatsService.findStatistics(1L)).thenReturn(Optional.of(stats));
 
         EventStatisticsDto result = eventService.getEventStatistics(1L);
 
@@ -144,12 +199,15 @@ class EventServiceUnitTest {
         assertEquals(1L, result.id());
         assertEquals(50, result.confirmedTickets());
         assertEquals(BigDecimal.valueOf(50000), result.totalRevenue());
+        verify(eventRepository, never()).countConfirmedTicketsByEventId(any());
+        verify(eventStatsService, never()).createStatistics(any());
     }
 
     @Test
     void getEventStatistics_EventNotFound_ThrowsException() {
-        when(eventRepository.findById(1L)).thenReturn(Optional.empty());
+        when(eventStatsService.findStatistics(1L)).thenReturn(Optional.empty());
+        when(eventStatsService.createStatistics(1L)).thenThrow(new EntityNotFoundException("Мероприятие по id 1 не найдено"));
 
         assertThrows(EntityNotFoundException.class, () -> eventService.getEventStatistics(1L));
     }
-}
\ No newline at end of file
+}
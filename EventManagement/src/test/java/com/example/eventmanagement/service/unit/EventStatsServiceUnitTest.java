@@ -0,0 +1,99 @@
+package com.example.eventmanagement.service.unit;
+
+import com.example.eventmanagement.entity.Event;
+import com.example.eventmanagement.entity.EventStats;
+import com.example.eventmanagement.enums.BookingStatus;
+import com.example.eventmanagement.enums.EventStatus;
+import com.example.eventmanagement.exception.EntityNotFoundException;
+import com.example.eventmanagement.repository.EventRepository;
+import com.example.eventmanagement.repository.EventStatsRepository;
+import com.example.eventmanagement.service.EventStatsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EventStatsServiceUnitTest {
+
+    @Mock
+    private EventStatsRepository eventStatsRepository;
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @InjectMocks
+    private EventStatsService eventStatsService;
+
+    private Event event;
+
+    @BeforeEach
+    void setUp() {
+        event = new Event("Концерт", LocalDate.now().plusDays(10), 100,
+                BigDecimal.valueOf(1000), EventStatus.PLANNED, "Описание");
+        event.setId(1L);
+    }
+
+    @Test
+    void recordTransition_NewPendingReservation_AddsPendingTickets() {
+        when(eventStatsRepository.applyDelta(anyLong(), anyInt(), anyInt(), anyInt(), any())).thenReturn(1);
+
+        eventStatsService.recordTransition(event, 3, null, BookingStatus.PENDING_CONFIRMATION);
+
+        verify(eventStatsRepository).applyDelta(1L, 0, 3, 0, BigDecimal.ZERO);
+    }
+
+    @Test
+    void recordTransition_Confirm_MovesTicketsAndAddsRevenue() {
+        when(eventStatsRepository.applyDelta(anyLong(), anyInt(), anyInt(), anyInt(), any())).thenReturn(1);
+
+        eventStatsService.recordTransition(event, 2, BookingStatus.PENDING_CONFIRMATION, BookingStatus.CONFIRMED);
+
+        verify(eventStatsRepository).applyDelta(1L, 2, -2, 0, BigDecimal.valueOf(2000));
+    }
+
+    @Test
+    void recordTransition_CancelConfirmed_SubtractsRevenueAndCountsCancellation() {
+        when(eventStatsRepository.applyDelta(anyLong(), anyInt(), anyInt(), anyInt(), any())).thenReturn(1);
+
+        eventStatsService.recordTransition(event, 2, BookingStatus.CONFIRMED, BookingStatus.CANCELED);
+
+        verify(eventStatsRepository).applyDelta(1L, -2, 0, 1, BigDecimal.valueOf(-2000));
+    }
+
+    @Test
+    void recordTransition_SameStatus_DoesNothing() {
+        eventStatsService.recordTransition(event, 2, BookingStatus.CONFIRMED, BookingStatus.CONFIRMED);
+
+        verifyNoInteractions(eventStatsRepository);
+    }
+
+    @Test
+    void recordTransition_WithoutStatsRow_RebuildsFromReservations() {
+        when(eventStatsRepository.applyDelta(anyLong(), anyInt(), anyInt(), anyInt(), any())).thenReturn(0);
+        when(eventStatsRepository.findByIdForUpdate(1L)).thenReturn(Optional.empty());
+
+        eventStatsService.recordTransition(event, 1, null, BookingStatus.CONFIRMED);
+
+        verify(eventStatsRepository).saveAndFlush(new EventStats(1L));
+        verify(eventStatsRepository).recalculate(1L);
+    }
+
+    @Test
+    void createStatistics_EventNotFound_ThrowsException() {
+        when(eventRepository.existsById(1L)).thenReturn(false);
+
+        assertThrows(EntityNotFoundException.class, () -> eventStatsService.createStatistics(1L));
+        verify(eventStatsRepository, never()).recalculate(anyLong());
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.eventmanagement.service.unit;
+
+import com.example.eventmanagement.entity.Event;
+import com.example.eventmanagement.enums.EventStatus;
+import com.example.eventmanagement.exception.ServiceUnavailableException;
+import com.example.eventmanagement.repository.EventRepository;
+import com.example.eventmanagement.service.FlashSaleSeatLedger;
+import com.example.eventmanagement.service.MaintenanceLockService;
+import com.example.eventmanagement.service.SeatInventoryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FlashSaleSeatLedgerUnitTest {
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private SeatInventoryService seatInventoryService;
+
+    @Mock
+    private MaintenanceLockService maintenanceLockService;
+
+    private FlashSaleSeatLedger ledger;
+    private Event event;
+
+    @BeforeEach
+    void setUp() {
+        ledger = new FlashSaleSeatLedger(eventRepository, seatInventoryService, maintenanceLockService, Set.of(1L), Duration.ofSeconds(30), 500);
+        lenient().when(maintenanceLockService.tryAcquire(anyString(), any())).thenReturn(true);
+        event = new Event("Концерт", LocalDate.now().plusDays(10), 50,
+                BigDecimal.valueOf(1000), EventStatus.PLANNED, "Описание");
+        event.setId(1L);
+    }
+
+    @Test
+    void isHot_OnlyForConfiguredEvents() {
+        assertTrue(ledger.isHot(1L));
+        assertFalse(ledger.isHot(2L));
+    }
+
+    @Test
+    void reserve_UnderConcurrentLoad_NeverOversells() throws Exception {
+        when(eventRepository.countConfirmedOrPendingTicketsByEventId(1L)).thenReturn(0L);
+
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return ledger.reserve(event, 1);
+            }));
+        }
+        start.countDown();
+        int booked = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get(10, TimeUnit.SECONDS)) {
+                booked++;
+            }
+        }
+        executor.shutdownNow();
+
+        assertEquals(50, booked);
+        assertFalse(ledger.reserve(event, 1));
+        ledger.flush();
+        verify(seatInventoryService).adjustReserved(1L, 50L);
+    }
+
+    @Test
+    void release_ReturnsSeatsAndWritesNegativeDelta() {
+        when(eventRepository.countConfirmedOrPendingTicketsByEventId(1L)).thenReturn(48L);
+
+        assertTrue(ledger.reserve(event, 2));
+        assertFalse(ledger.reserve(event, 1));
+        ledger.release(1L, 2);
+        assertTrue(ledger.reserve(event, 2));
+
+        ledger.flush();
+        verify(seatInventoryService).adjustReserved(1L, 2L);
+    }
+
+    @Test
+    void flush_WhenNothingChanged_DoesNotTouchDatabase() {
+        ledger.flush();
+
+        verify(seatInventoryService, never()).adjustReserved(anyLong(), anyLong());
+    }
+
+    @Test
+    void flush_WhenDatabaseFails_KeepsDeltaForNextRun() {
+        when(eventRepository.countConfirmedOrPendingTicketsByEventId(1L)).thenReturn(0L);
+        doThrow(new RuntimeException("db down")).doNothing().when(seatInventoryService).adjustReserved(1L, 3L);
+
+        assertTrue(ledger.reserve(event, 3));
+        ledger.flush();
+        ledger.flush();
+
+        verify(seatInventoryService, times(2)).adjustReserved(1L, 3L);
+    }
+
+    @Test
+    void recover_RebuildsLedgerFromReservations() {
+        when(eventRepository.findById(1L)).thenReturn(Optional.of(event));
+        when(eventRepository.countConfirmedOrPendingTicketsByEventId(1L)).thenReturn(40L);
+
+        ledger.recover();
+
+        verify(seatInventoryService).overwriteReserved(event, 40);
+        assertFalse(ledger.reserve(event, 11));
+        assertTrue(ledger.reserve(event, 10));
+    }
+
+    @Test
+    void recover_KeepsCounterLoadedByEarlierReservation() {
+        when(eventRepository.findById(1L)).thenReturn(Optional.of(event));
+        when(eventRepository.countConfirmedOrPendingTicketsByEventId(1L)).thenReturn(40L);
+
+        assertTrue(ledger.reserve(event, 10));
+        ledger.recover();
+
+        assertFalse(ledger.reserve(event, 1));
+        verify(eventRepository, times(1)).countConfirmedOrPendingTicketsByEventId(1L);
+        verify(seatInventoryService, times(1)).overwriteReserved(event, 40);
+    }
+
+    @Test
+    void reserve_WhenLeaseHeldByAnotherInstance_IsRejected() {
+        when(maintenanceLockService.tryAcquire(anyString(), any())).thenReturn(false);
+
+        assertThrows(ServiceUnavailableException.class, () -> ledger.reserve(event, 1));
+        verify(eventRepository, never()).countConfirmedOrPendingTicketsByEventId(anyLong());
+    }
+
+    @Test
+    void renewLease_WhenLeaseTakenOver_StopsBookingAndKeepsFlushing() {
+        when(eventRepository.countConfirmedOrPendingTicketsByEventId(1L)).thenReturn(0L);
+        assertTrue(ledger.reserve(event, 2));
+        when(maintenanceLockService.tryAcquire(anyString(), any())).thenReturn(false);
+
+        ledger.renewLease();
+
+        assertThrows(ServiceUnavailableException.class, () -> ledger.reserve(event, 1));
+        ledger.flush();
+        verify(seatInventoryService).adjustReserved(1L, 2L);
+    }
+
+    @Test
+    void recover_WhenLeaseHeldByAnotherInstance_DoesNotLoadCounters() {
+        when(maintenanceLockService.tryAcquire(anyString(), any())).thenReturn(false);
+
+        ledger.recover();
+
+        verify(eventRepository, never()).findById(anyLong());
+        verify(seatInventoryService, never()).overwriteReserved(any(), anyInt());
+    }
+
+    @Test
+    void release_BeforeCounterLoaded_GoesStraightToDatabase() {
+        ledger.release(1L, 3);
+
+        verify(seatInventoryService).release(1L, 3);
+        ledger.flush();
+        verify(seatInventoryService, never()).adjustReserved(anyLong(), anyLong());
+    }
+
+    @Test
+    void constructor_WithHotEventsAndFlushDisabled_FailsAtStartup() {
+        assertThrows(IllegalStateException.class, () -> new FlashSaleSeatLedger(
+                eventRepository, seatInventoryService, maintenanceLockService, Set.of(1L), Duration.ofSeconds(30), 0));
+        assertDoesNotThrow(() -> new FlashSaleSeatLedger(
+                eventRepository, seatInventoryService, maintenanceLockService, Set.of(), Duration.ofSeconds(30), 0));
+    }
+}
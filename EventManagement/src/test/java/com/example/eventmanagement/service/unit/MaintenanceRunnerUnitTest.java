@@ -0,0 +1,92 @@
+package com.example.eventmanagement.service.unit;
+
+import com.example.eventmanagement.service.MaintenanceJob;
+import com.example.eventmanagement.service.MaintenanceLockService;
+import com.example.eventmanagement.service.MaintenanceRunner;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MaintenanceRunnerUnitTest {
+    private static final Duration LEASE = Duration.ofMinutes(10);
+
+    @Mock
+    private MaintenanceLockService maintenanceLockService;
+
+    @Mock
+    private MaintenanceJob job;
+
+    private MeterRegistry meterRegistry;
+    private MaintenanceRunner maintenanceRunner;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        maintenanceRunner = new MaintenanceRunner(maintenanceLockService, meterRegistry, LEASE);
+        when(job.name()).thenReturn("cleanup");
+    }
+
+    @Test
+    void run_WhenLeaseAcquired_RunsJobAndRecordsMetrics() {
+        when(maintenanceLockService.tryAcquire("cleanup", LEASE)).thenReturn(true);
+        when(job.run()).thenReturn(42);
+
+        maintenanceRunner.run(job);
+
+        verify(job).run();
+        verify(maintenanceLockService).release("cleanup");
+        assertEquals(42.0, meterRegistry.get("maintenance.job.last.rows").tag("job", "cleanup").gauge().value());
+        assertTrue(meterRegistry.get("maintenance.job.last.duration").tag("job", "cleanup").gauge().value() >= 0);
+        assertEquals(1, meterRegistry.get("maintenance.job.duration").tag("job", "cleanup").timer().count());
+        assertEquals(1.0, runs("success"));
+    }
+
+    @Test
+    void run_WhenLeaseHeldByAnotherInstance_SkipsJob() {
+        when(maintenanceLockService.tryAcquire("cleanup", LEASE)).thenReturn(false);
+
+        maintenanceRunner.run(job);
+
+        verify(job, never()).run();
+        verify(maintenanceLockService, never()).release(anyString());
+        assertEquals(1.0, runs("skipped"));
+    }
+
+    @Test
+    void run_WhenLeaseRowCreatedConcurrently_SkipsJob() {
+        when(maintenanceLockService.tryAcquire("cleanup", LEASE))
+                .thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        maintenanceRunner.run(job);
+
+        verify(job, never()).run();
+        assertEquals(1.0, runs("skipped"));
+    }
+
+    @Test
+    void run_WhenJobFails_ReleasesLeaseAndCountsFailure() {
+        when(maintenanceLockService.tryAcquire("cleanup", LEASE)).thenReturn(true);
+        when(job.run()).thenThrow(new IllegalStateException("Ошибка БД"));
+
+        assertDoesNotThrow(() -> maintenanceRunner.run(job));
+
+        verify(maintenanceLockService).release("cleanup");
+        assertEquals(1.0, runs("failure"));
+    }
+
+    private double runs(String outcome) {
+        return meterRegistry.get("maintenance.job.runs").tag("job", "cleanup").tag("outcome", outcome).counter().count();
+    }
+}
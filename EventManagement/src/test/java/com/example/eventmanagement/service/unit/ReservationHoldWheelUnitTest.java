@@ -0,0 +1,61 @@
+package com.example.eventmanagement.service.unit;
+
+import com.example.eventmanagement.service.ReservationHoldWheel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReservationHoldWheelUnitTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ReservationHoldWheel wheel =
+            new ReservationHoldWheel(Duration.ofMinutes(1), Duration.ofSeconds(1), 3, meterRegistry);
+
+    @Test
+    void pollExpired_ReturnsHoldsOnlyAfterTheirDeadline() {
+        LocalDateTime now = LocalDateTime.now();
+        wheel.track(1L, now.plusSeconds(5));
+        wheel.track(2L, now.plusSeconds(30));
+
+        assertEquals(List.of(), wheel.pollExpired(millis(now.plusSeconds(4))));
+        assertEquals(List.of(1L), wheel.pollExpired(millis(now.plusSeconds(6))));
+        assertEquals(List.of(2L), wheel.pollExpired(millis(now.plusSeconds(31))));
+    }
+
+    @Test
+    void pollExpired_AfterLongPause_ReturnsHoldsOfLaterRounds() {
+        LocalDateTime now = LocalDateTime.now();
+        // срок дальше одного оборота колеса (61 ячейка по секунде)
+        wheel.track(1L, now.plusSeconds(90));
+
+        assertEquals(List.of(), wheel.pollExpired(millis(now.plusSeconds(60))));
+        assertEquals(List.of(1L), wheel.pollExpired(millis(now.plusMinutes(10))));
+    }
+
+    @Test
+    void track_OverCapacity_LeavesHoldToSweep() {
+        LocalDateTime now = LocalDateTime.now();
+        for (long id = 1; id <= 4; id++) {
+            wheel.track(id, now.plusSeconds(5));
+        }
+
+        assertEquals(3, wheel.pollExpired(millis(now.plusSeconds(6))).size());
+        assertEquals(1.0, meterRegistry.get("reservation.hold.wheel.overflow").counter().count());
+    }
+
+    @Test
+    void newExpiry_ZeroTtl_DisablesHolds() {
+        ReservationHoldWheel disabled = new ReservationHoldWheel(Duration.ZERO, Duration.ofSeconds(1), 3, meterRegistry);
+
+        assertNull(disabled.newExpiry());
+    }
+
+    private static long millis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -13,20 +13,29 @@ import com.example.eventmanagement.mapper.TicketReservationMapper;
 import com.example.eventmanagement.repository.ClientRepository;
 import com.example.eventmanagement.repository.EventRepository;
 import com.example.eventmanagement.repository.TicketReservationRepository;
+import com.example.eventmanagement.service.BookingMetrics;
+import com.example.eventmanagement.service.EventStatsService;
+import com.example.eventmanagement.service.ReservationHoldWheel;
+import com.example.eventmanagement.service.SeatAllocationStrategy;
+import com.example.eventmanagement.service.SeatAllocator;
+import com.example.eventmanagement.service.SeatsFreedEvent;
 import com.example.eventmanagement.service.TicketReservationService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -47,43 +56,177 @@ class TicketReservationServiceUnitTest {
     @Mock
     private TicketReservationMapper ticketReservationMapper;
 
+    @Mock
+    private SeatAllocator seatAllocator;
+
+    @Mock
+    private EventStatsService eventStatsService;
+
+    @Mock
+    private BookingMetrics bookingMetrics;
+
+    @Mock
+    private SeatAllocationStrategy seatAllocationStrategy;
+
+    @Mock
+    private ReservationHoldWheel reservationHoldWheel;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private TicketReservationService ticketReservationService;
 
 
     @Test
-    void cleanupOldCanceledReservations_WhenOldCanceledReservationsExist_DeletesThem() {
-        List<TicketReservation> oldCanceledReservations = Arrays.asList(
-                TicketReservation.createForTesting(2, BookingStatus.CANCELED,
-                        LocalDateTime.now().minusMonths(2), LocalDateTime.now().minusMonths(2)),
-                TicketReservation.createForTesting(1, BookingStatus.CANCELED,
-                        LocalDateTime.now().minusMonths(3), LocalDateTime.now().minusMonths(3))
-        );
+    void deleteOldCanceledChunk_WhenOldCanceledReservationsExist_DeletesThemInBulk() {
+        LocalDateTime before = LocalDateTime.now().minusMonths(1);
+        List<TicketReservationRepository.ReservationRef> refs = List.of(ref(10L, 1L), ref(11L, 1L), ref(12L, 2L));
+
+        when(ticketReservationRepository.findRefsByBookingStatusAndUpdatedAtBefore(
+                eq(BookingStatus.CANCELED), eq(before), any(Pageable.class))
+        ).thenReturn(refs);
+        when(ticketReservationRepository.deleteByIdInAndBookingStatus(List.of(10L, 11L, 12L), BookingStatus.CANCELED))
+                .thenReturn(3);
+
+        int deletedCount = ticketReservationService.deleteOldCanceledChunk(before, 100);
+
+        assertEquals(3, deletedCount);
+        verify(eventStatsService).recordCanceledRemoved(1L, 2);
+        verify(eventStatsService).recordCanceledRemoved(2L, 1);
+        verify(eventStatsService, never()).rebuild(any());
+        verify(ticketReservationRepository, never()).deleteAll(any());
+    }
 
-        when(ticketReservationRepository.findByBookingStatusAndUpdatedAtBefore(
-                eq(BookingStatus.CANCELED), any(LocalDateTime.class))
-        ).thenReturn(oldCanceledReservations);
+    @Test
+    void deleteOldCanceledChunk_WhenSomeDeletedConcurrently_RebuildsStatistics() {
+        LocalDateTime before = LocalDateTime.now().minusMonths(1);
+        when(ticketReservationRepository.findRefsByBookingStatusAndUpdatedAtBefore(
+                eq(BookingStatus.CANCELED), eq(before), any(Pageable.class))
+        ).thenReturn(List.of(ref(10L, 1L), ref(11L, 1L)));
+        when(ticketReservationRepository.deleteByIdInAndBookingStatus(anyList(), eq(BookingStatus.CANCELED)))
+                .thenReturn(1);
 
-        int deletedCount = ticketReservationService.cleanupOldCanceledReservations();
+        int deletedCount = ticketReservationService.deleteOldCanceledChunk(before, 100);
 
-        assertEquals(2, deletedCount);
-        verify(ticketReservationRepository).deleteAll(oldCanceledReservations);
-        verify(ticketReservationRepository).findByBookingStatusAndUpdatedAtBefore(
-                eq(BookingStatus.CANCELED), any(LocalDateTime.class));
+        assertEquals(1, deletedCount);
+        verify(eventStatsService).rebuild(1L);
+        verify(eventStatsService, never()).recordCanceledRemoved(anyLong(), anyInt());
     }
 
     @Test
-    void cleanupOldCanceledReservations_WhenNoOldCanceledReservations_ReturnsZero() {
-        when(ticketReservationRepository.findByBookingStatusAndUpdatedAtBefore(
-                eq(BookingStatus.CANCELED), any(LocalDateTime.class))
+    void deleteOldCanceledChunk_WhenNoOldCanceledReservations_ReturnsZero() {
+        when(ticketReservationRepository.findRefsByBookingStatusAndUpdatedAtBefore(
+                eq(BookingStatus.CANCELED), any(LocalDateTime.class), any(Pageable.class))
         ).thenReturn(Collections.emptyList());
 
-        int deletedCount = ticketReservationService.cleanupOldCanceledReservations();
+        int deletedCount = ticketReservationService.deleteOldCanceledChunk(LocalDateTime.now(), 100);
 
         assertEquals(0, deletedCount);
-        verify(ticketReservationRepository, never()).deleteAll(any());
-        verify(ticketReservationRepository).findByBookingStatusAndUpdatedAtBefore(
-                eq(BookingStatus.CANCELED), any(LocalDateTime.class));
+        verify(ticketReservationRepository, never()).deleteByIdInAndBookingStatus(any(), any());
+        verifyNoInteractions(eventStatsService);
+    }
+
+    private static TicketReservationRepository.ReservationRef ref(Long id, Long eventId) {
+        return new TicketReservationRepository.ReservationRef() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getEventId() {
+                return eventId;
+            }
+        };
+    }
+
+    @Test
+    void createReservation_WhenSeatsSoldOut_CountsOversellPrevented() {
+        TicketReservationCreateDto dto = new TicketReservationCreateDto(1L, 1L, 3, BookingStatus.PENDING_CONFIRMATION);
+        Event event = new Event("Концерт", LocalDate.now().plusDays(10), 2,
+                BigDecimal.valueOf(1000), EventStatus.PLANNED, "Описание");
+        event.setId(1L);
+
+        when(ticketReservationMapper.fromCreateWithoutDependenciesDto(dto))
+                .thenReturn(new TicketReservation(3, BookingStatus.PENDING_CONFIRMATION));
+        when(clientRepository.findById(1L)).thenReturn(Optional.of(new Client()));
+        when(eventRepository.findById(1L)).thenReturn(Optional.of(event));
+        when(seatAllocator.forEvent(1L)).thenReturn(seatAllocationStrategy);
+        when(seatAllocationStrategy.reserve(event, 3)).thenReturn(false);
+
+        assertThrows(BusinessValidationException.class, () -> ticketReservationService.createReservation(dto));
+
+        verify(bookingMetrics).attempted();
+        verify(bookingMetrics).rejected(BookingMetrics.RejectionReason.SOLD_OUT);
+        verify(bookingMetrics, never()).created();
+        verify(ticketReservationRepository, never()).save(any());
+    }
+
+    @Test
+    void createReservation_WhenClientNotFound_CountsRejection() {
+        TicketReservationCreateDto dto = new TicketReservationCreateDto(99L, 1L, 1, BookingStatus.PENDING_CONFIRMATION);
+
+        when(ticketReservationMapper.fromCreateWithoutDependenciesDto(dto))
+                .thenReturn(new TicketReservation(1, BookingStatus.PENDING_CONFIRMATION));
+        when(clientRepository.findById(99L)).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () -> ticketReservationService.createReservation(dto));
+
+        verify(bookingMetrics).rejected(BookingMetrics.RejectionReason.CLIENT_NOT_FOUND);
+        verify(eventRepository, never()).findById(any());
+    }
+
+    @Test
+    void createReservations_ReservesSeatsOncePerEventAndReportsEachItem() {
+        Client client = new Client();
+        client.setId(1L);
+        Event roomy = new Event("Концерт", LocalDate.now().plusDays(10), 100,
+                BigDecimal.valueOf(1000), EventStatus.PLANNED, "Описание");
+        roomy.setId(1L);
+        Event soldOut = new Event("Спектакль", LocalDate.now().plusDays(10), 2,
+                BigDecimal.valueOf(1000), EventStatus.PLANNED, "Описание");
+        soldOut.setId(2L);
+        List<TicketReservationCreateDto> dtos = List.of(
+                new TicketReservationCreateDto(1L, 1L, 2, BookingStatus.PENDING_CONFIRMATION),
+                new TicketReservationCreateDto(1L, 2L, 4, BookingStatus.PENDING_CONFIRMATION),
+                new TicketReservationCreateDto(99L, 1L, 1, BookingStatus.PENDING_CONFIRMATION),
+                new TicketReservationCreateDto(1L, 1L, 3, BookingStatus.PENDING_CONFIRMATION)
+        );
+
+        when(clientRepository.findAllWithPassportByIdIn(Set.of(1L, 99L))).thenReturn(List.of(client));
+        when(eventRepository.findAllById(Set.of(1L, 2L))).thenReturn(List.of(roomy, soldOut));
+        when(ticketReservationMapper.fromCreateWithoutDependenciesDto(any(TicketReservationCreateDto.class)))
+                .thenAnswer(invocation -> {
+                    TicketReservationCreateDto dto = invocation.getArgument(0);
+                    return new TicketReservation(dto.numberOfTickets(), dto.bookingStatus());
+                });
+        when(seatAllocator.forEvent(anyLong())).thenReturn(seatAllocationStrategy);
+        when(seatAllocationStrategy.reserve(roomy, 5)).thenReturn(true);
+        when(seatAllocationStrategy.reserve(soldOut, 4)).thenReturn(false);
+        when(ticketReservationRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        TicketReservationBatchResultDto result = ticketReservationService.createReservations(dtos);
+
+        assertEquals(2, result.created());
+        assertEquals(2, result.rejected());
+        assertNull(result.items().get(0).error());
+        assertEquals("SOLD_OUT", result.items().get(1).error());
+        assertEquals("CLIENT_NOT_FOUND", result.items().get(2).error());
+        assertNull(result.items().get(3).error());
+        verify(seatAllocationStrategy, times(2)).reserve(any(), anyInt());
+        verify(eventStatsService).recordCreated(roomy, 0, 5, 0);
+        verify(eventStatsService, never()).recordTransition(any(), anyInt(), any(), any());
+        verify(bookingMetrics, times(4)).attempted();
+        verify(bookingMetrics, times(2)).created();
+        verify(clientRepository, never()).findById(any());
+        verify(eventRepository, never()).findById(any());
+    }
+
+    @Test
+    void createReservations_EmptyBatch_ThrowsException() {
+        assertThrows(BusinessValidationException.class, () -> ticketReservationService.createReservations(List.of()));
+        verifyNoInteractions(clientRepository, eventRepository, ticketReservationRepository);
     }
 
     @Test
@@ -121,4 +264,74 @@ class TicketReservationServiceUnitTest {
 
         verify(ticketReservationRepository, never()).delete(any());
     }
-}
\ No newline at end of file
+
+    @Test
+    void confirmReservation_WhenHoldExpired_ThrowsException() {
+        TicketReservation reservation = new TicketReservation(2, BookingStatus.PENDING_CONFIRMATION);
+        reservation.setId(1L);
+        reservation.setExpiresAt(LocalDateTime.now().minusSeconds(1));
+
+        when(ticketReservationRepository.findById(1L)).thenReturn(Optional.of(reservation));
+
+        BusinessValidationException exception = assertThrows(BusinessValidationException.class,
+                () -> ticketReservationService.confirmReservation(1L));
+
+        assertTrue(exception.getMessage().contains("срок удержания мест истек"));
+        verify(ticketReservationRepository, never()).save(any());
+    }
+
+    @Test
+    void expireHolds_ReleasesSeatsOncePerEvent() {
+        LocalDateTime now = LocalDateTime.now();
+        when(ticketReservationRepository.findExpiredHoldsByIdIn(List.of(10L, 11L, 12L), BookingStatus.PENDING_CONFIRMATION, now))
+                .thenReturn(List.of(hold(10L, 1L, 2), hold(11L, 1L, 3), hold(12L, 2L, 1)));
+        when(ticketReservationRepository.expireHolds(List.of(10L, 11L, 12L), BookingStatus.PENDING_CONFIRMATION, BookingStatus.CANCELED, now))
+                .thenReturn(3);
+        when(seatAllocator.forEvent(anyLong())).thenReturn(seatAllocationStrategy);
+
+        int expired = ticketReservationService.expireHolds(List.of(10L, 11L, 12L), now);
+
+        assertEquals(3, expired);
+        verify(seatAllocationStrategy).release(1L, 5);
+        verify(seatAllocationStrategy).release(2L, 1);
+        verify(eventStatsService).recordExpired(1L, 5, 2);
+        verify(eventStatsService).recordExpired(2L, 1, 1);
+        verify(bookingMetrics).expired(3);
+        verify(eventPublisher).publishEvent(new SeatsFreedEvent(1L));
+        verify(eventPublisher).publishEvent(new SeatsFreedEvent(2L));
+    }
+
+    @Test
+    void expireDueHolds_WhenReservationConfirmedConcurrently_ThrowsConflict() {
+        LocalDateTime now = LocalDateTime.now();
+        when(ticketReservationRepository.findExpiredHolds(eq(BookingStatus.PENDING_CONFIRMATION), eq(now), any(Pageable.class)))
+                .thenReturn(List.of(hold(10L, 1L, 2), hold(11L, 1L, 3)));
+        when(ticketReservationRepository.expireHolds(anyList(), eq(BookingStatus.PENDING_CONFIRMATION), eq(BookingStatus.CANCELED), eq(now)))
+                .thenReturn(1);
+
+        // откат и повтор порции выполняет ConflictRetryAspect; места до этого не возвращаются
+        assertThrows(OptimisticLockingFailureException.class, () -> ticketReservationService.expireDueHolds(now, 100));
+
+        verifyNoInteractions(seatAllocator);
+        verify(eventStatsService, never()).recordExpired(anyLong(), anyInt(), anyInt());
+    }
+
+    private static TicketReservationRepository.HoldRef hold(Long id, Long eventId, int tickets) {
+        return new TicketReservationRepository.HoldRef() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getEventId() {
+                return eventId;
+            }
+
+            @Override
+            public Integer getNumberOfTickets() {
+                return tickets;
+            }
+        };
+    }
+}
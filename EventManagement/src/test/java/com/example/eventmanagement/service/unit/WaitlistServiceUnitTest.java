@@ -0,0 +1,164 @@
+package com.example.eventmanagement.service.unit;
+
+import com.example.eventmanagement.dto.WaitlistEntryCreateDto;
+import com.example.eventmanagement.entity.Client;
+import com.example.eventmanagement.entity.Event;
+import com.example.eventmanagement.entity.TicketReservation;
+import com.example.eventmanagement.entity.WaitlistEntry;
+import com.example.eventmanagement.enums.BookingStatus;
+import com.example.eventmanagement.enums.EventStatus;
+import com.example.eventmanagement.exception.BusinessValidationException;
+import com.example.eventmanagement.exception.DuplicateEntityException;
+import com.example.eventmanagement.repository.ClientRepository;
+import com.example.eventmanagement.repository.EventRepository;
+import com.example.eventmanagement.repository.TicketReservationRepository;
+import com.example.eventmanagement.repository.WaitlistEntryRepository;
+import com.example.eventmanagement.service.BookingMetrics;
+import com.example.eventmanagement.service.EventStatsService;
+import com.example.eventmanagement.service.ReservationHoldWheel;
+import com.example.eventmanagement.service.SeatAllocationStrategy;
+import com.example.eventmanagement.service.SeatAllocator;
+import com.example.eventmanagement.service.WaitlistJoinedEvent;
+import com.example.eventmanagement.service.WaitlistService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WaitlistServiceUnitTest {
+
+    @Mock
+    private WaitlistEntryRepository waitlistEntryRepository;
+
+    @Mock
+    private ClientRepository clientRepository;
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private TicketReservationRepository ticketReservationRepository;
+
+    @Mock
+    private SeatAllocator seatAllocator;
+
+    @Mock
+    private SeatAllocationStrategy seatAllocationStrategy;
+
+    @Mock
+    private EventStatsService eventStatsService;
+
+    @Mock
+    private ReservationHoldWheel reservationHoldWheel;
+
+    @Mock
+    private BookingMetrics bookingMetrics;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private WaitlistService waitlistService;
+
+    private Event event;
+
+    @BeforeEach
+    void setUp() {
+        event = new Event("Концерт", LocalDate.now().plusDays(10), 10,
+                BigDecimal.valueOf(1000), EventStatus.PLANNED, "Описание");
+        event.setId(1L);
+    }
+
+    @Test
+    void promote_StopsAtFirstEntryThatDoesNotFit() {
+        List<WaitlistEntry> head = List.of(
+                new WaitlistEntry(event, new Client(), 2),
+                new WaitlistEntry(event, new Client(), 5),
+                new WaitlistEntry(event, new Client(), 1)
+        );
+        when(eventRepository.findById(1L)).thenReturn(Optional.of(event));
+        when(waitlistEntryRepository.findHeadForUpdate(eq(1L), any(Pageable.class))).thenReturn(head);
+        when(seatAllocator.forEvent(1L)).thenReturn(seatAllocationStrategy);
+        when(seatAllocationStrategy.reserve(event, 2)).thenReturn(true);
+        when(seatAllocationStrategy.reserve(event, 5)).thenReturn(false);
+        when(ticketReservationRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        int promoted = waitlistService.promote(1L, 100);
+
+        assertEquals(1, promoted);
+        // третья запись поместилась бы, но очередь не обгоняет вторую
+        verify(seatAllocationStrategy, never()).reserve(event, 1);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<TicketReservation>> saved = ArgumentCaptor.forClass(List.class);
+        verify(ticketReservationRepository).saveAll(saved.capture());
+        assertEquals(1, saved.getValue().size());
+        assertEquals(BookingStatus.PENDING_CONFIRMATION, saved.getValue().get(0).getBookingStatus());
+        assertEquals(2, saved.getValue().get(0).getNumberOfTickets());
+        verify(waitlistEntryRepository).deleteAllInBatch(List.of(head.get(0)));
+        verify(eventStatsService).recordCreated(event, 0, 2, 0);
+        verify(bookingMetrics).promoted(1);
+    }
+
+    @Test
+    void promote_WhenEventClosed_DoesNothing() {
+        event.setStatus(EventStatus.CANCELED);
+        when(eventRepository.findById(1L)).thenReturn(Optional.of(event));
+
+        assertEquals(0, waitlistService.promote(1L, 100));
+
+        verifyNoInteractions(waitlistEntryRepository, seatAllocator, ticketReservationRepository);
+    }
+
+    @Test
+    void join_PublishesWaitlistJoinedEvent() {
+        Client client = new Client();
+        client.setId(5L);
+        when(eventRepository.findById(1L)).thenReturn(Optional.of(event));
+        when(clientRepository.findById(5L)).thenReturn(Optional.of(client));
+        when(waitlistEntryRepository.save(any(WaitlistEntry.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        waitlistService.join(1L, new WaitlistEntryCreateDto(5L, 2));
+
+        verify(eventPublisher).publishEvent(new WaitlistJoinedEvent(1L));
+        verifyNoMoreInteractions(eventPublisher);
+    }
+
+    @Test
+    void join_WhenClientAlreadyWaiting_ThrowsException() {
+        Client client = new Client();
+        client.setId(5L);
+        when(eventRepository.findById(1L)).thenReturn(Optional.of(event));
+        when(clientRepository.findById(5L)).thenReturn(Optional.of(client));
+        when(waitlistEntryRepository.existsByEventIdAndClientId(1L, 5L)).thenReturn(true);
+
+        assertThrows(DuplicateEntityException.class, () -> waitlistService.join(1L, new WaitlistEntryCreateDto(5L, 2)));
+
+        verify(waitlistEntryRepository, never()).save(any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void join_WhenEventPast_ThrowsException() {
+        event.setDate(LocalDate.now().minusDays(1));
+        when(eventRepository.findById(1L)).thenReturn(Optional.of(event));
+
+        assertThrows(BusinessValidationException.class, () -> waitlistService.join(1L, new WaitlistEntryCreateDto(5L, 2)));
+
+        verifyNoInteractions(clientRepository, waitlistEntryRepository);
+    }
+}